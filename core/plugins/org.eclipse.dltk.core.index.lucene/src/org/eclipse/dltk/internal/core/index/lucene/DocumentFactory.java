@@ -55,205 +55,231 @@ import org.eclipse.dltk.core.index2.IIndexingRequestor.ReferenceInfo;
 public enum DocumentFactory {
 	INSTANCE;
 
-	private String EMPTY = new String();
-
-	private Document timestamp = new Document();
-	private StringField timestampPath;
-	private NumericDocValuesField timestampValue;
-
-	private Document reference = new Document();
-	private StringField referenceFPath;
-	private StringField referenceFQualifier;
-	private StringField referenceFElementNameLC;
-	private NumericDocValuesField referenceNDVOffset;
-	private NumericDocValuesField referenceNDVLength;
-	private BinaryDocValuesField referenceBPath;
-	private BinaryDocValuesField referenceBElementName;
-	private BinaryDocValuesField referenceBQualifier;
-	private BinaryDocValuesField referenceBMetadata;
-
-	private Document declaration = new Document();
-
-	private StringField declarationFPath;
-	private StringField declarationFQualifier;
-	private StringField declarationFParent;
-	private StringField declarationFElementNameLC;
-	private StringField declarationFElementNameCC;
-	private NumericDocValuesField declarationNDVOffset;
-	private NumericDocValuesField declarationNDVLength;
-	private NumericDocValuesField declarationNDVNameOffset;
-	private NumericDocValuesField declarationNDVNameLength;
-	private NumericDocValuesField declarationNDVFlags;
-
-	private BinaryDocValuesField declarationBPath;
-	private BinaryDocValuesField declarationBElementName;
-	private BinaryDocValuesField declarationBQualifier;
-	private BinaryDocValuesField declarationBMetadata;
-	private BinaryDocValuesField declarationBParent;
-	private BinaryDocValuesField declarationBDoc;
-
-	private DocumentFactory() {
-		timestampPath = addStringEntry(timestamp, F_PATH, true);
-		timestampValue = addLongEntry(timestamp, NDV_TIMESTAMP);
-
-		referenceFPath = addStringEntry(reference, F_PATH, false);
-		referenceFQualifier = addStringEntry(reference, F_QUALIFIER, false);
-		referenceFElementNameLC = addStringEntry(reference, F_ELEMENT_NAME_LC,
-				false);
-
-		// Add numeric doc values
-		referenceNDVOffset = addLongEntry(reference, NDV_OFFSET);
-		referenceNDVLength = addLongEntry(reference, NDV_LENGTH);
-		// Add text as binary doc values
-		referenceBPath = addBinaryEntry(reference, BDV_PATH);
-		referenceBElementName = addBinaryEntry(reference, BDV_ELEMENT_NAME);
-		referenceBQualifier = addBinaryEntry(reference, BDV_QUALIFIER);
-		referenceBMetadata = addBinaryEntry(reference, BDV_METADATA);
-
-		declarationFPath = addStringEntry(declaration, F_PATH, false);
-		declarationFParent = addStringEntry(declaration, F_PARENT, false);
-		declarationFQualifier = addStringEntry(declaration, F_QUALIFIER, false);
-		declarationFElementNameLC = addStringEntry(declaration,
-				F_ELEMENT_NAME_LC, false);
-		declarationFElementNameCC = addStringEntry(declaration, F_CC_NAME,
-				false);
-		// Add numeric doc values
-		declarationNDVOffset = addLongEntry(declaration, NDV_OFFSET);
-		declarationNDVLength = addLongEntry(declaration, NDV_LENGTH);
-		declarationNDVNameOffset = addLongEntry(declaration, NDV_NAME_OFFSET);
-		declarationNDVNameLength = addLongEntry(declaration, NDV_NAME_LENGTH);
-		declarationNDVFlags = addLongEntry(declaration, NDV_FLAGS);
-		// Add text as binary doc values
-		declarationBPath = addBinaryEntry(declaration, BDV_PATH);
-		declarationBElementName = addBinaryEntry(declaration, BDV_ELEMENT_NAME);
-		declarationBParent = addBinaryEntry(declaration, BDV_PARENT);
-		declarationBQualifier = addBinaryEntry(declaration, BDV_QUALIFIER);
-		declarationBMetadata = addBinaryEntry(declaration, BDV_METADATA);
-		declarationBDoc = addBinaryEntry(declaration, BDV_DOC);
-	}
+	/*
+	 * Documents and fields are reused from one call to another, each thread
+	 * has its own set of them, so documents can be created concurrently.
+	 */
+	private final ThreadLocal<Documents> fDocuments = ThreadLocal
+			.withInitial(Documents::new);
 
 	/**
-	 * Creates and returns a document for provided reference info.
+	 * Creates and returns a document for provided reference info. The document
+	 * is reused by the next call on the same thread.
 	 * 
 	 * @param source
 	 * @param info
 	 * @return a document for provided reference info
 	 */
 	public Document createForReference(String source, ReferenceInfo info) {
-		// Fields for search (no store, doc values will be used instead)
-		referenceFPath.setStringValue(source);
-		referenceFQualifier.setStringValue(
-				info.qualifier != null ? info.qualifier : EMPTY);
-		referenceFElementNameLC.setStringValue(info.elementName.toLowerCase());
-		// Add numeric doc values
-		referenceNDVOffset.setLongValue(info.offset);
-		referenceNDVLength.setLongValue(info.length);
-
-		// Add text as binary doc values
-		referenceBPath.setBytesValue(source.getBytes());
-		referenceBElementName.setBytesValue(info.elementName.getBytes());
-		referenceBQualifier
-				.setBytesValue(info.qualifier == null ? BytesRef.EMPTY_BYTES
-						: info.qualifier.getBytes());
-		referenceBMetadata
-				.setBytesValue(info.metadata == null ? BytesRef.EMPTY_BYTES
-						: info.metadata.getBytes());
-		return reference;
+		return fDocuments.get().createForReference(source, info);
 	}
 
 	/**
-	 * Creates and returns a document for provided declaration info.
+	 * Creates and returns a document for provided declaration info. The
+	 * document is reused by the next call on the same thread.
 	 * 
 	 * @param source
 	 * @param info
 	 * @return a document for provided declaration info
 	 */
 	public Document createForDeclaration(String source, DeclarationInfo info) {
-		// Fields for search (no store, doc values will be used instead)
-		declarationFPath.setStringValue(source);
-		declarationFParent
-				.setStringValue(info.parent != null ? info.parent : EMPTY);
-		declarationFQualifier.setStringValue(
-				info.qualifier != null ? info.qualifier : EMPTY);
-		declarationFElementNameLC
-				.setStringValue(info.elementName.toLowerCase());
-		declarationFElementNameCC.setStringValue(ccValue(info.elementName));
-		// Add numeric doc values
-
-		declarationNDVOffset.setLongValue(info.offset);
-		declarationNDVLength.setLongValue(info.length);
-		declarationNDVNameOffset.setLongValue(info.nameOffset);
-		declarationNDVNameLength.setLongValue(info.nameLength);
-		declarationNDVFlags.setLongValue(info.flags);
-
-		// Add text as binary doc values
-		declarationBPath.setBytesValue(source.getBytes());
-		declarationBElementName.setBytesValue(
-				info.elementName != null ? info.elementName.getBytes()
-						: BytesRef.EMPTY_BYTES);
-		declarationBParent
-				.setBytesValue(info.parent != null ? info.parent.getBytes()
-						: BytesRef.EMPTY_BYTES);
-		declarationBQualifier.setBytesValue(
-				info.qualifier != null ? info.qualifier.getBytes()
-						: BytesRef.EMPTY_BYTES);
-		declarationBMetadata
-				.setBytesValue(info.metadata != null ? info.metadata.getBytes()
-						: BytesRef.EMPTY_BYTES);
-		declarationBDoc.setBytesValue(
-				info.doc != null ? info.doc.getBytes() : BytesRef.EMPTY_BYTES);
-		return declaration;
+		return fDocuments.get().createForDeclaration(source, info);
 	}
 
 	/**
-	 * Creates and returns a document for source file time stamp.
+	 * Creates and returns a document for source file time stamp. The document
+	 * is reused by the next call on the same thread.
 	 * 
 	 * @param source
 	 * @param timestamp
 	 * @return a document for source file time stamp
 	 */
 	public Document createForTimestamp(String source, long timestamp) {
-		timestampValue.setLongValue(timestamp);
-		timestampPath.setStringValue(source);
-
-		return this.timestamp;
+		return fDocuments.get().createForTimestamp(source, timestamp);
 	}
 
-	private NumericDocValuesField addLongEntry(Document doc, String category) {
-		NumericDocValuesField f = new NumericDocValuesField(category, 0L);
-		doc.add(f);
+	private static final class Documents {
 
-		return f;
-	}
+		private String EMPTY = new String();
 
-	private StringField addStringEntry(Document doc, String category,
-			boolean store) {
-		StringField f = new StringField(category, EMPTY,
-				store ? Field.Store.YES : Field.Store.NO);
-		doc.add(f);
-		return f;
-	}
+		private Document timestamp = new Document();
+		private StringField timestampPath;
+		private NumericDocValuesField timestampValue;
+
+		private Document reference = new Document();
+		private StringField referenceFPath;
+		private StringField referenceFQualifier;
+		private StringField referenceFElementNameLC;
+		private NumericDocValuesField referenceNDVOffset;
+		private NumericDocValuesField referenceNDVLength;
+		private BinaryDocValuesField referenceBPath;
+		private BinaryDocValuesField referenceBElementName;
+		private BinaryDocValuesField referenceBQualifier;
+		private BinaryDocValuesField referenceBMetadata;
+
+		private Document declaration = new Document();
+
+		private StringField declarationFPath;
+		private StringField declarationFQualifier;
+		private StringField declarationFParent;
+		private StringField declarationFElementNameLC;
+		private StringField declarationFElementNameCC;
+		private NumericDocValuesField declarationNDVOffset;
+		private NumericDocValuesField declarationNDVLength;
+		private NumericDocValuesField declarationNDVNameOffset;
+		private NumericDocValuesField declarationNDVNameLength;
+		private NumericDocValuesField declarationNDVFlags;
 
-	private String ccValue(String value) {
-		StringBuilder camelCaseNameBuf = new StringBuilder();
-		for (int i = 0; i < value.length(); ++i) {
-			char ch = value.charAt(i);
-			if (Character.isUpperCase(ch)) {
-				camelCaseNameBuf.append(ch);
-			} else if (i == 0) {
-				// Not applicable for camel case search
-				break;
+		private BinaryDocValuesField declarationBPath;
+		private BinaryDocValuesField declarationBElementName;
+		private BinaryDocValuesField declarationBQualifier;
+		private BinaryDocValuesField declarationBMetadata;
+		private BinaryDocValuesField declarationBParent;
+		private BinaryDocValuesField declarationBDoc;
+
+		Documents() {
+			timestampPath = addStringEntry(timestamp, F_PATH, true);
+			timestampValue = addLongEntry(timestamp, NDV_TIMESTAMP);
+
+			referenceFPath = addStringEntry(reference, F_PATH, false);
+			referenceFQualifier = addStringEntry(reference, F_QUALIFIER, false);
+			referenceFElementNameLC = addStringEntry(reference, F_ELEMENT_NAME_LC,
+					false);
+
+			// Add numeric doc values
+			referenceNDVOffset = addLongEntry(reference, NDV_OFFSET);
+			referenceNDVLength = addLongEntry(reference, NDV_LENGTH);
+			// Add text as binary doc values
+			referenceBPath = addBinaryEntry(reference, BDV_PATH);
+			referenceBElementName = addBinaryEntry(reference, BDV_ELEMENT_NAME);
+			referenceBQualifier = addBinaryEntry(reference, BDV_QUALIFIER);
+			referenceBMetadata = addBinaryEntry(reference, BDV_METADATA);
+
+			declarationFPath = addStringEntry(declaration, F_PATH, false);
+			declarationFParent = addStringEntry(declaration, F_PARENT, false);
+			declarationFQualifier = addStringEntry(declaration, F_QUALIFIER, false);
+			declarationFElementNameLC = addStringEntry(declaration,
+					F_ELEMENT_NAME_LC, false);
+			declarationFElementNameCC = addStringEntry(declaration, F_CC_NAME,
+					false);
+			// Add numeric doc values
+			declarationNDVOffset = addLongEntry(declaration, NDV_OFFSET);
+			declarationNDVLength = addLongEntry(declaration, NDV_LENGTH);
+			declarationNDVNameOffset = addLongEntry(declaration, NDV_NAME_OFFSET);
+			declarationNDVNameLength = addLongEntry(declaration, NDV_NAME_LENGTH);
+			declarationNDVFlags = addLongEntry(declaration, NDV_FLAGS);
+			// Add text as binary doc values
+			declarationBPath = addBinaryEntry(declaration, BDV_PATH);
+			declarationBElementName = addBinaryEntry(declaration, BDV_ELEMENT_NAME);
+			declarationBParent = addBinaryEntry(declaration, BDV_PARENT);
+			declarationBQualifier = addBinaryEntry(declaration, BDV_QUALIFIER);
+			declarationBMetadata = addBinaryEntry(declaration, BDV_METADATA);
+			declarationBDoc = addBinaryEntry(declaration, BDV_DOC);
+		}
+
+		Document createForReference(String source, ReferenceInfo info) {
+			// Fields for search (no store, doc values will be used instead)
+			referenceFPath.setStringValue(source);
+			referenceFQualifier.setStringValue(
+					info.qualifier != null ? info.qualifier : EMPTY);
+			referenceFElementNameLC.setStringValue(info.elementName.toLowerCase());
+			// Add numeric doc values
+			referenceNDVOffset.setLongValue(info.offset);
+			referenceNDVLength.setLongValue(info.length);
+
+			// Add text as binary doc values
+			referenceBPath.setBytesValue(source.getBytes());
+			referenceBElementName.setBytesValue(info.elementName.getBytes());
+			referenceBQualifier
+					.setBytesValue(info.qualifier == null ? BytesRef.EMPTY_BYTES
+							: info.qualifier.getBytes());
+			referenceBMetadata
+					.setBytesValue(info.metadata == null ? BytesRef.EMPTY_BYTES
+							: info.metadata.getBytes());
+			return reference;
+		}
+
+		Document createForDeclaration(String source, DeclarationInfo info) {
+			// Fields for search (no store, doc values will be used instead)
+			declarationFPath.setStringValue(source);
+			declarationFParent
+					.setStringValue(info.parent != null ? info.parent : EMPTY);
+			declarationFQualifier.setStringValue(
+					info.qualifier != null ? info.qualifier : EMPTY);
+			declarationFElementNameLC
+					.setStringValue(info.elementName.toLowerCase());
+			declarationFElementNameCC.setStringValue(ccValue(info.elementName));
+			// Add numeric doc values
+
+			declarationNDVOffset.setLongValue(info.offset);
+			declarationNDVLength.setLongValue(info.length);
+			declarationNDVNameOffset.setLongValue(info.nameOffset);
+			declarationNDVNameLength.setLongValue(info.nameLength);
+			declarationNDVFlags.setLongValue(info.flags);
+
+			// Add text as binary doc values
+			declarationBPath.setBytesValue(source.getBytes());
+			declarationBElementName.setBytesValue(
+					info.elementName != null ? info.elementName.getBytes()
+							: BytesRef.EMPTY_BYTES);
+			declarationBParent
+					.setBytesValue(info.parent != null ? info.parent.getBytes()
+							: BytesRef.EMPTY_BYTES);
+			declarationBQualifier.setBytesValue(
+					info.qualifier != null ? info.qualifier.getBytes()
+							: BytesRef.EMPTY_BYTES);
+			declarationBMetadata
+					.setBytesValue(info.metadata != null ? info.metadata.getBytes()
+							: BytesRef.EMPTY_BYTES);
+			declarationBDoc.setBytesValue(
+					info.doc != null ? info.doc.getBytes() : BytesRef.EMPTY_BYTES);
+			return declaration;
+		}
+
+		Document createForTimestamp(String source, long timestamp) {
+			timestampValue.setLongValue(timestamp);
+			timestampPath.setStringValue(source);
+
+			return this.timestamp;
+		}
+
+		private NumericDocValuesField addLongEntry(Document doc, String category) {
+			NumericDocValuesField f = new NumericDocValuesField(category, 0L);
+			doc.add(f);
+
+			return f;
+		}
+
+		private StringField addStringEntry(Document doc, String category,
+				boolean store) {
+			StringField f = new StringField(category, EMPTY,
+					store ? Field.Store.YES : Field.Store.NO);
+			doc.add(f);
+			return f;
+		}
+
+		private String ccValue(String value) {
+			StringBuilder camelCaseNameBuf = new StringBuilder();
+			for (int i = 0; i < value.length(); ++i) {
+				char ch = value.charAt(i);
+				if (Character.isUpperCase(ch)) {
+					camelCaseNameBuf.append(ch);
+				} else if (i == 0) {
+					// Not applicable for camel case search
+					break;
+				}
 			}
+			return camelCaseNameBuf.toString();
 		}
-		return camelCaseNameBuf.toString();
-	}
 
-	private BinaryDocValuesField addBinaryEntry(Document doc, String category) {
-		BinaryDocValuesField f = new BinaryDocValuesField(category,
-				new BytesRef());
-		doc.add(f);
+		private BinaryDocValuesField addBinaryEntry(Document doc,
+				String category) {
+			BinaryDocValuesField f = new BinaryDocValuesField(category,
+					new BytesRef());
+			doc.add(f);
 
-		return f;
+			return f;
+		}
 	}
 
 }
@@ -19,6 +19,8 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.lucene.analysis.core.SimpleAnalyzer;
 import org.apache.lucene.index.IndexNotFoundException;
@@ -86,12 +88,25 @@ class IndexContainer {
 
 	private static final String TIMESTAMPS_DIR = "timestamps"; //$NON-NLS-1$
 
+	/**
+	 * RAM buffer size used by the writers while a batch is indexed, so that
+	 * fewer and larger segments get flushed.
+	 */
+	private static final double BATCH_RAM_BUFFER_SIZE_MB = Double
+			.parseDouble(System.getProperty(
+					"org.eclipse.dltk.core.index.lucene.batchBufferSize", //$NON-NLS-1$
+					"64")); //$NON-NLS-1$
+
 	private final String fIndexRoot;
 	private final String fContainerId;
 	private IndexWriter fTimestampsWriter;
 	private SearcherManager fTimestampsSearcher;
 	private Map<IndexType, Map<Integer, IndexWriter>> fIndexWriters;
 	private Map<IndexType, Map<Integer, SearcherManager>> fIndexSearchers;
+	private volatile int fBatches;
+	private final AtomicLong fGeneration = new AtomicLong();
+	private final Object fGenerationLock = new Object();
+	private volatile long fSearchGeneration;
 
 	public IndexContainer(String indexRoot, String containerId) {
 		fIndexRoot = indexRoot;
@@ -102,14 +117,14 @@ class IndexContainer {
 	private void initialize() {
 		fIndexWriters = new HashMap<>();
 		fIndexWriters.put(IndexType.DECLARATIONS,
-				new HashMap<Integer, IndexWriter>());
+				new ConcurrentHashMap<Integer, IndexWriter>());
 		fIndexWriters.put(IndexType.REFERENCES,
-				new HashMap<Integer, IndexWriter>());
+				new ConcurrentHashMap<Integer, IndexWriter>());
 		fIndexSearchers = new HashMap<>();
 		fIndexSearchers.put(IndexType.DECLARATIONS,
-				new HashMap<Integer, SearcherManager>());
+				new ConcurrentHashMap<Integer, SearcherManager>());
 		fIndexSearchers.put(IndexType.REFERENCES,
-				new HashMap<Integer, SearcherManager>());
+				new ConcurrentHashMap<Integer, SearcherManager>());
 	}
 
 	/**
@@ -139,6 +154,9 @@ class IndexContainer {
 		config.setUseCompoundFile(false);
 		config.setOpenMode(OpenMode.CREATE_OR_APPEND);
 		config.setCommitOnClose(false);
+		if (fBatches > 0) {
+			config.setRAMBufferSizeMB(BATCH_RAM_BUFFER_SIZE_MB);
+		}
 		IndexWriter writer = new IndexWriter(indexDir, config);
 		return writer;
 	}
@@ -163,7 +181,7 @@ class IndexContainer {
 		return fContainerId;
 	}
 
-	public IndexWriter getTimestampsWriter() {
+	public synchronized IndexWriter getTimestampsWriter() {
 		if (fTimestampsWriter == null) {
 			Path writerPath = Paths.get(fIndexRoot, fContainerId,
 					TIMESTAMPS_DIR);
@@ -208,7 +226,9 @@ class IndexContainer {
 				if (writer == null) {
 					Path writerPath = getPath(dataType, elementType);
 					writer = getWriter(writerPath);
-					fIndexWriters.get(dataType).put(elementType, writer);
+					if (writer != null) {
+						fIndexWriters.get(dataType).put(elementType, writer);
+					}
 				}
 			}
 		}
@@ -257,6 +277,7 @@ class IndexContainer {
 		} catch (IOException e) {
 			Logger.logException(e);
 		}
+		changed();
 	}
 
 	public void delete(boolean wait) {
@@ -294,6 +315,45 @@ class IndexContainer {
 		}
 	}
 
+	/**
+	 * Starts indexing a batch of source modules, until the matching
+	 * {@link #endBatch()} the writers use larger RAM buffers.
+	 */
+	void beginBatch() {
+		synchronized (fIndexWriters) {
+			if (fBatches++ == 0) {
+				setRAMBufferSize(BATCH_RAM_BUFFER_SIZE_MB);
+			}
+		}
+	}
+
+	/**
+	 * Ends indexing a batch of source modules, commits the changes and
+	 * refreshes the searchers.
+	 */
+	void endBatch() {
+		synchronized (fIndexWriters) {
+			if (--fBatches == 0) {
+				setRAMBufferSize(IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB);
+			}
+		}
+		commit();
+		refresh();
+	}
+
+	private void setRAMBufferSize(double size) {
+		for (Map<Integer, IndexWriter> dataWriters : fIndexWriters.values()) {
+			for (IndexWriter writer : dataWriters.values()) {
+				writer.getConfig().setRAMBufferSizeMB(size);
+			}
+		}
+		synchronized (this) {
+			if (fTimestampsWriter != null) {
+				fTimestampsWriter.getConfig().setRAMBufferSizeMB(size);
+			}
+		}
+	}
+
 	boolean hasChanges() {
 		for (Map<Integer, IndexWriter> dataWriters : fIndexWriters.values()) {
 			for (IndexWriter writer : dataWriters.values()) {
@@ -329,7 +389,52 @@ class IndexContainer {
 		}
 	}
 
+	/**
+	 * Records a change of the index data, returns the generation of the
+	 * change.
+	 */
+	long changed() {
+		return fGeneration.incrementAndGet();
+	}
+
+	/**
+	 * Returns the generation of the last change of the index data.
+	 */
+	long getGeneration() {
+		return fGeneration.get();
+	}
+
+	/**
+	 * Answers if some changes are not visible to the searchers yet.
+	 */
+	boolean isStale() {
+		return !isVisible(fGeneration.get());
+	}
+
+	/**
+	 * Answers if the changes up to the specified generation are visible to the
+	 * searchers.
+	 */
+	boolean isVisible(long generation) {
+		return fSearchGeneration >= generation;
+	}
+
+	/**
+	 * Waits at most the specified time for the changes up to the specified
+	 * generation to become visible to the searchers.
+	 */
+	void waitForGeneration(long generation, long timeout)
+			throws InterruptedException {
+		synchronized (fGenerationLock) {
+			if (fSearchGeneration < generation) {
+				fGenerationLock.wait(timeout);
+			}
+		}
+	}
+
 	public IndexContainer refresh() {
+		// Changes made after this point might not be visible
+		long generation = fGeneration.get();
 		List<SearcherManager> managers = new LinkedList<>();
 		synchronized (fIndexSearchers) {
 			for (Map<Integer, SearcherManager> searcher : fIndexSearchers
@@ -348,7 +453,12 @@ class IndexContainer {
 				Logger.logException(e);
 			}
 		}
-
+		synchronized (fGenerationLock) {
+			if (generation > fSearchGeneration) {
+				fSearchGeneration = generation;
+			}
+			fGenerationLock.notifyAll();
+		}
 		return this;
 
 	}
@@ -12,9 +12,15 @@
 package org.eclipse.dltk.internal.core.index.lucene;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.IndexWriter;
@@ -28,6 +34,7 @@ import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Scorable;
 import org.apache.lucene.search.ScoreMode;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.dltk.core.DLTKLanguageManager;
 import org.eclipse.dltk.core.IDLTKLanguageToolkit;
 import org.eclipse.dltk.core.IDLTKLanguageToolkitExtension;
@@ -36,6 +43,8 @@ import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
 import org.eclipse.dltk.core.environment.IFileHandle;
 import org.eclipse.dltk.core.index2.AbstractIndexer;
+import org.eclipse.dltk.core.index2.IBatchIndexer;
+import org.eclipse.dltk.core.index2.IIndexingRequestor;
 import org.eclipse.dltk.core.index2.search.ISearchEngine;
 import org.eclipse.dltk.internal.core.ExternalSourceModule;
 import org.eclipse.dltk.internal.core.SourceModule;
@@ -47,7 +56,37 @@ import org.eclipse.dltk.internal.core.util.Util;
  * @author Michal Niewrzal, Bartlomiej Laczkowski
  */
 @SuppressWarnings("restriction")
-public class LuceneIndexer extends AbstractIndexer {
+public class LuceneIndexer extends AbstractIndexer implements IBatchIndexer {
+
+	/**
+	 * Requestor writing the documents of a single source module of a batch.
+	 */
+	private static final class BatchRequestor implements IIndexingRequestor {
+
+		private final String fContainer;
+		private final String fFile;
+		private final AtomicInteger fDocuments;
+
+		public BatchRequestor(String container, String file,
+				AtomicInteger documents) {
+			this.fContainer = container;
+			this.fFile = file;
+			this.fDocuments = documents;
+		}
+
+		@Override
+		public void addDeclaration(DeclarationInfo info) {
+			writeDeclaration(fContainer, fFile, info);
+			fDocuments.incrementAndGet();
+		}
+
+		@Override
+		public void addReference(ReferenceInfo info) {
+			writeReference(fContainer, fFile, info);
+			fDocuments.incrementAndGet();
+		}
+
+	}
 
 	private static final class TimestampsCollector implements Collector {
 
@@ -124,26 +163,12 @@ public class LuceneIndexer extends AbstractIndexer {
 
 	@Override
 	public void addDeclaration(DeclarationInfo info) {
-		IndexWriter writer = LuceneManager.INSTANCE.findIndexWriter(fContainer,
-				IndexType.DECLARATIONS, info.elementType);
-		try {
-			writer.addDocument(
-					DocumentFactory.INSTANCE.createForDeclaration(fFile, info));
-		} catch (Exception e) {
-			Logger.logException(e);
-		}
+		writeDeclaration(fContainer, fFile, info);
 	}
 
 	@Override
 	public void addReference(ReferenceInfo info) {
-		IndexWriter writer = LuceneManager.INSTANCE.findIndexWriter(fContainer,
-				IndexType.REFERENCES, info.elementType);
-		try {
-			writer.addDocument(
-					DocumentFactory.INSTANCE.createForReference(fFile, info));
-		} catch (Exception e) {
-			Logger.logException(e);
-		}
+		writeReference(fContainer, fFile, info);
 	}
 
 	@Override
@@ -158,16 +183,161 @@ public class LuceneIndexer extends AbstractIndexer {
 		resetDocument(sourceModule, toolkit);
 		long lastModified = fileHandle == null ? 0 : fileHandle.lastModified();
 		// Cleanup and write new info...
-		LuceneManager.INSTANCE.delete(fContainer, fFile);
+		writeTimestamp(fContainer, fFile, lastModified);
+		super.indexDocument(sourceModule);
+		LuceneManager.INSTANCE.markChanged(fContainer);
+	}
+
+	@Override
+	public void indexDocuments(IPath containerPath,
+			Collection<ISourceModule> sourceModules,
+			final IProgressMonitor monitor) {
+		final String container = containerPath.toString();
+		final Iterator<ISourceModule> modules = sourceModules.iterator();
+		final AtomicInteger documents = new AtomicInteger();
+		final AtomicBoolean stopped = new AtomicBoolean();
+		final Runnable worker = () -> {
+			ISourceModule sourceModule;
+			while (!stopped.get() && !monitor.isCanceled()
+					&& (sourceModule = next(modules)) != null) {
+				indexDocument(sourceModule, documents);
+			}
+		};
+		final int threads = Math.min(LuceneManager.BATCH_THREADS,
+				sourceModules.size());
+		final long startTime = System.currentTimeMillis();
+		boolean interrupted = false;
+		LuceneManager.INSTANCE.beginBatch(container);
+		try {
+			if (threads <= 1) {
+				worker.run();
+			} else {
+				interrupted = runConcurrently(worker, threads, stopped);
+			}
+		} finally {
+			LuceneManager.INSTANCE.endBatch(container);
+		}
+		if (interrupted) {
+			// restored once committed, an interrupt during I/O closes the
+			// files of the index
+			Thread.currentThread().interrupt();
+		}
+		if (Logger.isDebugging()) {
+			long time = Math.max(1, System.currentTimeMillis() - startTime);
+			int count = documents.get();
+			Logger.log(Logger.INFO_DEBUG, String.format(
+					"Indexed %d documents of %d source modules of %s in %d ms (%d docs/sec)", //$NON-NLS-1$
+					count, sourceModules.size(), container, time,
+					count * 1000L / time));
+		}
+	}
+
+	private void indexDocument(ISourceModule sourceModule,
+			AtomicInteger documents) {
+		IDLTKLanguageToolkit toolkit = DLTKLanguageManager
+				.getLanguageToolkit(sourceModule);
+		if (toolkit == null) {
+			return;
+		}
+		final IFileHandle fileHandle = EnvironmentPathUtils
+				.getFile(sourceModule);
+		IPath containerPath = getContainerPath(sourceModule);
+		String container = containerPath.toString();
+		String file = getRelativePath(sourceModule, toolkit, containerPath);
+		long lastModified = fileHandle == null ? 0 : fileHandle.lastModified();
+		writeTimestamp(container, file, lastModified);
+		documents.incrementAndGet();
+		indexDocument(sourceModule,
+				new BatchRequestor(container, file, documents));
+		LuceneManager.INSTANCE.markChanged(container);
+	}
+
+	private static ISourceModule next(Iterator<ISourceModule> modules) {
+		synchronized (modules) {
+			return modules.hasNext() ? modules.next() : null;
+		}
+	}
+
+	/**
+	 * Runs the worker on the specified number of threads of the shared pool
+	 * and waits until all of them are done. When interrupted the workers are
+	 * asked to stop and still awaited, so the batch is only ended once nothing
+	 * writes to the index anymore. The workers are not interrupted, as an
+	 * interrupt during an I/O operation closes the files of the index.
+	 * 
+	 * @return whether the current thread was interrupted
+	 */
+	private static boolean runConcurrently(Runnable worker, int threads,
+			AtomicBoolean stopped) {
+		final CountDownLatch done = new CountDownLatch(threads);
+		boolean rejected = false;
+		for (int i = 0; i < threads; i++) {
+			try {
+				LuceneManager.INSTANCE.getBatchExecutor().execute(() -> {
+					try {
+						worker.run();
+					} catch (RuntimeException e) {
+						Logger.logException(e);
+					} finally {
+						done.countDown();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				// the pool is shut down
+				done.countDown();
+				rejected = true;
+			}
+		}
+		if (rejected) {
+			worker.run();
+		}
+		boolean interrupted = false;
+		while (true) {
+			try {
+				done.await();
+				return interrupted;
+			} catch (InterruptedException e) {
+				interrupted = true;
+				stopped.set(true);
+			}
+		}
+	}
+
+	private static void writeTimestamp(String container, String file,
+			long lastModified) {
+		LuceneManager.INSTANCE.delete(container, file);
 		IndexWriter indexWriter = LuceneManager.INSTANCE
-				.findTimestampsWriter(fContainer);
+				.findTimestampsWriter(container);
 		try {
 			indexWriter.addDocument(DocumentFactory.INSTANCE
-					.createForTimestamp(fFile, lastModified));
+					.createForTimestamp(file, lastModified));
+		} catch (Exception e) {
+			Logger.logException(e);
+		}
+	}
+
+	private static void writeDeclaration(String container, String file,
+			DeclarationInfo info) {
+		IndexWriter writer = LuceneManager.INSTANCE.findIndexWriter(container,
+				IndexType.DECLARATIONS, info.elementType);
+		try {
+			writer.addDocument(
+					DocumentFactory.INSTANCE.createForDeclaration(file, info));
+		} catch (Exception e) {
+			Logger.logException(e);
+		}
+	}
+
+	private static void writeReference(String container, String file,
+			ReferenceInfo info) {
+		IndexWriter writer = LuceneManager.INSTANCE.findIndexWriter(container,
+				IndexType.REFERENCES, info.elementType);
+		try {
+			writer.addDocument(
+					DocumentFactory.INSTANCE.createForReference(file, info));
 		} catch (Exception e) {
 			Logger.logException(e);
 		}
-		super.indexDocument(sourceModule);
 	}
 
 	@Override
@@ -184,13 +354,21 @@ public class LuceneIndexer extends AbstractIndexer {
 
 	private void resetDocument(ISourceModule sourceModule,
 			IDLTKLanguageToolkit toolkit) {
-		IPath containerPath;
+		IPath containerPath = getContainerPath(sourceModule);
+		this.fContainer = containerPath.toString();
+		this.fFile = getRelativePath(sourceModule, toolkit, containerPath);
+	}
+
+	private static IPath getContainerPath(ISourceModule sourceModule) {
 		if (sourceModule instanceof SourceModule) {
-			containerPath = sourceModule.getScriptProject().getPath();
-		} else {
-			containerPath = sourceModule
-					.getAncestor(IModelElement.PROJECT_FRAGMENT).getPath();
+			return sourceModule.getScriptProject().getPath();
 		}
+		return sourceModule.getAncestor(IModelElement.PROJECT_FRAGMENT)
+				.getPath();
+	}
+
+	private static String getRelativePath(ISourceModule sourceModule,
+			IDLTKLanguageToolkit toolkit, IPath containerPath) {
 		String relativePath;
 		if (toolkit instanceof IDLTKLanguageToolkitExtension
 				&& ((IDLTKLanguageToolkitExtension) toolkit)
@@ -201,8 +379,7 @@ public class LuceneIndexer extends AbstractIndexer {
 			relativePath = Util.relativePath(sourceModule.getPath(),
 					containerPath.segmentCount());
 		}
-		this.fContainer = containerPath.toString();
-		this.fFile = relativePath;
+		return relativePath;
 	}
 
 }
@@ -18,7 +18,6 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +25,12 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.search.SearcherManager;
@@ -91,6 +96,95 @@ public enum LuceneManager {
 
 	}
 
+	/**
+	 * Background thread making the index changes visible to the searchers,
+	 * similar to Lucene's <code>ControlledRealTimeReopenThread</code> but
+	 * serving the searchers of all the containers. It sleeps until a change is
+	 * recorded, then lets the changes accumulate for the maximum staleness
+	 * unless a refresh is requested meanwhile.
+	 */
+	private final class SearcherRefresher extends Thread {
+
+		private boolean fChanged;
+		private boolean fRefreshRequested;
+		private boolean fStopped;
+
+		public SearcherRefresher() {
+			super("DLTK Lucene Searcher Refresher"); //$NON-NLS-1$
+			setDaemon(true);
+			setPriority(Thread.NORM_PRIORITY - 1);
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				synchronized (this) {
+					try {
+						while (!fChanged && !fRefreshRequested && !fStopped) {
+							wait();
+						}
+						if (!fRefreshRequested && !fStopped) {
+							wait(MAX_STALENESS);
+						}
+					} catch (InterruptedException e) {
+						return;
+					}
+					if (fStopped) {
+						return;
+					}
+					fChanged = false;
+					fRefreshRequested = false;
+				}
+				try {
+					for (IndexContainer indexContainer : getStaleContainers()) {
+						indexContainer.refresh();
+					}
+				} catch (Exception e) {
+					Logger.logException(e);
+				}
+			}
+		}
+
+		synchronized void changed() {
+			if (!fChanged) {
+				fChanged = true;
+				notifyAll();
+			}
+		}
+
+		synchronized void requestRefresh() {
+			fRefreshRequested = true;
+			notifyAll();
+		}
+
+		void close() {
+			synchronized (this) {
+				fStopped = true;
+				notifyAll();
+			}
+			try {
+				join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+	/**
+	 * Maximum time (in milliseconds) the index changes may remain invisible to
+	 * the searchers.
+	 */
+	private static final long MAX_STALENESS = Math.max(1, Long.getLong(
+			"org.eclipse.dltk.core.index.lucene.maxStaleness", 1000)); //$NON-NLS-1$
+
+	/**
+	 * Number of threads indexing the source modules of the batches.
+	 */
+	public static final int BATCH_THREADS = Math.max(1, Integer.getInteger(
+			"org.eclipse.dltk.core.index.lucene.batchThreads", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())));
+
 	private static final String INDEX_DIR = "index"; //$NON-NLS-1$
 	private static final String PROPERTIES_FILE = ".properties"; //$NON-NLS-1$
 	private static final String MAPPINGS_FILE = ".mappings"; //$NON-NLS-1$
@@ -99,6 +193,8 @@ public enum LuceneManager {
 	private final Properties fIndexProperties;
 	private final Map<String, String> fContainerMappings;
 	private final Map<String, IndexContainer> fIndexContainers;
+	private final SearcherRefresher fRefresher;
+	private ExecutorService fBatchExecutor;
 
 	private void commit() {
 		try {
@@ -114,8 +210,9 @@ public enum LuceneManager {
 
 	private LuceneManager() {
 		fIndexProperties = new Properties();
-		fContainerMappings = new HashMap<>();
-		fIndexContainers = new HashMap<>();
+		fContainerMappings = new ConcurrentHashMap<>();
+		fIndexContainers = new ConcurrentHashMap<>();
+		fRefresher = new SearcherRefresher();
 		fIndexRoot = Platform
 				.getStateLocation(LucenePlugin.getDefault().getBundle())
 				.append(INDEX_DIR).toOSString();
@@ -195,16 +292,125 @@ public enum LuceneManager {
 	public final void delete(String container, String sourceModule) {
 		if (fContainerMappings.get(container) != null) {
 			getIndexContainer(container).delete(sourceModule);
+			fRefresher.changed();
 		}
 	}
 
+	/**
+	 * Starts indexing a batch of source modules of given container. Until the
+	 * matching {@link #endBatch(String)} the container's writers use larger
+	 * RAM buffers.
+	 * 
+	 * @param container
+	 */
+	public final void beginBatch(String container) {
+		getIndexContainer(container).beginBatch();
+	}
+
+	/**
+	 * Ends indexing a batch of source modules of given container, the changes
+	 * are committed at once and become visible to the searchers.
+	 * 
+	 * @param container
+	 */
+	public final void endBatch(String container) {
+		getIndexContainer(container).endBatch();
+	}
+
+	/**
+	 * Records a change of given container's index data made through its
+	 * writers, the change becomes visible to the searchers in
+	 * <code>org.eclipse.dltk.core.index.lucene.maxStaleness</code>
+	 * milliseconds at most. The searches needing to see the change wait for
+	 * the returned generation (see {@link #waitForGeneration(String, long)}).
+	 * 
+	 * @param container
+	 * @return generation token of the change
+	 */
+	public final long markChanged(String container) {
+		long generation = getIndexContainer(container).changed();
+		fRefresher.changed();
+		return generation;
+	}
+
+	/**
+	 * Returns generation token of the last change of given container's index
+	 * data.
+	 * 
+	 * @param container
+	 * @return generation token
+	 */
+	public final long getGeneration(String container) {
+		return getIndexContainer(container).getGeneration();
+	}
+
+	/**
+	 * Waits until the changes of given container's index data up to given
+	 * generation are visible to the searchers. Only the searchers of given
+	 * container are refreshed, and only if the generation is not visible
+	 * already.
+	 * 
+	 * @param container
+	 * @param generation
+	 *            generation token returned by {@link #markChanged(String)} or
+	 *            {@link #getGeneration(String)}
+	 */
+	public final void waitForGeneration(String container, long generation) {
+		IndexContainer indexContainer = getIndexContainer(container);
+		try {
+			while (!indexContainer.isVisible(generation)) {
+				if (!fRefresher.isAlive()) {
+					indexContainer.refresh();
+					return;
+				}
+				fRefresher.requestRefresh();
+				indexContainer.waitForGeneration(generation, MAX_STALENESS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Returns the pool of threads indexing the source modules of the batches,
+	 * shared by all the indexers. The threads are stopped when they are idle
+	 * for some time, and the pool is shut down with the manager.
+	 * 
+	 * @return batch indexing executor
+	 */
+	final synchronized ExecutorService getBatchExecutor() {
+		if (fBatchExecutor == null) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(BATCH_THREADS,
+					BATCH_THREADS, 60, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), r -> {
+						Thread thread = new Thread(r, "Lucene Indexer #" //$NON-NLS-1$
+								+ threadCount.incrementAndGet());
+						thread.setDaemon(true);
+						thread.setPriority(Thread.NORM_PRIORITY - 1);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+			fBatchExecutor = executor;
+		}
+		return fBatchExecutor;
+	}
+
+	private List<IndexContainer> getStaleContainers() {
+		List<IndexContainer> staleContainers = new ArrayList<>();
+		for (IndexContainer indexContainer : fIndexContainers.values()) {
+			if (indexContainer.isStale()) {
+				staleContainers.add(indexContainer);
+			}
+		}
+		return staleContainers;
+	}
+
 	private List<IndexContainer> getDirtyContainers() {
 		List<IndexContainer> uncommittedContainers = new ArrayList<>();
-		synchronized (fIndexContainers) {
-			for (IndexContainer indexContainer : fIndexContainers.values()) {
-				if (indexContainer.hasChanges()) {
-					uncommittedContainers.add(indexContainer);
-				}
+		for (IndexContainer indexContainer : fIndexContainers.values()) {
+			if (indexContainer.hasChanges()) {
+				uncommittedContainers.add(indexContainer);
 			}
 		}
 
@@ -212,24 +418,29 @@ public enum LuceneManager {
 	}
 
 	private IndexContainer getIndexContainer(String container) {
+		// the maps are only modified while holding the mappings lock
 		String containerId = fContainerMappings.get(container);
-		if (containerId == null) {
-			synchronized (fContainerMappings) {
-				containerId = fContainerMappings.get(container);
-				if (containerId == null) {
-					do {
-						// Just to be sure that ID does not already exist
-						containerId = UUID.randomUUID().toString();
-					} while (fContainerMappings.containsValue(containerId));
-					fContainerMappings.put(container, containerId);
-					fIndexContainers.put(containerId,
-							new IndexContainer(fIndexRoot, containerId));
-					// Persist mapping
-					saveMappings();
-				}
+		if (containerId != null) {
+			IndexContainer indexContainer = fIndexContainers.get(containerId);
+			if (indexContainer != null) {
+				return indexContainer;
+			}
+		}
+		synchronized (fContainerMappings) {
+			containerId = fContainerMappings.get(container);
+			if (containerId == null) {
+				do {
+					// Just to be sure that ID does not already exist
+					containerId = UUID.randomUUID().toString();
+				} while (fContainerMappings.containsValue(containerId));
+				fIndexContainers.put(containerId,
+						new IndexContainer(fIndexRoot, containerId));
+				fContainerMappings.put(container, containerId);
+				// Persist mapping
+				saveMappings();
 			}
+			return fIndexContainers.get(containerId);
 		}
-		return fIndexContainers.get(containerId);
 	}
 
 	private void deleteIndexContainer(String container, boolean wait) {
@@ -270,9 +481,19 @@ public enum LuceneManager {
 				.addIndexerThreadListener(new IndexerThreadListener());
 		ModelManager.getModelManager().getIndexManager()
 				.addShutdownListener(new ShutdownListener());
+		fRefresher.start();
 	}
 
 	private synchronized void shutdown() {
+		if (fBatchExecutor != null) {
+			fBatchExecutor.shutdown();
+			try {
+				fBatchExecutor.awaitTermination(1, TimeUnit.MINUTES);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		fRefresher.close();
 		// Close all searchers & writers in all container entries
 		for (IndexContainer entry : fIndexContainers.values()) {
 			entry.close();
@@ -35,6 +35,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.RecursiveTask;
 
@@ -54,6 +55,7 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Scorable;
 import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.util.BytesRef;
@@ -73,8 +75,53 @@ import org.eclipse.dltk.internal.core.search.DLTKSearchScope;
 @SuppressWarnings("restriction")
 public class LuceneSearchEngine implements ISearchEngineExtension {
 
+	/**
+	 * The generations of the containers' index data the searches wait for.
+	 */
+	private final Map<String, Long> fGenerations;
+
+	/**
+	 * Creates the search engine using the current searchers, the changes
+	 * recorded recently may not be visible yet.
+	 */
+	public LuceneSearchEngine() {
+		this(Collections.<String, Long> emptyMap());
+	}
+
+	/**
+	 * Creates the search engine seeing the changes of the containers' index
+	 * data up to given generations, e.g. to read the own writes.
+	 * 
+	 * @param generations
+	 *            container -> generation token returned by
+	 *            {@link LuceneManager#markChanged(String)} or
+	 *            {@link LuceneManager#getGeneration(String)}
+	 */
+	public LuceneSearchEngine(Map<String, Long> generations) {
+		this.fGenerations = generations;
+	}
+
 	private static final class SearchScope {
 
+		private static final class ScriptsFilter {
+
+			final List<String> fScripts;
+			final Query fQuery;
+
+			ScriptsFilter(List<String> scripts, Query query) {
+				this.fScripts = scripts;
+				this.fQuery = query;
+			}
+
+		}
+
+		/*
+		 * Scopes are usually reused for many searches (e.g. code assist),
+		 * building the filter for thousands of scripts is not that cheap.
+		 */
+		private static final Map<IDLTKSearchScope, ScriptsFilter> FILTERS = Collections
+				.synchronizedMap(new WeakHashMap<>());
+
 		static List<String> getContainers(IDLTKSearchScope scope) {
 			List<String> containers = new ArrayList<>();
 			for (IPath path : scope.enclosingProjectsAndZips()) {
@@ -111,6 +158,28 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 			return scripts;
 		}
 
+		/**
+		 * Returns the query matching the documents of given scripts or
+		 * <code>null</code> if the scope is not limited to some scripts.
+		 */
+		static Query getScriptsFilter(IDLTKSearchScope scope,
+				List<String> scripts) {
+			if (scripts.isEmpty()) {
+				return null;
+			}
+			ScriptsFilter filter = FILTERS.get(scope);
+			if (filter == null || !filter.fScripts.equals(scripts)) {
+				List<BytesRef> terms = new ArrayList<>(scripts.size());
+				for (String script : scripts) {
+					terms.add(new BytesRef(script));
+				}
+				filter = new ScriptsFilter(scripts,
+						new TermInSetQuery(F_PATH, terms));
+				FILTERS.put(scope, filter);
+			}
+			return filter.fQuery;
+		}
+
 	}
 
 	private static final class ResultsCollector implements Collector {
@@ -244,14 +313,15 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 
 		List<SearchTask> tasks = new LinkedList<>();
 		List<String> containers = SearchScope.getContainers(scope);
-		List<String> scripts = SearchScope.getScripts(scope);
+		Query scriptsFilter = SearchScope.getScriptsFilter(scope,
+				SearchScope.getScripts(scope));
 		final SearchMatchHandler searchMatchHandler = new SearchMatchHandler(
 				scope, requestor);
 		if (searchForRefs) {
 			for (String container : containers) {
 				tasks.add(new SearchTask(elementType, qualifier, elementName,
-						parent, trueFlags, falseFlags, true, matchRule, scripts,
-						container));
+						parent, trueFlags, falseFlags, true, matchRule,
+						scriptsFilter, container));
 			}
 			tasks.stream().map(ForkJoinTask::fork).forEach(t -> t.join()
 					.stream().forEach(m -> searchMatchHandler.handle(m, true)));
@@ -262,7 +332,7 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 			for (String container : containers) {
 				tasks.add(new SearchTask(elementType, qualifier, elementName,
 						parent, trueFlags, falseFlags, false, matchRule,
-						scripts, container));
+						scriptsFilter, container));
 			}
 			tasks.stream().map(ForkJoinTask::fork)
 					.forEach(t -> t.join().stream()
@@ -273,15 +343,10 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 	private Query createQuery(final String elementName, final String qualifier,
 			final String parent, final int trueFlags, final int falseFlags,
 			final boolean searchForRefs, MatchRule matchRule,
-			List<String> scripts) {
+			Query scriptsFilter) {
 		BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
-		if (!scripts.isEmpty()) {
-			BooleanQuery.Builder scriptQueryBuilder = new BooleanQuery.Builder();
-			for (String script : scripts) {
-				scriptQueryBuilder.add(new TermQuery(new Term(F_PATH, script)),
-						Occur.FILTER);
-			}
-			queryBuilder.add(scriptQueryBuilder.build(), Occur.FILTER);
+		if (scriptsFilter != null) {
+			queryBuilder.add(scriptsFilter, Occur.FILTER);
 		}
 		if (elementName != null && !elementName.isEmpty()) {
 			String elementNameLC = elementName.toLowerCase();
@@ -328,13 +393,13 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 		int falseFlags;
 		boolean searchForRefs;
 		MatchRule matchRule;
-		List<String> scripts;
+		Query scriptsFilter;
 		String container;
 
 		private SearchTask(int elementType, String qualifier,
 				String elementName, String parent, int trueFlags,
 				final int falseFlags, boolean searchForRefs,
-				MatchRule matchRule, List<String> scripts, String container) {
+				MatchRule matchRule, Query scriptsFilter, String container) {
 			this.elementType = elementType;
 			this.qualifier = qualifier;
 			this.elementName = elementName;
@@ -343,12 +408,17 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 			this.falseFlags = falseFlags;
 			this.searchForRefs = searchForRefs;
 			this.matchRule = matchRule;
-			this.scripts = scripts;
+			this.scriptsFilter = scriptsFilter;
 			this.container = container;
 		}
 
 		@Override
 		protected List<SearchMatch> compute() {
+			Long generation = fGenerations.get(container);
+			if (generation != null) {
+				LuceneManager.INSTANCE.waitForGeneration(container,
+						generation.longValue());
+			}
 			SearcherManager searcherManager = LuceneManager.INSTANCE
 					.findIndexSearcher(container,
 							searchForRefs ? IndexType.REFERENCES
@@ -362,7 +432,7 @@ public class LuceneSearchEngine implements ISearchEngineExtension {
 				indexSearcher = searcherManager.acquire();
 				Query query = createQuery(elementName, qualifier, parent,
 						trueFlags, falseFlags, searchForRefs, matchRule,
-						scripts);
+						scriptsFilter);
 				ResultsCollector collector = new ResultsCollector(container,
 						elementType);
 				if (query != null) {
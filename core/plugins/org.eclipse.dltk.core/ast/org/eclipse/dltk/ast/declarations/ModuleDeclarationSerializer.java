@@ -0,0 +1,561 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.ast.declarations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.dltk.ast.ASTListNode;
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.ast.expressions.CallArgumentsList;
+import org.eclipse.dltk.ast.expressions.CallExpression;
+import org.eclipse.dltk.ast.expressions.NilLiteral;
+import org.eclipse.dltk.ast.expressions.NumericLiteral;
+import org.eclipse.dltk.ast.expressions.StringLiteral;
+import org.eclipse.dltk.ast.references.ConstantReference;
+import org.eclipse.dltk.ast.references.SimpleReference;
+import org.eclipse.dltk.ast.references.TypeReference;
+import org.eclipse.dltk.ast.references.VariableKind;
+import org.eclipse.dltk.ast.references.VariableReference;
+import org.eclipse.dltk.ast.statements.Block;
+
+/**
+ * Compact binary form of the {@link ModuleDeclaration} trees built from the
+ * core AST nodes. The trees containing other nodes (e.g. language specific
+ * subclasses, which may hold any state) are not supported.
+ * <p>
+ * Positions are written as variable length integers, strings are written
+ * once and then referenced by index, and the nodes referenced several times
+ * (e.g. from the body and from the list of types) are restored as the same
+ * instance.
+ */
+public final class ModuleDeclarationSerializer {
+
+	/**
+	 * Version of the format, to be changed with any change of the format.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int NULL = 0;
+	private static final int REFERENCE = 1;
+	private static final int MODULE = 2;
+	private static final int BLOCK = 3;
+	private static final int LIST = 4;
+	private static final int CALL_ARGUMENTS = 5;
+	private static final int CALL_ARGUMENTS_EMPTY = 6;
+	private static final int TYPE = 7;
+	private static final int METHOD = 8;
+	private static final int FIELD = 9;
+	private static final int ARGUMENT = 10;
+	private static final int SIMPLE_REFERENCE = 11;
+	private static final int TYPE_REFERENCE = 12;
+	private static final int CONSTANT_REFERENCE = 13;
+	private static final int VARIABLE_REFERENCE = 14;
+	private static final int CALL = 15;
+	private static final int STRING = 16;
+	private static final int NUMBER = 17;
+	private static final int NIL = 18;
+
+	private static final VariableKind[] VARIABLE_KINDS = {
+			VariableKind.UNKNOWN, VariableKind.LOCAL, VariableKind.GLOBAL,
+			VariableKind.INSTANCE, VariableKind.CLASS, VariableKind.MIXIN,
+			VariableKind.ARGUMENT };
+
+	/**
+	 * Thrown when the tree contains a node which can't be written.
+	 */
+	private static class UnsupportedNodeException extends IOException {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private ModuleDeclarationSerializer() {
+	}
+
+	/**
+	 * Returns the binary form of the module or <code>null</code> if the
+	 * module contains unsupported nodes.
+	 */
+	public static byte[] serialize(ModuleDeclaration module) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+		try {
+			new Writer(new DataOutputStream(bytes)).writeNode(module);
+		} catch (UnsupportedNodeException e) {
+			return null;
+		} catch (IOException e) {
+			// not expected when writing to memory
+			return null;
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Restores the module from its binary form.
+	 *
+	 * @throws IOException
+	 *             if the data are malformed
+	 */
+	public static ModuleDeclaration deserialize(byte[] data)
+			throws IOException {
+		final DataInputStream input = new DataInputStream(
+				new ByteArrayInputStream(data));
+		final ASTNode node = new Reader(input).readNode();
+		if (!(node instanceof ModuleDeclaration)) {
+			throw new IOException("Not a module declaration"); //$NON-NLS-1$
+		}
+		return (ModuleDeclaration) node;
+	}
+
+	private static class Writer {
+		private final DataOutput out;
+		private final Map<Object, Integer> nodes = new IdentityHashMap<>();
+		private final Map<Object, Object> writing = new IdentityHashMap<>();
+		private final Map<String, Integer> strings = new HashMap<>();
+
+		Writer(DataOutput out) {
+			this.out = out;
+		}
+
+		void writeNode(ASTNode node) throws IOException {
+			if (node == null) {
+				writeInt(NULL);
+				return;
+			}
+			final Integer id = nodes.get(node);
+			if (id != null) {
+				writeInt(REFERENCE);
+				writeInt(id.intValue());
+				return;
+			}
+			if (writing.put(node, node) != null) {
+				// cycles are not expected in the tree
+				throw new UnsupportedNodeException();
+			}
+			writeContent(node);
+			writing.remove(node);
+			nodes.put(node, Integer.valueOf(nodes.size()));
+		}
+
+		private void writeContent(ASTNode node) throws IOException {
+			final Class<?> clazz = node.getClass();
+			if (node == CallArgumentsList.EMPTY) {
+				writeInt(CALL_ARGUMENTS_EMPTY);
+			} else if (clazz == ModuleDeclaration.class) {
+				final ModuleDeclaration module = (ModuleDeclaration) node;
+				if (module.scope != null) {
+					throw new UnsupportedNodeException();
+				}
+				writeInt(MODULE);
+				writeRange(node);
+				writeNodes(module.getStatements());
+				writeNodes(module.getTypeList());
+				writeNodes(module.getFunctionList());
+				writeNodes(module.getVariablesList());
+			} else if (clazz == Block.class) {
+				writeInt(BLOCK);
+				writeRange(node);
+				writeNodes(((Block) node).getStatements());
+			} else if (clazz == ASTListNode.class) {
+				writeInt(LIST);
+				writeRange(node);
+				writeNodes(((ASTListNode) node).getChilds());
+			} else if (clazz == CallArgumentsList.class) {
+				writeInt(CALL_ARGUMENTS);
+				writeRange(node);
+				writeNodes(((ASTListNode) node).getChilds());
+			} else if (clazz == TypeDeclaration.class) {
+				final TypeDeclaration type = (TypeDeclaration) node;
+				writeInt(TYPE);
+				writeDeclaration(type);
+				writeInt(type.bodyStart);
+				writeInt(type.bodyEnd);
+				writeInt(type.parentStart);
+				writeInt(type.parentEnd);
+				writeNode(type.fSuperClasses);
+				writeNode(type.fBody);
+				writeString(type.enclosingTypeName);
+				writeNodes(type.fMethods);
+				writeNodes(type.fTypes);
+				writeNodes(type.fVariables);
+			} else if (clazz == MethodDeclaration.class) {
+				final MethodDeclaration method = (MethodDeclaration) node;
+				if (method.scope != null) {
+					throw new UnsupportedNodeException();
+				}
+				writeInt(METHOD);
+				writeDeclaration(method);
+				writeNodes(method.arguments);
+				writeNode(method.getBody());
+				writeNodes(method.getDecorators());
+				writeString(method.getDeclaringTypeName());
+			} else if (clazz == FieldDeclaration.class) {
+				writeInt(FIELD);
+				writeDeclaration((Declaration) node);
+			} else if (clazz == Argument.class) {
+				writeInt(ARGUMENT);
+				writeDeclaration((Declaration) node);
+				writeNode(((Argument) node).getInitialization());
+			} else if (clazz == SimpleReference.class) {
+				writeReference(SIMPLE_REFERENCE, (SimpleReference) node);
+			} else if (clazz == TypeReference.class) {
+				writeReference(TYPE_REFERENCE, (SimpleReference) node);
+			} else if (clazz == ConstantReference.class) {
+				writeReference(CONSTANT_REFERENCE, (SimpleReference) node);
+			} else if (clazz == VariableReference.class) {
+				final VariableKind kind = ((VariableReference) node)
+						.getVariableKind();
+				final int index = indexOf(kind);
+				writeReference(VARIABLE_REFERENCE, (SimpleReference) node);
+				writeInt(index);
+			} else if (clazz == CallExpression.class) {
+				final CallExpression call = (CallExpression) node;
+				writeInt(CALL);
+				writeRange(node);
+				writeNode(call.getReceiver());
+				writeNode(call.getCallName());
+				writeNode(call.getArgs());
+			} else if (clazz == StringLiteral.class) {
+				writeInt(STRING);
+				writeRange(node);
+				writeString(((StringLiteral) node).getValue());
+			} else if (clazz == NumericLiteral.class) {
+				writeInt(NUMBER);
+				writeRange(node);
+				writeLong(((NumericLiteral) node).getIntValue());
+			} else if (clazz == NilLiteral.class) {
+				writeInt(NIL);
+				writeRange(node);
+			} else {
+				throw new UnsupportedNodeException();
+			}
+		}
+
+		private int indexOf(VariableKind kind) throws IOException {
+			if (kind == null) {
+				return -1;
+			}
+			for (int i = 0; i < VARIABLE_KINDS.length; ++i) {
+				if (VARIABLE_KINDS[i] == kind) {
+					return i;
+				}
+			}
+			throw new UnsupportedNodeException();
+		}
+
+		private void writeDeclaration(Declaration declaration)
+				throws IOException {
+			writeRange(declaration);
+			writeNode(declaration.ref);
+			writeInt(declaration.modifiers);
+			writeString(declaration.getComments());
+		}
+
+		private void writeReference(int tag, SimpleReference reference)
+				throws IOException {
+			writeInt(tag);
+			writeRange(reference);
+			writeString(reference.getName());
+		}
+
+		private void writeNodes(List<?> list) throws IOException {
+			if (list == null) {
+				writeInt(-1);
+				return;
+			}
+			writeInt(list.size());
+			for (Object node : list) {
+				if (node != null && !(node instanceof ASTNode)) {
+					throw new UnsupportedNodeException();
+				}
+				writeNode((ASTNode) node);
+			}
+		}
+
+		private void writeRange(ASTNode node) throws IOException {
+			writeInt(node.sourceStart());
+			writeInt(node.sourceEnd());
+		}
+
+		private void writeString(String value) throws IOException {
+			if (value == null) {
+				writeInt(0);
+				return;
+			}
+			final Integer index = strings.get(value);
+			if (index != null) {
+				writeInt(index.intValue());
+				return;
+			}
+			final int newIndex = strings.size() + 1;
+			strings.put(value, Integer.valueOf(newIndex));
+			writeInt(newIndex);
+			final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		private void writeInt(int value) throws IOException {
+			writeLong(value);
+		}
+
+		/**
+		 * Writes the zigzag encoded value, 7 bits per byte.
+		 */
+		private void writeLong(long value) throws IOException {
+			long v = (value << 1) ^ (value >> 63);
+			while ((v & ~0x7FL) != 0) {
+				out.writeByte((int) ((v & 0x7F) | 0x80));
+				v >>>= 7;
+			}
+			out.writeByte((int) v);
+		}
+	}
+
+	private static class Reader {
+		private final DataInput in;
+		private final List<ASTNode> nodes = new ArrayList<>();
+		private final List<String> strings = new ArrayList<>();
+
+		Reader(DataInput in) {
+			this.in = in;
+		}
+
+		ASTNode readNode() throws IOException {
+			final int tag = readInt();
+			if (tag == NULL) {
+				return null;
+			}
+			if (tag == REFERENCE) {
+				final int id = readInt();
+				if (id < 0 || id >= nodes.size()) {
+					throw new IOException("Invalid node reference"); //$NON-NLS-1$
+				}
+				return nodes.get(id);
+			}
+			final ASTNode node = readContent(tag);
+			nodes.add(node);
+			return node;
+		}
+
+		private ASTNode readContent(int tag) throws IOException {
+			switch (tag) {
+			case CALL_ARGUMENTS_EMPTY:
+				return CallArgumentsList.EMPTY;
+			case MODULE: {
+				final int start = readInt();
+				final int end = readInt();
+				final ModuleDeclaration module = new ModuleDeclaration(end);
+				module.setStart(start);
+				module.setStatements(readNodes());
+				addAll(module.getTypeList(), readNodes());
+				addAll(module.getFunctionList(), readNodes());
+				addAll(module.getVariablesList(), readNodes());
+				return module;
+			}
+			case BLOCK: {
+				final int start = readInt();
+				final int end = readInt();
+				return new Block(start, end, readNodes());
+			}
+			case LIST: {
+				final int start = readInt();
+				final int end = readInt();
+				final List<ASTNode> childs = readNodes();
+				return new ASTListNode(start, end,
+						childs != null ? childs : new ArrayList<>());
+			}
+			case CALL_ARGUMENTS: {
+				final int start = readInt();
+				final int end = readInt();
+				final CallArgumentsList list = new CallArgumentsList(start,
+						end);
+				final List<ASTNode> childs = readNodes();
+				if (childs != null) {
+					list.setChilds(childs);
+				}
+				return list;
+			}
+			case TYPE: {
+				final int start = readInt();
+				final int end = readInt();
+				final TypeDeclaration type = new TypeDeclaration(null, 0, 0,
+						start, end);
+				readDeclaration(type);
+				type.bodyStart = readInt();
+				type.bodyEnd = readInt();
+				type.parentStart = readInt();
+				type.parentEnd = readInt();
+				type.fSuperClasses = (ASTListNode) readNode();
+				type.fBody = (Block) readNode();
+				type.enclosingTypeName = readString();
+				type.fMethods = readNodes();
+				type.fTypes = readNodes();
+				type.fVariables = readNodes();
+				return type;
+			}
+			case METHOD: {
+				final int start = readInt();
+				final int end = readInt();
+				final MethodDeclaration method = new MethodDeclaration(start,
+						end);
+				readDeclaration(method);
+				method.acceptArguments(readNodes());
+				method.acceptBody((Block) readNode(), false);
+				method.setDecorators(readNodes());
+				method.setDeclaringTypeName(readString());
+				return method;
+			}
+			case FIELD: {
+				final int start = readInt();
+				final int end = readInt();
+				final FieldDeclaration field = new FieldDeclaration(null, 0, 0,
+						start, end);
+				readDeclaration(field);
+				return field;
+			}
+			case ARGUMENT: {
+				final int start = readInt();
+				final int end = readInt();
+				final Argument argument = new Argument();
+				argument.setStart(start);
+				argument.setEnd(end);
+				readDeclaration(argument);
+				argument.setInitializationExpression(readNode());
+				return argument;
+			}
+			case SIMPLE_REFERENCE: {
+				final int start = readInt();
+				final int end = readInt();
+				return new SimpleReference(start, end, readString());
+			}
+			case TYPE_REFERENCE: {
+				final int start = readInt();
+				final int end = readInt();
+				return new TypeReference(start, end, readString());
+			}
+			case CONSTANT_REFERENCE: {
+				final int start = readInt();
+				final int end = readInt();
+				return new ConstantReference(start, end, readString());
+			}
+			case VARIABLE_REFERENCE: {
+				final int start = readInt();
+				final int end = readInt();
+				final String name = readString();
+				final int kind = readInt();
+				if (kind < -1 || kind >= VARIABLE_KINDS.length) {
+					throw new IOException("Invalid variable kind"); //$NON-NLS-1$
+				}
+				return new VariableReference(start, end, name,
+						kind >= 0 ? VARIABLE_KINDS[kind] : null);
+			}
+			case CALL: {
+				final int start = readInt();
+				final int end = readInt();
+				final ASTNode receiver = readNode();
+				final SimpleReference name = (SimpleReference) readNode();
+				final CallArgumentsList args = (CallArgumentsList) readNode();
+				return new CallExpression(start, end, receiver, name, args);
+			}
+			case STRING: {
+				final int start = readInt();
+				final int end = readInt();
+				return new StringLiteral(start, end, readString());
+			}
+			case NUMBER: {
+				final int start = readInt();
+				final int end = readInt();
+				return new NumericLiteral(start, end, readLong());
+			}
+			case NIL: {
+				final int start = readInt();
+				final int end = readInt();
+				return new NilLiteral(start, end);
+			}
+			default:
+				throw new IOException("Unknown node tag " + tag); //$NON-NLS-1$
+			}
+		}
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		private static void addAll(List target, List<ASTNode> source) {
+			if (source != null) {
+				target.addAll(source);
+			}
+		}
+
+		private void readDeclaration(Declaration declaration)
+				throws IOException {
+			declaration.ref = (SimpleReference) readNode();
+			declaration.modifiers = readInt();
+			declaration.setComments(readString());
+		}
+
+		private List<ASTNode> readNodes() throws IOException {
+			final int size = readInt();
+			if (size < 0) {
+				return null;
+			}
+			final List<ASTNode> list = new ArrayList<>(size);
+			for (int i = 0; i < size; ++i) {
+				list.add(readNode());
+			}
+			return list;
+		}
+
+		private String readString() throws IOException {
+			final int index = readInt();
+			if (index == 0) {
+				return null;
+			}
+			if (index <= strings.size()) {
+				return strings.get(index - 1);
+			}
+			if (index != strings.size() + 1) {
+				throw new IOException("Invalid string reference"); //$NON-NLS-1$
+			}
+			final byte[] bytes = new byte[readInt()];
+			in.readFully(bytes);
+			final String value = new String(bytes, StandardCharsets.UTF_8);
+			strings.add(value);
+			return value;
+		}
+
+		private int readInt() throws IOException {
+			final long value = readLong();
+			if (value != (int) value) {
+				throw new IOException("Integer overflow"); //$NON-NLS-1$
+			}
+			return (int) value;
+		}
+
+		private long readLong() throws IOException {
+			long v = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				final int b = in.readUnsignedByte();
+				v |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return (v >>> 1) ^ -(v & 1);
+				}
+			}
+			throw new IOException("Malformed integer"); //$NON-NLS-1$
+		}
+	}
+}
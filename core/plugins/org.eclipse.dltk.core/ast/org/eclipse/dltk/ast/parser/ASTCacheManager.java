@@ -8,38 +8,66 @@ import java.util.Map;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.SimpleClassDLTKExtensionManager;
 import org.eclipse.dltk.core.SimpleDLTKExtensionManager.ElementInfo;
+import org.eclipse.dltk.internal.core.caching.PersistentASTCache;
 
 public class ASTCacheManager {
 	private static SimpleClassDLTKExtensionManager manager = new SimpleClassDLTKExtensionManager(
 			DLTKCore.PLUGIN_ID + ".astCache");
 
-	private static Map<String, IASTCache[]> providers = null;
+	private static volatile Map<String, IASTCache[]> providers = null;
 
+	private static boolean persistent;
+
+	/**
+	 * Returns the caches for the specified language: the contributed ones,
+	 * followed by the built-in persistent cache if it is enabled with the
+	 * {@link DLTKCore#AST_CACHE_PERSISTENT} option.
+	 */
 	public static IASTCache[] getProviders(String lang) {
-		if (providers == null) {
+		Map<String, IASTCache[]> result = providers;
+		if (result == null) {
 			synchronized (ASTCacheManager.class) {
-				providers = new HashMap<>();
+				result = providers;
+				if (result == null) {
+					result = new HashMap<>();
+					persistent = DLTKCore.ENABLED.equals(
+							DLTKCore.getOption(DLTKCore.AST_CACHE_PERSISTENT));
 
-				ElementInfo[] infos = manager.getElementInfos();
-				Map<String, List<IASTCache>> langToElementList = new HashMap<>();
-				// Fill element names and sort elements by language
-				for (int i = 0; i < infos.length; i++) {
-					String langauge = infos[i].getConfig().getAttribute("language");
-					List<IASTCache> elements = langToElementList.get(langauge);
-					if (elements == null) {
-						elements = new ArrayList<>();
-						langToElementList.put(langauge, elements);
+					ElementInfo[] infos = manager.getElementInfos();
+					Map<String, List<IASTCache>> langToElementList = new HashMap<>();
+					// Fill element names and sort elements by language
+					for (int i = 0; i < infos.length; i++) {
+						String langauge = infos[i].getConfig().getAttribute("language");
+						List<IASTCache> elements = langToElementList.get(langauge);
+						if (elements == null) {
+							elements = new ArrayList<>();
+							langToElementList.put(langauge, elements);
+						}
+						elements.add((IASTCache) manager.getInitObject(infos[i]));
+					}
+					for (Map.Entry<String, List<IASTCache>> entry : langToElementList.entrySet()) {
+						List<IASTCache> list = entry.getValue();
+						if (persistent) {
+							list.add(new PersistentASTCache(entry.getKey()));
+						}
+						result.put(entry.getKey(), list.toArray(new IASTCache[list.size()]));
 					}
-					elements.add((IASTCache) manager.getInitObject(infos[i]));
+					providers = result;
 				}
-				for (Map.Entry<String, List<IASTCache>> entry : langToElementList.entrySet()) {
-					List<IASTCache> list = entry.getValue();
-					IASTCache[] result = list.toArray(new IASTCache[list.size()]);
-					providers.put(entry.getKey(), result);
+			}
+		}
+		IASTCache[] caches = result.get(lang);
+		if (caches == null && persistent && lang != null) {
+			synchronized (ASTCacheManager.class) {
+				caches = providers.get(lang);
+				if (caches == null) {
+					final Map<String, IASTCache[]> copy = new HashMap<>(providers);
+					caches = new IASTCache[] { new PersistentASTCache(lang) };
+					copy.put(lang, caches);
+					providers = copy;
 				}
 			}
-
 		}
-		return providers.get(lang);
+		return caches;
 	}
 }
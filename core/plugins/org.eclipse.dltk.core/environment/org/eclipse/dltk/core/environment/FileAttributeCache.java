@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.environment;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded cache of the file attributes fetched from a remote environment.
+ * The entries expire after the specified time to live, the least recently used
+ * entries are removed when the cache is full. The <code>null</code> values are
+ * cached too, so the missing files are not queried again while the entry is
+ * alive.
+ * <p>
+ * The values are loaded without holding the lock, so concurrent requests for
+ * the same key could load it more than once.
+ */
+public class FileAttributeCache<K, V> {
+
+	private static class Entry<V> {
+		final V value;
+		final long timestamp;
+
+		Entry(V value, long timestamp) {
+			this.value = value;
+			this.timestamp = timestamp;
+		}
+	}
+
+	private final int limit;
+	private final long timeToLive;
+
+	@SuppressWarnings("serial")
+	private final Map<K, Entry<V>> entries = new LinkedHashMap<K, Entry<V>>(16,
+			0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+			return size() > limit;
+		}
+	};
+
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param limit
+	 *            the maximum number of the entries
+	 * @param timeToLive
+	 *            the time in milliseconds the entries are valid
+	 */
+	public FileAttributeCache(int limit, long timeToLive) {
+		this.limit = limit;
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Returns the cached value for the key, loading it with the specified
+	 * function if there is no valid entry.
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		synchronized (this) {
+			final Entry<V> entry = entries.get(key);
+			if (entry != null) {
+				if (System.currentTimeMillis() - entry.timestamp < timeToLive) {
+					++hits;
+					return entry.value;
+				}
+				entries.remove(key);
+			}
+			++misses;
+		}
+		final V value = loader.apply(key);
+		put(key, value);
+		return value;
+	}
+
+	/**
+	 * Caches the value for the key, e.g. the attributes of a child returned
+	 * with the folder listing.
+	 */
+	public synchronized void put(K key, V value) {
+		entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Removes the entry for the key.
+	 */
+	public synchronized void invalidate(K key) {
+		entries.remove(key);
+	}
+
+	/**
+	 * Removes the entries for the keys matching the predicate.
+	 */
+	public synchronized void invalidate(Predicate<? super K> predicate) {
+		for (Iterator<K> i = entries.keySet().iterator(); i.hasNext();) {
+			if (predicate.test(i.next())) {
+				i.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all the entries.
+	 */
+	public synchronized void invalidateAll() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of the requests answered from the cache.
+	 */
+	public synchronized long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of the requests which loaded the value.
+	 */
+	public synchronized long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Returns the fraction of the requests answered from the cache, or
+	 * <code>0</code> if there were no requests.
+	 */
+	public synchronized double getHitRate() {
+		final long total = hits + misses;
+		return total != 0 ? (double) hits / total : 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "FileAttributeCache[size=" + entries.size() + "/" + limit //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", hits=" + hits + ", misses=" + misses + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -13,6 +13,7 @@ package org.eclipse.dltk.core.environment;
 
 import java.io.File;
 import java.net.URI;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
@@ -130,4 +131,30 @@ public interface IEnvironment extends IAdaptable {
 	 * @since 2.0
 	 */
 	boolean connect();
+
+	/**
+	 * Discards the cached attributes of the file at the specified
+	 * environment-local path and of its descendants, so they are fetched again
+	 * on the next request. Does nothing for the environments not caching them.
+	 */
+	default void invalidateFileAttributes(IPath path) {
+	}
+
+	/**
+	 * Returns the modification times of the files in the tree under the
+	 * specified environment-local folder path, keyed by their paths relative to
+	 * the folder with the <code>'/'</code> separator. The files under symbolic
+	 * links or which could not be read are not included, the map is empty if
+	 * the folder does not exist.
+	 * <p>
+	 * The default implementation returns <code>null</code>, the callers then
+	 * list the folders with {@link IFileHandle#getChildren()}, the
+	 * environments able to fetch the attributes of many files at once should
+	 * override it.
+	 *
+	 * @return the modification times or <code>null</code> if not supported
+	 */
+	default Map<String, Long> getLastModifiedTimes(IPath folder) {
+		return null;
+	}
 }
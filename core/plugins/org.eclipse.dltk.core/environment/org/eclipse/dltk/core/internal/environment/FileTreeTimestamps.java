@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.internal.environment;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.environment.IEnvironment;
+import org.eclipse.dltk.core.environment.IFileHandle;
+
+/**
+ * Collects the modification times of the files in a folder tree for
+ * {@link IEnvironment#getLastModifiedTimes(org.eclipse.core.runtime.IPath)}.
+ * The symbolic links are skipped, so the callers stat the files under them one
+ * by one.
+ */
+public class FileTreeTimestamps {
+
+	private FileTreeTimestamps() {
+	}
+
+	/**
+	 * Returns the modification times fetched by the environment or, if it
+	 * does not support it, collected with its file handles.
+	 */
+	public static Map<String, Long> collect(IEnvironment environment,
+			IPath folder) {
+		final Map<String, Long> result = environment
+				.getLastModifiedTimes(folder);
+		return result != null ? result : collect(environment.getFile(folder));
+	}
+
+	/**
+	 * Walks the tree with the file handles, one folder after another.
+	 */
+	public static Map<String, Long> collect(IFileHandle folder) {
+		final Map<String, Long> result = new HashMap<>();
+		if (folder.isDirectory()) {
+			collect(folder, "", result); //$NON-NLS-1$
+		}
+		return result;
+	}
+
+	private static void collect(IFileHandle folder, String prefix,
+			Map<String, Long> result) {
+		final IFileHandle[] children = folder.getChildren();
+		if (children == null) {
+			return;
+		}
+		for (IFileHandle child : children) {
+			if (child.isSymlink()) {
+				continue;
+			}
+			final String path = prefix + child.getName();
+			if (child.isDirectory()) {
+				collect(child, path + '/', result);
+			} else {
+				result.put(path, Long.valueOf(child.lastModified()));
+			}
+		}
+	}
+
+	/**
+	 * Walks the tree of the local file system, the folders are listed in
+	 * parallel.
+	 */
+	public static Map<String, Long> collectLocal(String folder) {
+		final Map<String, Long> result = new ConcurrentHashMap<>();
+		final Path root = Paths.get(folder);
+		if (Files.isDirectory(root)) {
+			ForkJoinPool.commonPool().invoke(new LocalFolderTask(root, "", //$NON-NLS-1$
+					result));
+		}
+		return result;
+	}
+
+	@SuppressWarnings("serial")
+	private static class LocalFolderTask extends RecursiveAction {
+		private final Path folder;
+		private final String prefix;
+		private final Map<String, Long> result;
+
+		LocalFolderTask(Path folder, String prefix, Map<String, Long> result) {
+			this.folder = folder;
+			this.prefix = prefix;
+			this.result = result;
+		}
+
+		@Override
+		protected void compute() {
+			final List<LocalFolderTask> subtasks = new ArrayList<>();
+			try (DirectoryStream<Path> stream = Files
+					.newDirectoryStream(folder)) {
+				for (Path child : stream) {
+					final BasicFileAttributes attributes;
+					try {
+						attributes = Files.readAttributes(child,
+								BasicFileAttributes.class,
+								LinkOption.NOFOLLOW_LINKS);
+					} catch (IOException e) {
+						continue;
+					}
+					final String path = prefix + child.getFileName();
+					if (attributes.isDirectory()) {
+						subtasks.add(new LocalFolderTask(child, path + '/',
+								result));
+					} else if (attributes.isRegularFile()) {
+						result.put(path, Long.valueOf(
+								attributes.lastModifiedTime().toMillis()));
+					}
+				}
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+			}
+			invokeAll(subtasks);
+		}
+	}
+}
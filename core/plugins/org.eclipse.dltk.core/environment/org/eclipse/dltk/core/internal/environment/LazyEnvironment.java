@@ -13,6 +13,8 @@
 package org.eclipse.dltk.core.internal.environment;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.dltk.core.environment.IEnvironment;
@@ -136,6 +138,21 @@ public abstract class LazyEnvironment implements IEnvironment {
 		return environment != null ? environment.isLocal() : false;
 	}
 
+	@Override
+	public void invalidateFileAttributes(IPath path) {
+		initialize();
+		if (environment != null) {
+			environment.invalidateFileAttributes(path);
+		}
+	}
+
+	@Override
+	public Map<String, Long> getLastModifiedTimes(IPath folder) {
+		initialize();
+		return environment != null ? environment.getLastModifiedTimes(folder)
+				: Collections.<String, Long> emptyMap();
+	}
+
 	@Override
 	public <T> T getAdapter(Class<T> adapter) {
 		initialize();
@@ -14,6 +14,7 @@ package org.eclipse.dltk.core.internal.environment;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Map;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
@@ -139,6 +140,14 @@ public class LocalEnvironment implements IEnvironment, IAdaptable {
 		}
 	}
 
+	/**
+	 * Lists the folders of the tree in parallel.
+	 */
+	@Override
+	public Map<String, Long> getLastModifiedTimes(IPath folder) {
+		return FileTreeTimestamps.collectLocal(folder.toOSString());
+	}
+
 	/**
 	 * @since 2.0
 	 */
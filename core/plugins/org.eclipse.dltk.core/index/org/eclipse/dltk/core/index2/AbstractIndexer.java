@@ -34,6 +34,15 @@ public abstract class AbstractIndexer implements IIndexer, IIndexingRequestor {
 
 	@Override
 	public void indexDocument(ISourceModule sourceModule) {
+		indexDocument(sourceModule, this);
+	}
+
+	/**
+	 * Parses the source module reporting its declarations and references to
+	 * the specified requestor instead of this indexer.
+	 */
+	protected void indexDocument(ISourceModule sourceModule,
+			IIndexingRequestor requestor) {
 		IDLTKLanguageToolkit toolkit = DLTKLanguageManager
 				.getLanguageToolkit(sourceModule);
 		if (toolkit == null) {
@@ -44,7 +53,7 @@ public abstract class AbstractIndexer implements IIndexer, IIndexingRequestor {
 		if (participant != null) {
 			IIndexingParser parser = participant.getIndexingParser();
 			if (parser != null) {
-				parser.parseSourceModule(sourceModule, this);
+				parser.parseSourceModule(sourceModule, requestor);
 			}
 		}
 	}
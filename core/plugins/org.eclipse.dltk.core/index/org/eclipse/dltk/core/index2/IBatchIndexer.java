@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.index2;
+
+import java.util.Collection;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.dltk.core.ISourceModule;
+
+/**
+ * Optional interface implemented by the {@link IIndexer} able to index many
+ * source modules of the same container at once, e.g. by parsing them on
+ * several threads and committing the index only once for the whole batch.
+ */
+public interface IBatchIndexer {
+
+	/**
+	 * Indexes the specified source modules of the container. The index data is
+	 * visible to the searches once this method returns.
+	 *
+	 * @param containerPath
+	 *            Container path
+	 * @param sourceModules
+	 *            Source modules to (re-)index
+	 * @param monitor
+	 *            Progress monitor, only checked for cancellation
+	 */
+	public void indexDocuments(IPath containerPath,
+			Collection<ISourceModule> sourceModules, IProgressMonitor monitor);
+}
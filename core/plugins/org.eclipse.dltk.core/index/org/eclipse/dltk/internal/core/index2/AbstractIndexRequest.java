@@ -13,18 +13,22 @@
 package org.eclipse.dltk.internal.core.index2;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.DLTKLanguageManager;
 import org.eclipse.dltk.core.IDLTKLanguageToolkit;
 import org.eclipse.dltk.core.IDLTKLanguageToolkitExtension;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
+import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.core.environment.IFileHandle;
 import org.eclipse.dltk.core.index2.IIndexer;
 import org.eclipse.dltk.core.index2.ProjectIndexer2;
+import org.eclipse.dltk.core.internal.environment.FileTreeTimestamps;
 import org.eclipse.dltk.core.search.indexing.AbstractJob;
 import org.eclipse.dltk.internal.core.ExternalSourceModule;
 import org.eclipse.dltk.internal.core.util.Util;
@@ -37,6 +41,12 @@ import org.eclipse.dltk.internal.core.util.Util;
  */
 public abstract class AbstractIndexRequest extends AbstractJob {
 
+	/**
+	 * Minimal number of the modules to fetch the modification times of the
+	 * whole container at once.
+	 */
+	private static final int BULK_STAT_THRESHOLD = 16;
+
 	ProjectIndexer2 projectIndexer;
 	ProgressJob progressJob;
 
@@ -118,17 +128,48 @@ public abstract class AbstractIndexRequest extends AbstractJob {
 
 		toRemove.addAll(documentNames.keySet());
 
+		final Map<String, Long> timestamps = getLastModifiedTimes(
+				containerPath, sourceModules.size());
+		final DocumentHashes hashes = DLTKCore.ENABLED
+				.equals(DLTKCore.getOption(DLTKCore.INDEXER_CONTENT_HASH))
+						? DocumentHashes.getInstance()
+						: null;
+
 		for (ISourceModule sourceModule : sourceModules) {
 			String relativePath = Util.relativePath(sourceModule.getPath(), containerPath.segmentCount());
-			IFileHandle handle = EnvironmentPathUtils.getFile(sourceModule, false);
 
 			if (toRemove.remove(relativePath)) {
-				if (documentNames.get(relativePath) < handle.lastModified()) {
+				IFileHandle handle = EnvironmentPathUtils.getFile(sourceModule, false);
+				Long timestamp = timestamps.get(relativePath);
+				long lastModified = timestamp != null ? timestamp.longValue() : handle.lastModified();
+				if (documentNames.get(relativePath) < lastModified && (hashes == null
+						|| hashes.isChanged(containerPath, relativePath, lastModified, handle))) {
 					toReindex.add(sourceModule);
 				}
 			} else {
 				toReindex.add(sourceModule);
 			}
 		}
+
+		if (hashes != null) {
+			hashes.remove(containerPath, toRemove);
+			hashes.save();
+		}
+	}
+
+	/**
+	 * Returns the modification times of the files under the external folder
+	 * container fetched at once, or an empty map if the modules should be
+	 * checked one by one.
+	 */
+	private static Map<String, Long> getLastModifiedTimes(IPath containerPath, int moduleCount) {
+		if (moduleCount < BULK_STAT_THRESHOLD) {
+			return Collections.emptyMap();
+		}
+		IEnvironment environment = EnvironmentPathUtils.getPathEnvironment(containerPath);
+		if (environment == null) {
+			return Collections.emptyMap();
+		}
+		return FileTreeTimestamps.collect(environment, EnvironmentPathUtils.getLocalPath(containerPath));
 	}
 }
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.index2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.environment.IFileHandle;
+
+/**
+ * The content hashes of the indexed external modules, used with the
+ * {@link DLTKCore#INDEXER_CONTENT_HASH} option to find the modules with a newer
+ * modification time but the same content. The hash of a module is remembered
+ * the first time its modification time is found to be newer than the indexed
+ * one, together with that modification time, so the content is read at most
+ * once per change of the modification time.
+ */
+class DocumentHashes {
+
+	private static final int FILE_MAGIC = 0x444C4448;
+	private static final int FILE_VERSION = 1;
+
+	private static class Stamp {
+		final long lastModified;
+		final byte[] hash;
+
+		Stamp(long lastModified, byte[] hash) {
+			this.lastModified = lastModified;
+			this.hash = hash;
+		}
+	}
+
+	private static DocumentHashes instance;
+
+	static synchronized DocumentHashes getInstance() {
+		if (instance == null) {
+			instance = new DocumentHashes(DLTKCore.getPlugin()
+					.getStateLocation().append("documentHashes.dat") //$NON-NLS-1$
+					.toFile());
+			instance.load();
+		}
+		return instance;
+	}
+
+	private final File file;
+	/** container path -> relative document path -> stamp */
+	private final Map<String, Map<String, Stamp>> containers = new HashMap<>();
+	private boolean dirty;
+
+	private DocumentHashes(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Returns whether the content of the module changed since the hash was
+	 * remembered. Called for the modules with a modification time newer than
+	 * the indexed one.
+	 */
+	boolean isChanged(IPath containerPath, String document, long lastModified,
+			IFileHandle handle) {
+		final Stamp stamp;
+		synchronized (this) {
+			final Map<String, Stamp> documents = containers
+					.get(containerPath.toString());
+			stamp = documents != null ? documents.get(document) : null;
+		}
+		if (stamp != null && stamp.lastModified == lastModified) {
+			return false;
+		}
+		final byte[] hash = hashOf(handle);
+		if (hash == null) {
+			return true;
+		}
+		synchronized (this) {
+			containers.computeIfAbsent(containerPath.toString(),
+					key -> new HashMap<>())
+					.put(document, new Stamp(lastModified, hash));
+			dirty = true;
+		}
+		return stamp == null || !Arrays.equals(stamp.hash, hash);
+	}
+
+	/**
+	 * Forgets the hashes of the documents removed from the index.
+	 */
+	synchronized void remove(IPath containerPath,
+			Collection<String> documents) {
+		final Map<String, Stamp> stamps = containers
+				.get(containerPath.toString());
+		if (stamps != null && stamps.keySet().removeAll(documents)) {
+			if (stamps.isEmpty()) {
+				containers.remove(containerPath.toString());
+			}
+			dirty = true;
+		}
+	}
+
+	private static byte[] hashOf(IFileHandle handle) {
+		try (InputStream in = handle.openInputStream(null)) {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+			final byte[] buffer = new byte[8192];
+			for (int n; (n = in.read(buffer)) != -1;) {
+				digest.update(buffer, 0, n);
+			}
+			return digest.digest();
+		} catch (IOException | NoSuchAlgorithmException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+			return null;
+		}
+	}
+
+	private void load() {
+		if (!file.exists()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+				return;
+			}
+			for (int count = in.readInt(); count > 0; --count) {
+				final Map<String, Stamp> documents = new HashMap<>();
+				containers.put(in.readUTF(), documents);
+				for (int i = in.readInt(); i > 0; --i) {
+					final String document = in.readUTF();
+					final long lastModified = in.readLong();
+					final byte[] hash = new byte[in.readUnsignedByte()];
+					in.readFully(hash);
+					documents.put(document, new Stamp(lastModified, hash));
+				}
+			}
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+			containers.clear();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Saves the hashes if they were changed.
+	 */
+	synchronized void save() {
+		if (!dirty) {
+			return;
+		}
+		dirty = false;
+		file.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(FILE_VERSION);
+			out.writeInt(containers.size());
+			for (Map.Entry<String, Map<String, Stamp>> container : containers
+					.entrySet()) {
+				out.writeUTF(container.getKey());
+				out.writeInt(container.getValue().size());
+				for (Map.Entry<String, Stamp> document : container.getValue()
+						.entrySet()) {
+					out.writeUTF(document.getKey());
+					out.writeLong(document.getValue().lastModified);
+					out.writeByte(document.getValue().hash.length);
+					out.write(document.getValue().hash);
+				}
+			}
+		} catch (IOException e) {
+			DLTKCore.error("Could not save document hashes", e); //$NON-NLS-1$
+			file.delete();
+		}
+	}
+}
@@ -27,6 +27,7 @@ import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.core.index2.ProjectIndexer2;
 import org.eclipse.dltk.internal.core.BuiltinSourceModule;
 import org.eclipse.dltk.internal.core.ExternalSourceModule;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
 /**
  * Request for indexing external project
@@ -34,7 +35,8 @@ import org.eclipse.dltk.internal.core.ExternalSourceModule;
  * @author michael
  *
  */
-public class ExternalProjectFragmentRequest extends AbstractIndexRequest {
+public class ExternalProjectFragmentRequest extends AbstractIndexRequest
+		implements IContainerJob {
 
 	protected final IProjectFragment fragment;
 
@@ -107,4 +109,9 @@ public class ExternalProjectFragmentRequest extends AbstractIndexRequest {
 			return false;
 		return true;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return fragment.getPath();
+	}
 }
@@ -24,6 +24,7 @@ import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.ModelException;
 import org.eclipse.dltk.core.index2.ProjectIndexer2;
 import org.eclipse.dltk.internal.core.BuiltinProjectFragment;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
 /**
  * Request for indexing project
@@ -31,7 +32,8 @@ import org.eclipse.dltk.internal.core.BuiltinProjectFragment;
  * @author michael
  *
  */
-public class ProjectRequest extends AbstractIndexRequest {
+public class ProjectRequest extends AbstractIndexRequest
+		implements IContainerJob {
 
 	private final IScriptProject project;
 
@@ -113,4 +115,9 @@ public class ProjectRequest extends AbstractIndexRequest {
 			return false;
 		return true;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return project.getPath();
+	}
 }
@@ -19,6 +19,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
 import org.eclipse.dltk.core.index2.IIndexer;
 import org.eclipse.dltk.core.index2.ProjectIndexer2;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -28,7 +29,8 @@ import org.eclipse.osgi.util.NLS;
  * @author michael
  * 
  */
-public class RemoveContainerRequest extends AbstractIndexRequest {
+public class RemoveContainerRequest extends AbstractIndexRequest
+		implements IContainerJob {
 
 	private final IPath containerPath;
 
@@ -86,4 +88,9 @@ public class RemoveContainerRequest extends AbstractIndexRequest {
 				+ ((containerPath == null) ? 0 : containerPath.hashCode());
 		return result;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return containerPath;
+	}
 }
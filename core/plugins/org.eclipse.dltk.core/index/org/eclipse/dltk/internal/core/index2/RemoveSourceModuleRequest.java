@@ -18,6 +18,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.dltk.core.index2.IIndexer;
 import org.eclipse.dltk.core.index2.ProjectIndexer2;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
 /**
  * Request for removing source module from the index. All elements related to
@@ -26,7 +27,8 @@ import org.eclipse.dltk.core.index2.ProjectIndexer2;
  * @author michael
  * 
  */
-public class RemoveSourceModuleRequest extends AbstractIndexRequest {
+public class RemoveSourceModuleRequest extends AbstractIndexRequest
+		implements IContainerJob {
 
 	private final IPath containerPath;
 	private final String relativePath;
@@ -84,4 +86,9 @@ public class RemoveSourceModuleRequest extends AbstractIndexRequest {
 			return false;
 		return true;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return containerPath;
+	}
 }
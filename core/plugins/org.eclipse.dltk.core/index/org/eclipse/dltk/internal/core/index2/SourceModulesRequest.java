@@ -21,9 +21,12 @@ import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.index2.IBatchIndexer;
 import org.eclipse.dltk.core.index2.IIndexer;
 import org.eclipse.dltk.core.index2.ProjectIndexer2;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
 /**
  * Request for re-indexing a set of source modules. First, source modules are
@@ -33,7 +36,13 @@ import org.eclipse.dltk.core.index2.ProjectIndexer2;
  * @author michael
  *
  */
-public class SourceModulesRequest extends AbstractIndexRequest {
+public class SourceModulesRequest extends AbstractIndexRequest
+		implements IContainerJob {
+
+	/**
+	 * Number of source modules passed at once to the {@link IBatchIndexer}.
+	 */
+	private static final int BATCH_SIZE = 500;
 
 	private final IPath containerPath;
 	private final Set<ISourceModule> sourceModules;
@@ -73,6 +82,11 @@ public class SourceModulesRequest extends AbstractIndexRequest {
 		Collections.sort(toReindex, (m1, m2) -> m1.getPath().toString()
 				.compareTo(m2.getPath().toString()));
 
+		if (indexer instanceof IBatchIndexer) {
+			indexBatches((IBatchIndexer) indexer, toReindex);
+			return;
+		}
+
 		for (final ISourceModule sourceModule : toReindex) {
 			if (isCancelled)
 				return;
@@ -81,6 +95,24 @@ public class SourceModulesRequest extends AbstractIndexRequest {
 		}
 	}
 
+	private void indexBatches(IBatchIndexer indexer,
+			List<ISourceModule> toReindex) {
+		final NullProgressMonitor monitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return isCancelled;
+			}
+		};
+		for (int i = 0; i < toReindex.size(); i += BATCH_SIZE) {
+			if (isCancelled)
+				return;
+			List<ISourceModule> batch = toReindex.subList(i,
+					Math.min(i + BATCH_SIZE, toReindex.size()));
+			reportToProgress(batch.get(0));
+			indexer.indexDocuments(containerPath, batch, monitor);
+		}
+	}
+
 	@Override
 	public boolean belongsTo(String jobFamily) {
 		return jobFamily.equals(containerPath.toString());
@@ -118,4 +150,9 @@ public class SourceModulesRequest extends AbstractIndexRequest {
 			return false;
 		return true;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return containerPath;
+	}
 }
@@ -357,6 +357,60 @@ public class DLTKCore extends Plugin {
 	 */
 	public static final String INDEXER_ID = PLUGIN_ID + ".indexer.id"; //$NON-NLS-1$
 
+	/**
+	 * Possible configurable option ID. Value is the maximum number of
+	 * indexing jobs for different containers executed at the same time, a
+	 * positive integer. Read when background indexing starts.
+	 */
+	public static final String INDEXER_THREADS = PLUGIN_ID + ".indexer.threads"; //$NON-NLS-1$
+
+	/**
+	 * Possible configurable option ID. Value is the number of threads parsing
+	 * and matching the possible matches of a search, a positive integer. With
+	 * the value <code>1</code> the modules are parsed in the searching thread.
+	 * Read when a search starts.
+	 */
+	public static final String SEARCH_THREADS = PLUGIN_ID + ".search.threads"; //$NON-NLS-1$
+
+	/**
+	 * Possible configurable option ID. Value is the maximum number of parsed
+	 * modules waiting to be reported when the search uses several threads, a
+	 * positive integer. Read when a search starts.
+	 */
+	public static final String SEARCH_PARSED_MODULES = PLUGIN_ID + ".search.parsedModules"; //$NON-NLS-1$
+
+	/**
+	 * Possible configurable option ID. Value is {@link #ENABLED} or
+	 * {@link #DISABLED}, whether the ASTs of the library modules are kept in the
+	 * persistent cache between sessions, disabled by default. Read when the AST
+	 * cache is first used.
+	 */
+	public static final String AST_CACHE_PERSISTENT = PLUGIN_ID + ".astCache.persistent"; //$NON-NLS-1$
+
+	/**
+	 * Possible configurable option ID. Value is {@link #ENABLED} or
+	 * {@link #DISABLED}, whether the possible subtypes for the type hierarchies
+	 * are found with the supertype graph kept between sessions instead of
+	 * querying the indexes for each supertype name, disabled by default.
+	 */
+	public static final String TYPE_HIERARCHY_GRAPH = PLUGIN_ID + ".typeHierarchy.graph"; //$NON-NLS-1$
+
+	/**
+	 * Possible configurable option ID. Value is {@link #ENABLED} or
+	 * {@link #DISABLED}, whether the content of the external modules modified
+	 * after they were indexed is compared with the remembered one, so the
+	 * touched but unchanged modules are not reindexed.
+	 */
+	public static final String INDEXER_CONTENT_HASH = PLUGIN_ID + ".indexer.contentHash"; //$NON-NLS-1$
+
+	/**
+	 * Possible configurable option ID. Value is {@link #ENABLED} or
+	 * {@link #DISABLED}, whether the files of the local external library
+	 * folders are watched for changes, reported as the deltas of the modules.
+	 * Read on startup.
+	 */
+	public static final String EXTERNAL_FOLDERS_WATCH = PLUGIN_ID + ".externalFolders.watch"; //$NON-NLS-1$
+
 	/**
 	 * Possible project configurable option ID. Value is the identifier of
 	 * contributed {@link org.eclipse.dltk.ast.parser.ISourceParser}.
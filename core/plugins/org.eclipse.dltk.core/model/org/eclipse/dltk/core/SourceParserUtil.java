@@ -11,6 +11,12 @@
  *******************************************************************************/
 package org.eclipse.dltk.core;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
 import org.eclipse.dltk.ast.declarations.ModuleDeclarationWrapper;
 import org.eclipse.dltk.ast.parser.ASTCacheManager;
@@ -34,6 +40,32 @@ public class SourceParserUtil {
 	private static boolean useASTCaching = true;
 	private static boolean useASTPersistenceCaching = true;
 
+	/**
+	 * The source module snapshots being parsed, the other threads requesting
+	 * the AST of the same snapshot (e.g. the reconciler, the folding and the
+	 * semantic highlighting after an edit) wait for that parse to complete.
+	 */
+	private static final Map<ISourceModuleInfo, CountDownLatch> parsing = new HashMap<>();
+
+	/**
+	 * How long to wait for the other thread parsing the same snapshot (in
+	 * milliseconds), the module is then parsed by the waiting thread too, so a
+	 * stuck parser does not block the others.
+	 */
+	private static final long AWAIT_TIMEOUT = 5000;
+
+	/**
+	 * Whether the current thread is parsing, the nested parses do not wait for
+	 * the other threads, so they could not wait for each other.
+	 */
+	private static final ThreadLocal<Boolean> parsingThread = new ThreadLocal<>();
+
+	/**
+	 * The number of the parses of each source module snapshot, reported to the
+	 * {@link RuntimePerformanceMonitor}.
+	 */
+	private static final Map<ISourceModuleInfo, Integer> parseCounts = new WeakHashMap<>();
+
 	public static IModuleDeclaration parse(IModuleSource module,
 			String natureId, IProblemReporter reporter) {
 		final IModelElement element = module.getModelElement();
@@ -102,81 +134,167 @@ public class SourceParserUtil {
 		}
 		p1.done(toolkit.getNatureId(), "Retrive AST from cache", 0);
 		if (moduleDeclaration == null) {
-			p1.renew();
-			ISourceParser sourceParser = DLTKLanguageManager.getSourceParser(
-					module.getScriptProject().getProject(),
-					toolkit.getNatureId());
-			if (sourceParser != null) {
-				// if (sourceParser instanceof ISourceParserExtension) {
-				// ((ISourceParserExtension) sourceParser).setFlags(flags);
-				// }
-				final ProblemCollector collector = mifo != null ? new ProblemCollector()
-						: null;
-				final IModuleSource source;
-				if (module instanceof IModuleSource) {
-					source = (IModuleSource) module;
+			if (astKey != null && parsingThread.get() == null) {
+				final CountDownLatch latch;
+				final boolean owner;
+				synchronized (parsing) {
+					final CountDownLatch other = parsing.get(mifo);
+					owner = other == null;
+					latch = owner ? new CountDownLatch(1) : other;
+					if (owner) {
+						parsing.put(mifo, latch);
+					}
+				}
+				if (owner) {
+					parsingThread.set(Boolean.TRUE);
+					try {
+						moduleDeclaration = parseModule(module, toolkit, mifo,
+								astKey, errorKey, reporter, p1);
+					} finally {
+						parsingThread.remove();
+						synchronized (parsing) {
+							parsing.remove(mifo);
+						}
+						latch.countDown();
+					}
 				} else {
-					source = new IModuleSource() {
+					moduleDeclaration = awaitModule(latch, mifo, reporter);
+					if (moduleDeclaration == null) {
+						moduleDeclaration = parseModule(module, toolkit, mifo,
+								astKey, errorKey, reporter, p1);
+					}
+				}
+			} else {
+				moduleDeclaration = parseModule(module, toolkit, mifo, astKey,
+						errorKey, reporter, p1);
+			}
+		}
+		return moduleDeclaration;
+	}
 
-						@Override
-						public String getFileName() {
-							return module.getPath().toString();
-						}
+	/**
+	 * Waits for the other thread parsing the same source module snapshot,
+	 * returns the AST it cached or <code>null</code> if there is none or the
+	 * wait timed out.
+	 */
+	private static IModuleDeclaration awaitModule(CountDownLatch latch,
+			ISourceModuleInfo mifo, IProblemReporter reporter) {
+		try {
+			if (!latch.await(AWAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				return null;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		return getModuleFromCache(mifo, reporter);
+	}
 
-						@Override
-						public String getSourceContents() {
-							try {
-								return module.getSource();
-							} catch (ModelException e) {
-								return Util.EMPTY_STRING;
-							}
-						}
+	private static IModuleDeclaration parseModule(final ISourceModule module,
+			IDLTKLanguageToolkit toolkit, ISourceModuleInfo mifo,
+			String astKey, String errorKey, IProblemReporter reporter,
+			PerformanceNode p1) {
+		IModuleDeclaration moduleDeclaration = null;
+		p1.renew();
+		ISourceParser sourceParser = DLTKLanguageManager.getSourceParser(
+				module.getScriptProject().getProject(),
+				toolkit.getNatureId());
+		if (sourceParser != null) {
+			// if (sourceParser instanceof ISourceParserExtension) {
+			// ((ISourceParserExtension) sourceParser).setFlags(flags);
+			// }
+			final ProblemCollector collector = mifo != null ? new ProblemCollector()
+					: null;
+			final IModuleSource source;
+			if (module instanceof IModuleSource) {
+				source = (IModuleSource) module;
+			} else {
+				source = new IModuleSource() {
 
-						@Override
-						public IModelElement getModelElement() {
-							return module;
-						}
+					@Override
+					public String getFileName() {
+						return module.getPath().toString();
+					}
 
-						@Override
-						public char[] getContentsAsCharArray() {
-							try {
-								return module.getSourceAsCharArray();
-							} catch (ModelException e) {
-								return CharOperation.NO_CHAR;
-							}
+					@Override
+					public String getSourceContents() {
+						try {
+							return module.getSource();
+						} catch (ModelException e) {
+							return Util.EMPTY_STRING;
 						}
-					};
-				}
-				moduleDeclaration = sourceParser.parse(source,
-						collector != null ? collector : reporter);
-				if (collector != null && reporter != null) {
-					collector.copyTo(reporter);
-				}
-				p1.done(toolkit.getNatureId(), "AST parse time", 0);
-				if (moduleDeclaration != null && mifo != null && useASTCaching) {
-					mifo.put(astKey, moduleDeclaration);
-					if (useASTPersistenceCaching) {
-						// Store to persistence cache
-						IASTCache[] providers = ASTCacheManager
-								.getProviders(toolkit.getNatureId());
-						if (providers != null) {
-							for (IASTCache provider : providers) {
-								provider.storeModule(module, moduleDeclaration,
-										collector);
-							}
+					}
+
+					@Override
+					public IModelElement getModelElement() {
+						return module;
+					}
+
+					@Override
+					public char[] getContentsAsCharArray() {
+						try {
+							return module.getSourceAsCharArray();
+						} catch (ModelException e) {
+							return CharOperation.NO_CHAR;
 						}
 					}
-					if (collector != null && !collector.isEmpty()) {
-						mifo.put(errorKey, collector);
-					} else {
-						mifo.remove(errorKey);
+				};
+			}
+			moduleDeclaration = sourceParser.parse(source,
+					collector != null ? collector : reporter);
+			if (collector != null && reporter != null) {
+				collector.copyTo(reporter);
+			}
+			p1.done(toolkit.getNatureId(), "AST parse time", 0);
+			if (moduleDeclaration != null && mifo != null && useASTCaching) {
+				mifo.put(astKey, moduleDeclaration);
+				if (useASTPersistenceCaching) {
+					// Store to persistence cache
+					IASTCache[] providers = ASTCacheManager
+							.getProviders(toolkit.getNatureId());
+					if (providers != null) {
+						for (IASTCache provider : providers) {
+							provider.storeModule(module, moduleDeclaration,
+									collector);
+						}
 					}
 				}
+				if (collector != null && !collector.isEmpty()) {
+					mifo.put(errorKey, collector);
+				} else {
+					mifo.remove(errorKey);
+				}
 			}
 		}
+		if (moduleDeclaration != null && mifo != null
+				&& RuntimePerformanceMonitor.isActive()) {
+			countParse(toolkit.getNatureId(), mifo);
+		}
 		return moduleDeclaration;
 	}
 
+	/**
+	 * Reports the parse of the source module snapshot: the first parse of each
+	 * change of the source module is counted as a parsed change, the next ones
+	 * as repeated parses, so the parses per change are the sum of both counts
+	 * divided by the parsed changes.
+	 */
+	private static void countParse(String natureId, ISourceModuleInfo mifo) {
+		final int count;
+		synchronized (parseCounts) {
+			final Integer previous = parseCounts.get(mifo);
+			count = previous != null ? previous.intValue() + 1 : 1;
+			parseCounts.put(mifo, Integer.valueOf(count));
+		}
+		if (count == 1) {
+			RuntimePerformanceMonitor.updateData(natureId,
+					"AST parsed changes", 0, 1); //$NON-NLS-1$
+		} else {
+			RuntimePerformanceMonitor.updateData(natureId,
+					"AST repeated parses", 0, 1); //$NON-NLS-1$
+		}
+	}
+
 	public static ModuleDeclaration getModuleDeclaration(ISourceModule module) {
 		return getModuleDeclaration(module, null);
 	}
@@ -3,7 +3,7 @@
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
  * http://www.eclipse.org/legal/epl-2.0.
- * 
+ *
  * SPDX-License-Identifier: EPL-2.0
  *
  * Contributors:
@@ -15,6 +15,9 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -22,10 +25,13 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.CRC32;
 
 import org.eclipse.core.runtime.IPath;
@@ -33,26 +39,43 @@ import org.eclipse.dltk.compiler.util.Util;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.RuntimePerformanceMonitor;
 import org.eclipse.dltk.core.RuntimePerformanceMonitor.PerformanceNode;
-import org.eclipse.dltk.core.caching.cache.CacheEntry;
-import org.eclipse.dltk.core.caching.cache.CacheEntryAttribute;
-import org.eclipse.dltk.core.caching.cache.CacheFactory;
-import org.eclipse.dltk.core.caching.cache.CacheIndex;
 import org.eclipse.dltk.core.environment.EnvironmentManager;
 import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.core.environment.IFileHandle;
-import org.eclipse.emf.common.util.EList;
-import org.eclipse.emf.ecore.EObject;
-import org.eclipse.emf.ecore.resource.Resource;
-import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
 
 /**
  * This class is designed to store any kind of information into metadata cache.
+ * <p>
+ * The attribute values are stored in the separate files, and the index of
+ * them is kept in memory and written to the append-only log, each record
+ * protected by its checksum. The log is read once when the cache is first
+ * used, the damaged tail (e.g. after a crash) is dropped, and the log is
+ * rewritten from the memory state when it mostly consists of the obsolete
+ * records.
  */
 public class MetadataContentCache extends AbstractContentCache {
 	private static final int DAY_IN_MILIS = 60;// 1000 * 60 * 60 * 24;
 	private static final int SAVE_DELTA = 1000 * 60; // Minute
-	private Resource indexResource = null;
-	private long newSaveTime = 0;
+
+	private static final String INDEX_FILE = "index.log"; //$NON-NLS-1$
+	/**
+	 * The index file written by the previous versions
+	 */
+	private static final String OLD_INDEX_FILE = "index"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x444C4D43; // DLMC
+	private static final int VERSION = 1;
+
+	private static final byte RECORD_ENTRY = 1;
+	private static final byte RECORD_ATTRIBUTE = 2;
+	private static final byte RECORD_REMOVE_ATTRIBUTE = 3;
+	private static final byte RECORD_REMOVE_ENTRY = 4;
+	private static final byte RECORD_LAST_INDEX = 5;
+
+	/**
+	 * The log is not compacted while it has less records.
+	 */
+	private static final int COMPACT_THRESHOLD = 1024;
 
 	private static class EntryKey {
 		private String environment;
@@ -96,79 +119,375 @@ public class MetadataContentCache extends AbstractContentCache {
 		}
 	}
 
-	private Map<EntryKey, CacheEntry> entryCache = new HashMap<>();
-	private IPath cacheLocation;
-	private CRC32 checksum = new CRC32();
+	private static class Entry {
+		final long timestamp;
+		volatile long lastAccessTime;
+		/**
+		 * Attribute name to the location of its file, relative to the cache
+		 * location.
+		 */
+		final Map<String, String> attributes = new ConcurrentHashMap<>();
+		/**
+		 * Whether the entry is written to the log, the entries without
+		 * attributes are kept in memory only. Guarded by the log lock.
+		 */
+		boolean persisted;
+
+		Entry(long timestamp) {
+			this.timestamp = timestamp;
+		}
+	}
+
+	private final Map<EntryKey, Entry> entryCache = new ConcurrentHashMap<>();
+	private final IPath cacheLocation;
+
+	/**
+	 * Guards the log and all the modifications of the entries.
+	 */
+	private final Object lock = new Object();
+	private volatile boolean initialized;
+	private File indexFileHandle;
+	private final Map<String, Long> lastIndexes = new HashMap<>();
+	private DataOutputStream log;
+	private int logRecords;
+	private long newSaveTime = 0;
 
 	public MetadataContentCache(IPath cacheLocation) {
 		this.cacheLocation = cacheLocation;
 	}
 
-	private synchronized void initialize() {
-		if (indexResource == null) {
+	private void initialize() {
+		if (initialized) {
+			return;
+		}
+		synchronized (lock) {
+			if (initialized) {
+				return;
+			}
 			File file = new File(cacheLocation.toOSString());
 			if (!file.exists()) {
-				file.mkdir();
+				file.mkdirs();
 			}
-
-			IPath indexFile = cacheLocation.append("index");
-			indexResource = new XMIResourceImpl();
-			indexFileHandle = new File(indexFile.toOSString());
+			indexFileHandle = new File(file, INDEX_FILE);
+			if (!indexFileHandle.exists()
+					&& new File(file, OLD_INDEX_FILE).exists()) {
+				// the files of the previous format are not referenced anymore
+				deleteContent(file);
+			}
+			boolean loaded = false;
 			if (indexFileHandle.exists()) {
 				try {
-					BufferedInputStream loadStream = new BufferedInputStream(
-							new FileInputStream(indexFileHandle), 4096);
-					indexResource.load(loadStream, null);
-					loadStream.close();
-				} catch (Exception e) {
-					save(false);
+					loaded = load();
+				} catch (IOException e) {
 					if (DLTKCore.DEBUG) {
-						// e.printStackTrace();
+						e.printStackTrace();
 					}
 				}
 			}
-			EList<EObject> contents = indexResource.getContents();
-			for (EObject eObject : contents) {
-				CacheIndex index = (CacheIndex) eObject;
-				// String to entry cache.
-				EList<CacheEntry> entries = index.getEntries();
-				for (CacheEntry cacheEntry : entries) {
-					entryCache.put(makeKey(cacheEntry), cacheEntry);
+			if (!loaded) {
+				entryCache.clear();
+				lastIndexes.clear();
+				deleteContent(file);
+				rewrite();
+			}
+			initialized = true;
+		}
+	}
+
+	private static void deleteContent(File folder) {
+		final File[] children = folder.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				if (child.isDirectory()) {
+					deleteContent(child);
+				}
+				child.delete();
+			}
+		}
+	}
+
+	/**
+	 * Reads the log, returns <code>false</code> if it has the unknown format.
+	 */
+	private boolean load() throws IOException {
+		long validLength;
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(indexFileHandle),
+						8192))) {
+			try {
+				if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+					return false;
+				}
+			} catch (EOFException e) {
+				return false;
+			}
+			validLength = 8;
+			final CRC32 crc = new CRC32();
+			while (true) {
+				final byte[] record;
+				try {
+					final int length = input.readInt();
+					final int checksum = input.readInt();
+					if (length <= 0 || length > indexFileHandle.length()) {
+						break;
+					}
+					record = new byte[length];
+					input.readFully(record);
+					crc.reset();
+					crc.update(record);
+					if ((int) crc.getValue() != checksum) {
+						break;
+					}
+				} catch (EOFException e) {
+					break;
+				}
+				apply(new DataInputStream(new ByteArrayInputStream(record)));
+				validLength += 8 + record.length;
+				++logRecords;
+			}
+		}
+		if (validLength != indexFileHandle.length()) {
+			// the incomplete or damaged tail is dropped
+			try (RandomAccessFile file = new RandomAccessFile(indexFileHandle,
+					"rw")) { //$NON-NLS-1$
+				file.setLength(validLength);
+			}
+		}
+		return true;
+	}
+
+	private void apply(DataInputStream record) throws IOException {
+		final byte type = record.readByte();
+		if (type == RECORD_LAST_INDEX) {
+			lastIndexes.put(record.readUTF(),
+					Long.valueOf(record.readLong()));
+			return;
+		}
+		final EntryKey key = new EntryKey(record.readUTF(), record.readUTF());
+		switch (type) {
+		case RECORD_ENTRY:
+			final Entry entry = new Entry(record.readLong());
+			entry.persisted = true;
+			entryCache.put(key, entry);
+			break;
+		case RECORD_ATTRIBUTE: {
+			final Entry target = entryCache.get(key);
+			final String name = record.readUTF();
+			final String location = record.readUTF();
+			if (target != null) {
+				target.attributes.put(name, location);
+			}
+			break;
+		}
+		case RECORD_REMOVE_ATTRIBUTE: {
+			final Entry target = entryCache.get(key);
+			final String name = record.readUTF();
+			if (target != null) {
+				target.attributes.remove(name);
+			}
+			break;
+		}
+		case RECORD_REMOVE_ENTRY:
+			entryCache.remove(key);
+			break;
+		default:
+			throw new IOException("Unknown record " + type); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Writes the log with the current state only. Called with the lock held.
+	 */
+	private void rewrite() {
+		closeLog();
+		final File temp = new File(indexFileHandle.getPath() + ".tmp"); //$NON-NLS-1$
+		int records = 0;
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(temp), 8192))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			for (Map.Entry<String, Long> index : lastIndexes.entrySet()) {
+				writeRecord(output, lastIndexRecord(index.getKey(),
+						index.getValue().longValue()));
+				++records;
+			}
+			for (Map.Entry<EntryKey, Entry> e : entryCache.entrySet()) {
+				final Entry entry = e.getValue();
+				if (entry.attributes.isEmpty()) {
+					entry.persisted = false;
+					continue;
+				}
+				writeRecord(output, entryRecord(e.getKey(), entry));
+				++records;
+				for (Map.Entry<String, String> attribute : entry.attributes
+						.entrySet()) {
+					writeRecord(output, attributeRecord(e.getKey(),
+							attribute.getKey(), attribute.getValue()));
+					++records;
 				}
+				entry.persisted = true;
+			}
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+			temp.delete();
+			return;
+		}
+		try {
+			try {
+				Files.move(temp.toPath(), indexFileHandle.toPath(),
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), indexFileHandle.toPath(),
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+			logRecords = records;
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private int countLiveRecords() {
+		int count = lastIndexes.size();
+		for (Entry entry : entryCache.values()) {
+			if (entry.persisted && !entry.attributes.isEmpty()) {
+				count += 1 + entry.attributes.size();
 			}
 		}
+		return count;
 	}
 
-	private synchronized CacheEntry getEntry(IFileHandle handle) {
+	private static void writeRecord(DataOutputStream output, byte[] record)
+			throws IOException {
+		final CRC32 crc = new CRC32();
+		crc.update(record);
+		output.writeInt(record.length);
+		output.writeInt((int) crc.getValue());
+		output.write(record);
+	}
+
+	private static byte[] entryRecord(EntryKey key, Entry entry)
+			throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		writeKey(out, RECORD_ENTRY, key);
+		out.writeLong(entry.timestamp);
+		return bytes.toByteArray();
+	}
+
+	private static byte[] attributeRecord(EntryKey key, String name,
+			String location) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		writeKey(out, RECORD_ATTRIBUTE, key);
+		out.writeUTF(name);
+		out.writeUTF(location);
+		return bytes.toByteArray();
+	}
+
+	private static byte[] removeAttributeRecord(EntryKey key, String name)
+			throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		writeKey(out, RECORD_REMOVE_ATTRIBUTE, key);
+		out.writeUTF(name);
+		return bytes.toByteArray();
+	}
+
+	private static byte[] removeEntryRecord(EntryKey key) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		writeKey(new DataOutputStream(bytes), RECORD_REMOVE_ENTRY, key);
+		return bytes.toByteArray();
+	}
+
+	private static byte[] lastIndexRecord(String environment, long lastIndex)
+			throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(RECORD_LAST_INDEX);
+		out.writeUTF(environment);
+		out.writeLong(lastIndex);
+		return bytes.toByteArray();
+	}
+
+	private static void writeKey(DataOutputStream out, byte type, EntryKey key)
+			throws IOException {
+		out.writeByte(type);
+		out.writeUTF(key.environment);
+		out.writeUTF(key.path);
+	}
+
+	/**
+	 * Appends the record to the log. Called with the lock held.
+	 */
+	private void append(byte[] record) {
+		try {
+			if (log == null) {
+				log = new DataOutputStream(new BufferedOutputStream(
+						new FileOutputStream(indexFileHandle, true), 8192));
+			}
+			writeRecord(log, record);
+			++logRecords;
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void closeLog() {
+		if (log != null) {
+			try {
+				log.close();
+			} catch (IOException e) {
+				if (DLTKCore.DEBUG) {
+					e.printStackTrace();
+				}
+			}
+			log = null;
+		}
+	}
+
+	private Entry getEntry(IFileHandle handle) {
 		initialize();
 		EntryKey key = makeKey(handle);
-		if (entryCache.containsKey(key)) {
-			CacheEntry entry = entryCache.get(key);
-			long accessTime = entry.getLastAccessTime();
-			long timeMillis = System.currentTimeMillis();
-			if (timeMillis - accessTime > DAY_IN_MILIS) {
-				long entryTimestamp = entry.getTimestamp() / 1000;
-				long handleTimestamp = getHandleLastModification(handle) / 1000;
-				if (entryTimestamp == handleTimestamp) {
-					entry.setLastAccessTime(timeMillis);
-					return entry;
-				} else {
-					entry.setLastAccessTime(timeMillis);
+		long timeMillis = System.currentTimeMillis();
+		Entry entry = entryCache.get(key);
+		Long handleTimestamp = null;
+		if (entry != null) {
+			long accessTime = entry.lastAccessTime;
+			entry.lastAccessTime = timeMillis;
+			if (timeMillis - accessTime <= DAY_IN_MILIS) {
+				return entry;
+			}
+			handleTimestamp = Long.valueOf(getHandleLastModification(handle));
+			if (entry.timestamp / 1000 == handleTimestamp.longValue()
+					/ 1000) {
+				return entry;
+			}
+			synchronized (lock) {
+				if (entryCache.get(key) == entry) {
 					removeCacheEntry(entry, key);
 				}
-			} else {
-				entry.setLastAccessTime(timeMillis);
-				return entry;
 			}
 		}
-		CacheIndex index = getCacheIndex(handle.getEnvironmentId());
-		CacheEntry entry = CacheFactory.eINSTANCE.createCacheEntry();
-		entry.setPath(handle.getPath().toPortableString());
-		entry.setTimestamp(getHandleLastModification(handle));
-		index.getEntries().add(entry);
-		entry.setLastAccessTime(System.currentTimeMillis());
-		entryCache.put(key, entry);
-		return entry;
+		// stat outside of the lock, it could be slow for remote environments
+		final long timestamp = handleTimestamp != null
+				? handleTimestamp.longValue()
+				: getHandleLastModification(handle);
+		synchronized (lock) {
+			entry = entryCache.get(key);
+			if (entry == null) {
+				entry = new Entry(timestamp);
+				entry.lastAccessTime = timeMillis;
+				entryCache.put(key, entry);
+			}
+			return entry;
+		}
 	}
 
 	private long getHandleLastModification(IFileHandle handle) {
@@ -190,38 +509,30 @@ public class MetadataContentCache extends AbstractContentCache {
 		return handle.lastModified();
 	}
 
-	private CacheIndex getCacheIndex(String environmentId) {
-		EList<EObject> contents = indexResource.getContents();
-		for (EObject eObject : contents) {
-			CacheIndex index = (CacheIndex) eObject;
-			if (index.getEnvironment().equals(environmentId)) {
-				return index;
-			}
-		}
-		CacheIndex index = CacheFactory.eINSTANCE.createCacheIndex();
-		index.setEnvironment(environmentId);
-		index.setLastIndex(0);
-		contents.add(index);
-		return index;
-	}
-
-	private void removeCacheEntry(CacheEntry entry, EntryKey key) {
+	/**
+	 * Removes the entry and its files. Called with the lock held.
+	 */
+	private void removeCacheEntry(Entry entry, EntryKey key) {
 		if (entry == null || key == null) {
 			return;
 		}
 		// We need to remove old files
-		EList<CacheEntryAttribute> attributes = entry.getAttributes();
-		for (CacheEntryAttribute attr : attributes) {
-			removeAttribute(attr);
+		for (String location : entry.attributes.values()) {
+			removeAttribute(location);
+		}
+		entry.attributes.clear();
+		entryCache.remove(key, entry);
+		if (entry.persisted) {
+			try {
+				append(removeEntryRecord(key));
+			} catch (IOException e) {
+				// not expected when writing to memory
+			}
+			entry.persisted = false;
 		}
-		attributes.clear();
-		CacheIndex index = (CacheIndex) entry.eContainer();
-		index.getEntries().remove(entry);
-		entryCache.remove(key);
 	}
 
-	private void removeAttribute(CacheEntryAttribute attr) {
-		String location = attr.getLocation();
+	private void removeAttribute(String location) {
 		IPath cacheEntryFile = cacheLocation.append(location);
 		File file = new File(cacheEntryFile.toOSString());
 		if (file.exists()) {
@@ -229,41 +540,42 @@ public class MetadataContentCache extends AbstractContentCache {
 		}
 	}
 
-	private EntryKey makeKey(CacheEntry entry) {
-		CacheIndex index = (CacheIndex) entry.eContainer();
-		return new EntryKey(index.getEnvironment(), entry.getPath());
-	}
-
 	private EntryKey makeKey(IFileHandle handle) {
 		return new EntryKey(handle.getEnvironmentId(),
 				handle.getPath().toString());
 	}
 
-	long changeCount = 0;
-	private File indexFileHandle;
-
-	public synchronized void save(boolean countSaves) {
-		if (indexResource == null) {
-			return;
-		}
-		if (countSaves) {
-			long current = System.currentTimeMillis();
-			if (current > newSaveTime) {
-				newSaveTime = current + SAVE_DELTA;
-			} else {
+	/**
+	 * Flushes the log. If <code>countSaves</code> is <code>true</code> it is
+	 * done at most once a minute.
+	 */
+	public void save(boolean countSaves) {
+		synchronized (lock) {
+			if (!initialized) {
 				return;
 			}
-		}
-		try {
-			Map<String, Object> options = new HashMap<>();
-			options.put(Resource.OPTION_SAVE_ONLY_IF_CHANGED, Boolean.TRUE);
-			BufferedOutputStream outStream = new BufferedOutputStream(
-					new FileOutputStream(indexFileHandle), 4096);
-			indexResource.save(outStream, options);
-			outStream.close();
-		} catch (IOException e) {
-			if (DLTKCore.DEBUG) {
-				e.printStackTrace();
+			if (countSaves) {
+				long current = System.currentTimeMillis();
+				if (current > newSaveTime) {
+					newSaveTime = current + SAVE_DELTA;
+				} else {
+					return;
+				}
+			}
+			if (logRecords > COMPACT_THRESHOLD
+					&& logRecords > 2 * countLiveRecords()) {
+				rewrite();
+			} else if (log != null) {
+				try {
+					log.flush();
+				} catch (IOException e) {
+					if (DLTKCore.DEBUG) {
+						e.printStackTrace();
+					}
+				}
+				if (!countSaves) {
+					closeLog();
+				}
 			}
 		}
 	}
@@ -275,18 +587,9 @@ public class MetadataContentCache extends AbstractContentCache {
 			return null;
 		}
 		File file = null;
-		CacheEntry entry = null;
-		synchronized (this) {
-			entry = getEntry(handle);
-			EList<CacheEntryAttribute> attributes = entry.getAttributes();
-			for (CacheEntryAttribute cacheEntryAttribute : attributes) {
-				if (cacheEntryAttribute.getName().equals(attribute)) {
-					file = new File(cacheLocation
-							.append(cacheEntryAttribute.getLocation())
-							.toOSString());
-					break;
-				}
-			}
+		final String location = getEntry(handle).attributes.get(attribute);
+		if (location != null) {
+			file = new File(cacheLocation.append(location).toOSString());
 		}
 		if (file != null && file.exists()) {
 			try {
@@ -315,8 +618,8 @@ public class MetadataContentCache extends AbstractContentCache {
 	}
 
 	@Override
-	public synchronized OutputStream getCacheEntryAttributeOutputStream(
-			IFileHandle handle, String attribute) {
+	public OutputStream getCacheEntryAttributeOutputStream(IFileHandle handle,
+			String attribute) {
 		File file = getEntryAsFile(handle, attribute);
 		try {
 			return new BufferedOutputStream(new FileOutputStream(file), 4096);
@@ -333,32 +636,44 @@ public class MetadataContentCache extends AbstractContentCache {
 		if (handle == null) {
 			return null;
 		}
-		CacheEntry entry = getEntry(handle);
-		File file = null;
-		EList<CacheEntryAttribute> attributes = entry.getAttributes();
-		for (CacheEntryAttribute cacheEntryAttribute : attributes) {
-			if (cacheEntryAttribute.getName().equals(attribute)) {
-				file = new File(
-						cacheLocation.append(cacheEntryAttribute.getLocation())
-								.toOSString());
-				return file;
+		Entry entry = getEntry(handle);
+		String location = entry.attributes.get(attribute);
+		if (location != null) {
+			return new File(cacheLocation.append(location).toOSString());
+		}
+		synchronized (lock) {
+			final EntryKey key = makeKey(handle);
+			final Entry current = entryCache.get(key);
+			if (current != null) {
+				entry = current;
+			} else {
+				entryCache.put(key, entry);
+			}
+			location = entry.attributes.get(attribute);
+			if (location == null) {
+				location = generateNewLocation(handle.getPath(),
+						handle.getEnvironmentId()).toPortableString();
+				try {
+					if (!entry.persisted) {
+						append(entryRecord(key, entry));
+						entry.persisted = true;
+					}
+					append(attributeRecord(key, attribute, location));
+				} catch (IOException e) {
+					// not expected when writing to memory
+				}
+				entry.attributes.put(attribute, location);
+				save(true);
 			}
 		}
-
-		IPath location = generateNewLocation(handle.getPath(),
-				handle.getEnvironmentId());
-		CacheEntryAttribute attrEntry = CacheFactory.eINSTANCE
-				.createCacheEntryAttribute();
-		attrEntry.setLocation(location.toPortableString());
-		attrEntry.setName(attribute);
-		entry.getAttributes().add(attrEntry);
-		save(true);
-		file = new File(cacheLocation.append(location).toOSString());
-		return file;
+		return new File(cacheLocation.append(location).toOSString());
 	}
 
+	/**
+	 * Called with the lock held.
+	 */
 	private IPath generateNewLocation(IPath path, String environment) {
-		checksum.reset();
+		final CRC32 checksum = new CRC32();
 		checksum.update(environment.getBytes());
 		IPath indexPath = cacheLocation
 				.append(Long.toString(checksum.getValue()));
@@ -374,14 +689,19 @@ public class MetadataContentCache extends AbstractContentCache {
 		if (!folderFile.exists()) {
 			folderFile.mkdir();
 		}
-		CacheIndex index = getCacheIndex(environment);
+		final Long lastIndex = lastIndexes.get(environment);
 		IPath location = null;
-		long i = index.getLastIndex() + 1;
+		long i = (lastIndex != null ? lastIndex.longValue() : 0) + 1;
 		while (true) {
 			location = folder.append(Long.toString(i++) + ".idx");
 			File file = new File(location.toOSString());
 			if (!file.exists()) {
-				index.setLastIndex(i);
+				lastIndexes.put(environment, Long.valueOf(i));
+				try {
+					append(lastIndexRecord(environment, i));
+				} catch (IOException e) {
+					// not expected when writing to memory
+				}
 				return location
 						.removeFirstSegments(cacheLocation.segmentCount())
 						.setDevice(null);
@@ -390,44 +710,54 @@ public class MetadataContentCache extends AbstractContentCache {
 	}
 
 	@Override
-	public synchronized void removeCacheEntryAttributes(IFileHandle handle,
+	public void removeCacheEntryAttributes(IFileHandle handle,
 			String attribute) {
 		if (handle == null) {
 			return;
 		}
-		CacheEntry entry = getEntry(handle);
-		EList<CacheEntryAttribute> attributes = entry.getAttributes();
-		for (CacheEntryAttribute cacheEntryAttribute : attributes) {
-			if (cacheEntryAttribute.getName().equals(attribute)) {
-				removeAttribute(cacheEntryAttribute);
-				attributes.remove(cacheEntryAttribute);
+		Entry entry = getEntry(handle);
+		synchronized (lock) {
+			final String location = entry.attributes.remove(attribute);
+			if (location != null) {
+				removeAttribute(location);
+				if (entry.persisted) {
+					try {
+						append(removeAttributeRecord(makeKey(handle),
+								attribute));
+					} catch (IOException e) {
+						// not expected when writing to memory
+					}
+				}
 				save(true);
-				return;
 			}
 		}
 	}
 
 	@Override
-	public synchronized void clearCacheEntryAttributes(IFileHandle handle) {
+	public void clearCacheEntryAttributes(IFileHandle handle) {
 		if (handle == null) {
 			return;
 		}
+		initialize();
 		EntryKey key = makeKey(handle);
-		if (entryCache.containsKey(key)) {
-			CacheEntry entry = entryCache.get(key);
-			removeCacheEntry(entry, key);
-			save(true);
+		synchronized (lock) {
+			Entry entry = entryCache.get(key);
+			if (entry != null) {
+				removeCacheEntry(entry, key);
+				save(true);
+			}
 		}
 	}
 
 	@Override
-	public synchronized void clear() {
+	public void clear() {
 		initialize();
-		Set<EntryKey> keySet = new HashSet<>(entryCache.keySet());
-		for (EntryKey k : keySet) {
-			removeCacheEntry(entryCache.get(k), k);
+		synchronized (lock) {
+			for (Map.Entry<EntryKey, Entry> e : entryCache.entrySet()) {
+				removeCacheEntry(e.getValue(), e.getKey());
+			}
+			save(true);
 		}
-		save(true);
 	}
 
 	/**
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.dltk.core.IArchive;
+import org.eclipse.dltk.core.IArchiveEntry;
+
+/**
+ * Process wide pool of the open zip archives, shared by the threads instead of
+ * opening the archive for each operation. The clients get their own handles,
+ * closing a handle releases the archive, which is closed after it was not
+ * used for some time or when the file is changed. The archive is opened
+ * outside of the pool lock, the threads requesting it meanwhile wait for the
+ * opening thread. The entries of each archive are listed once and kept sorted
+ * by name, so the archive children and the entry lookups are served from
+ * memory.
+ * <p>
+ * Only the {@link ZipArchiveFile}s are pooled, as {@link java.util.zip.ZipFile}
+ * can be read by several threads at once; other archives are returned as
+ * opened.
+ */
+public class ArchivePool {
+
+	/** time after which the archives not used are closed */
+	public static final long IDLE_TIMEOUT = 60000;
+
+	public interface IArchiveOpener {
+		IArchive open(File file) throws IOException;
+	}
+
+	private static final Comparator<IArchiveEntry> BY_NAME = (e1,
+			e2) -> e1.getName().compareTo(e2.getName());
+
+	static class PooledArchive {
+		final File file;
+		final long lastModified;
+		final long length;
+		/**
+		 * Completed with the archive once opened, or with <code>null</code> if
+		 * it could not be pooled.
+		 */
+		final CompletableFuture<IArchive> opened = new CompletableFuture<>();
+		IArchive archive;
+		// guarded by the pool
+		int references;
+		long lastUsed;
+		boolean stale;
+		private IArchiveEntry[] entries;
+		private String[] names;
+
+		PooledArchive(File file, long lastModified, long length) {
+			this.file = file;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+		synchronized IArchiveEntry[] getEntries() {
+			if (entries == null) {
+				final List<IArchiveEntry> list = new ArrayList<>();
+				for (Enumeration<? extends IArchiveEntry> e = archive
+						.getArchiveEntries(); e.hasMoreElements();) {
+					list.add(e.nextElement());
+				}
+				final IArchiveEntry[] sorted = list
+						.toArray(new IArchiveEntry[list.size()]);
+				Arrays.sort(sorted, BY_NAME);
+				final String[] sortedNames = new String[sorted.length];
+				for (int i = 0; i < sorted.length; ++i) {
+					sortedNames[i] = sorted[i].getName();
+				}
+				names = sortedNames;
+				entries = sorted;
+			}
+			return entries;
+		}
+
+		IArchiveEntry getEntry(String name) {
+			final IArchiveEntry[] sorted = getEntries();
+			final int index = Arrays.binarySearch(names, name);
+			return index >= 0 ? sorted[index] : null;
+		}
+
+		void close() {
+			try {
+				if (ModelManager.ZIP_ACCESS_VERBOSE) {
+					System.out.println("(" + Thread.currentThread() //$NON-NLS-1$
+							+ ") [ArchivePool] Closing ZipFile on " //$NON-NLS-1$
+							+ archive.getName());
+				}
+				archive.close();
+			} catch (IOException e) {
+				// problem occured closing zip file: cannot do much more
+			}
+		}
+	}
+
+	private class SharedArchive implements IArchive {
+		private final PooledArchive pooled;
+		private boolean closed;
+
+		SharedArchive(PooledArchive pooled) {
+			this.pooled = pooled;
+		}
+
+		@Override
+		public Enumeration<? extends IArchiveEntry> getArchiveEntries() {
+			return Collections.enumeration(Arrays.asList(pooled.getEntries()));
+		}
+
+		@Override
+		public String getName() {
+			return pooled.archive.getName();
+		}
+
+		@Override
+		public synchronized void close() {
+			if (!closed) {
+				closed = true;
+				release(pooled);
+			}
+		}
+
+		@Override
+		public IArchiveEntry getArchiveEntry(String name) {
+			return pooled.getEntry(name);
+		}
+
+		@Override
+		public InputStream getInputStream(IArchiveEntry entry)
+				throws IOException {
+			return pooled.archive.getInputStream(entry);
+		}
+
+		@Override
+		public String toString() {
+			return "SharedArchive[" + getName() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private final Map<File, PooledArchive> archives = new HashMap<>();
+
+	/** whether the evict job is scheduled, guarded by the pool */
+	private boolean evictScheduled;
+
+	private final Job evictJob = new Job("Close idle archives") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			synchronized (ArchivePool.this) {
+				if (evictIdle(System.currentTimeMillis())) {
+					schedule(IDLE_TIMEOUT);
+				} else {
+					evictScheduled = false;
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public ArchivePool() {
+		evictJob.setSystem(true);
+	}
+
+	/**
+	 * Returns a handle of the pooled archive, opening it with the specified
+	 * opener if it is not open yet or the file was changed. The handle should
+	 * be closed when the client is done with it.
+	 */
+	public IArchive acquire(File file, IArchiveOpener opener)
+			throws IOException {
+		final long lastModified = file.lastModified();
+		final long length = file.length();
+		for (;;) {
+			final PooledArchive pooled;
+			final boolean opening;
+			synchronized (this) {
+				PooledArchive current = archives.get(file);
+				if (current != null && (current.lastModified != lastModified
+						|| current.length != length)) {
+					archives.remove(file);
+					current.stale = true;
+					if (current.references == 0) {
+						current.close();
+					}
+					current = null;
+				}
+				opening = current == null;
+				if (opening) {
+					current = new PooledArchive(file, lastModified, length);
+					archives.put(file, current);
+				}
+				++current.references;
+				pooled = current;
+			}
+			if (opening) {
+				return open(pooled, opener);
+			}
+			if (pooled.opened.join() != null) {
+				return new SharedArchive(pooled);
+			}
+			// not pooled, opened by each client
+			synchronized (this) {
+				--pooled.references;
+			}
+		}
+	}
+
+	private IArchive open(PooledArchive pooled, IArchiveOpener opener)
+			throws IOException {
+		IArchive archive = null;
+		try {
+			archive = opener.open(pooled.file);
+		} finally {
+			if (!(archive instanceof ZipArchiveFile)) {
+				synchronized (this) {
+					if (archives.get(pooled.file) == pooled) {
+						archives.remove(pooled.file);
+					}
+					--pooled.references;
+				}
+				pooled.opened.complete(null);
+			}
+		}
+		if (!(archive instanceof ZipArchiveFile)) {
+			return archive;
+		}
+		synchronized (this) {
+			pooled.archive = archive;
+		}
+		pooled.opened.complete(archive);
+		return new SharedArchive(pooled);
+	}
+
+	synchronized void release(PooledArchive pooled) {
+		if (--pooled.references == 0) {
+			pooled.lastUsed = System.currentTimeMillis();
+			if (pooled.stale) {
+				pooled.close();
+			} else if (!evictScheduled) {
+				evictScheduled = true;
+				evictJob.schedule(IDLE_TIMEOUT);
+			}
+		}
+	}
+
+	/**
+	 * Closes the archives not used since the specified time minus the timeout,
+	 * returns whether some archives are still open and not used.
+	 */
+	public synchronized boolean evictIdle(long now) {
+		boolean remaining = false;
+		for (Iterator<PooledArchive> i = archives.values().iterator(); i
+				.hasNext();) {
+			final PooledArchive pooled = i.next();
+			if (pooled.references == 0) {
+				if (now - pooled.lastUsed >= IDLE_TIMEOUT) {
+					i.remove();
+					pooled.close();
+				} else {
+					remaining = true;
+				}
+			}
+		}
+		return remaining;
+	}
+
+	/**
+	 * Returns the number of the open archives.
+	 */
+	public synchronized int size() {
+		return archives.size();
+	}
+
+	/**
+	 * Closes all the archives not in use, the ones still in use are closed
+	 * when their last handle is closed.
+	 */
+	public synchronized void closeAll() {
+		evictJob.cancel();
+		evictScheduled = false;
+		for (PooledArchive pooled : archives.values()) {
+			if (pooled.references == 0) {
+				pooled.close();
+			} else {
+				pooled.stale = true;
+			}
+		}
+		archives.clear();
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Shrinks the registered caches when the heap usage after the garbage
+ * collection exceeds the threshold, and grows them back to the initial size
+ * when the usage becomes low again.
+ * <p>
+ * The usage is watched with the collection usage thresholds of the heap memory
+ * pools. The threshold already set by somebody else is kept, otherwise it is
+ * set to {@link #USAGE_THRESHOLD} of the pool maximum, and reset when the
+ * manager is stopped.
+ */
+public class CacheMemoryManager implements NotificationListener {
+
+	static final double USAGE_THRESHOLD = 0.8;
+	static final double CRITICAL_USAGE = 0.95;
+	static final double RECOVERY_USAGE = 0.5;
+	static final double MIN_RATIO = 0.125;
+	static final long RECOVERY_DELAY = 30000;
+
+	private final List<IMemoryAwareCache> caches = new CopyOnWriteArrayList<>();
+	private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+	/** the thresholds set by this manager */
+	private final Map<MemoryPoolMXBean, Long> thresholds = new HashMap<>();
+	private volatile double ratio = 1;
+	private double appliedRatio = 1;
+
+	private final Job resizeJob = new Job("Resizing model caches") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			adjust();
+			return Status.OK_STATUS;
+		}
+	};
+
+	public CacheMemoryManager() {
+		resizeJob.setSystem(true);
+	}
+
+	public void register(IMemoryAwareCache cache) {
+		caches.add(cache);
+	}
+
+	public void unregister(IMemoryAwareCache cache) {
+		caches.remove(cache);
+	}
+
+	/**
+	 * Returns the registered caches, to report their occupancy.
+	 */
+	public IMemoryAwareCache[] getCaches() {
+		return caches.toArray(new IMemoryAwareCache[0]);
+	}
+
+	/**
+	 * Returns the current ratio of the cache limits to the initial ones.
+	 */
+	public double getRatio() {
+		return ratio;
+	}
+
+	public void start() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP
+					&& pool.isCollectionUsageThresholdSupported()) {
+				final long max = pool.getUsage().getMax();
+				if (max > 0) {
+					if (pool.getCollectionUsageThreshold() == 0) {
+						final long threshold = (long) (max * USAGE_THRESHOLD);
+						pool.setCollectionUsageThreshold(threshold);
+						thresholds.put(pool, Long.valueOf(threshold));
+					}
+					pools.add(pool);
+				}
+			}
+		}
+		if (!pools.isEmpty()) {
+			((NotificationEmitter) ManagementFactory.getMemoryMXBean())
+					.addNotificationListener(this, null, null);
+		}
+	}
+
+	public void stop() {
+		if (!pools.isEmpty()) {
+			try {
+				((NotificationEmitter) ManagementFactory.getMemoryMXBean())
+						.removeNotificationListener(this);
+			} catch (ListenerNotFoundException e) {
+				// ignore
+			}
+			pools.clear();
+		}
+		for (Map.Entry<MemoryPoolMXBean, Long> entry : thresholds.entrySet()) {
+			final MemoryPoolMXBean pool = entry.getKey();
+			// unless changed by somebody else meanwhile
+			if (pool.isValid() && pool.getCollectionUsageThreshold() == entry
+					.getValue().longValue()) {
+				pool.setCollectionUsageThreshold(0);
+			}
+		}
+		thresholds.clear();
+		resizeJob.cancel();
+	}
+
+	@Override
+	public void handleNotification(Notification notification,
+			Object handback) {
+		if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED
+				.equals(notification.getType())) {
+			ratio = getUsage() >= CRITICAL_USAGE ? MIN_RATIO
+					: Math.max(MIN_RATIO, ratio / 2);
+			// the caches are locked while resizing, so not in this thread
+			resizeJob.wakeUp();
+			resizeJob.schedule();
+		}
+	}
+
+	/**
+	 * Returns the highest usage of the watched pools after the last garbage
+	 * collection, as the fraction of the pool maximum.
+	 */
+	private double getUsage() {
+		double result = 0;
+		for (MemoryPoolMXBean pool : pools) {
+			final MemoryUsage usage = pool.getCollectionUsage();
+			final long max = pool.getUsage().getMax();
+			if (usage != null && max > 0) {
+				result = Math.max(result, (double) usage.getUsed() / max);
+			}
+		}
+		return result;
+	}
+
+	synchronized void adjust() {
+		if (ratio == appliedRatio && ratio < 1
+				&& getUsage() < RECOVERY_USAGE) {
+			ratio = Math.min(1, ratio * 2);
+		}
+		final double newRatio = ratio;
+		if (newRatio != appliedRatio) {
+			for (IMemoryAwareCache cache : caches) {
+				cache.resize(newRatio);
+			}
+			appliedRatio = newRatio;
+		}
+		if (newRatio < 1) {
+			resizeJob.schedule(RECOVERY_DELAY);
+		}
+	}
+
+	@Override
+	public String toString() {
+		final NumberFormat nf = NumberFormat.getInstance();
+		final StringBuilder buffer = new StringBuilder();
+		buffer.append("Cache size ratio: ").append(nf.format(ratio)); //$NON-NLS-1$
+		for (IMemoryAwareCache cache : caches) {
+			buffer.append('\n').append(cache.getName()).append(": "); //$NON-NLS-1$
+			buffer.append(cache.size()).append(" entries, weight "); //$NON-NLS-1$
+			buffer.append(cache.getWeight()).append('/')
+					.append(cache.getWeightLimit());
+		}
+		return buffer.toString();
+	}
+}
@@ -45,6 +45,13 @@ public class DLTKCorePreferenceInitializer
 		defaultOptionsMap.put(DLTKCore.CORE_ENABLE_BUILDPATH_EXCLUSION_PATTERNS,
 				DLTKCore.ENABLED);
 		defaultOptionsMap.put(DLTKCore.INDEXER_ENABLED, DLTKCore.ENABLED);
+		defaultOptionsMap.put(DLTKCore.INDEXER_THREADS, "1"); //$NON-NLS-1$
+		defaultOptionsMap.put(DLTKCore.SEARCH_THREADS, "1"); //$NON-NLS-1$
+		defaultOptionsMap.put(DLTKCore.SEARCH_PARSED_MODULES, "100"); //$NON-NLS-1$
+		defaultOptionsMap.put(DLTKCore.AST_CACHE_PERSISTENT, DLTKCore.DISABLED);
+		defaultOptionsMap.put(DLTKCore.TYPE_HIERARCHY_GRAPH, DLTKCore.DISABLED);
+		defaultOptionsMap.put(DLTKCore.INDEXER_CONTENT_HASH, DLTKCore.DISABLED);
+		defaultOptionsMap.put(DLTKCore.EXTERNAL_FOLDERS_WATCH, DLTKCore.DISABLED);
 		defaultOptionsMap.put(DLTKCore.BUILDER_ENABLED, DLTKCore.ENABLED);
 		defaultOptionsMap.put(DLTKCore.CODEASSIST_CAMEL_CASE_MATCH,
 				DLTKCore.ENABLED);
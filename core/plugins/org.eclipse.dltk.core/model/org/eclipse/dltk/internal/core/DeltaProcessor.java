@@ -50,6 +50,7 @@ import org.eclipse.dltk.core.IScriptProject;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.ModelException;
 import org.eclipse.dltk.core.environment.EnvironmentManager;
+import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
 import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.core.environment.IFileHandle;
 import org.eclipse.dltk.core.search.indexing.IndexManager;
@@ -347,6 +348,91 @@ public class DeltaProcessor {
 		}
 	}
 
+	/*
+	 * Creates the deltas for the files of the external library folder reported by
+	 * the ExternalFolderWatcher, the paths are relative to the folder. Closes the
+	 * affected elements, requests the indexing of the folder and fires the delta.
+	 */
+	public void checkExternalFolderChanges(IPath folderPath, Collection<String> added, Collection<String> removed,
+			Collection<String> changed) {
+		try {
+			final boolean structureChanged = !added.isEmpty() || !removed.isEmpty();
+			IWorkspaceRoot wksRoot = ResourcesPlugin.getWorkspace().getRoot();
+			for (String projectName : this.state.getOldScriptProjectNames()) {
+				IProject project = wksRoot.getProject(projectName);
+				if (!DLTKLanguageManager.hasScriptNature(project)) {
+					continue;
+				}
+				ScriptProject scriptProject = (ScriptProject) DLTKCore.create(project);
+				IProjectFragment fragment = null;
+				try {
+					for (IProjectFragment candidate : scriptProject.getProjectFragments()) {
+						if (candidate.isExternal() && candidate.getPath().equals(folderPath)) {
+							fragment = candidate;
+							break;
+						}
+					}
+				} catch (ModelException e) {
+					// project doesn't exist -> ignore
+					continue;
+				}
+				if (fragment == null) {
+					continue;
+				}
+				if (structureChanged) {
+					// the folders are listed again on the next access
+					this.close((Openable) fragment);
+					this.projectCachesToReset.add(scriptProject);
+				}
+				boolean hasDelta = externalModuleDeltas(fragment, added, IModelElementDelta.ADDED);
+				hasDelta |= externalModuleDeltas(fragment, removed, IModelElementDelta.REMOVED);
+				hasDelta |= externalModuleDeltas(fragment, changed, IModelElementDelta.CHANGED);
+				if (hasDelta) {
+					ProjectIndexerManager.indexLibrary(scriptProject, folderPath);
+				}
+			}
+			// the folder itself is already up to date
+			final IFileHandle folder = EnvironmentPathUtils.getFile(folderPath);
+			if (folder != null && this.state.getExternalLibTimeStamps().containsKey(folderPath)) {
+				this.state.getExternalLibTimeStamps().put(folderPath, Long.valueOf(getTimeStamp(folder)));
+			}
+			this.resetProjectCaches();
+			this.projectCachesToReset.clear();
+			if (this.currentDelta != null) {
+				this.fire(this.currentDelta, DEFAULT_CHANGE_EVENT);
+			}
+		} finally {
+			this.currentDelta = null;
+		}
+	}
+
+	private boolean externalModuleDeltas(IProjectFragment fragment, Collection<String> paths, int kind) {
+		boolean hasDelta = false;
+		for (String path : paths) {
+			final IPath relativePath = new Path(path);
+			if (!Util.isValidSourceModule(fragment, relativePath)) {
+				continue;
+			}
+			final ISourceModule module = fragment.getScriptFolder(relativePath.removeLastSegments(1))
+					.getSourceModule(relativePath.lastSegment());
+			switch (kind) {
+			case IModelElementDelta.ADDED:
+				this.currentDelta().added(module);
+				break;
+			case IModelElementDelta.REMOVED:
+				this.close((Openable) module);
+				this.currentDelta().removed(module);
+				break;
+			default:
+				this.close((Openable) module);
+				this.currentDelta().changed(module, IModelElementDelta.F_CONTENT);
+				break;
+			}
+			hasDelta = true;
+		}
+		return hasDelta;
+	}
+
 	/*
 	 * Process the given delta and look for projects being added, opened, closed or
 	 * with a script nature being added or removed. Note that projects being deleted
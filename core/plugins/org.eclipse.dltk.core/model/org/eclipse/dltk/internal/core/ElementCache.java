@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.dltk.internal.core;
 
+import java.util.Map;
+
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.IProjectFragment;
 import org.eclipse.dltk.core.IScriptFolder;
@@ -22,11 +24,26 @@ import org.eclipse.dltk.internal.core.util.LRUCache;
 public class ElementCache extends OverflowingLRUCache {
 	private IModelElement spaceLimitParent = null;
 
+	/**
+	 * The map the removed entries are also removed from, or <code>null</code>.
+	 */
+	private final Map<?, ?> index;
+
 	/**
 	 * Constructs a new element cache of the given size.
 	 */
 	public ElementCache(int size) {
+		this(size, (Map<?, ?>) null);
+	}
+
+	/**
+	 * Constructs a new element cache of the given size. The entries removed
+	 * from the cache, including the ones flushed to make space, are also
+	 * removed from the specified index.
+	 */
+	public ElementCache(int size, Map<?, ?> index) {
 		super(size);
+		this.index = index;
 	}
 
 	/**
@@ -34,6 +51,7 @@ public class ElementCache extends OverflowingLRUCache {
 	 */
 	public ElementCache(int size, int overflow) {
 		super(size, overflow);
+		this.index = null;
 	}
 
 	/**
@@ -84,6 +102,23 @@ public class ElementCache extends OverflowingLRUCache {
 		}
 	}
 
+	/*
+	 * Sets the space limit to the given default value, unless it was increased
+	 * for the children of the recorded parent.
+	 */
+	public void resize(int defaultLimit) {
+		if (this.spaceLimitParent == null) {
+			setSpaceLimit(defaultLimit);
+		}
+	}
+
+	@Override
+	protected void privateNotifyDeletionFromCache(LRUCacheEntry entry) {
+		if (index != null) {
+			index.remove(entry._fKey, entry._fValue);
+		}
+	}
+
 	/*
 	 * Returns a new instance of the receiver.
 	 */
@@ -0,0 +1,600 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.dltk.core.DLTKContentTypeManager;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.DLTKLanguageManager;
+import org.eclipse.dltk.core.IBuildpathEntry;
+import org.eclipse.dltk.core.IDLTKLanguageToolkit;
+import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.ModelException;
+import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
+
+/**
+ * Tracks the changes of the files in the local external library folders with
+ * the native file watching of the {@link WatchService}, enabled with the
+ * {@link DLTKCore#EXTERNAL_FOLDERS_WATCH} option. The folders which could not be
+ * watched, e.g. when the limit of the watches is reached, are compared with
+ * their snapshots periodically instead. The changed files are reported to the
+ * {@link DeltaProcessor}, which creates the deltas of the modules.
+ * <p>
+ * The snapshots of the folders are saved on shutdown, so the changes made while
+ * the workbench was not running are reported after the next start.
+ */
+public class ExternalFolderWatcher {
+
+	private static final int FILE_MAGIC = 0x444C5746;
+	private static final int FILE_VERSION = 1;
+
+	/** interval of processing the events and checking the buildpaths */
+	private static final long CHECK_INTERVAL = 2000;
+	/** interval of comparing the folders not watched with their snapshots */
+	private static final long POLL_INTERVAL = 30000;
+
+	private static class Changes {
+		final Set<String> added = new HashSet<>();
+		final Set<String> removed = new HashSet<>();
+		final Set<String> changed = new HashSet<>();
+
+		boolean isEmpty() {
+			return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+		}
+	}
+
+	private static class Folder {
+		final IPath fullPath;
+		final Path location;
+		/** the languages of the projects with the folder on the buildpath */
+		Set<IDLTKLanguageToolkit> toolkits;
+		/** relative folder path -> file name -> modification time */
+		Map<String, Map<String, Long>> snapshot = new HashMap<>();
+		/** the relative paths of the folders with events */
+		final Set<String> dirty = new HashSet<>();
+		/** not watched, compared with the snapshot periodically */
+		boolean polling;
+		/** the events were lost, compare with the snapshot */
+		boolean overflow;
+		long lastPoll;
+
+		Folder(IPath fullPath, Set<IDLTKLanguageToolkit> toolkits) {
+			this.fullPath = fullPath;
+			this.toolkits = toolkits;
+			this.location = Paths.get(
+					EnvironmentPathUtils.getLocalPath(fullPath).toOSString());
+		}
+
+		/**
+		 * Answers whether the file could be a source module, the other files
+		 * are not tracked.
+		 */
+		boolean isSourceModule(String name) {
+			for (IDLTKLanguageToolkit toolkit : toolkits) {
+				if (DLTKContentTypeManager.isValidFileNameForContentType(toolkit,
+						name)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		Path resolve(String relativePath) {
+			return relativePath.isEmpty() ? location
+					: location.resolve(relativePath);
+		}
+
+		String relativize(Path path) {
+			return location.relativize(path).toString().replace(
+					File.separatorChar, '/');
+		}
+	}
+
+	private final File file;
+	private final Map<IPath, Folder> folders = new HashMap<>();
+	private final Map<WatchKey, Folder> keys = new HashMap<>();
+	/** the snapshots loaded on startup of the folders not checked yet */
+	private final Map<IPath, Map<String, Map<String, Long>>> saved = new HashMap<>();
+	private WatchService watchService;
+	private volatile boolean stopped;
+
+	private final Job job = new Job("External folder watcher") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				update();
+			} catch (RuntimeException e) {
+				DLTKCore.error("Error tracking external folders", e); //$NON-NLS-1$
+			}
+			if (!stopped) {
+				schedule(CHECK_INTERVAL);
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public ExternalFolderWatcher() {
+		this(DLTKCore.getPlugin().getStateLocation()
+				.append("externalFolders.dat").toFile()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates the watcher saving the snapshots to the specified file.
+	 *
+	 * @noreference This constructor is not intended to be referenced by
+	 *              clients.
+	 */
+	public ExternalFolderWatcher(File file) {
+		this.file = file;
+	}
+
+	public void start() {
+		load();
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+		} catch (IOException | UnsupportedOperationException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+		}
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule(CHECK_INTERVAL);
+	}
+
+	public void stop() {
+		stopped = true;
+		job.cancel();
+		try {
+			job.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this) {
+			save();
+			if (watchService != null) {
+				try {
+					watchService.close();
+				} catch (IOException e) {
+					// ignore
+				}
+				watchService = null;
+			}
+			keys.clear();
+			folders.clear();
+		}
+	}
+
+	/**
+	 * Reports the changes of the folders, called periodically once started.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized void update() {
+		final Map<IPath, Set<IDLTKLanguageToolkit>> paths = collectFolders();
+		for (Iterator<Folder> i = folders.values().iterator(); i.hasNext();) {
+			final Folder folder = i.next();
+			final Set<IDLTKLanguageToolkit> toolkits = paths
+					.get(folder.fullPath);
+			if (toolkits == null) {
+				cancelKeys(folder);
+				i.remove();
+			} else if (!toolkits.equals(folder.toolkits)) {
+				// other files could be the source modules now
+				folder.toolkits = toolkits;
+				folder.overflow = true;
+			}
+		}
+		// the folders removed from the buildpaths are listed again if added
+		saved.keySet().retainAll(paths.keySet());
+		final Map<Folder, Changes> changes = new HashMap<>();
+		for (Map.Entry<IPath, Set<IDLTKLanguageToolkit>> entry : paths
+				.entrySet()) {
+			if (stopped) {
+				return;
+			}
+			final IPath path = entry.getKey();
+			if (!folders.containsKey(path)) {
+				final Folder folder = new Folder(path, entry.getValue());
+				folders.put(path, folder);
+				scan(folder, "", folder.snapshot, true); //$NON-NLS-1$
+				folder.lastPoll = System.currentTimeMillis();
+				final Map<String, Map<String, Long>> old = saved.remove(path);
+				if (old != null) {
+					compare(old, folder.snapshot, changes(changes, folder));
+				}
+			}
+		}
+		processEvents();
+		final long now = System.currentTimeMillis();
+		for (Folder folder : folders.values()) {
+			if (stopped) {
+				return;
+			}
+			if (folder.overflow
+					|| folder.polling && now - folder.lastPoll >= POLL_INTERVAL) {
+				final Map<String, Map<String, Long>> snapshot = new HashMap<>();
+				scan(folder, "", snapshot, !folder.polling); //$NON-NLS-1$
+				compare(folder.snapshot, snapshot, changes(changes, folder));
+				folder.snapshot = snapshot;
+				folder.overflow = false;
+				folder.dirty.clear();
+				folder.lastPoll = now;
+			} else if (!folder.dirty.isEmpty()) {
+				final String[] dirty = folder.dirty
+						.toArray(new String[folder.dirty.size()]);
+				folder.dirty.clear();
+				for (String relativePath : dirty) {
+					rescan(folder, relativePath, changes(changes, folder));
+				}
+			}
+		}
+		for (Map.Entry<Folder, Changes> entry : changes.entrySet()) {
+			final Changes folderChanges = entry.getValue();
+			if (!folderChanges.isEmpty()) {
+				ModelManager.getModelManager().getDeltaProcessor()
+						.checkExternalFolderChanges(entry.getKey().fullPath,
+								folderChanges.added, folderChanges.removed,
+								folderChanges.changed);
+			}
+		}
+	}
+
+	private static Changes changes(Map<Folder, Changes> changes,
+			Folder folder) {
+		return changes.computeIfAbsent(folder, key -> new Changes());
+	}
+
+	/**
+	 * Returns the full paths of the local external library folders on the
+	 * buildpaths of the projects, with the languages of those projects.
+	 */
+	private static Map<IPath, Set<IDLTKLanguageToolkit>> collectFolders() {
+		final Map<IPath, Set<IDLTKLanguageToolkit>> result = new HashMap<>();
+		final IScriptProject[] projects;
+		try {
+			projects = ModelManager.getModelManager().getModel()
+					.getScriptProjects();
+		} catch (ModelException e) {
+			return result;
+		}
+		for (IScriptProject project : projects) {
+			final IDLTKLanguageToolkit toolkit = DLTKLanguageManager
+					.getLanguageToolkit(project);
+			if (toolkit == null) {
+				continue;
+			}
+			final IBuildpathEntry[] buildpath;
+			try {
+				buildpath = project.getResolvedBuildpath();
+			} catch (ModelException e) {
+				continue;
+			}
+			for (IBuildpathEntry entry : buildpath) {
+				if (entry.getEntryKind() != IBuildpathEntry.BPE_LIBRARY
+						|| !EnvironmentPathUtils
+								.isLocalEnvironment(entry.getPath())) {
+					continue;
+				}
+				final Set<IDLTKLanguageToolkit> toolkits = result
+						.get(entry.getPath());
+				if (toolkits != null) {
+					toolkits.add(toolkit);
+					continue;
+				}
+				final IPath local = EnvironmentPathUtils
+						.getLocalPath(entry.getPath());
+				if (ExternalFoldersManager.isExternalFolderPath(local)
+						&& local.toFile().isDirectory()) {
+					final Set<IDLTKLanguageToolkit> newToolkits = new HashSet<>();
+					newToolkits.add(toolkit);
+					result.put(entry.getPath(), newToolkits);
+				}
+			}
+		}
+		return result;
+	}
+
+	private void processEvents() {
+		if (watchService == null) {
+			return;
+		}
+		for (WatchKey key; (key = watchService.poll()) != null;) {
+			final Folder folder = keys.get(key);
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (folder != null && event.kind() == OVERFLOW) {
+					folder.overflow = true;
+				}
+			}
+			if (folder != null) {
+				folder.dirty.add(folder.relativize((Path) key.watchable()));
+			}
+			if (!key.reset()) {
+				// the directory was deleted
+				keys.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Lists the tree under the relative path into the snapshot, registering the
+	 * directories with the watch service if requested.
+	 */
+	private void scan(Folder folder, String relativePath,
+			Map<String, Map<String, Long>> snapshot, boolean register) {
+		final Path dir = folder.resolve(relativePath);
+		if (register) {
+			register(folder, dir);
+		}
+		final Map<String, Long> files = new HashMap<>();
+		snapshot.put(relativePath, files);
+		final List<String> subdirs = new ArrayList<>();
+		list(folder, dir, files, subdirs);
+		for (String name : subdirs) {
+			scan(folder, join(relativePath, name), snapshot,
+					register && !folder.polling);
+		}
+	}
+
+	private void register(Folder folder, Path dir) {
+		if (watchService == null) {
+			folder.polling = true;
+			return;
+		}
+		if (folder.polling) {
+			return;
+		}
+		try {
+			keys.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE,
+					ENTRY_MODIFY), folder);
+		} catch (IOException | UnsupportedOperationException e) {
+			// e.g. the limit of the watches is reached
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+			folder.polling = true;
+			cancelKeys(folder);
+		}
+	}
+
+	private void cancelKeys(Folder folder) {
+		for (Iterator<Map.Entry<WatchKey, Folder>> i = keys.entrySet()
+				.iterator(); i.hasNext();) {
+			final Map.Entry<WatchKey, Folder> entry = i.next();
+			if (entry.getValue() == folder) {
+				entry.getKey().cancel();
+				i.remove();
+			}
+		}
+	}
+
+	/**
+	 * Compares the directory with the snapshot after an event.
+	 */
+	private void rescan(Folder folder, String relativePath, Changes changes) {
+		final Map<String, Long> oldFiles = folder.snapshot.get(relativePath);
+		if (oldFiles == null) {
+			return; // not listed yet, its parent is rescanned
+		}
+		final Path dir = folder.resolve(relativePath);
+		if (!Files.isDirectory(dir, LinkOption.NOFOLLOW_LINKS)) {
+			removeTree(folder, relativePath, changes);
+			return;
+		}
+		final Map<String, Long> files = new HashMap<>();
+		final List<String> subdirs = new ArrayList<>();
+		list(folder, dir, files, subdirs);
+		compare(relativePath, oldFiles, files, changes);
+		folder.snapshot.put(relativePath, files);
+		final Set<String> knownSubdirs = new HashSet<>();
+		for (String path : folder.snapshot.keySet()) {
+			if (!path.isEmpty() && parentOf(path).equals(relativePath)) {
+				knownSubdirs.add(path);
+			}
+		}
+		for (String name : subdirs) {
+			final String path = join(relativePath, name);
+			if (!knownSubdirs.remove(path)) {
+				final Map<String, Map<String, Long>> added = new HashMap<>();
+				scan(folder, path, added, true);
+				compare(new HashMap<>(), added, changes);
+				folder.snapshot.putAll(added);
+			}
+		}
+		for (String path : knownSubdirs) {
+			removeTree(folder, path, changes);
+		}
+	}
+
+	private static void removeTree(Folder folder, String relativePath,
+			Changes changes) {
+		final String prefix = relativePath + '/';
+		for (Iterator<Map.Entry<String, Map<String, Long>>> i = folder.snapshot
+				.entrySet().iterator(); i.hasNext();) {
+			final Map.Entry<String, Map<String, Long>> entry = i.next();
+			if (entry.getKey().equals(relativePath)
+					|| entry.getKey().startsWith(prefix)) {
+				for (String name : entry.getValue().keySet()) {
+					changes.removed.add(join(entry.getKey(), name));
+				}
+				i.remove();
+			}
+		}
+	}
+
+	/**
+	 * Lists the source modules and the subdirectories of the directory.
+	 */
+	private static void list(Folder folder, Path dir, Map<String, Long> files,
+			List<String> subdirs) {
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+			for (Path child : stream) {
+				final BasicFileAttributes attributes;
+				try {
+					attributes = Files.readAttributes(child,
+							BasicFileAttributes.class,
+							LinkOption.NOFOLLOW_LINKS);
+				} catch (IOException e) {
+					continue;
+				}
+				final String name = child.getFileName().toString();
+				if (attributes.isDirectory()) {
+					subdirs.add(name);
+				} else if (attributes.isRegularFile()
+						&& folder.isSourceModule(name)) {
+					files.put(name, Long.valueOf(
+							attributes.lastModifiedTime().toMillis()));
+				}
+			}
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private static void compare(Map<String, Map<String, Long>> oldSnapshot,
+			Map<String, Map<String, Long>> newSnapshot, Changes changes) {
+		final Set<String> dirs = new HashSet<>(oldSnapshot.keySet());
+		dirs.addAll(newSnapshot.keySet());
+		for (String dir : dirs) {
+			final Map<String, Long> oldFiles = oldSnapshot.get(dir);
+			final Map<String, Long> newFiles = newSnapshot.get(dir);
+			compare(dir,
+					oldFiles != null ? oldFiles : new HashMap<String, Long>(),
+					newFiles != null ? newFiles : new HashMap<String, Long>(),
+					changes);
+		}
+	}
+
+	private static void compare(String dir, Map<String, Long> oldFiles,
+			Map<String, Long> newFiles, Changes changes) {
+		for (Map.Entry<String, Long> entry : newFiles.entrySet()) {
+			final Long old = oldFiles.get(entry.getKey());
+			if (old == null) {
+				changes.added.add(join(dir, entry.getKey()));
+			} else if (!old.equals(entry.getValue())) {
+				changes.changed.add(join(dir, entry.getKey()));
+			}
+		}
+		for (String name : oldFiles.keySet()) {
+			if (!newFiles.containsKey(name)) {
+				changes.removed.add(join(dir, name));
+			}
+		}
+	}
+
+	private static String join(String dir, String name) {
+		return dir.isEmpty() ? name : dir + '/' + name;
+	}
+
+	private static String parentOf(String path) {
+		final int index = path.lastIndexOf('/');
+		return index < 0 ? "" : path.substring(0, index); //$NON-NLS-1$
+	}
+
+	private void load() {
+		if (!file.exists()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+				return;
+			}
+			for (int count = in.readInt(); count > 0; --count) {
+				final IPath path = org.eclipse.core.runtime.Path
+						.fromPortableString(in.readUTF());
+				final Map<String, Map<String, Long>> snapshot = new HashMap<>();
+				for (int dirs = in.readInt(); dirs > 0; --dirs) {
+					final Map<String, Long> files = new HashMap<>();
+					snapshot.put(in.readUTF(), files);
+					for (int i = in.readInt(); i > 0; --i) {
+						files.put(in.readUTF(), Long.valueOf(in.readLong()));
+					}
+				}
+				saved.put(path, snapshot);
+			}
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+			saved.clear();
+			file.delete();
+		}
+	}
+
+	private void save() {
+		final Map<IPath, Map<String, Map<String, Long>>> snapshots = new HashMap<>(
+				saved);
+		for (Folder folder : folders.values()) {
+			snapshots.put(folder.fullPath, folder.snapshot);
+		}
+		file.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(FILE_VERSION);
+			out.writeInt(snapshots.size());
+			for (Map.Entry<IPath, Map<String, Map<String, Long>>> entry : snapshots
+					.entrySet()) {
+				out.writeUTF(entry.getKey().toPortableString());
+				out.writeInt(entry.getValue().size());
+				for (Map.Entry<String, Map<String, Long>> dir : entry.getValue()
+						.entrySet()) {
+					out.writeUTF(dir.getKey());
+					out.writeInt(dir.getValue().size());
+					for (Map.Entry<String, Long> f : dir.getValue().entrySet()) {
+						out.writeUTF(f.getKey());
+						out.writeLong(f.getValue().longValue());
+					}
+				}
+			}
+		} catch (IOException e) {
+			DLTKCore.error("Could not save external folder snapshots", e); //$NON-NLS-1$
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core;
+
+/**
+ * The cache resized by the {@link CacheMemoryManager} depending on the heap
+ * usage.
+ */
+public interface IMemoryAwareCache {
+
+	/**
+	 * Returns the name of the cache, for the statistics.
+	 */
+	String getName();
+
+	/**
+	 * Returns the number of the entries.
+	 */
+	int size();
+
+	/**
+	 * Returns the estimated weight of the entries, in the units of the limit.
+	 */
+	long getWeight();
+
+	/**
+	 * Returns the current limit of the weight.
+	 */
+	long getWeightLimit();
+
+	/**
+	 * Sets the limits of the cache to the specified ratio of the initial ones,
+	 * removing the least recently used entries over the new limits.
+	 */
+	void resize(double ratio);
+}
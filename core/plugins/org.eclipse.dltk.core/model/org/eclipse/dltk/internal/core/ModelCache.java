@@ -13,14 +13,26 @@ package org.eclipse.dltk.internal.core;
 import java.text.NumberFormat;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.IModelElement;
 
 /**
  * The cache ofscriptelements to their respective info.
+ * <p>
+ * The updates are made holding the {@link ModelManager} lock, while the infos
+ * are read without locking from the index of all the cached infos. The reads
+ * of the LRU cached elements are recorded in the small per-thread buffers and
+ * applied to the LRU order before the next update, the reads not fitting
+ * into the buffers are not counted.
+ * <p>
+ * The sizes of the LRU caches are reduced by the {@link CacheMemoryManager}
+ * when the heap is low.
  */
-public class ModelCache {
+public class ModelCache implements IMemoryAwareCache {
 	public static final int DEFAULT_PROJECT_SIZE = 5; // average 25552 bytes
 	// per project.
 	public static final int DEFAULT_ROOT_SIZE = 50; // average 2590 bytes per
@@ -40,10 +52,24 @@ public class ModelCache {
 	public static final int DEFAULT_CHILDREN_SIZE = 500 * 20; // average 20
 	// children per
 	// openable
+	private static final int ACCESS_STRIPES = 16;
+	private static final int ACCESS_STRIPE_SIZE = 64;
+
 	/**
 	 * Active script Model Info
 	 */
-	protected ModelInfo modelInfo;
+	protected volatile ModelInfo modelInfo;
+	/**
+	 * Infos of all the cached elements except the model, read without locking.
+	 */
+	protected final Map<IModelElement, Object> infos = new ConcurrentHashMap<>();
+	/**
+	 * Recently read elements of the LRU caches, per stripe.
+	 */
+	private final AtomicReferenceArray<IModelElement> accesses = new AtomicReferenceArray<>(
+			ACCESS_STRIPES * ACCESS_STRIPE_SIZE);
+	private final AtomicIntegerArray accessCounts = new AtomicIntegerArray(
+			ACCESS_STRIPES);
 	/**
 	 * Cache of open projects.
 	 */
@@ -65,6 +91,19 @@ public class ModelCache {
 	 */
 	protected Map childrenCache;
 
+	/**
+	 * Sizes of the LRU caches for the available memory.
+	 */
+	private final int baseRootSize;
+	private final int basePkgSize;
+	private final int baseOpenableSize;
+	/**
+	 * Current sizes of the LRU caches, after the last {@link #resize(double)}.
+	 */
+	private int rootSize;
+	private int pkgSize;
+	private int openableSize;
+
 	public ModelCache() {
 		// set the size of the caches in function of the maximum amount of
 		// memory available
@@ -89,51 +128,84 @@ public class ModelCache {
 		// (e.g. during
 		// delta
 		// processing)
-		this.rootCache = new ElementCache((int) (DEFAULT_ROOT_SIZE * ratio));
-		this.pkgCache = new ElementCache((int) (DEFAULT_PKG_SIZE * ratio));
-		this.openableCache = new ElementCache((int) (DEFAULT_OPENABLE_SIZE * ratio));
+		this.baseRootSize = this.rootSize = (int) (DEFAULT_ROOT_SIZE * ratio);
+		this.basePkgSize = this.pkgSize = (int) (DEFAULT_PKG_SIZE * ratio);
+		this.baseOpenableSize = this.openableSize = (int) (DEFAULT_OPENABLE_SIZE
+				* ratio);
+		this.rootCache = new ElementCache(this.rootSize, infos);
+		this.pkgCache = new ElementCache(this.pkgSize, infos);
+		this.openableCache = new ElementCache(this.openableSize, infos);
 		this.childrenCache = new HashMap((int) (DEFAULT_CHILDREN_SIZE * ratio));
 	}
 
 	/**
-	 * Returns the info for the element.
+	 * Returns the info for the element. Could be called without holding the
+	 * lock.
 	 */
 	public Object getInfo(IModelElement element) {
 		switch (element.getElementType()) {
 		case IModelElement.SCRIPT_MODEL:
 			return this.modelInfo;
-		case IModelElement.SCRIPT_PROJECT:
-			return this.projectCache.get(element);
 		case IModelElement.PROJECT_FRAGMENT:
-			return this.rootCache.get(element);
 		case IModelElement.SCRIPT_FOLDER:
-			return this.pkgCache.get(element);
 		case IModelElement.SOURCE_MODULE:
 		case IModelElement.BINARY_MODULE:
-			return this.openableCache.get(element);
+			Object info = this.infos.get(element);
+			if (info != null) {
+				recordAccess(element);
+			}
+			return info;
 		default:
-			return this.childrenCache.get(element);
+			return this.infos.get(element);
 		}
 	}
 
 	/**
 	 * Returns the info for this element without disturbing the cache ordering.
+	 * Could be called without holding the lock.
 	 */
 	protected Object peekAtInfo(IModelElement element) {
-		switch (element.getElementType()) {
-		case IModelElement.SCRIPT_MODEL:
+		if (element.getElementType() == IModelElement.SCRIPT_MODEL) {
 			return this.modelInfo;
-		case IModelElement.SCRIPT_PROJECT:
-			return this.projectCache.get(element);
-		case IModelElement.PROJECT_FRAGMENT:
-			return this.rootCache.peek(element);
-		case IModelElement.SCRIPT_FOLDER:
-			return this.pkgCache.peek(element);
-		case IModelElement.SOURCE_MODULE:
-		case IModelElement.BINARY_MODULE:
-			return this.openableCache.peek(element);
-		default:
-			return this.childrenCache.get(element);
+		}
+		return this.infos.get(element);
+	}
+
+	private void recordAccess(IModelElement element) {
+		final int stripe = (int) Thread.currentThread().getId()
+				& (ACCESS_STRIPES - 1);
+		if (this.accessCounts.get(stripe) < ACCESS_STRIPE_SIZE) {
+			final int i = this.accessCounts.getAndIncrement(stripe);
+			if (i < ACCESS_STRIPE_SIZE) {
+				this.accesses.lazySet(stripe * ACCESS_STRIPE_SIZE + i, element);
+			}
+		}
+	}
+
+	/**
+	 * Moves the recently read elements to the top of their LRU caches.
+	 */
+	protected void applyAccesses() {
+		for (int stripe = 0; stripe < ACCESS_STRIPES; ++stripe) {
+			final int count = Math.min(this.accessCounts.get(stripe),
+					ACCESS_STRIPE_SIZE);
+			for (int i = 0; i < count; ++i) {
+				final IModelElement element = this.accesses
+						.getAndSet(stripe * ACCESS_STRIPE_SIZE + i, null);
+				if (element != null) {
+					switch (element.getElementType()) {
+					case IModelElement.PROJECT_FRAGMENT:
+						this.rootCache.get(element);
+						break;
+					case IModelElement.SCRIPT_FOLDER:
+						this.pkgCache.get(element);
+						break;
+					default:
+						this.openableCache.get(element);
+					}
+				}
+			}
+			this.accessCounts.set(stripe, 0);
 		}
 	}
 
@@ -144,7 +216,7 @@ public class ModelCache {
 		switch (element.getElementType()) {
 		case IModelElement.SCRIPT_MODEL:
 			this.modelInfo = (ModelInfo) info;
-			break;
+			return;
 		case IModelElement.SCRIPT_PROJECT:
 			this.projectCache.put(element, info);
 			this.rootCache.ensureSpaceLimit(((ModelElementInfo) info).size(), element);
@@ -164,6 +236,7 @@ public class ModelCache {
 		default:
 			this.childrenCache.put(element, info);
 		}
+		this.infos.put(element, info);
 	}
 
 	/**
@@ -173,18 +246,18 @@ public class ModelCache {
 		switch (element.getElementType()) {
 		case IModelElement.SCRIPT_MODEL:
 			this.modelInfo = null;
-			break;
+			return;
 		case IModelElement.SCRIPT_PROJECT:
 			this.projectCache.remove(element);
-			this.rootCache.resetSpaceLimit(DEFAULT_ROOT_SIZE, element);
+			this.rootCache.resetSpaceLimit(this.rootSize, element);
 			break;
 		case IModelElement.PROJECT_FRAGMENT:
 			this.rootCache.remove(element);
-			this.pkgCache.resetSpaceLimit(DEFAULT_PKG_SIZE, element);
+			this.pkgCache.resetSpaceLimit(this.pkgSize, element);
 			break;
 		case IModelElement.SCRIPT_FOLDER:
 			this.pkgCache.remove(element);
-			this.openableCache.resetSpaceLimit(DEFAULT_OPENABLE_SIZE, element);
+			this.openableCache.resetSpaceLimit(this.openableSize, element);
 			break;
 		case IModelElement.SOURCE_MODULE:
 		case IModelElement.BINARY_MODULE:
@@ -193,6 +266,50 @@ public class ModelCache {
 		default:
 			this.childrenCache.remove(element);
 		}
+		this.infos.remove(element);
+	}
+
+	@Override
+	public String getName() {
+		return "Model cache"; //$NON-NLS-1$
+	}
+
+	@Override
+	public int size() {
+		return this.infos.size();
+	}
+
+	@Override
+	public long getWeight() {
+		return this.rootCache.getCurrentSpace()
+				+ this.pkgCache.getCurrentSpace()
+				+ this.openableCache.getCurrentSpace();
+	}
+
+	@Override
+	public long getWeightLimit() {
+		return this.rootCache.getSpaceLimit() + this.pkgCache.getSpaceLimit()
+				+ this.openableCache.getSpaceLimit();
+	}
+
+	/**
+	 * Sets the sizes of the LRU caches to the ratio of the sizes for the
+	 * available memory, closing the least recently used elements. The limits
+	 * temporarily raised to fit the children of an opened element are kept
+	 * until that element is closed.
+	 */
+	@Override
+	public void resize(double ratio) {
+		synchronized (ModelManager.getModelManager()) {
+			applyAccesses();
+			this.rootSize = Math.max(1, (int) (this.baseRootSize * ratio));
+			this.pkgSize = Math.max(1, (int) (this.basePkgSize * ratio));
+			this.openableSize = Math.max(1,
+					(int) (this.baseOpenableSize * ratio));
+			this.rootCache.resize(this.rootSize);
+			this.pkgCache.resize(this.pkgSize);
+			this.openableCache.resize(this.openableSize);
+		}
 	}
 
 	public String toStringFillingRation(String prefix) {
@@ -177,7 +177,7 @@ public abstract class ModelElement extends PlatformObject implements IModelEleme
 		Object info = manager.getInfo(this);
 		if (info != null)
 			return info;
-		return openWhenClosed(createElementInfo(), monitor);
+		return openWhenClosed(createElementInfo(), false, monitor);
 	}
 
 	/*
@@ -185,6 +185,17 @@ public abstract class ModelElement extends PlatformObject implements IModelEleme
 	 * <code>isOpen()</code>). Returns the created element info.
 	 */
 	protected Object openWhenClosed(Object info, IProgressMonitor monitor) throws ModelException {
+		return openWhenClosed(info, true, monitor);
+	}
+
+	/*
+	 * Opens an <code>Openable</code> that is known to be closed (no check for
+	 * <code>isOpen()</code>). If forceAdding is false and another thread opened
+	 * the element meanwhile, returns the info created by that thread, otherwise
+	 * returns the created element info.
+	 */
+	protected Object openWhenClosed(Object info, boolean forceAdding, IProgressMonitor monitor)
+			throws ModelException {
 		ModelManager manager = ModelManager.getModelManager();
 		boolean hadTemporaryCache = manager.hasTemporaryCache();
 		try {
@@ -204,7 +215,7 @@ public abstract class ModelElement extends PlatformObject implements IModelEleme
 				throw newNotPresentException();
 			}
 			if (!hadTemporaryCache) {
-				manager.putInfos(this, newElements);
+				info = manager.putInfos(this, info, forceAdding, newElements);
 			}
 		} finally {
 			if (!hadTemporaryCache) {
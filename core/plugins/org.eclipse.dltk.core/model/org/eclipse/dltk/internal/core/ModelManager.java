@@ -92,11 +92,13 @@ import org.eclipse.dltk.core.environment.IFileHandle;
 import org.eclipse.dltk.core.search.indexing.IndexManager;
 import org.eclipse.dltk.internal.core.builder.ScriptBuilder;
 import org.eclipse.dltk.internal.core.caching.DLTKCoreCache;
+import org.eclipse.dltk.internal.core.caching.PersistentASTCache;
 import org.eclipse.dltk.internal.core.search.DLTKWorkspaceScope;
 import org.eclipse.dltk.internal.core.search.ProjectIndexerManager;
 import org.eclipse.dltk.internal.core.util.Messages;
 import org.eclipse.dltk.internal.core.util.Util;
 import org.eclipse.dltk.internal.core.util.WeakHashSet;
+import org.eclipse.dltk.ti.ConcurrentGoalEngine;
 import org.eclipse.osgi.util.NLS;
 import org.osgi.service.prefs.BackingStoreException;
 
@@ -543,9 +545,9 @@ public class ModelManager implements ISaveParticipant {
 	}
 
 	/**
-	 * Returns the info for the element.
+	 * Returns the info for the element. Does not lock the model manager.
 	 */
-	public synchronized Object getInfo(IModelElement element) {
+	public Object getInfo(IModelElement element) {
 		HashMap tempCache = (HashMap) this.temporaryCache.get();
 		if (tempCache != null) {
 			Object result = tempCache.get(element);
@@ -558,8 +560,9 @@ public class ModelManager implements ISaveParticipant {
 
 	/**
 	 * Returns the info for this element without disturbing the cache ordering.
+	 * Does not lock the model manager.
 	 */
-	protected synchronized Object peekAtInfo(IModelElement element) {
+	protected Object peekAtInfo(IModelElement element) {
 		HashMap tempCache = (HashMap) this.temporaryCache.get();
 		if (tempCache != null) {
 			Object result = tempCache.get(element);
@@ -577,6 +580,7 @@ public class ModelManager implements ISaveParticipant {
 	public synchronized Object removeInfoAndChildren(ModelElement element) throws ModelException {
 		Object info = this.cache.peekAtInfo(element);
 		if (info != null) {
+			this.cache.applyAccesses();
 			boolean wasVerbose = false;
 			try {
 				if (VERBOSE) {
@@ -628,13 +632,19 @@ public class ModelManager implements ISaveParticipant {
 	/*
 	 * Puts the infos in the given map (keys are IModelElements and values are
 	 * ModelElementInfos) in the model cache in an atomic way. First checks that the
-	 * info for the opened element (or one of its ancestors) has not been added to
-	 * the cache. If it is the case, another thread has opened the element (or one
-	 * of its ancestors). So returns without updating the cache.
+	 * info for the opened element has not been added to the cache. If it is the
+	 * case, another thread has opened the element, so unless forceAdding is true
+	 * returns the existing info without updating the cache. Otherwise returns the
+	 * new info.
 	 */
-	protected synchronized void putInfos(IModelElement openedElement, Map newElements) {
-		// remove children
+	protected synchronized Object putInfos(IModelElement openedElement, Object newInfo, boolean forceAdding,
+			Map newElements) {
 		Object existingInfo = this.cache.peekAtInfo(openedElement);
+		if (existingInfo != null && !forceAdding) {
+			return existingInfo;
+		}
+		this.cache.applyAccesses();
+		// remove children
 		if (openedElement instanceof IParent && existingInfo instanceof ModelElementInfo) {
 			IModelElement[] children = ((ModelElementInfo) existingInfo).getChildren();
 			for (int i = 0, size = children.length; i < size; ++i) {
@@ -673,6 +683,7 @@ public class ModelManager implements ISaveParticipant {
 			Object info = newElements.get(element);
 			this.cache.putInfo(element, info);
 		}
+		return newInfo;
 	}
 
 	/**
@@ -1220,6 +1231,14 @@ public class ModelManager implements ISaveParticipant {
 			DLTKContentTypeManager.installListener();
 			sourceModuleInfoCache = new SourceModuleInfoCache();
 			sourceModuleInfoCache.start();
+			cacheMemoryManager = new CacheMemoryManager();
+			cacheMemoryManager.register(this.cache);
+			cacheMemoryManager.register(sourceModuleInfoCache);
+			cacheMemoryManager.start();
+			if (DLTKCore.ENABLED.equals(DLTKCore.getOption(DLTKCore.EXTERNAL_FOLDERS_WATCH))) {
+				externalFolderWatcher = new ExternalFolderWatcher();
+				externalFolderWatcher.start();
+			}
 			startIndexing();
 			// process deltas since last activated in indexer thread so that
 			// indexes are up-to-date.
@@ -1484,9 +1503,18 @@ public class ModelManager implements ISaveParticipant {
 		DLTKContentTypeManager.uninstallListener();
 		workspace.removeSaveParticipant(DLTKCore.PLUGIN_ID);
 
+		if (externalFolderWatcher != null) {
+			externalFolderWatcher.stop();
+		}
+		archivePool.closeAll();
+		if (cacheMemoryManager != null) {
+			cacheMemoryManager.stop();
+		}
 		if (sourceModuleInfoCache != null) {
 			sourceModuleInfoCache.stop();
 		}
+		PersistentASTCache.shutdown();
+		ConcurrentGoalEngine.shutdown();
 		if (this.indexManager != null) { // no more indexing
 			this.indexManager.shutdown();
 		}
@@ -2191,7 +2219,8 @@ public class ModelManager implements ISaveParticipant {
 						+ ") [ModelManager.getZipFile(IPath)] Creating ZipFile on " //$NON-NLS-1$
 						+ localFile);
 			}
-			zipFile = openArchive(archiveProjectFragment, localFile);
+			zipFile = archivePool.acquire(localFile,
+					archive -> openArchive(archiveProjectFragment, archive));
 
 			if (map != null) {
 				map.put(path, zipFile);
@@ -3001,6 +3030,28 @@ public class ModelManager implements ISaveParticipant {
 		return sourceModuleInfoCache;
 	}
 
+	private CacheMemoryManager cacheMemoryManager = null;
+
+	/**
+	 * Returns the manager resizing the caches depending on the heap usage, to
+	 * report their occupancy.
+	 */
+	public CacheMemoryManager getCacheMemoryManager() {
+		return cacheMemoryManager;
+	}
+
+	private ExternalFolderWatcher externalFolderWatcher = null;
+
+	/**
+	 * The zip archives shared by the threads, see
+	 * {@link #getArchive(IPath, IProjectFragment)}.
+	 */
+	private final ArchivePool archivePool = new ArchivePool();
+
+	public ArchivePool getArchivePool() {
+		return archivePool;
+	}
+
 	public static UserLibraryManager getUserLibraryManager() {
 		if (MANAGER.userLibraryManager == null) {
 			UserLibraryManager libraryManager = new UserLibraryManager();
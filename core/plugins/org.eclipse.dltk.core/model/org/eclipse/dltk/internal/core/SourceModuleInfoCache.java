@@ -9,8 +9,6 @@
  *******************************************************************************/
 package org.eclipse.dltk.internal.core;
 
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -25,6 +23,7 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.dltk.annotations.Internal;
+import org.eclipse.dltk.ast.ASTNode;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.ISourceModuleInfoCache;
@@ -32,33 +31,59 @@ import org.eclipse.dltk.core.ISourceModuleInfoCache;
 /**
  * Used to cache some source module information. All information related to
  * source module are removed, then source module are changed.
+ * <p>
+ * The least recently used entries are removed when either the number of the
+ * entries exceeds the capacity or their estimated weight exceeds the limit
+ * derived from the maximum heap size. Both limits are reduced by the
+ * {@link CacheMemoryManager} when the heap is low.
  */
 public class SourceModuleInfoCache implements ISourceModuleInfoCache,
-		IResourceChangeListener, IResourceDeltaVisitor {
+		IResourceChangeListener, IResourceDeltaVisitor, IMemoryAwareCache {
 	@Internal
-	final int capacity = ModelCache.DEFAULT_ROOT_SIZE * 50;
+	static final int DEFAULT_CAPACITY = ModelCache.DEFAULT_ROOT_SIZE * 50;
 
-	private final ReferenceQueue<ISourceModuleInfo> queue = new ReferenceQueue<>();
+	/**
+	 * Estimated weight of the entry without the cached values, in bytes.
+	 */
+	static final int ENTRY_WEIGHT = 64;
+	/**
+	 * Estimated weight of the cached value, in bytes.
+	 */
+	static final int VALUE_WEIGHT = 256;
+	/**
+	 * Estimated weight of the AST per the source character, in bytes.
+	 */
+	static final int AST_CHAR_WEIGHT = 10;
+
+	private final long baseWeightLimit;
+
+	@Internal
+	int capacity = DEFAULT_CAPACITY;
+	private long weightLimit;
+	private long totalWeight;
 
 	@SuppressWarnings("serial")
-	private final Map<ISourceModule, CacheReference> map = new LinkedHashMap<ISourceModule, CacheReference>(
+	private final Map<ISourceModule, CacheEntry> map = new LinkedHashMap<ISourceModule, CacheEntry>(
 			16, 0.9f, true) {
 		@Override
 		protected boolean removeEldestEntry(
-				Map.Entry<ISourceModule, CacheReference> eldest) {
-			return size() > capacity;
+				Map.Entry<ISourceModule, CacheEntry> eldest) {
+			if (size() > capacity || totalWeight > weightLimit) {
+				evict();
+			}
+			return false;
 		}
 	};
 
-	private static class CacheReference
-			extends SoftReference<ISourceModuleInfo> {
+	private static class CacheEntry {
 		final long modificationStamp;
 		final ISourceModule module;
+		final SourceModuleInfo info;
+		long weight = ENTRY_WEIGHT;
 
-		public CacheReference(ISourceModule module, ISourceModuleInfo referent,
-				ReferenceQueue<? super ISourceModuleInfo> q) {
-			super(referent, q);
+		public CacheEntry(ISourceModule module, SourceModuleInfo info) {
 			this.module = module;
+			this.info = info;
 			this.modificationStamp = getModificationStamp(module);
 		}
 
@@ -76,6 +101,14 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 
 	}
 
+	public SourceModuleInfoCache() {
+		final long maxMemory = Runtime.getRuntime().maxMemory();
+		// if max memory is infinite, use the 256MB that Eclipse defaults to
+		this.baseWeightLimit = (maxMemory == Long.MAX_VALUE ? 256L << 20
+				: maxMemory) / 10;
+		this.weightLimit = baseWeightLimit;
+	}
+
 	public void start() {
 		DLTKCore.addPreProcessingResourceChangedListener(this,
 				IResourceChangeEvent.POST_CHANGE);
@@ -85,34 +118,62 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 		DLTKCore.removePreProcessingResourceChangedListener(this);
 	}
 
-	private void expungeStaleEntries() {
-		for (CacheReference r; (r = (CacheReference) queue.poll()) != null;) {
+	/**
+	 * Removes the least recently used entries until the cache fits into the
+	 * limits.
+	 */
+	private void evict() {
+		for (Iterator<CacheEntry> i = map.values().iterator(); i.hasNext()
+				&& (map.size() > capacity || totalWeight > weightLimit);) {
+			final CacheEntry entry = i.next();
 			if (DEBUG) {
 				System.out.println(
-						"[Cache] expunge " + r.module.getElementName());
+						"[Cache] evict " + entry.module.getElementName()); //$NON-NLS-1$
 			}
-			map.remove(r.module);
+			i.remove();
+			removed(entry);
 		}
 	}
 
+	private void removed(CacheEntry entry) {
+		totalWeight -= entry.weight;
+		entry.info.owner = null;
+	}
+
 	@Override
 	public synchronized ISourceModuleInfo get(ISourceModule module) {
-		expungeStaleEntries();
-		final CacheReference ref = map.get(module);
-		if (ref != null) {
-			final ISourceModuleInfo info = ref.get();
-			if (info != null && ref.isValid(module)) {
-				return info;
+		final CacheEntry entry = map.get(module);
+		if (entry != null) {
+			if (entry.isValid(module)) {
+				return entry.info;
 			}
+			map.remove(module);
+			removed(entry);
 		}
-		final ISourceModuleInfo info = new SourceModuleInfo();
-		map.put(module, new CacheReference(module, info, queue));
+		final SourceModuleInfo info = new SourceModuleInfo();
+		final CacheEntry newEntry = new CacheEntry(module, info);
+		info.owner = this;
+		info.entry = newEntry;
+		totalWeight += newEntry.weight;
+		map.put(module, newEntry);
 		return info;
 	}
 
+	/**
+	 * Updates the weight of the entry, if it is still in the cache.
+	 */
+	synchronized void weightChanged(CacheEntry entry, long delta) {
+		if (map.get(entry.module) == entry) {
+			entry.weight += delta;
+			totalWeight += delta;
+			if (totalWeight > weightLimit) {
+				evict();
+			}
+		}
+	}
+
 	@Override
 	public synchronized void resourceChanged(IResourceChangeEvent event) {
-		expungeStaleEntries();
 		final IResourceDelta delta = event.getDelta();
 		try {
 			delta.accept(this);
@@ -167,6 +228,12 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 	@Internal
 	static class SourceModuleInfo implements ISourceModuleInfo {
 		private Map<Object, Object> map;
+		/**
+		 * The cache to report the weight changes to, cleared when removed from
+		 * it.
+		 */
+		volatile SourceModuleInfoCache owner;
+		CacheEntry entry;
 
 		@Override
 		public synchronized Object get(String key) {
@@ -177,17 +244,33 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 		}
 
 		@Override
-		public synchronized void put(String key, Object value) {
-			if (map == null) {
-				map = new HashMap<>();
+		public void put(String key, Object value) {
+			final long delta;
+			synchronized (this) {
+				if (map == null) {
+					map = new HashMap<>();
+				}
+				delta = weigh(value) - weigh(map.put(key, value));
 			}
-			map.put(key, value);
+			weightChanged(delta);
 		}
 
 		@Override
-		public synchronized void remove(String key) {
-			if (map != null) {
-				map.remove(key);
+		public void remove(String key) {
+			final long delta;
+			synchronized (this) {
+				if (map == null) {
+					return;
+				}
+				delta = -weigh(map.remove(key));
+			}
+			weightChanged(delta);
+		}
+
+		private void weightChanged(long delta) {
+			final SourceModuleInfoCache cache = owner;
+			if (delta != 0 && cache != null) {
+				cache.weightChanged(entry, delta);
 			}
 		}
 
@@ -197,17 +280,34 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 		}
 	}
 
+	/**
+	 * Returns the estimated weight of the cached value, the ASTs are weighed by
+	 * the length of their source.
+	 */
+	static long weigh(Object value) {
+		if (value == null) {
+			return 0;
+		}
+		if (value instanceof ASTNode) {
+			final ASTNode node = (ASTNode) value;
+			return VALUE_WEIGHT + (long) AST_CHAR_WEIGHT
+					* Math.max(0, node.sourceEnd() - node.sourceStart());
+		}
+		return VALUE_WEIGHT;
+	}
+
 	/**
 	 * Not synchronized here, as it's called only from
 	 * {@link #resourceChanged(IResourceChangeEvent)} which is already
 	 * synchronized.
 	 */
 	private void removeByProject(IProject project) {
-		for (Iterator<ISourceModule> i = map.keySet().iterator(); i
+		for (Iterator<CacheEntry> i = map.values().iterator(); i
 				.hasNext();) {
-			final ISourceModule module = i.next();
-			if (project.equals(module.getScriptProject().getProject())) {
+			final CacheEntry entry = i.next();
+			if (project.equals(entry.module.getScriptProject().getProject())) {
 				i.remove();
+				removed(entry);
 			}
 		}
 	}
@@ -221,17 +321,21 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 		if (DEBUG) {
 			System.out.println("[Cache] remove " + module.getElementName()); //$NON-NLS-1$
 		}
-		map.remove(module);
+		final CacheEntry entry = map.remove(module);
+		if (entry != null) {
+			removed(entry);
+		}
 	}
 
 	private static final boolean DEBUG = false;
 
 	@Override
 	public synchronized void clear() {
-		// clear out reference queue.
-		while (queue.poll() != null)
-			;
+		for (CacheEntry entry : map.values()) {
+			entry.info.owner = null;
+		}
 		map.clear();
+		totalWeight = 0;
 	}
 
 	@Override
@@ -240,8 +344,30 @@ public class SourceModuleInfoCache implements ISourceModuleInfoCache,
 	}
 
 	@Override
-	public int capacity() {
+	public synchronized int capacity() {
 		return capacity;
 	}
 
+	@Override
+	public String getName() {
+		return "Source module info cache"; //$NON-NLS-1$
+	}
+
+	@Override
+	public synchronized long getWeight() {
+		return totalWeight;
+	}
+
+	@Override
+	public synchronized long getWeightLimit() {
+		return weightLimit;
+	}
+
+	@Override
+	public synchronized void resize(double ratio) {
+		capacity = Math.max(1, (int) (DEFAULT_CAPACITY * ratio));
+		weightLimit = (long) (baseWeightLimit * ratio);
+		evict();
+	}
+
 }
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.caching;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.dltk.internal.core.util.Util;
+
+/**
+ * File of binary records keyed by a fixed size hash. The records are never
+ * replaced: the same key always denotes the same content. The records are
+ * appended until the file reaches the maximum size, then the file is
+ * compacted, keeping the records used most recently.
+ * <p>
+ * The file starts with the magic number and the version, followed by the
+ * records, each written as the key, the length of the data and the data. Only
+ * the positions of the records are kept in memory, the data are read from the
+ * memory-mapped file when requested. The mapping is released before the file
+ * is truncated or rewritten.
+ */
+class ASTCacheFile {
+
+	static final int KEY_LENGTH = 20;
+
+	private static final int MAGIC = 0x444C4143; // DLAC
+	private static final int HEADER_LENGTH = 8;
+	private static final int RECORD_HEADER_LENGTH = KEY_LENGTH + 4;
+
+	private static class Record {
+		long offset;
+		final int length;
+		long lastUsed;
+
+		Record(long offset, int length) {
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	private final int version;
+	private final long maxSize;
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final Map<ByteBuffer, Record> records = new HashMap<>();
+	private long size;
+	private long clock;
+	private MappedByteBuffer mapping;
+
+	/**
+	 * Opens the file, discarding its content if it was written with the other
+	 * version or exceeds the maximum size, and dropping the incomplete record
+	 * at the end, if any.
+	 */
+	ASTCacheFile(File path, int version, long maxSize) throws IOException {
+		this.version = version;
+		this.maxSize = Math.min(maxSize, Integer.MAX_VALUE);
+		path.getParentFile().mkdirs();
+		this.file = new RandomAccessFile(path, "rw"); //$NON-NLS-1$
+		this.channel = file.getChannel();
+		try {
+			if (!readHeader() || channel.size() > this.maxSize) {
+				reset();
+			} else {
+				readRecords();
+			}
+		} catch (IOException e) {
+			file.close();
+			throw e;
+		}
+	}
+
+	private boolean readHeader() throws IOException {
+		if (channel.size() < HEADER_LENGTH) {
+			return false;
+		}
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		readFully(header, 0);
+		return header.getInt(0) == MAGIC && header.getInt(4) == version;
+	}
+
+	private void writeHeader(int fileVersion) throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		header.putInt(MAGIC).putInt(fileVersion).flip();
+		writeFully(header, 0);
+	}
+
+	private void reset() throws IOException {
+		truncate(0);
+		writeHeader(version);
+		size = HEADER_LENGTH;
+	}
+
+	/**
+	 * Releases the mapping of the file, so it can be truncated: the file can
+	 * not be truncated while it is mapped on some platforms, and the pages
+	 * beyond the end of the file must not be accessed.
+	 */
+	private void unmap() {
+		if (mapping != null) {
+			Util.unmap(mapping);
+			mapping = null;
+		}
+	}
+
+	private void truncate(long length) throws IOException {
+		unmap();
+		channel.truncate(length);
+	}
+
+	private void readRecords() throws IOException {
+		final long length = channel.size();
+		final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+		long position = HEADER_LENGTH;
+		while (position + RECORD_HEADER_LENGTH <= length) {
+			header.clear();
+			readFully(header, position);
+			final int dataLength = header.getInt(KEY_LENGTH);
+			final long end = position + RECORD_HEADER_LENGTH + dataLength;
+			if (dataLength < 0 || end > length) {
+				break;
+			}
+			final byte[] key = new byte[KEY_LENGTH];
+			header.position(0);
+			header.get(key);
+			records.put(ByteBuffer.wrap(key),
+					new Record(position + RECORD_HEADER_LENGTH, dataLength));
+			position = end;
+		}
+		if (position != length) {
+			// incomplete write, e.g. the workbench was killed
+			truncate(position);
+		}
+		size = position;
+	}
+
+	private void readFully(ByteBuffer buffer, long position)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of file"); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private void writeFully(ByteBuffer buffer, long position)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, position + buffer.position());
+		}
+	}
+
+	/**
+	 * Returns the data stored with the specified key or <code>null</code>.
+	 */
+	synchronized byte[] get(byte[] key) throws IOException {
+		final Record record = records.get(ByteBuffer.wrap(key));
+		if (record == null) {
+			return null;
+		}
+		record.lastUsed = ++clock;
+		final int offset = (int) record.offset;
+		final int length = record.length;
+		if (mapping == null || mapping.capacity() < offset + length) {
+			mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		final ByteBuffer buffer = mapping.duplicate();
+		buffer.position(offset);
+		final byte[] data = new byte[length];
+		buffer.get(data);
+		return data;
+	}
+
+	synchronized boolean contains(byte[] key) {
+		return records.containsKey(ByteBuffer.wrap(key));
+	}
+
+	/**
+	 * Appends the record unless the key is already stored or the data exceed
+	 * half of the maximum size. The file is compacted first if the record
+	 * would not fit.
+	 */
+	synchronized boolean put(byte[] key, byte[] data) throws IOException {
+		final ByteBuffer k = ByteBuffer.wrap(key.clone());
+		final long length = RECORD_HEADER_LENGTH + data.length;
+		if (!channel.isOpen() || records.containsKey(k)
+				|| HEADER_LENGTH + length > maxSize / 2) {
+			return false;
+		}
+		if (size + length > maxSize) {
+			compact(maxSize / 2 - length);
+		}
+		final ByteBuffer record = ByteBuffer.allocate((int) length);
+		record.put(key).putInt(data.length).put(data).flip();
+		try {
+			writeFully(record, size);
+		} catch (IOException e) {
+			// drop the partially written record
+			truncate(size);
+			throw e;
+		}
+		final Record r = new Record(size + RECORD_HEADER_LENGTH, data.length);
+		r.lastUsed = ++clock;
+		records.put(k, r);
+		size += length;
+		return true;
+	}
+
+	/**
+	 * Rewrites the file with the records used most recently, keeping it under
+	 * the specified size. The header is invalidated while the records are
+	 * moved, so the file is discarded if the rewrite is interrupted.
+	 */
+	private void compact(long targetSize) throws IOException {
+		final List<Map.Entry<ByteBuffer, Record>> entries = new ArrayList<>(
+				records.entrySet());
+		entries.sort(Comparator.comparingLong(
+				(Map.Entry<ByteBuffer, Record> e) -> e.getValue().lastUsed)
+				.reversed());
+		final List<Map.Entry<ByteBuffer, Record>> kept = new ArrayList<>();
+		long keptSize = HEADER_LENGTH;
+		for (Map.Entry<ByteBuffer, Record> entry : entries) {
+			final long length = RECORD_HEADER_LENGTH + entry.getValue().length;
+			if (keptSize + length <= targetSize) {
+				kept.add(entry);
+				keptSize += length;
+			} else {
+				records.remove(entry.getKey());
+			}
+		}
+		kept.sort(Comparator.comparingLong(
+				(Map.Entry<ByteBuffer, Record> e) -> e.getValue().offset));
+		unmap();
+		try {
+			writeHeader(0);
+			long position = HEADER_LENGTH;
+			for (Map.Entry<ByteBuffer, Record> entry : kept) {
+				final Record record = entry.getValue();
+				// the records only move towards the start of the file
+				final ByteBuffer buffer = ByteBuffer
+						.allocate(RECORD_HEADER_LENGTH + record.length);
+				readFully(buffer, record.offset - RECORD_HEADER_LENGTH);
+				buffer.flip();
+				writeFully(buffer, position);
+				record.offset = position + RECORD_HEADER_LENGTH;
+				position += buffer.capacity();
+			}
+			truncate(position);
+			writeHeader(version);
+			size = position;
+		} catch (IOException e) {
+			records.clear();
+			reset();
+			throw e;
+		}
+	}
+
+	synchronized int size() {
+		return records.size();
+	}
+
+	synchronized void close() throws IOException {
+		unmap();
+		records.clear();
+		file.close();
+	}
+}
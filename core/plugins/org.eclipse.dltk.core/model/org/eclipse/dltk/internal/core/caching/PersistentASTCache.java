@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.caching;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
+import org.eclipse.dltk.ast.declarations.ModuleDeclarationSerializer;
+import org.eclipse.dltk.ast.parser.IASTCache;
+import org.eclipse.dltk.ast.parser.IModuleDeclaration;
+import org.eclipse.dltk.ast.parser.ISourceParser;
+import org.eclipse.dltk.compiler.problem.ProblemCollector;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.DLTKLanguageManager;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IProjectFragment;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.ModelException;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Built-in {@link IASTCache} keeping the ASTs of the library modules (external,
+ * archive and builtin ones) in the file in the plugin state location, so they
+ * are not parsed again after restart.
+ * <p>
+ * The entries are keyed by the hash of the language, the parser and the
+ * source, so the changed modules just get the new entries. Only the modules
+ * without problems and built from the core AST nodes (see
+ * {@link ModuleDeclarationSerializer}) are stored. Once a module of the
+ * language could not be stored, e.g. as the parser builds its own subclass of
+ * {@link ModuleDeclaration}, the cache is not used for the language anymore,
+ * so its modules are not hashed and serialized in vain.
+ */
+public class PersistentASTCache implements IASTCache {
+
+	private static final int FILE_VERSION = 1;
+	private static final long MAX_FILE_SIZE = 256L * 1024 * 1024;
+
+	private static final Object lock = new Object();
+	private static ASTCacheFile file;
+	private static boolean unavailable;
+
+	private final String natureId;
+	private volatile boolean unsupported;
+
+	public PersistentASTCache(String natureId) {
+		this.natureId = natureId;
+	}
+
+	private static ASTCacheFile getFile() {
+		synchronized (lock) {
+			if (file == null && !unavailable) {
+				final File path = DLTKCore.getPlugin().getStateLocation()
+						.append("astcache").append("ast.dat").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+				try {
+					file = new ASTCacheFile(path,
+							FILE_VERSION << 16
+									| ModuleDeclarationSerializer.VERSION,
+							MAX_FILE_SIZE);
+				} catch (IOException e) {
+					unavailable = true;
+					DLTKCore.error("Could not open AST cache", e); //$NON-NLS-1$
+				}
+			}
+			return file;
+		}
+	}
+
+	/**
+	 * Closes the cache file, called when the model is shut down.
+	 */
+	public static void shutdown() {
+		synchronized (lock) {
+			if (file != null) {
+				try {
+					file.close();
+				} catch (IOException e) {
+					// ignore
+				}
+				file = null;
+			}
+			unavailable = true;
+		}
+	}
+
+	private static boolean isLibraryModule(ISourceModule module) {
+		if (module.isWorkingCopy()) {
+			return false;
+		}
+		final IProjectFragment fragment = (IProjectFragment) module
+				.getAncestor(IModelElement.PROJECT_FRAGMENT);
+		return fragment != null && (fragment.isExternal()
+				|| fragment.isArchive() || fragment.isBuiltin());
+	}
+
+	private byte[] computeKey(ISourceModule module) {
+		final char[] source;
+		try {
+			source = module.getSourceAsCharArray();
+		} catch (ModelException e) {
+			return null;
+		}
+		final ISourceParser parser = DLTKLanguageManager.getSourceParser(
+				module.getScriptProject().getProject(), natureId);
+		if (source == null || parser == null) {
+			return null;
+		}
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+		final StringBuilder id = new StringBuilder(natureId).append('\0')
+				.append(parser.getClass().getName());
+		final Bundle bundle = FrameworkUtil.getBundle(parser.getClass());
+		if (bundle != null) {
+			id.append('\0').append(bundle.getVersion());
+		}
+		digest.update(id.append('\0').toString()
+				.getBytes(StandardCharsets.UTF_8));
+		digest.update(StandardCharsets.UTF_8.encode(CharBuffer.wrap(source)));
+		return digest.digest();
+	}
+
+	@Override
+	public ASTCacheEntry restoreModule(ISourceModule module) {
+		if (unsupported || !isLibraryModule(module)) {
+			return null;
+		}
+		final ASTCacheFile cache = getFile();
+		if (cache == null) {
+			return null;
+		}
+		final byte[] key = computeKey(module);
+		if (key == null) {
+			return null;
+		}
+		try {
+			final byte[] data = cache.get(key);
+			if (data == null) {
+				return null;
+			}
+			final ASTCacheEntry entry = new ASTCacheEntry();
+			entry.module = ModuleDeclarationSerializer.deserialize(data);
+			return entry;
+		} catch (IOException | RuntimeException e) {
+			DLTKCore.error("Could not restore AST of " //$NON-NLS-1$
+					+ module.getElementName(), e);
+			return null;
+		}
+	}
+
+	@Override
+	public void storeModule(ISourceModule module,
+			IModuleDeclaration moduleDeclaration, ProblemCollector problems) {
+		if (unsupported || (problems != null && !problems.isEmpty())
+				|| moduleDeclaration == null || !isLibraryModule(module)) {
+			return;
+		}
+		if (moduleDeclaration.getClass() != ModuleDeclaration.class) {
+			unsupported = true;
+			return;
+		}
+		final ASTCacheFile cache = getFile();
+		if (cache == null) {
+			return;
+		}
+		final byte[] key = computeKey(module);
+		if (key == null || cache.contains(key)) {
+			return;
+		}
+		final byte[] data = ModuleDeclarationSerializer
+				.serialize((ModuleDeclaration) moduleDeclaration);
+		if (data == null) {
+			unsupported = true;
+			return;
+		}
+		try {
+			cache.put(key, data);
+		} catch (IOException e) {
+			DLTKCore.error("Could not store AST of " //$NON-NLS-1$
+					+ module.getElementName(), e);
+		}
+	}
+}
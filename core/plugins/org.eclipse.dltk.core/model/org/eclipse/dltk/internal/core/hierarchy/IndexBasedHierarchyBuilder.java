@@ -468,6 +468,14 @@ public class IndexBasedHierarchyBuilder extends HierarchyBuilder {
 																	// CancelIfNotReadyToSearch
 			IProgressMonitor progressMonitor) {
 
+		final SuperTypeGraph graph = SuperTypeGraph
+				.getGraph(scope.getLanguageToolkit());
+		if (graph != null) {
+			graph.searchAllPossibleSubTypes(type, scope, pathRequestor,
+					waitingPolicy, progressMonitor);
+			return;
+		}
+
 		/*
 		 * embed constructs inside arrays so as to pass them to (inner) collector
 		 */
@@ -0,0 +1,709 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.hierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IDLTKLanguageToolkit;
+import org.eclipse.dltk.core.IElementChangedListener;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IModelElementDelta;
+import org.eclipse.dltk.core.IShutdownListener;
+import org.eclipse.dltk.core.IType;
+import org.eclipse.dltk.core.search.DLTKSearchParticipant;
+import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.dltk.core.search.SearchParticipant;
+import org.eclipse.dltk.core.search.SearchPattern;
+import org.eclipse.dltk.core.search.index.EntryResult;
+import org.eclipse.dltk.core.search.index.Index;
+import org.eclipse.dltk.core.search.indexing.IIndexConstants;
+import org.eclipse.dltk.core.search.indexing.IndexManager;
+import org.eclipse.dltk.core.search.indexing.ReadWriteMonitor;
+import org.eclipse.dltk.core.search.matching.MatchLocator;
+import org.eclipse.dltk.internal.core.IPathRequestor;
+import org.eclipse.dltk.internal.core.ModelManager;
+import org.eclipse.dltk.internal.core.search.DLTKSearchScope;
+import org.eclipse.dltk.internal.core.search.PatternSearchJob;
+import org.eclipse.dltk.internal.core.search.matching.SuperTypeReferencePattern;
+import org.eclipse.dltk.utils.IntList;
+
+/**
+ * The supertype references of the indexed types of one language, used to find
+ * the possible subtypes for the type hierarchies without querying the indexes
+ * for each supertype name.
+ * <p>
+ * The graph has one slice per index. The type names are replaced with the
+ * integer ids and the subtypes of each name are kept in the adjacency arrays,
+ * the names no longer referenced are dropped from time to time. The slice is
+ * read from its index again after the modules of the container are changed,
+ * and removed with the container. The slices are saved between the sessions,
+ * the saved slice is used only while the index file is not modified.
+ */
+public class SuperTypeGraph {
+
+	private static final int FILE_MAGIC = 0x44535447;
+	private static final int FILE_VERSION = 1;
+
+	private static final String[] NO_DOCUMENTS = new String[0];
+	private static final int[] NO_IDS = new int[0];
+
+	/**
+	 * The number of the names added since the last compaction, in addition to
+	 * the number of the names kept then, before the unused ones are dropped.
+	 */
+	private static final int NAMES_SLACK = 1024;
+
+	private static final Map<String, SuperTypeGraph> graphs = new HashMap<>();
+	private static boolean initialized;
+	private static boolean shutdown;
+
+	private static final IElementChangedListener listener = new IElementChangedListener() {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			final IModelElementDelta delta = event.getDelta();
+			if (delta != null) {
+				final List<SuperTypeGraph> list;
+				synchronized (graphs) {
+					list = new ArrayList<>(graphs.values());
+				}
+				for (SuperTypeGraph graph : list) {
+					graph.changed(delta);
+				}
+			}
+		}
+	};
+
+	private static class Slice {
+		final String containerPath;
+		char separator;
+		/** the index the slice was read from in this session */
+		Index index;
+		/** the stamp of the index file, -1 if not known */
+		long stamp = -1;
+		volatile boolean dirty;
+		/** container relative paths of the documents */
+		String[] documents = NO_DOCUMENTS;
+		/** ids of the supertype names, sorted */
+		int[] superNames = NO_IDS;
+		/** start of the edges of each supertype name, one extra at the end */
+		int[] offsets = { 0 };
+		/** pairs of document and subtype name id shifted by one, 1 if local */
+		int[] edges = NO_IDS;
+
+		Slice(String containerPath) {
+			this.containerPath = containerPath;
+		}
+
+		/**
+		 * Returns the path of the container, without the prefix of the special
+		 * indexes.
+		 */
+		IPath getPath() {
+			String path = containerPath;
+			if (path.startsWith(IndexManager.SPECIAL)) {
+				path = path.substring(
+						path.indexOf('#', IndexManager.SPECIAL.length()) + 1);
+			}
+			return new Path(path);
+		}
+	}
+
+	private final IDLTKLanguageToolkit toolkit;
+	private final File file;
+	private final List<String> names = new ArrayList<>();
+	private final Map<String, Integer> nameIds = new HashMap<>();
+	private final Map<String, Slice> slices = new ConcurrentHashMap<>();
+	/** the number of the names after the last compaction */
+	private int compactedNames;
+
+	private SuperTypeGraph(IDLTKLanguageToolkit toolkit) {
+		this(toolkit, DLTKCore.getPlugin().getStateLocation()
+				.append("typeHierarchy") //$NON-NLS-1$
+				.append(toolkit.getNatureId() + ".graph").toFile()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates the graph saved to the specified file. Unlike the graphs
+	 * returned by {@link #getGraph(IDLTKLanguageToolkit)} it is not loaded,
+	 * saved or notified of the model changes automatically.
+	 *
+	 * @noreference This constructor is not intended to be referenced by
+	 *              clients.
+	 */
+	public SuperTypeGraph(IDLTKLanguageToolkit toolkit, File file) {
+		this.toolkit = toolkit;
+		this.file = file;
+	}
+
+	/**
+	 * Returns the graph of the specified language or <code>null</code> if it
+	 * is disabled with the {@link DLTKCore#TYPE_HIERARCHY_GRAPH} option.
+	 */
+	public static SuperTypeGraph getGraph(IDLTKLanguageToolkit toolkit) {
+		if (toolkit == null || !DLTKCore.ENABLED
+				.equals(DLTKCore.getOption(DLTKCore.TYPE_HIERARCHY_GRAPH))) {
+			return null;
+		}
+		synchronized (graphs) {
+			if (shutdown) {
+				return null;
+			}
+			if (!initialized) {
+				initialized = true;
+				DLTKCore.addElementChangedListener(listener,
+						ElementChangedEvent.POST_CHANGE);
+				ModelManager.getModelManager().getIndexManager()
+						.addShutdownListener(new IShutdownListener() {
+							@Override
+							public void shutdown() {
+								SuperTypeGraph.shutdown();
+							}
+						});
+			}
+			SuperTypeGraph graph = graphs.get(toolkit.getNatureId());
+			if (graph == null) {
+				graph = new SuperTypeGraph(toolkit);
+				graph.load();
+				graphs.put(toolkit.getNatureId(), graph);
+			}
+			return graph;
+		}
+	}
+
+	/**
+	 * Saves the graphs, called when the indexes are shut down.
+	 */
+	static void shutdown() {
+		final List<SuperTypeGraph> list;
+		synchronized (graphs) {
+			if (shutdown) {
+				return;
+			}
+			shutdown = true;
+			list = new ArrayList<>(graphs.values());
+			graphs.clear();
+		}
+		DLTKCore.removeElementChangedListener(listener);
+		for (SuperTypeGraph graph : list) {
+			graph.save();
+		}
+	}
+
+	/**
+	 * Reports the paths of the documents with the possible subtypes of the
+	 * type, the same as found by querying the indexes for the supertype
+	 * references of the type and then of each found subtype.
+	 */
+	public synchronized void searchAllPossibleSubTypes(IType type,
+			IDLTKSearchScope scope, IPathRequestor pathRequestor,
+			int waitingPolicy, IProgressMonitor progressMonitor) {
+		final SuperTypeReferencePattern pattern = new SuperTypeReferencePattern(
+				null, null, SuperTypeReferencePattern.ALL_SUPER_TYPES,
+				SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE,
+				toolkit);
+		MatchLocator.setFocus(pattern, type);
+		final UpdateJob job = new UpdateJob(pattern,
+				new DLTKSearchParticipant(), scope);
+		final IndexManager indexManager = ModelManager.getModelManager()
+				.getIndexManager();
+		indexManager.performConcurrentJob(job, waitingPolicy, null);
+		if (names.size() > compactedNames + NAMES_SLACK) {
+			compactNames();
+		}
+		final Slice[] selected = job.selected
+				.toArray(new Slice[job.selected.size()]);
+		// 0 - not checked, 1 - enclosed, 2 - not enclosed
+		final byte[][] enclosed = new byte[selected.length][];
+		for (int i = 0; i < selected.length; ++i) {
+			enclosed[i] = new byte[selected[i].documents.length];
+		}
+
+		final int objectId = idOf(String.valueOf(IIndexConstants.OBJECT));
+		final BitSet foundNames = new BitSet(names.size());
+		final IntList queue = new IntList();
+		final Integer focusId = nameIds.get(type.getElementName());
+		if (focusId != null) {
+			queue.add(focusId.intValue());
+		}
+		int ticks = 0;
+		for (int q = 0; q < queue.size(); ++q) {
+			if (progressMonitor != null && progressMonitor.isCanceled()) {
+				return;
+			}
+			// all subclasses of OBJECT are actually all types
+			final int name = queue.get(q);
+			final boolean all = name == objectId;
+			for (int i = 0; i < selected.length; ++i) {
+				final Slice slice = selected[i];
+				final int start;
+				final int end;
+				if (all) {
+					start = 0;
+					end = slice.edges.length;
+				} else {
+					final int pos = Arrays.binarySearch(slice.superNames, name);
+					if (pos < 0) {
+						continue;
+					}
+					start = slice.offsets[pos];
+					end = slice.offsets[pos + 1];
+				}
+				for (int e = start; e < end; e += 2) {
+					final int document = slice.edges[e];
+					if (enclosed[i][document] == 0) {
+						enclosed[i][document] = isEnclosed(scope, slice,
+								document) ? (byte) 1 : (byte) 2;
+					}
+					if (enclosed[i][document] != 1) {
+						continue;
+					}
+					final int subtype = slice.edges[e + 1];
+					final boolean isLocalOrAnonymous = (subtype & 1) != 0;
+					pathRequestor.acceptPath(documentPath(slice, document),
+							isLocalOrAnonymous);
+					// local or anonymous types cannot have subtypes outside the
+					// cu that define them
+					if (!isLocalOrAnonymous && !foundNames.get(subtype >> 1)) {
+						foundNames.set(subtype >> 1);
+						queue.add(subtype >> 1);
+					}
+				}
+			}
+			if (progressMonitor != null
+					&& ++ticks <= IndexBasedHierarchyBuilder.MAXTICKS) {
+				progressMonitor.worked(1);
+			}
+			// in case, we search all subtypes, no need to search further
+			if (all) {
+				break;
+			}
+		}
+	}
+
+	private static boolean isEnclosed(IDLTKSearchScope scope, Slice slice,
+			int document) {
+		if (scope instanceof DLTKSearchScope) {
+			return ((DLTKSearchScope) scope).getAccessRuleSet(
+					slice.documents[document],
+					slice.containerPath) != DLTKSearchScope.NOT_ENCLOSED;
+		}
+		return scope.encloses(documentPath(slice, document));
+	}
+
+	private static String documentPath(Slice slice, int document) {
+		final String relativePath = slice.documents[document];
+		final StringBuilder buffer = new StringBuilder(
+				slice.containerPath.length() + 1 + relativePath.length());
+		buffer.append(slice.containerPath);
+		buffer.append(slice.separator);
+		buffer.append(relativePath);
+		return buffer.toString();
+	}
+
+	private int idOf(String name) {
+		Integer id = nameIds.get(name);
+		if (id == null) {
+			id = Integer.valueOf(names.size());
+			names.add(name);
+			nameIds.put(name, id);
+		}
+		return id.intValue();
+	}
+
+	/**
+	 * Drops the names not referenced by any slice, keeping the order of the
+	 * ids, so the supertype names of the slices remain sorted.
+	 */
+	private void compactNames() {
+		final BitSet used = new BitSet(names.size());
+		for (Slice slice : slices.values()) {
+			for (int name : slice.superNames) {
+				used.set(name);
+			}
+			for (int e = 1; e < slice.edges.length; e += 2) {
+				used.set(slice.edges[e] >> 1);
+			}
+		}
+		if (used.cardinality() != names.size()) {
+			final int[] newIds = new int[names.size()];
+			final List<String> kept = new ArrayList<>(used.cardinality());
+			for (int id = used.nextSetBit(0); id >= 0; id = used
+					.nextSetBit(id + 1)) {
+				newIds[id] = kept.size();
+				kept.add(names.get(id));
+			}
+			for (Slice slice : slices.values()) {
+				for (int i = 0; i < slice.superNames.length; ++i) {
+					slice.superNames[i] = newIds[slice.superNames[i]];
+				}
+				for (int e = 1; e < slice.edges.length; e += 2) {
+					slice.edges[e] = newIds[slice.edges[e] >> 1] << 1
+							| (slice.edges[e] & 1);
+				}
+			}
+			names.clear();
+			names.addAll(kept);
+			nameIds.clear();
+			for (int i = 0; i < names.size(); ++i) {
+				nameIds.put(names.get(i), Integer.valueOf(i));
+			}
+		}
+		compactedNames = names.size();
+	}
+
+	/**
+	 * Selects the slices of the indexes, reading the changed ones again.
+	 */
+	private class UpdateJob extends PatternSearchJob {
+		final List<Slice> selected = new ArrayList<>();
+
+		UpdateJob(SuperTypeReferencePattern pattern,
+				SearchParticipant participant, IDLTKSearchScope scope) {
+			super(pattern, participant, scope, null);
+		}
+
+		@Override
+		public boolean search(Index index, IProgressMonitor progressMonitor) {
+			if (index == null || participant.isSkipped(index)) {
+				return COMPLETE;
+			}
+			if (progressMonitor != null && progressMonitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			Slice slice = slices.get(index.containerPath);
+			if (slice == null) {
+				slice = new Slice(index.containerPath);
+				slice.dirty = true;
+				slices.put(index.containerPath, slice);
+			}
+			if (slice.dirty || slice.index != index) {
+				if (slice.dirty || slice.index != null || slice.stamp == -1
+						|| slice.stamp != stampOf(index)) {
+					final ReadWriteMonitor monitor = index.monitor;
+					if (monitor == null) {
+						return COMPLETE; // index got deleted since acquired
+					}
+					try {
+						monitor.enterRead();
+						read(slice, index, (SuperTypeReferencePattern) pattern);
+					} catch (IOException e) {
+						slices.remove(index.containerPath);
+						return FAILED;
+					} finally {
+						monitor.exitRead();
+					}
+				}
+				slice.index = index;
+			}
+			selected.add(slice);
+			return COMPLETE;
+		}
+	}
+
+	private void read(Slice slice, Index index,
+			SuperTypeReferencePattern pattern) throws IOException {
+		// the pending indexing jobs could change the index later
+		slice.dirty = ModelManager.getModelManager().getIndexManager()
+				.awaitingJobsCount() > 0;
+		slice.stamp = stampOf(index);
+		final TreeMap<Integer, IntList> subtypes = new TreeMap<>();
+		final Map<String, Integer> documentIds = new HashMap<>();
+		final List<String> documents = new ArrayList<>();
+		final SuperTypeReferencePattern decoded = (SuperTypeReferencePattern) pattern
+				.getBlankPattern();
+		index.startQuery();
+		try {
+			final EntryResult[] entries = pattern.queryIn(index);
+			if (entries != null) {
+				for (EntryResult entry : entries) {
+					decoded.decodeIndexKey(entry.getWord());
+					final IntList list = subtypes.computeIfAbsent(
+							idOf(String.valueOf(decoded.superSimpleName)),
+							k -> new IntList());
+					final int subtype = idOf(String.valueOf(decoded.simpleName)) << 1
+							| (decoded.enclosingTypeName == IIndexConstants.ONE_ZERO
+									? 1
+									: 0);
+					for (String document : entry.getDocumentNames(index)) {
+						Integer id = documentIds.get(document);
+						if (id == null) {
+							id = Integer.valueOf(documents.size());
+							documents.add(document);
+							documentIds.put(document, id);
+						}
+						list.add(id.intValue());
+						list.add(subtype);
+					}
+				}
+			}
+		} finally {
+			index.stopQuery();
+		}
+		slice.separator = index.separator;
+		slice.documents = documents.toArray(new String[documents.size()]);
+		slice.superNames = new int[subtypes.size()];
+		slice.offsets = new int[subtypes.size() + 1];
+		int size = 0;
+		for (IntList list : subtypes.values()) {
+			size += list.size();
+		}
+		slice.edges = new int[size];
+		int i = 0;
+		int pos = 0;
+		for (Map.Entry<Integer, IntList> entry : subtypes.entrySet()) {
+			final IntList list = entry.getValue();
+			slice.superNames[i] = entry.getKey().intValue();
+			slice.offsets[i] = pos;
+			for (int j = 0; j < list.size(); ++j) {
+				slice.edges[pos++] = list.get(j);
+			}
+			++i;
+		}
+		slice.offsets[i] = pos;
+	}
+
+	private static long stampOf(Index index) {
+		if (index.hasChanged()) {
+			return -1;
+		}
+		final File indexFile = index.getIndexFile();
+		if (indexFile == null) {
+			return -1;
+		}
+		final long modified = indexFile.lastModified();
+		if (modified == 0) {
+			return -1;
+		}
+		return modified * 31 + indexFile.length();
+	}
+
+	/**
+	 * Marks the slices of the changed containers to be read again, and removes
+	 * the slices of the removed ones.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public void changed(IModelElementDelta delta) {
+		final IModelElement element = delta.getElement();
+		switch (element.getElementType()) {
+		case IModelElement.SCRIPT_MODEL:
+			for (IModelElementDelta child : delta.getAffectedChildren()) {
+				changed(child);
+			}
+			break;
+		case IModelElement.SCRIPT_PROJECT:
+			if (delta.getKind() != IModelElementDelta.CHANGED || (delta
+					.getFlags() & ~IModelElementDelta.F_CHILDREN) != 0) {
+				// also the containers of the project, like its archives
+				markDirty(element.getPath(), true,
+						delta.getKind() == IModelElementDelta.REMOVED);
+			}
+			for (IModelElementDelta child : delta.getAffectedChildren()) {
+				changed(child);
+			}
+			break;
+		case IModelElement.SOURCE_MODULE:
+			if (delta.getKind() == IModelElementDelta.CHANGED && (delta
+					.getFlags() & IModelElementDelta.F_CONTENT) == 0) {
+				// like the working copy opened or closed
+				break;
+			}
+			markDirty(element);
+			break;
+		case IModelElement.PROJECT_FRAGMENT:
+			if (delta.getKind() == IModelElementDelta.REMOVED) {
+				markDirty(element.getPath(), false, true);
+				break;
+			}
+			markDirty(element);
+			break;
+		default:
+			markDirty(element);
+			break;
+		}
+	}
+
+	private void markDirty(IModelElement element) {
+		final IModelElement fragment = element
+				.getAncestor(IModelElement.PROJECT_FRAGMENT);
+		if (fragment != null) {
+			markDirty(fragment.getPath(), false, false);
+		}
+		markDirty(element.getScriptProject().getPath(), false, false);
+	}
+
+	private void markDirty(IPath path, boolean prefix, boolean removed) {
+		for (Slice slice : slices.values()) {
+			// also the special indexes of the container
+			final IPath containerPath = slice.getPath();
+			if (prefix ? path.isPrefixOf(containerPath)
+					: path.equals(containerPath)) {
+				if (removed) {
+					slices.remove(slice.containerPath);
+				}
+				slice.dirty = true;
+			}
+		}
+	}
+
+	/**
+	 * Reads the slices saved by {@link #save()}, deleting the file if it is
+	 * not valid.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public void load() {
+		if (!file.exists()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+				return;
+			}
+			final int nameCount = in.readInt();
+			final List<String> loadedNames = new ArrayList<>(nameCount);
+			for (int i = 0; i < nameCount; ++i) {
+				loadedNames.add(in.readUTF());
+			}
+			final List<Slice> loadedSlices = new ArrayList<>();
+			for (int count = in.readInt(); count > 0; --count) {
+				final Slice slice = new Slice(in.readUTF());
+				slice.separator = in.readChar();
+				slice.stamp = in.readLong();
+				slice.documents = new String[in.readInt()];
+				for (int i = 0; i < slice.documents.length; ++i) {
+					slice.documents[i] = in.readUTF();
+				}
+				slice.superNames = readInts(in, nameCount);
+				for (int i = 1; i < slice.superNames.length; ++i) {
+					if (slice.superNames[i] <= slice.superNames[i - 1]) {
+						throw new IOException("Unsorted slice"); //$NON-NLS-1$
+					}
+				}
+				slice.offsets = readInts(in, Integer.MAX_VALUE);
+				slice.edges = readInts(in, Integer.MAX_VALUE);
+				if (slice.offsets.length != slice.superNames.length + 1
+						|| slice.offsets[slice.superNames.length] != slice.edges.length) {
+					throw new IOException("Inconsistent slice"); //$NON-NLS-1$
+				}
+				for (int i = 0; i < slice.edges.length; i += 2) {
+					if (slice.edges[i] < 0
+							|| slice.edges[i] >= slice.documents.length
+							|| slice.edges[i + 1] >>> 1 >= nameCount) {
+						throw new IOException("Inconsistent slice"); //$NON-NLS-1$
+					}
+				}
+				loadedSlices.add(slice);
+			}
+			for (String name : loadedNames) {
+				idOf(name);
+			}
+			for (Slice slice : loadedSlices) {
+				slices.put(slice.containerPath, slice);
+			}
+		} catch (IOException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+			file.delete();
+		}
+	}
+
+	private static int[] readInts(DataInputStream in, int limit)
+			throws IOException {
+		final int[] result = new int[in.readInt()];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = in.readInt();
+			if (result[i] < 0 || result[i] >= limit) {
+				throw new IOException("Invalid value"); //$NON-NLS-1$
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Drops the unused names and saves the slices read from the unchanged
+	 * indexes.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized void save() {
+		compactNames();
+		final List<Slice> saved = new ArrayList<>();
+		for (Slice slice : slices.values()) {
+			if (slice.dirty) {
+				continue;
+			}
+			if (slice.stamp == -1 && slice.index != null) {
+				// the index was saved after the slice was read
+				slice.stamp = stampOf(slice.index);
+			}
+			if (slice.stamp != -1) {
+				saved.add(slice);
+			}
+		}
+		file.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(FILE_VERSION);
+			out.writeInt(names.size());
+			for (String name : names) {
+				out.writeUTF(name);
+			}
+			out.writeInt(saved.size());
+			for (Slice slice : saved) {
+				out.writeUTF(slice.containerPath);
+				out.writeChar(slice.separator);
+				out.writeLong(slice.stamp);
+				out.writeInt(slice.documents.length);
+				for (String document : slice.documents) {
+					out.writeUTF(document);
+				}
+				writeInts(out, slice.superNames);
+				writeInts(out, slice.offsets);
+				writeInts(out, slice.edges);
+			}
+		} catch (IOException e) {
+			DLTKCore.error("Could not save type hierarchy graph", e); //$NON-NLS-1$
+			file.delete();
+		}
+	}
+
+	private static void writeInts(DataOutputStream out, int[] values)
+			throws IOException {
+		out.writeInt(values.length);
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+}
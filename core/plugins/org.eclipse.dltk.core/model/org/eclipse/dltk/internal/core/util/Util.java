@@ -20,7 +20,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.UTFDataFormatException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.StringTokenizer;
 
 import org.eclipse.core.filesystem.EFS;
@@ -1432,4 +1435,30 @@ public class Util {
 		return isExcluded(path, inclusion, exclusion, isFolderPath);
 	}
 
+	/**
+	 * Releases the memory mapping of the specified buffer returned by
+	 * {@link java.nio.channels.FileChannel#map}, instead of waiting for it to be
+	 * garbage collected, so the file can be truncated, deleted or renamed
+	 * (which fails on Windows while the file is mapped). The buffer and its
+	 * views must not be used anymore.
+	 *
+	 * @return <code>true</code> if the mapping was released
+	 */
+	public static boolean unmap(ByteBuffer buffer) {
+		if (buffer == null || !buffer.isDirect()) {
+			return false;
+		}
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe"); //$NON-NLS-1$
+			final Field field = unsafeClass.getDeclaredField("theUnsafe"); //$NON-NLS-1$
+			field.setAccessible(true);
+			final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", //$NON-NLS-1$
+					ByteBuffer.class);
+			invokeCleaner.invoke(field.get(null), buffer);
+			return true;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return false;
+		}
+	}
+
 }
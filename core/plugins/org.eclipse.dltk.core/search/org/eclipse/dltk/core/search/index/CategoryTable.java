@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.search.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.eclipse.dltk.compiler.util.HashtableOfObject;
+
+/**
+ * Read-only table of the words of one category and the numbers of the
+ * documents referencing each of them.
+ * <p>
+ * All the words are stored sorted in a single character arena, and the
+ * document numbers of each word are delta encoded into a single byte array, so
+ * a table costs a handful of arrays instead of a hashtable entry, a word and an
+ * array per word. Exact and prefix lookups use binary search.
+ * </p>
+ * <p>
+ * Large document number arrays are not read together with the table, for such
+ * words only the offset of the array in the index file is remembered.
+ * </p>
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public class CategoryTable {
+
+	private final char[] chars; // all the words, sorted
+
+	private final int[] wordEnds; // word i is chars[wordEnds[i - 1],
+	// wordEnds[i])
+
+	private final int[] postingStarts; // >= 0 start of the document numbers
+	// of word i in postings, < 0 then -(offset + 1) of the not read array in
+	// the index file
+
+	private final byte[] postings;
+
+	private final boolean resolved;
+
+	private CategoryTable(char[] chars, int[] wordEnds, int[] postingStarts,
+			byte[] postings, boolean resolved) {
+		this.chars = chars;
+		this.wordEnds = wordEnds;
+		this.postingStarts = postingStarts;
+		this.postings = postings;
+		this.resolved = resolved;
+	}
+
+	/**
+	 * Creates table from the specified word -> int[] of document #'s table.
+	 */
+	public static CategoryTable create(HashtableOfObject wordsToDocNumbers) {
+		Builder builder = new Builder(wordsToDocNumbers.elementSize);
+		char[][] words = wordsToDocNumbers.keyTable;
+		Object[] values = wordsToDocNumbers.valueTable;
+		for (int i = 0, l = words.length; i < l; i++)
+			if (words[i] != null)
+				builder.add(words[i], (int[]) values[i]);
+		return builder.build();
+	}
+
+	/**
+	 * Creates table of the single word from the specified word -> int[] of
+	 * document #'s table or returns <code>null</code> if the table does not
+	 * contain the word.
+	 */
+	public static CategoryTable create(char[] word,
+			HashtableOfObject wordsToDocNumbers) {
+		int[] numbers = (int[]) wordsToDocNumbers.get(word);
+		if (numbers == null)
+			return null;
+		Builder builder = new Builder(1);
+		builder.add(word, numbers);
+		return builder.build();
+	}
+
+	public int size() {
+		return this.wordEnds.length;
+	}
+
+	public char[] getWord(int index) {
+		int start = index == 0 ? 0 : this.wordEnds[index - 1];
+		char[] word = new char[this.wordEnds[index] - start];
+		System.arraycopy(this.chars, start, word, 0, word.length);
+		return word;
+	}
+
+	/**
+	 * Returns the index of the specified word or -1 if table does not contain
+	 * it.
+	 */
+	public int indexOf(char[] word) {
+		int index = lowerBound(word);
+		if (index < size() && compare(index, word, false) == 0)
+			return index;
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the first word starting with the specified prefix,
+	 * all the other words with this prefix follow it.
+	 */
+	public int indexOfPrefix(char[] prefix) {
+		return lowerBound(prefix);
+	}
+
+	public boolean startsWith(int index, char[] prefix) {
+		return compare(index, prefix, true) == 0;
+	}
+
+	/**
+	 * Answers if the document numbers of all the words are available without
+	 * reading the index file.
+	 */
+	public boolean isResolved() {
+		return this.resolved;
+	}
+
+	/**
+	 * Returns the document numbers of the word at the specified index or
+	 * <code>null</code> if they have not been read yet, see
+	 * {@link #getArrayOffset(int)}.
+	 */
+	public int[] getDocumentNumbers(int index) {
+		int position = this.postingStarts[index];
+		if (position < 0)
+			return null;
+		int[] holder = { position };
+		int[] result = new int[readInt(holder)];
+		int previous = 0;
+		for (int i = 0; i < result.length; i++)
+			result[i] = previous += readInt(holder);
+		return result;
+	}
+
+	/**
+	 * Returns the offset in the index file of the document numbers of the
+	 * word at the specified index.
+	 */
+	public int getArrayOffset(int index) {
+		return -(this.postingStarts[index] + 1);
+	}
+
+	/**
+	 * Returns the indexes of the words which document numbers have not been
+	 * read yet, in the order of their arrays in the index file.
+	 */
+	public int[] getUnresolved() {
+		int count = 0;
+		for (int i = 0, l = size(); i < l; i++)
+			if (this.postingStarts[i] < 0)
+				count++;
+		Integer[] order = new Integer[count];
+		count = 0;
+		for (int i = 0, l = size(); i < l; i++)
+			if (this.postingStarts[i] < 0)
+				order[count++] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return Integer.compare(getArrayOffset(o1.intValue()),
+						getArrayOffset(o2.intValue()));
+			}
+		});
+		int[] result = new int[count];
+		for (int i = 0; i < count; i++)
+			result[i] = order[i].intValue();
+		return result;
+	}
+
+	/**
+	 * Returns the table with the same words and the specified document
+	 * numbers of the words not read yet, see {@link #getUnresolved()}.
+	 */
+	public CategoryTable resolve(int[] indexes, int[][] numbers) {
+		int[][] read = new int[size()][];
+		for (int i = 0; i < indexes.length; i++)
+			read[indexes[i]] = numbers[i];
+		int[] postingStarts = new int[size()];
+		PostingsWriter postings = new PostingsWriter(this.postings.length
+				+ indexes.length * 16);
+		boolean resolved = true;
+		for (int i = 0, l = size(); i < l; i++) {
+			int[] documentNumbers = read[i] != null ? read[i]
+					: getDocumentNumbers(i);
+			if (documentNumbers == null) {
+				postingStarts[i] = this.postingStarts[i];
+				resolved = false;
+			} else {
+				postingStarts[i] = postings.size;
+				postings.write(documentNumbers);
+			}
+		}
+		return new CategoryTable(this.chars, this.wordEnds, postingStarts,
+				postings.toByteArray(), resolved);
+	}
+
+	private int lowerBound(char[] word) {
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (compare(mid, word, false) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	private int compare(int index, char[] word, boolean prefix) {
+		int start = index == 0 ? 0 : this.wordEnds[index - 1];
+		int length = this.wordEnds[index] - start;
+		int max = Math.min(length, word.length);
+		for (int i = 0; i < max; i++) {
+			char c = this.chars[start + i];
+			if (c != word[i])
+				return c - word[i];
+		}
+		if (prefix && length >= word.length)
+			return 0;
+		return length - word.length;
+	}
+
+	private int readInt(int[] position) {
+		// zig-zag encoded variable length int
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = this.postings[position[0]++];
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static int compare(char[] word1, char[] word2) {
+		int max = Math.min(word1.length, word2.length);
+		for (int i = 0; i < max; i++) {
+			if (word1[i] != word2[i])
+				return word1[i] - word2[i];
+		}
+		return word1.length - word2.length;
+	}
+
+	public static class Builder {
+
+		private char[][] words;
+
+		private int[][] documentNumbers;
+
+		private int[] arrayOffsets;
+
+		private int size;
+
+		public Builder(int capacity) {
+			this.words = new char[Math.max(capacity, 1)][];
+			this.documentNumbers = new int[this.words.length][];
+			this.arrayOffsets = new int[this.words.length];
+		}
+
+		/**
+		 * Adds the word and its document numbers, returns the index to be
+		 * passed to {@link #setDocumentNumbers(int, int[])}.
+		 */
+		public int add(char[] word, int[] numbers) {
+			if (this.size == this.words.length) {
+				int newSize = this.size * 2;
+				this.words = Arrays.copyOf(this.words, newSize);
+				this.documentNumbers = Arrays.copyOf(this.documentNumbers,
+						newSize);
+				this.arrayOffsets = Arrays.copyOf(this.arrayOffsets, newSize);
+			}
+			this.words[this.size] = word;
+			this.documentNumbers[this.size] = numbers;
+			return this.size++;
+		}
+
+		/**
+		 * Adds the word which document numbers are stored at the specified
+		 * offset of the index file.
+		 */
+		public int addOffset(char[] word, int arrayOffset) {
+			int index = add(word, null);
+			this.arrayOffsets[index] = arrayOffset;
+			return index;
+		}
+
+		public void setDocumentNumbers(int index, int[] numbers) {
+			this.documentNumbers[index] = numbers;
+		}
+
+		public CategoryTable build() {
+			final char[][] allWords = this.words;
+			Integer[] order = new Integer[this.size];
+			int length = 0;
+			for (int i = 0; i < this.size; i++) {
+				order[i] = i;
+				length += allWords[i].length;
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer o1, Integer o2) {
+					return CategoryTable.compare(allWords[o1.intValue()],
+							allWords[o2.intValue()]);
+				}
+			});
+
+			char[] chars = new char[length];
+			int[] wordEnds = new int[this.size];
+			int[] postingStarts = new int[this.size];
+			PostingsWriter postings = new PostingsWriter(this.size * 3);
+			boolean resolved = true;
+			int end = 0;
+			for (int i = 0; i < this.size; i++) {
+				int index = order[i].intValue();
+				char[] word = allWords[index];
+				System.arraycopy(word, 0, chars, end, word.length);
+				wordEnds[i] = end += word.length;
+				int[] numbers = this.documentNumbers[index];
+				if (numbers == null) {
+					postingStarts[i] = -(this.arrayOffsets[index] + 1);
+					resolved = false;
+				} else {
+					postingStarts[i] = postings.size;
+					postings.write(numbers);
+				}
+			}
+			return new CategoryTable(chars, wordEnds, postingStarts,
+					postings.toByteArray(), resolved);
+		}
+	}
+
+	private static class PostingsWriter {
+
+		byte[] bytes;
+
+		int size;
+
+		PostingsWriter(int capacity) {
+			this.bytes = new byte[Math.max(capacity, 16)];
+		}
+
+		void write(int value) {
+			// zig-zag encoding keeps small negative deltas short too
+			int v = (value << 1) ^ (value >> 31);
+			if (this.size + 5 > this.bytes.length)
+				this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+			while ((v & ~0x7F) != 0) {
+				this.bytes[this.size++] = (byte) ((v & 0x7F) | 0x80);
+				v >>>= 7;
+			}
+			this.bytes[this.size++] = (byte) v;
+		}
+
+		void write(int[] numbers) {
+			write(numbers.length);
+			int previous = 0;
+			for (int i = 0; i < numbers.length; i++) {
+				write(numbers[i] - previous);
+				previous = numbers[i];
+			}
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(this.bytes, this.size);
+		}
+	}
+}
@@ -13,6 +13,8 @@ package org.eclipse.dltk.core.search.index;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
@@ -20,6 +22,9 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.regex.Pattern;
 
 import org.eclipse.dltk.compiler.CharOperation;
@@ -57,13 +62,33 @@ public class DiskIndex {
 	private String[][] cachedChunks; // decompressed chunks of document names
 
 	private HashtableOfObject categoryTables; // category name ->
-	// HashtableOfObject(words ->
-	// int[] of document #'s) or
-	// offset if not read yet
+	// CategoryTable when reading, while merging category name ->
+	// HashtableOfObject(words -> int[] of document #'s)
 
 	private char[] cachedCategoryName;
+
+	private final boolean mappedReads;
+
+	private ByteBuffer mappedFile; // whole index file, only in mapped mode
+
 	char separator = Index.DEFAULT_SEPARATOR;
 
+	/**
+	 * When <code>true</code> the index file is mapped into memory once and
+	 * category tables, document number arrays and document names are read
+	 * straight from the mapping, otherwise a new stream is opened for each
+	 * read.
+	 */
+	public static final boolean MAPPED_READS = Boolean
+			.getBoolean("org.eclipse.dltk.core.index.mappedReads"); //$NON-NLS-1$
+
+	/**
+	 * Read mode of the indexes opened from now on, {@link #MAPPED_READS}
+	 * unless changed by the tests, turned off if a mapping can not be
+	 * released.
+	 */
+	private static volatile boolean mappedReadsMode = MAPPED_READS;
+
 	public static final String SIGNATURE = "DLTK INDEX VERSION 1.014"; //$NON-NLS-1$
 
 	public final static boolean DEBUG = false;
@@ -105,6 +130,7 @@ public class DiskIndex {
 
 	DiskIndex(String fileName) {
 		this.fileName = fileName;
+		this.mappedReads = mappedReadsMode;
 
 		// clear cached items
 		this.headerInfoOffset = -1;
@@ -117,6 +143,7 @@ public class DiskIndex {
 		this.categoryTables = null;
 		this.cachedCategoryName = null;
 		this.categoryOffsets = null;
+		this.mappedFile = null;
 	}
 
 	SimpleSet addDocumentNames(String substring, MemoryIndex memoryIndex)
@@ -156,7 +183,7 @@ public class DiskIndex {
 	}
 
 	private HashtableOfObject addQueryResult(HashtableOfObject results,
-			char[] word, HashtableOfObject wordsToDocNumbers,
+			char[] word, CategoryTable wordsToDocNumbers, int index,
 			MemoryIndex memoryIndex) throws IOException {
 		// must skip over documents which have been added/changed/deleted in the
 		// memory index
@@ -165,14 +192,13 @@ public class DiskIndex {
 		EntryResult result = (EntryResult) results.get(word);
 		if (memoryIndex == null) {
 			if (result == null)
-				results.put(word, new EntryResult(word, wordsToDocNumbers));
-			else
-				result.addDocumentTable(wordsToDocNumbers);
+				results.put(word, result = new EntryResult(word, null));
+			result.addDocumentTable(wordsToDocNumbers);
 		} else {
 			SimpleLookupTable docsToRefs = memoryIndex.docsToReferences;
 			if (result == null)
 				result = new EntryResult(word, null);
-			int[] docNumbers = readDocumentNumbers(wordsToDocNumbers.get(word));
+			int[] docNumbers = readDocumentNumbers(wordsToDocNumbers, index);
 			for (int i = 0, l = docNumbers.length; i < l; i++) {
 				String docName = readDocumentName(docNumbers[i]);
 				if (!docsToRefs.containsKey(docName))
@@ -194,18 +220,17 @@ public class DiskIndex {
 		HashtableOfObject results = null; // initialized if needed
 		if (key == null) {
 			for (int i = 0, l = categories.length; i < l; i++) {
-				HashtableOfObject wordsToDocNumbers = readCategoryTable(
+				CategoryTable wordsToDocNumbers = readCategoryTable(
 						categories[i], true); // cache if key is null since
 				// its a definite match
 				if (wordsToDocNumbers != null) {
-					char[][] words = wordsToDocNumbers.keyTable;
 					if (results == null)
 						results = new HashtableOfObject(
-								wordsToDocNumbers.elementSize);
-					for (int j = 0, m = words.length; j < m; j++)
-						if (words[j] != null)
-							results = addQueryResult(results, words[j],
-									wordsToDocNumbers, memoryIndex);
+								wordsToDocNumbers.size());
+					for (int j = 0, m = wordsToDocNumbers.size(); j < m; j++)
+						results = addQueryResult(results,
+								wordsToDocNumbers.getWord(j), wordsToDocNumbers,
+								j, memoryIndex);
 				}
 			}
 			if (results != null && this.cachedChunks == null)
@@ -214,27 +239,28 @@ public class DiskIndex {
 			switch (matchRule) {
 			case SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE:
 				for (int i = 0, l = categories.length; i < l; i++) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(
+					CategoryTable wordsToDocNumbers = readCategoryTable(
 							categories[i], false);
-					if (wordsToDocNumbers != null
-							&& wordsToDocNumbers.containsKey(key))
-						results = addQueryResult(results, key,
-								wordsToDocNumbers, memoryIndex);
+					if (wordsToDocNumbers != null) {
+						int index = wordsToDocNumbers.indexOf(key);
+						if (index >= 0)
+							results = addQueryResult(results, key,
+									wordsToDocNumbers, index, memoryIndex);
+					}
 				}
 				break;
 			case SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE:
 				for (int i = 0, l = categories.length; i < l; i++) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(
+					CategoryTable wordsToDocNumbers = readCategoryTable(
 							categories[i], false);
 					if (wordsToDocNumbers != null) {
-						char[][] words = wordsToDocNumbers.keyTable;
-						for (int j = 0, m = words.length; j < m; j++) {
-							char[] word = words[j];
-							if (word != null && key[0] == word[0]
-									&& CharOperation.prefixEquals(key, word))
-								results = addQueryResult(results, word,
-										wordsToDocNumbers, memoryIndex);
-						}
+						// words are sorted, so the matching ones are adjacent
+						for (int j = wordsToDocNumbers.indexOfPrefix(key), m = wordsToDocNumbers
+								.size(); j < m
+								&& wordsToDocNumbers.startsWith(j, key); j++)
+							results = addQueryResult(results,
+									wordsToDocNumbers.getWord(j),
+									wordsToDocNumbers, j, memoryIndex);
 					}
 				}
 				break;
@@ -246,27 +272,24 @@ public class DiskIndex {
 								(matchRule & SearchPattern.R_CASE_SENSITIVE) == 0 ? Pattern.CASE_INSENSITIVE
 										: 0);
 				for (int i = 0, l = categories.length; i < l; i++) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(
+					CategoryTable wordsToDocNumbers = readCategoryTable(
 							categories[i], false);
 					if (wordsToDocNumbers != null) {
-						char[][] words = wordsToDocNumbers.keyTable;
-						for (int j = 0, m = words.length; j < m; j++) {
-							char[] word = words[j];
-							if (word != null) {
-								char decodedWord[];
-								int sep = CharOperation.indexOf(
-										IIndexConstants.SEPARATOR, word);
-								if (sep > 0) {
-									decodedWord = CharOperation.subarray(word,
-											0, sep);
-								} else {
-									decodedWord = word;
-								}
-								if (regexpPattern.matcher(
-										new String(decodedWord)).matches()) {
-									results = addQueryResult(results, word,
-											wordsToDocNumbers, memoryIndex);
-								}
+						for (int j = 0, m = wordsToDocNumbers.size(); j < m; j++) {
+							char[] word = wordsToDocNumbers.getWord(j);
+							char decodedWord[];
+							int sep = CharOperation.indexOf(
+									IIndexConstants.SEPARATOR, word);
+							if (sep > 0) {
+								decodedWord = CharOperation.subarray(word, 0,
+										sep);
+							} else {
+								decodedWord = word;
+							}
+							if (regexpPattern.matcher(new String(decodedWord))
+									.matches()) {
+								results = addQueryResult(results, word,
+										wordsToDocNumbers, j, memoryIndex);
 							}
 						}
 					}
@@ -274,16 +297,14 @@ public class DiskIndex {
 				break;
 			default:
 				for (int i = 0, l = categories.length; i < l; i++) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(
+					CategoryTable wordsToDocNumbers = readCategoryTable(
 							categories[i], false);
 					if (wordsToDocNumbers != null) {
-						char[][] words = wordsToDocNumbers.keyTable;
-						for (int j = 0, m = words.length; j < m; j++) {
-							char[] word = words[j];
-							if (word != null
-									&& Index.isMatch(key, word, matchRule)) {
+						for (int j = 0, m = wordsToDocNumbers.size(); j < m; j++) {
+							char[] word = wordsToDocNumbers.getWord(j);
+							if (Index.isMatch(key, word, matchRule)) {
 								results = addQueryResult(results, word,
-										wordsToDocNumbers, memoryIndex);
+										wordsToDocNumbers, j, memoryIndex);
 							}
 						}
 					}
@@ -296,14 +317,12 @@ public class DiskIndex {
 		return results;
 	}
 
-	private void cacheDocumentNames() throws IOException {
+	private synchronized void cacheDocumentNames() throws IOException {
 		// will need all document names so get them now
 		this.cachedChunks = new String[this.numberOfChunks][];
-		DataInputStream stream = new DataInputStream(new BufferedInputStream(
-				new FileInputStream(getIndexFile()),
-				this.numberOfChunks > 5 ? 4096 : 2048));
+		DataInput stream = openInput(this.chunkOffsets[0],
+				this.numberOfChunks > 5 ? 4096 : 2048);
 		try {
-			stream.skip(this.chunkOffsets[0]);
 			for (int i = 0; i < this.numberOfChunks; i++) {
 				int size = i == this.numberOfChunks - 1 ? this.sizeOfLastChunk
 						: CHUNK_SIZE;
@@ -311,7 +330,7 @@ public class DiskIndex {
 						size);
 			}
 		} finally {
-			stream.close();
+			closeInput(stream);
 		}
 	}
 
@@ -572,47 +591,43 @@ public class DiskIndex {
 		if (wordsToDocs == null)
 			wordsToDocs = new HashtableOfObject(3);
 
-		HashtableOfObject oldWordsToDocs = onDisk.readCategoryTable(
-				categoryName, true);
+		CategoryTable oldWordsToDocs = onDisk.readCategoryTable(categoryName,
+				true);
 		if (oldWordsToDocs != null) {
-			char[][] oldWords = oldWordsToDocs.keyTable;
-			Object[] oldArrayOffsets = oldWordsToDocs.valueTable;
-			nextWord: for (int i = 0, l = oldWords.length; i < l; i++) {
-				char[] oldWord = oldWords[i];
-				if (oldWord != null) {
-					int[] oldDocNumbers = (int[]) oldArrayOffsets[i];
-					int length = oldDocNumbers.length;
-					int[] mappedNumbers = new int[length];
-					int count = 0;
-					for (int j = 0; j < length; j++) {
-						int pos = positions[oldDocNumbers[j]];
-						if (pos > RE_INDEXED) // forget any reference to a
-							// document which was deleted or
-							// re_indexed
-							mappedNumbers[count++] = pos;
-					}
-					if (count < length) {
-						if (count == 0)
-							continue nextWord; // skip words which no longer
-						// have any references
-						System.arraycopy(mappedNumbers, 0,
-								mappedNumbers = new int[count], 0, count);
-					}
+			nextWord: for (int i = 0, l = oldWordsToDocs.size(); i < l; i++) {
+				char[] oldWord = oldWordsToDocs.getWord(i);
+				int[] oldDocNumbers = oldWordsToDocs.getDocumentNumbers(i);
+				int length = oldDocNumbers.length;
+				int[] mappedNumbers = new int[length];
+				int count = 0;
+				for (int j = 0; j < length; j++) {
+					int pos = positions[oldDocNumbers[j]];
+					if (pos > RE_INDEXED) // forget any reference to a
+						// document which was deleted or
+						// re_indexed
+						mappedNumbers[count++] = pos;
+				}
+				if (count < length) {
+					if (count == 0)
+						continue nextWord; // skip words which no longer
+					// have any references
+					System.arraycopy(mappedNumbers, 0,
+							mappedNumbers = new int[count], 0, count);
+				}
 
-					Object o = wordsToDocs.get(oldWord);
-					if (o == null) {
-						wordsToDocs.put(oldWord, mappedNumbers);
+				Object o = wordsToDocs.get(oldWord);
+				if (o == null) {
+					wordsToDocs.put(oldWord, mappedNumbers);
+				} else {
+					IntList list = null;
+					if (o instanceof IntList) {
+						list = (IntList) o;
 					} else {
-						IntList list = null;
-						if (o instanceof IntList) {
-							list = (IntList) o;
-						} else {
-							list = new IntList((int[]) o);
-							wordsToDocs.put(oldWord, list);
-						}
-						for (int j = 0; j < count; j++)
-							list.add(mappedNumbers[j]);
+						list = new IntList((int[]) o);
+						wordsToDocs.put(oldWord, list);
 					}
+					for (int j = 0; j < count; j++)
+						list.add(mappedNumbers[j]);
 				}
 			}
 			onDisk.categoryTables.put(categoryName, null); // flush cached
@@ -645,6 +660,7 @@ public class DiskIndex {
 			// deleted documents that had never been saved
 
 			// index is now empty since all the saved documents were removed
+			releaseMappedFile();
 			DiskIndex newDiskIndex = new DiskIndex(this.fileName);
 			newDiskIndex.initialize(false);
 			return newDiskIndex;
@@ -692,6 +708,7 @@ public class DiskIndex {
 			newDiskIndex.writeOffsetToHeader(offsetToHeader);
 
 			// rename file by deleting previous index file & renaming temp one
+			releaseMappedFile();
 			File old = getIndexFile();
 			if (old.exists() && !old.delete()) {
 				if (DEBUG)
@@ -723,11 +740,9 @@ public class DiskIndex {
 		if (this.numberOfChunks <= 0)
 			return new String[0];
 
-		DataInputStream stream = new DataInputStream(new BufferedInputStream(
-				new FileInputStream(getIndexFile()),
-				this.numberOfChunks > 5 ? 4096 : 2048));
+		DataInput stream = openInput(this.chunkOffsets[0],
+				this.numberOfChunks > 5 ? 4096 : 2048);
 		try {
-			stream.skip(this.chunkOffsets[0]);
 			int lastIndex = this.numberOfChunks - 1;
 			String[] docNames = new String[lastIndex * CHUNK_SIZE
 					+ sizeOfLastChunk];
@@ -736,12 +751,12 @@ public class DiskIndex {
 						i < lastIndex ? CHUNK_SIZE : sizeOfLastChunk);
 			return docNames;
 		} finally {
-			stream.close();
+			closeInput(stream);
 		}
 	}
 
-	private synchronized HashtableOfObject readCategoryTable(
-			char[] categoryName, boolean readDocNumbers) throws IOException {
+	private synchronized CategoryTable readCategoryTable(char[] categoryName,
+			boolean readDocNumbers) throws IOException {
 		// result will be null if categoryName is unknown
 		int offset = this.categoryOffsets.get(categoryName);
 		if (offset == HashtableOfIntValues.NO_VALUE)
@@ -750,29 +765,26 @@ public class DiskIndex {
 		if (this.categoryTables == null) {
 			this.categoryTables = new HashtableOfObject(3);
 		} else {
-			HashtableOfObject cachedTable = (HashtableOfObject) this.categoryTables
+			CategoryTable cachedTable = (CategoryTable) this.categoryTables
 					.get(categoryName);
 			if (cachedTable != null) {
-				if (readDocNumbers) { // must cache remaining document number
-					// arrays
-					Object[] arrayOffsets = cachedTable.valueTable;
-					for (int i = 0, l = arrayOffsets.length; i < l; i++)
-						if (arrayOffsets[i] instanceof Integer)
-							arrayOffsets[i] = readDocumentNumbers(arrayOffsets[i]);
+				if (readDocNumbers && !cachedTable.isResolved()) {
+					// only the remaining document number arrays are read
+					cachedTable = readDocumentArrays(cachedTable);
+					this.categoryTables.put(categoryName, cachedTable);
 				}
 				return cachedTable;
 			}
 		}
 
-		DataInputStream stream = new DataInputStream(new BufferedInputStream(
-				new FileInputStream(getIndexFile()), 2048));
-		HashtableOfObject categoryTable = null;
-		char[][] matchingWords = null;
+		DataInput stream = openInput(offset, 2048);
+		CategoryTable.Builder builder = null;
+		int[] matchingWords = null;
 		int count = 0;
 		int firstOffset = -1;
+		int size;
 		try {
-			stream.skip(offset);
-			int size = stream.readInt();
+			size = stream.readInt();
 			try {
 				if (size < 0) { // DEBUG
 					System.err
@@ -783,7 +795,7 @@ public class DiskIndex {
 					System.err
 							.println("--------------------   END   --------------------"); //$NON-NLS-1$
 				}
-				categoryTable = new HashtableOfObject(size);
+				builder = new CategoryTable.Builder(size);
 			} catch (OutOfMemoryError oom) {
 				// DEBUG
 				oom.printStackTrace();
@@ -807,61 +819,65 @@ public class DiskIndex {
 				// 256 if the array size >= 256 followed by another int which is
 				// the offset to the array (written prior to the table)
 				if (arrayOffset <= 0) {
-					categoryTable.put(word, new int[] { -arrayOffset }); // store
-					// 1
-					// element
-					// array
-					// by
-					// negating
-					// documentNumber
+					builder.add(word, new int[] { -arrayOffset }); // store
+					// 1 element array by negating documentNumber
 				} else if (arrayOffset < largeArraySize) {
-					categoryTable.put(word,
-							readDocumentArray(stream, arrayOffset));
+					builder.add(word, readDocumentArray(stream, arrayOffset));
 					// read in-lined array providing size
 				} else {
 					arrayOffset = stream.readInt(); // read actual offset
+					int index = builder.addOffset(word, arrayOffset); // offset
+					// to array in the file
 					if (readDocNumbers) {
 						if (matchingWords == null)
-							matchingWords = new char[size][];
+							matchingWords = new int[size];
 						if (count == 0)
 							firstOffset = arrayOffset;
-						matchingWords[count++] = word;
+						matchingWords[count++] = index;
 					}
-					categoryTable.put(word, arrayOffset); // offset
-					// to
-					// array
-					// in
-					// the
-					// file
 				}
 			}
-			this.categoryTables.put(categoryName, categoryTable);
-			// cache the table as long as its not too big
-			// in practise, some tables can be greater than 500K when the
-			// contain more than 10K elements
-			this.cachedCategoryName = categoryTable.elementSize < 10000 ? categoryName
-					: null;
 		} finally {
-			stream.close();
+			closeInput(stream);
 		}
 
 		if (matchingWords != null && count > 0) {
-			stream = new DataInputStream(new BufferedInputStream(
-					new FileInputStream(getIndexFile()), 2048));
+			stream = openInput(firstOffset, 2048);
 			try {
-				stream.skip(firstOffset);
 				for (int i = 0; i < count; i++)
 					// each array follows the previous one
-					categoryTable.put(matchingWords[i],
+					builder.setDocumentNumbers(matchingWords[i],
 							readDocumentArray(stream, stream.readInt()));
 			} finally {
-				stream.close();
+				closeInput(stream);
 			}
 		}
+
+		CategoryTable categoryTable = builder.build();
+		this.categoryTables.put(categoryName, categoryTable);
+		// cache the table as long as its not too big
+		// in practise, some tables can be greater than 500K when the
+		// contain more than 10K elements
+		this.cachedCategoryName = size < 10000 ? categoryName : null;
 		return categoryTable;
 	}
 
-	private void readChunk(String[] docNames, DataInputStream stream,
+	private CategoryTable readDocumentArrays(CategoryTable table)
+			throws IOException {
+		int[] indexes = table.getUnresolved();
+		int[][] numbers = new int[indexes.length][];
+		DataInput stream = openInput(table.getArrayOffset(indexes[0]), 2048);
+		try {
+			for (int i = 0; i < indexes.length; i++)
+				// each array follows the previous one
+				numbers[i] = readDocumentArray(stream, stream.readInt());
+		} finally {
+			closeInput(stream);
+		}
+		return table.resolve(indexes, numbers);
+	}
+
+	private void readChunk(String[] docNames, DataInput stream,
 			int index, int size) throws IOException {
 		String current = stream.readUTF();
 		docNames[index++] = current;
@@ -889,7 +905,7 @@ public class DiskIndex {
 		}
 	}
 
-	private int[] readDocumentArray(DataInputStream stream, int arraySize)
+	private int[] readDocumentArray(DataInput stream, int arraySize)
 			throws IOException {
 		int[] result = new int[arraySize];
 		switch (this.documentReferenceSize) {
@@ -922,39 +938,103 @@ public class DiskIndex {
 					: this.chunkOffsets[chunkNumber + 1]) - start;
 			if (numberOfBytes < 0)
 				throw new IllegalArgumentException();
-			byte[] bytes = new byte[numberOfBytes];
-			FileInputStream file = new FileInputStream(getIndexFile());
-			try {
-				file.skip(start);
-				if (file.read(bytes, 0, numberOfBytes) != numberOfBytes)
-					throw new IOException();
-			} finally {
-				file.close();
+			DataInput stream;
+			if (this.mappedReads) {
+				// seek straight to the chunk, no copy of its bytes is needed
+				stream = new MappedIndexInput(getMappedFile(), start);
+			} else {
+				byte[] bytes = new byte[numberOfBytes];
+				FileInputStream file = new FileInputStream(getIndexFile());
+				try {
+					file.skip(start);
+					if (file.read(bytes, 0, numberOfBytes) != numberOfBytes)
+						throw new IOException();
+				} finally {
+					file.close();
+				}
+				stream = new DataInputStream(new ByteArrayInputStream(bytes));
 			}
-			DataInputStream stream = new DataInputStream(
-					new ByteArrayInputStream(bytes));
 			int numberOfNames = isLastChunk ? this.sizeOfLastChunk : CHUNK_SIZE;
-			chunk = this.cachedChunks[chunkNumber] = new String[numberOfNames];
+			chunk = new String[numberOfNames];
 			readChunk(chunk, stream, 0, numberOfNames);
+			this.cachedChunks[chunkNumber] = chunk;
 		}
 		return chunk[docNumber - (chunkNumber * CHUNK_SIZE)];
 	}
 
-	synchronized int[] readDocumentNumbers(Object arrayOffset)
+	synchronized int[] readDocumentNumbers(CategoryTable table, int index)
 			throws IOException {
-		// arrayOffset is either a cached array of docNumbers or an Integer
-		// offset in the file
-		if (arrayOffset instanceof int[])
-			return (int[]) arrayOffset;
+		// the document numbers are either in the table or at an offset in the
+		// file
+		int[] documentNumbers = table.getDocumentNumbers(index);
+		if (documentNumbers != null)
+			return documentNumbers;
 
-		DataInputStream stream = new DataInputStream(new BufferedInputStream(
-				new FileInputStream(getIndexFile()), 2048));
+		DataInput stream = openInput(table.getArrayOffset(index), 2048);
 		try {
-			stream.skip(((Integer) arrayOffset).intValue());
 			return readDocumentArray(stream, stream.readInt());
 		} finally {
-			stream.close();
+			closeInput(stream);
+		}
+	}
+
+	/**
+	 * Returns an input positioned at the specified offset of the index file.
+	 * In mapped mode it reads from the shared mapping, otherwise a new
+	 * buffered stream is opened which must be released with
+	 * {@link #closeInput(DataInput)}.
+	 */
+	private DataInput openInput(int offset, int bufferSize)
+			throws IOException {
+		if (this.mappedReads)
+			return new MappedIndexInput(getMappedFile(), offset);
+		DataInputStream stream = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(getIndexFile()), bufferSize));
+		stream.skip(offset);
+		return stream;
+	}
+
+	private static void closeInput(DataInput input) throws IOException {
+		if (input instanceof Closeable)
+			((Closeable) input).close();
+	}
+
+	private synchronized ByteBuffer getMappedFile() throws IOException {
+		if (this.mappedFile == null) {
+			FileChannel channel = FileChannel.open(getIndexFile().toPath(),
+					StandardOpenOption.READ);
+			try {
+				// the mapping stays valid after the channel is closed
+				this.mappedFile = channel.map(FileChannel.MapMode.READ_ONLY,
+						0, channel.size());
+			} finally {
+				channel.close();
+			}
 		}
+		return this.mappedFile;
+	}
+
+	/**
+	 * Releases the mapping of the index file, must be called before the file
+	 * is deleted or replaced, which fails on some platforms while the file is
+	 * mapped. The mapped reads hold the lock of this index, so none of them
+	 * is in progress. If the mapping can not be released the indexes opened
+	 * later read the files with streams.
+	 */
+	synchronized void releaseMappedFile() {
+		if (this.mappedFile != null) {
+			if (!Util.unmap(this.mappedFile))
+				mappedReadsMode = false;
+			this.mappedFile = null;
+		}
+	}
+
+	/**
+	 * Changes the read mode of the indexes opened from now on, intended for
+	 * the tests comparing both modes.
+	 */
+	public static void setMappedReads(boolean mapped) {
+		mappedReadsMode = mapped;
 	}
 
 	private void readHeaderInfo(RandomAccessFile file) throws IOException {
@@ -17,14 +17,18 @@ public class EntryResult {
 
 	private char[] word;
 
-	private HashtableOfObject[] documentTables;
+	private CategoryTable[] documentTables;
 
 	private SimpleSet documentNames;
 
+	/**
+	 * @param table
+	 *            words -> int[] of document #'s or <code>null</code>
+	 */
 	public EntryResult(char[] word, HashtableOfObject table) {
 		this.word = word;
 		if (table != null)
-			this.documentTables = new HashtableOfObject[] { table };
+			addDocumentTable(table);
 	}
 
 	public void addDocumentName(String documentName) {
@@ -33,15 +37,26 @@ public class EntryResult {
 		this.documentNames.add(documentName);
 	}
 
+	/**
+	 * @param table
+	 *            words -> int[] of document #'s
+	 */
 	public void addDocumentTable(HashtableOfObject table) {
+		// only the document numbers of the word are needed
+		CategoryTable wordTable = CategoryTable.create(this.word, table);
+		if (wordTable != null)
+			addDocumentTable(wordTable);
+	}
+
+	void addDocumentTable(CategoryTable table) {
 		if (this.documentTables != null) {
 			int length = this.documentTables.length;
 			System.arraycopy(this.documentTables, 0,
-					this.documentTables = new HashtableOfObject[length + 1], 0,
+					this.documentTables = new CategoryTable[length + 1], 0,
 					length);
 			this.documentTables[length] = table;
 		} else {
-			this.documentTables = new HashtableOfObject[] { table };
+			this.documentTables = new CategoryTable[] { table };
 		}
 	}
 
@@ -54,8 +69,9 @@ public class EntryResult {
 			int length = this.documentTables.length;
 			if (length == 1 && this.documentNames == null) { // have a single
 				// table
-				Object offset = this.documentTables[0].get(word);
-				int[] numbers = index.diskIndex.readDocumentNumbers(offset);
+				CategoryTable table = this.documentTables[0];
+				int[] numbers = index.diskIndex.readDocumentNumbers(table,
+						table.indexOf(word));
 				String[] names = new String[numbers.length];
 				for (int i = 0, l = numbers.length; i < l; i++)
 					names[i] = index.diskIndex.readDocumentName(numbers[i]);
@@ -63,8 +79,9 @@ public class EntryResult {
 			}
 
 			for (int i = 0; i < length; i++) {
-				Object offset = this.documentTables[i].get(word);
-				int[] numbers = index.diskIndex.readDocumentNumbers(offset);
+				CategoryTable table = this.documentTables[i];
+				int[] numbers = index.diskIndex.readDocumentNumbers(table,
+						table.indexOf(word));
 				for (int j = 0, k = numbers.length; j < k; j++)
 					addDocumentName(index.diskIndex
 							.readDocumentName(numbers[j]));
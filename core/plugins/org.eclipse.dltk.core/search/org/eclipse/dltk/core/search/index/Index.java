@@ -134,6 +134,15 @@ public class Index {
 		return this.diskIndex.getIndexFile();
 	}
 
+	/**
+	 * Releases the memory mapping of the index file, if any, so the file can
+	 * be deleted. The file is mapped again if the index is queried later.
+	 */
+	public void releaseMappedFile() {
+		if (this.diskIndex != null)
+			this.diskIndex.releaseMappedFile();
+	}
+
 	public boolean hasChanged() {
 		return this.memoryIndex.hasChanged();
 	}
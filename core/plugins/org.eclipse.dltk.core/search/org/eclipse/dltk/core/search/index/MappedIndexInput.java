@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.search.index;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link DataInput} reading directly from a (memory-mapped) index file buffer.
+ * Each instance has its own position, so several of them can read from the
+ * same mapping without any stream or file handle being opened.
+ */
+class MappedIndexInput implements DataInput {
+
+	private final ByteBuffer buffer;
+
+	MappedIndexInput(ByteBuffer file, int offset) throws IOException {
+		this.buffer = file.duplicate();
+		if (offset < 0 || offset > this.buffer.limit())
+			throw new EOFException();
+		this.buffer.position(offset);
+	}
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		try {
+			this.buffer.get(b, off, len);
+		} catch (BufferUnderflowException e) {
+			throw new EOFException();
+		}
+	}
+
+	@Override
+	public int skipBytes(int n) {
+		int skipped = Math.min(Math.max(n, 0), this.buffer.remaining());
+		this.buffer.position(this.buffer.position() + skipped);
+		return skipped;
+	}
+
+	@Override
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		try {
+			return this.buffer.get();
+		} catch (BufferUnderflowException e) {
+			throw new EOFException();
+		}
+	}
+
+	@Override
+	public int readUnsignedByte() throws IOException {
+		return readByte() & 0xFF;
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		try {
+			return this.buffer.getShort();
+		} catch (BufferUnderflowException e) {
+			throw new EOFException();
+		}
+	}
+
+	@Override
+	public int readUnsignedShort() throws IOException {
+		return readShort() & 0xFFFF;
+	}
+
+	@Override
+	public char readChar() throws IOException {
+		return (char) readShort();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		try {
+			return this.buffer.getInt();
+		} catch (BufferUnderflowException e) {
+			throw new EOFException();
+		}
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		try {
+			return this.buffer.getLong();
+		} catch (BufferUnderflowException e) {
+			throw new EOFException();
+		}
+	}
+
+	@Override
+	public float readFloat() throws IOException {
+		return Float.intBitsToFloat(readInt());
+	}
+
+	@Override
+	public double readDouble() throws IOException {
+		return Double.longBitsToDouble(readLong());
+	}
+
+	/**
+	 * Reads the line as specified by {@link DataInput#readLine()}, each byte
+	 * being converted to the character of the same low 8 bits.
+	 */
+	@Override
+	public String readLine() {
+		if (!this.buffer.hasRemaining())
+			return null;
+		StringBuilder line = new StringBuilder();
+		while (this.buffer.hasRemaining()) {
+			char c = (char) (this.buffer.get() & 0xFF);
+			if (c == '\n')
+				break;
+			if (c == '\r') {
+				if (this.buffer.hasRemaining()
+						&& this.buffer.get(this.buffer.position()) == '\n')
+					this.buffer.get();
+				break;
+			}
+			line.append(c);
+		}
+		return line.toString();
+	}
+
+	@Override
+	public String readUTF() throws IOException {
+		return DataInputStream.readUTF(this);
+	}
+}
@@ -510,6 +510,23 @@ public class IndexManager extends JobManager implements IIndexConstants {
 		}
 	}
 
+	/**
+	 * Answers the value of the {@link DLTKCore#INDEXER_THREADS} option.
+	 */
+	@Override
+	protected int getConcurrentJobsLimit() {
+		final String value = DLTKCore.getOption(DLTKCore.INDEXER_THREADS);
+		if (value != null) {
+			try {
+				return Math.max(1, Math.min(Integer.parseInt(value.trim()),
+						Runtime.getRuntime().availableProcessors()));
+			} catch (NumberFormatException e) {
+				// fall through
+			}
+		}
+		return 1;
+	}
+
 	/**
 	 * Name of the background process
 	 */
@@ -640,11 +657,14 @@ public class IndexManager extends JobManager implements IIndexConstants {
 			Util.verbose("removing index " + containerPath); //$NON-NLS-1$
 		}
 		String indexLocation = this.computeIndexLocation(containerPath);
+		final Object o = this.indexes.remove(indexLocation);
+		if (o instanceof Index) {
+			((Index) o).releaseMappedFile();
+		}
 		File indexFile = new File(indexLocation);
 		if (indexFile.exists()) {
 			indexFile.delete();
 		}
-		final Object o = this.indexes.remove(indexLocation);
 		if (o instanceof Index) {
 			final Index index = (Index) o;
 			index.monitor = null;
@@ -669,6 +689,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
 			if (path.isPrefixOf(indexPath)) {
 				Index index = (Index) this.indexes.get(indexLocation);
 				if (index != null) {
+					index.releaseMappedFile();
 					index.monitor = null;
 				}
 				if (locations == null) {
@@ -41,8 +41,10 @@ import org.eclipse.dltk.core.search.indexing.IIndexConstants;
 import org.eclipse.dltk.core.search.indexing.IProjectIndexer;
 import org.eclipse.dltk.core.search.indexing.ReadWriteMonitor;
 import org.eclipse.dltk.internal.core.BuiltinSourceModule;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
-public class ArchiveProjectFragmentRequest extends IndexRequest {
+public class ArchiveProjectFragmentRequest extends IndexRequest
+		implements IContainerJob {
 
 	protected final IProjectFragment fragment;
 	protected final IDLTKLanguageToolkit toolkit;
@@ -216,4 +218,9 @@ public class ArchiveProjectFragmentRequest extends IndexRequest {
 			return false;
 		return true;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return fragment.getPath();
+	}
 }
@@ -37,8 +37,10 @@ import org.eclipse.dltk.core.search.indexing.IProjectIndexer;
 import org.eclipse.dltk.core.search.indexing.ReadWriteMonitor;
 import org.eclipse.dltk.internal.core.BuiltinSourceModule;
 import org.eclipse.dltk.internal.core.ModelManager;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
-public class ExternalProjectFragmentRequest extends IndexRequest {
+public class ExternalProjectFragmentRequest extends IndexRequest
+		implements IContainerJob {
 
 	protected final IProjectFragment fragment;
 	protected final IDLTKLanguageToolkit toolkit;
@@ -170,4 +172,9 @@ public class ExternalProjectFragmentRequest extends IndexRequest {
 			return false;
 		return true;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return fragment.getPath();
+	}
 }
@@ -27,11 +27,13 @@ import org.eclipse.dltk.core.environment.EnvironmentManager;
 import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.core.search.indexing.IProjectIndexer;
 import org.eclipse.dltk.internal.core.BuiltinProjectFragment;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
 /**
  * @since 2.0
  */
-public class ProjectRequest extends IndexRequest {
+public class ProjectRequest extends IndexRequest
+		implements IContainerJob {
 
 	private final IScriptProject project;
 
@@ -127,4 +129,9 @@ public class ProjectRequest extends IndexRequest {
 			return false;
 		return true;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return project.getProject().getFullPath();
+	}
 }
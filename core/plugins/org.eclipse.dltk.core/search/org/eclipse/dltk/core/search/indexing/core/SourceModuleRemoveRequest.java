@@ -21,8 +21,10 @@ import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.core.search.index.Index;
 import org.eclipse.dltk.core.search.indexing.IProjectIndexer;
 import org.eclipse.dltk.core.search.indexing.ReadWriteMonitor;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
-public class SourceModuleRemoveRequest extends IndexRequest {
+public class SourceModuleRemoveRequest extends IndexRequest
+		implements IContainerJob {
 
 	private final IScriptProject project;
 	private final String path;
@@ -96,4 +98,8 @@ public class SourceModuleRemoveRequest extends IndexRequest {
 		return true;
 	}
 
+	@Override
+	public Object getContainerKey() {
+		return project.getProject().getFullPath();
+	}
 }
@@ -23,8 +23,10 @@ import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.core.search.index.Index;
 import org.eclipse.dltk.core.search.indexing.IProjectIndexer;
 import org.eclipse.dltk.core.search.indexing.ReadWriteMonitor;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
-public class SourceModuleRequest extends IndexRequest {
+public class SourceModuleRequest extends IndexRequest
+		implements IContainerJob {
 
 	protected final ISourceModule module;
 	protected final IDLTKLanguageToolkit toolkit;
@@ -92,4 +94,9 @@ public class SourceModuleRequest extends IndexRequest {
 			return false;
 		return true;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return module.getScriptProject().getProject().getFullPath();
+	}
 }
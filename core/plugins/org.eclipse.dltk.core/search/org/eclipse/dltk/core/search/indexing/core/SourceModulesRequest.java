@@ -30,11 +30,13 @@ import org.eclipse.dltk.core.environment.IFileHandle;
 import org.eclipse.dltk.core.search.index.Index;
 import org.eclipse.dltk.core.search.indexing.IProjectIndexer;
 import org.eclipse.dltk.core.search.indexing.ReadWriteMonitor;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
 
 /**
  * @since 2.0
  */
-public class SourceModulesRequest extends IndexRequest {
+public class SourceModulesRequest extends IndexRequest
+		implements IContainerJob {
 
 	private final IScriptProject project;
 	private final IDLTKLanguageToolkit toolkit;
@@ -141,4 +143,9 @@ public class SourceModulesRequest extends IndexRequest {
 			return false;
 		return true;
 	}
+
+	@Override
+	public Object getContainerKey() {
+		return project.getProject().getFullPath();
+	}
 }
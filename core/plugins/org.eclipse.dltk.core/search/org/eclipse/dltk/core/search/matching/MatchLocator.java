@@ -14,8 +14,19 @@
 package org.eclipse.dltk.core.search.matching;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.Assert;
@@ -160,6 +171,18 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 	// Cache for handles
 	private HashSet handles;
 
+	/**
+	 * Threads parsing the possible matches, or <code>null</code> if they are
+	 * parsed in the searching thread.
+	 */
+	private ExecutorService parseExecutor;
+
+	/**
+	 * Maximum number of the possible matches being parsed or waiting to be
+	 * reported when the {@link #parseExecutor} is used.
+	 */
+	private int parsedModulesLimit;
+
 	static public class WrappedCoreException extends RuntimeException {
 		private static final long serialVersionUID = 8354329870126121212L; // backward
 
@@ -499,6 +522,11 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 	protected void locateMatches(IScriptProject scriptProject,
 			PossibleMatch[] possibleMatches, int start, int length)
 			throws CoreException {
+		if (this.parseExecutor != null && length > 1) {
+			locateMatchesConcurrently(scriptProject, possibleMatches, start,
+					length);
+			return;
+		}
 		initialize(scriptProject, length);
 		// create and resolve binding (equivalent to beginCompilation() in
 		// Compiler)
@@ -521,6 +549,124 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 		}
 	}
 
+	/**
+	 * Locates the matches parsing the possible matches in the
+	 * {@link #parseExecutor} threads, each with its own parser. The parsed
+	 * possible matches are reported in the searching thread in their original
+	 * order, at most {@link #parsedModulesLimit} of them are parsed or waiting
+	 * to be reported at the same time.
+	 */
+	private void locateMatchesConcurrently(IScriptProject scriptProject,
+			PossibleMatch[] possibleMatches, int start, int length)
+			throws CoreException {
+		initialize(scriptProject, length);
+		final String natureId = DLTKLanguageManager
+				.getLanguageToolkit(scriptProject).getNatureId();
+		final ThreadLocal<IMatchLocatorParser> parsers = ThreadLocal
+				.withInitial(() -> DLTKLanguageManager
+						.createMatchParser(natureId, this));
+		final Deque<Future<PossibleMatch>> pending = new ArrayDeque<>();
+		final AtomicBoolean abandoned = new AtomicBoolean();
+		int next = start;
+		final int end = start + length;
+		try {
+			while (next < end || !pending.isEmpty()) {
+				while (next < end && pending.size() < this.parsedModulesLimit) {
+					final PossibleMatch possibleMatch = possibleMatches[next++];
+					pending.add(this.parseExecutor.submit(() -> abandoned.get()
+							? possibleMatch
+							: parse(parsers.get(), possibleMatch)));
+				}
+				final PossibleMatch possibleMatch = waitFor(pending.peek());
+				pending.remove();
+				try {
+					worked();
+					process(possibleMatch);
+				} finally {
+					possibleMatch.cleanUp();
+				}
+			}
+		} finally {
+			// the pending possible matches are not parsed any more, the ones
+			// being parsed are cleaned up once their parsing finished
+			abandoned.set(true);
+			for (Future<PossibleMatch> future : pending) {
+				awaitDone(future);
+			}
+			for (int i = next - pending.size(); i < next; i++) {
+				possibleMatches[i].cleanUp();
+			}
+		}
+	}
+
+	private PossibleMatch parse(IMatchLocatorParser parser,
+			PossibleMatch possibleMatch) {
+		if (this.progressMonitor != null && this.progressMonitor.isCanceled())
+			throw new OperationCanceledException();
+		if (BasicSearchEngine.VERBOSE)
+			System.out.println("Parsing " //$NON-NLS-1$
+					+ possibleMatch.openable.toStringWithAncestors());
+		try {
+			parser.setNodeSet(possibleMatch.nodeSet);
+			final ModuleDeclaration parsedUnit = parser.parse(possibleMatch);
+			if (parsedUnit != null) {
+				parser.parseBodies(parsedUnit);
+				possibleMatch.parsedUnit = parsedUnit;
+			}
+		} finally {
+			parser.setNodeSet(null);
+		}
+		return possibleMatch;
+	}
+
+	/**
+	 * Waits for the possible match to be parsed, checking for the
+	 * cancellation.
+	 */
+	private PossibleMatch waitFor(Future<PossibleMatch> future) {
+		for (;;) {
+			if (this.progressMonitor != null
+					&& this.progressMonitor.isCanceled())
+				throw new OperationCanceledException();
+			try {
+				return future.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// check the cancellation again
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
+	/**
+	 * Waits for the task to finish, ignoring its result.
+	 */
+	private static void awaitDone(Future<?> future) {
+		boolean interrupted = false;
+		for (;;) {
+			try {
+				future.get();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			} catch (ExecutionException | CancellationException e) {
+				break;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	private boolean parse(PossibleMatch possibleMatch) {
 		if (this.progressMonitor != null && this.progressMonitor.isCanceled())
 			throw new OperationCanceledException();
@@ -607,6 +753,12 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 		this.workingCopies = ModuleFactory.selectWorkingCopies(searchDocuments);
 		ModelManager manager = ModelManager.getModelManager();
 		this.bindings = new SimpleLookupTable();
+		final int threads = getIntOption(DLTKCore.SEARCH_THREADS, MAX_AT_ONCE);
+		if (threads > 1) {
+			this.parseExecutor = newParseExecutor(threads);
+			this.parsedModulesLimit = getIntOption(
+					DLTKCore.SEARCH_PARSED_MODULES, MAX_AT_ONCE);
+		}
 		try {
 			// optimize access to zip files during search operation
 			manager.cacheZipFiles();
@@ -690,9 +842,39 @@ public class MatchLocator implements IMatchLocator, ITypeRequestor {
 				this.nameEnvironment.cleanup();
 			manager.flushZipFiles();
 			this.bindings = null;
+			if (this.parseExecutor != null) {
+				this.parseExecutor.shutdownNow();
+				this.parseExecutor = null;
+			}
 		}
 	}
 
+	/**
+	 * Answers the value of the integer option, between <code>1</code> and the
+	 * specified maximum.
+	 */
+	private static int getIntOption(String name, int max) {
+		final String value = DLTKCore.getOption(name);
+		if (value != null) {
+			try {
+				return Math.max(1, Math.min(Integer.parseInt(value.trim()), max));
+			} catch (NumberFormatException e) {
+				// fall through
+			}
+		}
+		return 1;
+	}
+
+	private static ExecutorService newParseExecutor(int threads) {
+		final AtomicInteger threadCount = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, r -> {
+			final Thread thread = new Thread(r,
+					"Search parser #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
 	private void worked() {
 		if (this.progressMonitor != null) {
 			this.progressWorked++;
@@ -10,6 +10,15 @@
 package org.eclipse.dltk.internal.core.search;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -21,6 +30,7 @@ import org.eclipse.dltk.core.search.index.Index;
 import org.eclipse.dltk.core.search.indexing.IndexManager;
 import org.eclipse.dltk.core.search.indexing.ReadWriteMonitor;
 import org.eclipse.dltk.core.search.matching.MatchLocator;
+import org.eclipse.dltk.internal.compiler.env.AccessRuleSet;
 import org.eclipse.dltk.internal.core.ModelManager;
 import org.eclipse.dltk.internal.core.search.processing.IJob;
 import org.eclipse.dltk.internal.core.search.processing.JobManager;
@@ -28,6 +38,66 @@ import org.eclipse.dltk.internal.core.search.processing.JobManager;
 
 public class PatternSearchJob implements IJob {
 
+	/**
+	 * Threads querying the indexes for the concurrent jobs.
+	 */
+	private static ExecutorService queryExecutor;
+
+	private static synchronized ExecutorService getQueryExecutor() {
+		if (queryExecutor == null) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			queryExecutor = Executors.newFixedThreadPool(
+					Runtime.getRuntime().availableProcessors(),
+					r -> new QueryThread(r,
+							"Index query #" + threadCount.incrementAndGet())); //$NON-NLS-1$
+		}
+		return queryExecutor;
+	}
+
+	private static class QueryThread extends Thread {
+		QueryThread(Runnable target, String name) {
+			super(target, name);
+			setDaemon(true);
+		}
+	}
+
+	/**
+	 * Delivers the matches found in the several threads to the requestor one at
+	 * a time, and stops delivering them once the requestor asked to stop or the
+	 * search was terminated.
+	 */
+	private static class SynchronizedRequestor extends IndexQueryRequestor {
+		private final IndexQueryRequestor requestor;
+		private volatile boolean stopped;
+
+		SynchronizedRequestor(IndexQueryRequestor requestor) {
+			this.requestor = requestor;
+		}
+
+		@Override
+		public synchronized boolean acceptIndexMatch(String documentPath,
+				SearchPattern indexRecord, SearchParticipant participant,
+				AccessRuleSet access) {
+			if (stopped) {
+				return false;
+			}
+			if (!requestor.acceptIndexMatch(documentPath, indexRecord,
+					participant, access)) {
+				stopped = true;
+				return false;
+			}
+			return true;
+		}
+
+		synchronized void stop() {
+			stopped = true;
+		}
+
+		boolean isStopped() {
+			return stopped;
+		}
+	}
+
 	protected SearchPattern pattern;
 
 	protected IDLTKSearchScope scope;
@@ -77,12 +147,17 @@ public class PatternSearchJob implements IJob {
 			int max = indexes.length;
 			if (progressMonitor != null)
 				progressMonitor.beginTask("", max); //$NON-NLS-1$
-			for (int i = 0; i < max; i++) {
-				isComplete &= search(indexes[i], progressMonitor);
-				if (progressMonitor != null) {
-					if (progressMonitor.isCanceled())
-						throw new OperationCanceledException();
-					progressMonitor.worked(1);
+			if (max > 1 && isConcurrent()
+					&& !(Thread.currentThread() instanceof QueryThread)) {
+				isComplete = searchConcurrently(indexes, progressMonitor);
+			} else {
+				for (int i = 0; i < max; i++) {
+					isComplete &= search(indexes[i], progressMonitor);
+					if (progressMonitor != null) {
+						if (progressMonitor.isCanceled())
+							throw new OperationCanceledException();
+						progressMonitor.worked(1);
+					}
 				}
 			}
 			if (JobManager.VERBOSE)
@@ -94,6 +169,84 @@ public class PatternSearchJob implements IJob {
 		}
 	}
 
+	/**
+	 * Answers whether the indexes could be searched on several threads, which
+	 * requires {@link #search(Index, IndexQueryRequestor, IProgressMonitor)} to
+	 * be thread safe. By default only the instances of this class are, not of
+	 * the subclasses, and only if there are several processors.
+	 */
+	protected boolean isConcurrent() {
+		return getClass() == PatternSearchJob.class
+				&& Runtime.getRuntime().availableProcessors() > 1;
+	}
+
+	/**
+	 * Searches the indexes on the query threads, delivering the matches to the
+	 * requestor one at a time.
+	 */
+	private boolean searchConcurrently(Index[] indexes,
+			IProgressMonitor progressMonitor) {
+		final SynchronizedRequestor synchronizedRequestor = this.requestor != null
+				? new SynchronizedRequestor(this.requestor)
+				: null;
+		final List<Future<Boolean>> futures = new ArrayList<>(indexes.length);
+		try {
+			final ExecutorService executor = getQueryExecutor();
+			for (Index index : indexes) {
+				futures.add(executor.submit(() -> {
+					if (synchronizedRequestor != null
+							&& synchronizedRequestor.isStopped()) {
+						return COMPLETE;
+					}
+					return search(index, synchronizedRequestor,
+							progressMonitor);
+				}));
+			}
+			boolean isComplete = COMPLETE;
+			for (Future<Boolean> future : futures) {
+				isComplete &= waitFor(future, progressMonitor);
+				if (progressMonitor != null) {
+					if (progressMonitor.isCanceled())
+						throw new OperationCanceledException();
+					progressMonitor.worked(1);
+				}
+			}
+			return isComplete;
+		} finally {
+			if (synchronizedRequestor != null) {
+				// no matches are delivered after the job has finished
+				synchronizedRequestor.stop();
+			}
+			for (Future<Boolean> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	private static boolean waitFor(Future<Boolean> future,
+			IProgressMonitor progressMonitor) {
+		for (;;) {
+			if (progressMonitor != null && progressMonitor.isCanceled())
+				throw new OperationCanceledException();
+			try {
+				return future.get(100, TimeUnit.MILLISECONDS).booleanValue();
+			} catch (TimeoutException e) {
+				// check the cancellation again
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
 	public Index[] getIndexes(IProgressMonitor progressMonitor) {
 		// acquire the in-memory indexes on the fly
 		IPath[] indexLocations = this.participant.selectIndexes(this.pattern,
@@ -138,6 +291,14 @@ public class PatternSearchJob implements IJob {
 	}
 
 	public boolean search(Index index, IProgressMonitor progressMonitor) {
+		return search(index, this.requestor, progressMonitor);
+	}
+
+	/**
+	 * Searches the index, delivering the matches to the specified requestor.
+	 */
+	protected boolean search(Index index, IndexQueryRequestor requestor,
+			IProgressMonitor progressMonitor) {
 		if (index == null)
 			return COMPLETE;
 		if (progressMonitor != null && progressMonitor.isCanceled())
@@ -151,7 +312,9 @@ public class PatternSearchJob implements IJob {
 			long start = System.currentTimeMillis();
 			MatchLocator.findIndexMatches(this.pattern, index, requestor,
 					this.participant, this.scope, progressMonitor);
-			executionTime += System.currentTimeMillis() - start;
+			synchronized (this) {
+				executionTime += System.currentTimeMillis() - start;
+			}
 			return COMPLETE;
 		} catch (IOException e) {
 			if (e instanceof java.io.EOFException)
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.core.search.processing;
+
+/**
+ * Job updating the index of a single container (project, project fragment or
+ * library). When the {@link JobManager} runs several jobs at once such jobs
+ * are executed concurrently with the jobs of other containers, while the jobs
+ * of the same container are still executed in the order they were requested.
+ * <p>
+ * Jobs not implementing this interface are always executed alone.
+ * </p>
+ */
+public interface IContainerJob extends IJob {
+
+	/**
+	 * Returns the key identifying the container updated by this job, usually
+	 * its path. Keys are compared with {@link Object#equals(Object)}.
+	 */
+	Object getContainerKey();
+}
@@ -9,6 +9,13 @@
  *******************************************************************************/
 package org.eclipse.dltk.internal.core.search.processing;
 
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -33,6 +40,16 @@ public abstract class JobManager implements Runnable {
 	/* background processing */
 	protected Thread processingThread;
 
+	/*
+	 * jobs dispatched to the worker pool, TRUE while executing, FALSE once
+	 * completed but not yet removed from the queue (only used if more than one
+	 * job is allowed to run at once)
+	 */
+	private final Map<IJob, Boolean> concurrentJobs = new IdentityHashMap<>();
+
+	/* maximum number of jobs executed at once by the processing thread */
+	private volatile int concurrentJobsLimit = 1;
+
 	/*
 	 * counter indicating whether job execution is enabled or not, disabled if <= 0
 	 * it cannot go beyond 1
@@ -94,7 +111,8 @@ public abstract class JobManager implements Runnable {
 				currentJob = this.currentJob();
 				disable();
 			}
-			if (currentJob != null && (jobFamily == null || currentJob.belongsTo(jobFamily))) {
+			if (!cancelConcurrentJobs(jobFamily) && currentJob != null
+					&& (jobFamily == null || currentJob.belongsTo(jobFamily))) {
 				currentJob.cancel();
 
 				// wait until current active job has finished
@@ -147,7 +165,8 @@ public abstract class JobManager implements Runnable {
 	public synchronized boolean isJobWaiting(IJob request) {
 		for (int i = this.jobEnd; i > this.jobStart; i--)
 			// don't check job at jobStart, as it may have already started
-			if (request.equals(this.awaitingJobs[i]))
+			if (request.equals(this.awaitingJobs[i])
+					&& !isDispatched(this.awaitingJobs[i]))
 				return true;
 		return false;
 	}
@@ -286,6 +305,16 @@ public abstract class JobManager implements Runnable {
 
 	public abstract String processName();
 
+	/**
+	 * Answers the maximum number of jobs executed at the same time. If it is
+	 * greater than one, {@link IContainerJob}s for different containers are
+	 * executed concurrently by a pool of worker threads, all other jobs are
+	 * still executed alone. Queried once when background processing starts.
+	 */
+	protected int getConcurrentJobsLimit() {
+		return 1;
+	}
+
 	private static final class WaitJob implements IJob {
 		@Override
 		public boolean belongsTo(String jobFamily) {
@@ -377,7 +406,12 @@ public abstract class JobManager implements Runnable {
 	public void run() {
 		long idlingStart = -1;
 		activateProcessing();
+		this.concurrentJobsLimit = getConcurrentJobsLimit();
 		try {
+			if (this.concurrentJobsLimit > 1) {
+				dispatchJobs(this.concurrentJobsLimit);
+				return;
+			}
 			while (this.processingThread != null) {
 				try {
 					IJob job;
@@ -457,6 +491,202 @@ public abstract class JobManager implements Runnable {
 		}
 	}
 
+	/**
+	 * Loop dispatching the awaiting jobs to a pool of worker threads, at most
+	 * the specified number of jobs are executed at the same time.
+	 */
+	private void dispatchJobs(int limit) {
+		final String name = this.processName();
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ExecutorService workers = Executors.newFixedThreadPool(limit,
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r,
+								name + " #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+						thread.setDaemon(true);
+						thread.setPriority(Thread.NORM_PRIORITY - 1);
+						return thread;
+					}
+				});
+		long idlingStart = -1;
+		try {
+			while (this.processingThread != null) {
+				try {
+					final IJob job;
+					boolean idle = false;
+					synchronized (this) {
+						// handle shutdown case when notifyAll came before the
+						// wait but after the while loop was entered
+						if (this.processingThread == null)
+							continue;
+
+						job = nextConcurrentJob(limit);
+						if (job == null) {
+							if (currentJob() == null) {
+								idle = true;
+								if (idlingStart < 0) {
+									idlingStart = System.currentTimeMillis();
+									notifyIdle();
+								} else
+									notifyIdle(System.currentTimeMillis()
+											- idlingStart);
+							}
+							this.wait(); // wait until a new job is posted,
+							// a running one has completed or reenabled
+						} else {
+							idlingStart = -1;
+							synchronized (this.concurrentJobs) {
+								this.concurrentJobs.put(job, Boolean.TRUE);
+							}
+							this.executing = true;
+						}
+					}
+					if (job == null) {
+						if (idle) {
+							notifyIdle(System.currentTimeMillis() - idlingStart);
+							// just woke up, delay before processing any new
+							// jobs, allow some time for the active thread to
+							// finish
+							synchronized (delaySignal) {
+								delaySignal.wait(50);
+							}
+						}
+						continue;
+					}
+					if (VERBOSE) {
+						Util.verbose(awaitingJobsCount() + " awaiting jobs"); //$NON-NLS-1$
+						Util.verbose("STARTING background job - " + job); //$NON-NLS-1$
+					}
+					workers.execute(new Runnable() {
+						@Override
+						public void run() {
+							executeConcurrentJob(job);
+						}
+					});
+				} catch (InterruptedException e) { // background indexing was
+					// interrupted
+				}
+			}
+		} finally {
+			workers.shutdown();
+		}
+	}
+
+	/**
+	 * Answers the first awaiting job which can be started now or
+	 * <code>null</code>. Must be called while holding the lock of this job
+	 * manager.
+	 */
+	private IJob nextConcurrentJob(int limit) {
+		if (this.enableCount <= 0)
+			return null;
+		synchronized (this.concurrentJobs) {
+			int running = 0;
+			for (Boolean executing : this.concurrentJobs.values())
+				if (executing.booleanValue())
+					running++;
+			if (running >= limit)
+				return null;
+			Set<Object> busyContainers = new HashSet<>();
+			for (int i = this.jobStart; i <= this.jobEnd; i++) {
+				IJob job = this.awaitingJobs[i];
+				Boolean executing = this.concurrentJobs.get(job);
+				if (!(job instanceof IContainerJob)) {
+					// executed alone, once all the previous jobs are completed
+					if (executing != null || i > this.jobStart)
+						return null;
+					return running == 0 ? job : null;
+				}
+				if (executing == Boolean.FALSE)
+					continue; // already completed
+				// keep the order of the jobs updating the same container
+				if (busyContainers
+						.add(((IContainerJob) job).getContainerKey())
+						&& executing == null)
+					return job;
+			}
+		}
+		return null;
+	}
+
+	private void executeConcurrentJob(IJob job) {
+		try {
+			/* boolean status = */job.execute(null);
+		} catch (RuntimeException e) {
+			Util.log(e, "Background Indexer Crash Recovery"); //$NON-NLS-1$
+		} finally {
+			if (VERBOSE)
+				Util.verbose("FINISHED background job - " + job); //$NON-NLS-1$
+			// mark it completed first, without taking the lock of the job
+			// manager, as discardJobs() might be waiting for it
+			synchronized (this.concurrentJobs) {
+				this.concurrentJobs.put(job, Boolean.FALSE);
+			}
+			synchronized (this) {
+				for (int i = this.jobStart; i <= this.jobEnd; i++) {
+					if (this.awaitingJobs[i] == job) {
+						// move it to the head of the queue, so the completed
+						// job is always the current one for moveToNextJob()
+						System.arraycopy(this.awaitingJobs, this.jobStart,
+								this.awaitingJobs, this.jobStart + 1,
+								i - this.jobStart);
+						this.awaitingJobs[this.jobStart] = job;
+						moveToNextJob();
+						break;
+					}
+				}
+				synchronized (this.concurrentJobs) {
+					this.concurrentJobs.remove(job);
+					this.executing = this.concurrentJobs
+							.containsValue(Boolean.TRUE);
+				}
+				this.notifyAll(); // wake up the dispatching thread
+			}
+		}
+	}
+
+	private boolean isDispatched(IJob job) {
+		synchronized (this.concurrentJobs) {
+			return this.concurrentJobs.containsKey(job);
+		}
+	}
+
+	/**
+	 * Cancels the jobs of the given family being executed by the worker pool
+	 * and waits until they are completed. Answers <code>false</code> if jobs
+	 * are executed one at a time by the processing thread.
+	 */
+	private boolean cancelConcurrentJobs(String jobFamily) {
+		if (this.concurrentJobsLimit <= 1)
+			return false;
+		final IJob[] running;
+		synchronized (this.concurrentJobs) {
+			running = this.concurrentJobs.keySet()
+					.toArray(new IJob[this.concurrentJobs.size()]);
+		}
+		for (IJob job : running) {
+			if (jobFamily == null || job.belongsTo(jobFamily)) {
+				job.cancel();
+				// wait until this job has finished
+				while (this.processingThread != null) {
+					synchronized (this.concurrentJobs) {
+						if (this.concurrentJobs.get(job) != Boolean.TRUE)
+							break;
+					}
+					try {
+						if (VERBOSE)
+							Util.verbose("-> waiting end of current background job - " + job); //$NON-NLS-1$
+						Thread.sleep(50);
+					} catch (InterruptedException e) {
+						// ignore
+					}
+				}
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Stop background processing, and wait until the current job is completed
 	 * before returning
@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.ti;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.dltk.ti.goals.GoalEvaluator;
+import org.eclipse.dltk.ti.goals.IGoal;
+import org.eclipse.dltk.ti.statistics.IEvaluationStatisticsRequestor;
+
+/**
+ * {@link GoalEngine} evaluating the independent subgoals at the same time on
+ * the fork-join pool.
+ * <p>
+ * The calls of each evaluator are still sequential, so the evaluators don't
+ * have to be thread safe, however the ones sharing some state with other
+ * evaluators (and the evaluator factory) have to be. The goal requested again
+ * while it is evaluated is not evaluated twice: the requesting evaluator
+ * receives the result when it is ready, or {@link GoalState#RECURSIVE} if the
+ * goal depends on that evaluator. The pruner is called from the different
+ * threads, the statistics requestor receives the events one at a time.
+ */
+public class ConcurrentGoalEngine extends GoalEngine {
+
+	private static ForkJoinPool pool;
+
+	private static synchronized ForkJoinPool getPool() {
+		if (pool == null) {
+			pool = new ForkJoinPool(
+					Math.max(2, Runtime.getRuntime().availableProcessors()));
+		}
+		return pool;
+	}
+
+	/**
+	 * Stops the threads of the pool once the evaluations in progress are
+	 * done, called when the model is shut down.
+	 */
+	public static synchronized void shutdown() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	private final IGoalEvaluatorFactory evaluatorFactory;
+
+	public ConcurrentGoalEngine(IGoalEvaluatorFactory evaluatorFactory) {
+		super(evaluatorFactory);
+		this.evaluatorFactory = evaluatorFactory;
+	}
+
+	@Override
+	public Object evaluateGoal(IGoal rootGoal, IPruner pruner,
+			IEvaluationStatisticsRequestor statisticsRequestor) {
+		return new Evaluation(pruner,
+				new SynchronizedStatisticsRequestor(statisticsRequestor != null
+						? statisticsRequestor
+						: NO_STATISTICS)).run(rootGoal);
+	}
+
+	private static class GoalNode {
+		final IGoal goal;
+
+		// guarded by the evaluation lock
+		boolean done;
+		GoalState state;
+		Object result;
+		boolean exact;
+		final List<GoalNode> waiters = new ArrayList<>(1);
+		final Set<GoalNode> waitingOn = new HashSet<>();
+
+		// guarded by the node itself
+		GoalEvaluator evaluator;
+		long timeCreated;
+		int totalSubgoals;
+		int successfulSubgoals;
+		int subgoalsLeft;
+		boolean subgoalsExact = true;
+
+		GoalNode(IGoal goal) {
+			this.goal = goal;
+		}
+	}
+
+	private class Evaluation {
+		private final IPruner pruner;
+		private final IEvaluationStatisticsRequestor statistics;
+		private final ForkJoinPool pool = getPool();
+		private final Object lock = new Object();
+		private final Map<IGoal, GoalNode> nodes = new HashMap<>();
+		private final CompletableFuture<Object> rootResult = new CompletableFuture<>();
+		private GoalNode root;
+		private volatile boolean aborted;
+
+		Evaluation(IPruner pruner, IEvaluationStatisticsRequestor statistics) {
+			this.pruner = pruner;
+			this.statistics = statistics;
+		}
+
+		Object run(IGoal rootGoal) {
+			if (pruner != null) {
+				pruner.init();
+			}
+			statistics.evaluationStarted(rootGoal);
+			root = new GoalNode(rootGoal);
+			synchronized (lock) {
+				nodes.put(rootGoal, root);
+			}
+			fork(() -> evaluate(root, null));
+			try {
+				return rootResult.join();
+			} catch (CompletionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			}
+		}
+
+		private void fork(Runnable task) {
+			final ForkJoinTask<?> t = ForkJoinTask.adapt(() -> {
+				if (aborted) {
+					return;
+				}
+				try {
+					task.run();
+				} catch (Throwable e) {
+					aborted = true;
+					rootResult.completeExceptionally(e);
+				}
+			});
+			if (ForkJoinTask.getPool() == pool) {
+				t.fork();
+			} else {
+				pool.execute(t);
+			}
+		}
+
+		private void evaluate(GoalNode node, GoalNode creator) {
+			if (isResultCaching()) {
+				final Object cached = GoalResultCache.get(node.goal);
+				if (cached != GoalResultCache.NOT_FOUND) {
+					statistics.goalStateChanged(node.goal, GoalState.DONE,
+							null);
+					complete(node, GoalState.DONE, cached, true);
+					return;
+				}
+			}
+			if (pruner != null && creator != null
+					&& pruner.prune(node.goal, getStatistics(creator))) {
+				statistics.goalStateChanged(node.goal, GoalState.PRUNED, null);
+				complete(node, GoalState.PRUNED, null, false);
+				return;
+			}
+			final GoalEvaluator evaluator = evaluatorFactory
+					.createEvaluator(node.goal);
+			Assert.isNotNull(evaluator);
+			statistics.goalEvaluatorAssigned(node.goal, evaluator);
+			synchronized (node) {
+				node.evaluator = evaluator;
+				node.timeCreated = System.currentTimeMillis();
+				IGoal[] newGoals = evaluator.init();
+				if (newGoals == null) {
+					newGoals = IGoal.NO_GOALS;
+				}
+				statistics.evaluatorInitialized(evaluator, newGoals,
+						System.currentTimeMillis() - node.timeCreated);
+				if (newGoals.length == 0) {
+					final Object result = produceResult(node);
+					statistics.goalStateChanged(node.goal, GoalState.DONE,
+							null);
+					complete(node, GoalState.DONE, result, true);
+				} else {
+					node.subgoalsLeft = newGoals.length;
+					node.totalSubgoals = newGoals.length;
+					statistics.goalStateChanged(node.goal, GoalState.WAITING,
+							null);
+					for (IGoal goal : newGoals) {
+						request(node, goal);
+					}
+				}
+			}
+		}
+
+		private EvaluatorStatistics getStatistics(GoalNode node) {
+			synchronized (node) {
+				return new EvaluatorStatistics(node.totalSubgoals,
+						System.currentTimeMillis() - node.timeCreated,
+						node.totalSubgoals - node.subgoalsLeft,
+						node.successfulSubgoals);
+			}
+		}
+
+		private Object produceResult(GoalNode node) {
+			final long time = System.currentTimeMillis();
+			final Object result = node.evaluator.produceResult();
+			statistics.evaluatorProducedResult(node.evaluator, result,
+					System.currentTimeMillis() - time);
+			return result;
+		}
+
+		/**
+		 * Called holding the monitor of the parent.
+		 */
+		private void request(GoalNode parent, IGoal goal) {
+			synchronized (lock) {
+				GoalNode node = nodes.get(goal);
+				if (node == null) {
+					final GoalNode newNode = new GoalNode(goal);
+					nodes.put(goal, newNode);
+					newNode.waiters.add(parent);
+					parent.waitingOn.add(newNode);
+					fork(() -> evaluate(newNode, parent));
+				} else if (node.done) {
+					final GoalNode sub = node;
+					final GoalState state = node.state;
+					final Object result = node.result;
+					final boolean exact = node.exact;
+					fork(() -> deliver(parent, sub, state, result, exact));
+				} else if (node == parent || dependsOn(node, parent)) {
+					final GoalNode sub = node;
+					fork(() -> deliver(parent, sub, GoalState.RECURSIVE, null,
+							false));
+				} else {
+					node.waiters.add(parent);
+					parent.waitingOn.add(node);
+				}
+			}
+		}
+
+		/**
+		 * Checks if the node waits for the target, directly or through other
+		 * nodes. Called holding the lock.
+		 */
+		private boolean dependsOn(GoalNode node, GoalNode target) {
+			final Set<GoalNode> visited = new HashSet<>();
+			final List<GoalNode> queue = new ArrayList<>();
+			queue.add(node);
+			visited.add(node);
+			for (int i = 0; i < queue.size(); ++i) {
+				for (GoalNode next : queue.get(i).waitingOn) {
+					if (next == target) {
+						return true;
+					}
+					if (visited.add(next)) {
+						queue.add(next);
+					}
+				}
+			}
+			return false;
+		}
+
+		private void deliver(GoalNode parent, GoalNode sub, GoalState state,
+				Object result, boolean exact) {
+			synchronized (parent) {
+				synchronized (lock) {
+					parent.waitingOn.remove(sub);
+				}
+				if (state != GoalState.DONE || !exact) {
+					parent.subgoalsExact = false;
+				}
+				final long time = System.currentTimeMillis();
+				IGoal[] newGoals = parent.evaluator.subGoalDone(sub.goal,
+						result, state);
+				statistics.evaluatorReceivedResult(parent.evaluator, sub.goal,
+						newGoals, System.currentTimeMillis() - time);
+				if (newGoals == null) {
+					newGoals = IGoal.NO_GOALS;
+				}
+				parent.subgoalsLeft += newGoals.length - 1;
+				parent.totalSubgoals += newGoals.length;
+				if (state == GoalState.DONE && result != null) {
+					parent.successfulSubgoals++;
+				}
+				for (IGoal goal : newGoals) {
+					request(parent, goal);
+				}
+				if (parent.subgoalsLeft == 0) {
+					complete(parent, GoalState.DONE, produceResult(parent),
+							parent.subgoalsExact);
+				}
+			}
+		}
+
+		private void complete(GoalNode node, GoalState state, Object result,
+				boolean exact) {
+			final List<GoalNode> waiters;
+			synchronized (lock) {
+				node.state = state;
+				node.result = result;
+				node.exact = exact;
+				node.done = true;
+				waiters = new ArrayList<>(node.waiters);
+				node.waiters.clear();
+				node.waitingOn.clear();
+			}
+			if (isResultCaching() && exact) {
+				GoalResultCache.put(node.goal, result);
+			}
+			if (node == root) {
+				rootResult.complete(result);
+			}
+			for (GoalNode waiter : waiters) {
+				fork(() -> deliver(waiter, node, state, result, exact));
+			}
+		}
+	}
+
+	/**
+	 * Passes the events to the requestor one at a time.
+	 */
+	private static class SynchronizedStatisticsRequestor
+			implements IEvaluationStatisticsRequestor {
+		private final IEvaluationStatisticsRequestor target;
+
+		SynchronizedStatisticsRequestor(IEvaluationStatisticsRequestor target) {
+			this.target = target;
+		}
+
+		@Override
+		public synchronized void evaluationStarted(IGoal rootGoal) {
+			target.evaluationStarted(rootGoal);
+		}
+
+		@Override
+		public synchronized void evaluatorInitialized(GoalEvaluator evaluator,
+				IGoal[] subgoals, long time) {
+			target.evaluatorInitialized(evaluator, subgoals, time);
+		}
+
+		@Override
+		public synchronized void evaluatorProducedResult(
+				GoalEvaluator evaluator, Object result, long time) {
+			target.evaluatorProducedResult(evaluator, result, time);
+		}
+
+		@Override
+		public synchronized void evaluatorReceivedResult(
+				GoalEvaluator evaluator, IGoal finishedGoal,
+				IGoal[] newSubgoals, long time) {
+			target.evaluatorReceivedResult(evaluator, finishedGoal,
+					newSubgoals, time);
+		}
+
+		@Override
+		public synchronized void goalEvaluatorAssigned(IGoal goal,
+				GoalEvaluator evaluator) {
+			target.goalEvaluatorAssigned(goal, evaluator);
+		}
+
+		@Override
+		public synchronized void goalStateChanged(IGoal goal, GoalState state,
+				GoalState oldState) {
+			target.goalStateChanged(goal, state, oldState);
+		}
+	}
+}
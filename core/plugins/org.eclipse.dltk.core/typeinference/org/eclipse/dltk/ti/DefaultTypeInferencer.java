@@ -199,7 +199,35 @@ public class DefaultTypeInferencer implements ITypeInferencer {
 	}
 
 	public DefaultTypeInferencer(IGoalEvaluatorFactory userFactory) {
-		engine = new GoalEngine(new MapBasedEvaluatorFactory());
+		this(userFactory, false);
+	}
+
+	/**
+	 * @param concurrent
+	 *            whether the independent goals are evaluated at the same time
+	 *            by the {@link ConcurrentGoalEngine}, which requires the
+	 *            evaluators sharing any state to be thread safe
+	 */
+	public DefaultTypeInferencer(IGoalEvaluatorFactory userFactory,
+			boolean concurrent) {
+		this(userFactory, concurrent, false);
+	}
+
+	/**
+	 * @param concurrent
+	 *            whether the independent goals are evaluated at the same time
+	 *            by the {@link ConcurrentGoalEngine}, which requires the
+	 *            evaluators sharing any state to be thread safe
+	 * @param resultCaching
+	 *            whether the results of the goals are reused between the
+	 *            evaluations, see {@link GoalResultCache}
+	 */
+	public DefaultTypeInferencer(IGoalEvaluatorFactory userFactory,
+			boolean concurrent, boolean resultCaching) {
+		final IGoalEvaluatorFactory factory = new MapBasedEvaluatorFactory();
+		engine = concurrent ? new ConcurrentGoalEngine(factory)
+				: new GoalEngine(factory);
+		engine.setResultCaching(resultCaching);
 		this.userFactory = userFactory;
 		initStdGoals();
 	}
@@ -38,12 +38,19 @@ public class GoalEngine {
 
 	private IEvaluationStatisticsRequestor statisticsRequestor;
 
+	private boolean resultCaching;
+
 	private static class EvaluatorState {
 		public long timeCreated;
 		public int totalSubgoals;
 		public int successfulSubgoals;
 		public int subgoalsLeft;
 		public List<IGoal> subgoals = new ArrayList<>();
+		/**
+		 * Whether all the subgoals were evaluated completely, without pruning
+		 * or recursion.
+		 */
+		public boolean exact = true;
 
 		public EvaluatorState(int subgoalsLeft) {
 			this.subgoalsLeft = subgoalsLeft;
@@ -68,18 +75,66 @@ public class GoalEngine {
 		public GoalEvaluator creator;
 		public GoalState state;
 		public Object result;
+		public boolean exact;
 	}
 
+	/**
+	 * Statistics requestor ignoring all the events.
+	 */
+	static final IEvaluationStatisticsRequestor NO_STATISTICS = new IEvaluationStatisticsRequestor() {
+		@Override
+		public void evaluationStarted(IGoal rootGoal) {
+		}
+
+		@Override
+		public void evaluatorInitialized(GoalEvaluator evaluator,
+				IGoal[] subgoals, long time) {
+		}
+
+		@Override
+		public void evaluatorProducedResult(GoalEvaluator evaluator,
+				Object result, long time) {
+		}
+
+		@Override
+		public void evaluatorReceivedResult(GoalEvaluator evaluator,
+				IGoal finishedGoal, IGoal[] newSubgoals, long time) {
+		}
+
+		@Override
+		public void goalEvaluatorAssigned(IGoal goal,
+				GoalEvaluator evaluator) {
+		}
+
+		@Override
+		public void goalStateChanged(IGoal goal, GoalState state,
+				GoalState oldState) {
+		}
+	};
+
 	public GoalEngine(IGoalEvaluatorFactory evaluatorFactory) {
 		this.evaluatorFactory = evaluatorFactory;
 	}
 
+	/**
+	 * Enables reusing the results of the goals between evaluations, see
+	 * {@link GoalResultCache}.
+	 */
+	public void setResultCaching(boolean value) {
+		this.resultCaching = value;
+	}
+
+	public boolean isResultCaching() {
+		return resultCaching;
+	}
+
 	private void storeGoal(IGoal goal, GoalState state, Object result,
 			GoalEvaluator creator) {
 		GoalEvaluationState es = new GoalEvaluationState();
 		es.result = result;
 		es.state = state;
 		es.creator = creator;
+		es.exact = state == GoalState.DONE;
 		goalStates.put(goal, es);
 		this.statisticsRequestor.goalStateChanged(goal, state, null);
 		// TODO: add old state
@@ -104,6 +159,10 @@ public class GoalEngine {
 		if (state == GoalState.WAITING) {
 			state = GoalState.RECURSIVE;
 		}
+		EvaluatorState ev = getEvaluatorState(evaluator);
+		if (state != GoalState.DONE || !subGoalState.exact) {
+			ev.exact = false;
+		}
 
 		t = System.currentTimeMillis();
 		IGoal[] newGoals = evaluator.subGoalDone(subGoal, result, state);
@@ -115,7 +174,6 @@ public class GoalEngine {
 		for (int i = 0; i < newGoals.length; i++) {
 			workingQueue.add(new WorkingPair(newGoals[i], evaluator));
 		}
-		EvaluatorState ev = getEvaluatorState(evaluator);
 		ev.subgoalsLeft--;
 		ev.subgoalsLeft += newGoals.length;
 		ev.totalSubgoals += newGoals.length;
@@ -132,6 +190,10 @@ public class GoalEngine {
 			Assert.isNotNull(st);
 			st.state = GoalState.DONE;
 			st.result = newRes;
+			st.exact = ev.exact;
+			if (resultCaching && st.exact) {
+				GoalResultCache.put(evaluator.getGoal(), newRes);
+			}
 			if (st.creator != null) {
 				notifyEvaluator(st.creator, evaluator.getGoal());
 			}
@@ -159,36 +221,7 @@ public class GoalEngine {
 		long time = 0;
 
 		if (statisticsRequestor == null) {
-			statisticsRequestor = new IEvaluationStatisticsRequestor() {
-				@Override
-				public void evaluationStarted(IGoal rootGoal) {
-				}
-
-				@Override
-				public void evaluatorInitialized(GoalEvaluator evaluator,
-						IGoal[] subgoals, long time) {
-				}
-
-				@Override
-				public void evaluatorProducedResult(GoalEvaluator evaluator,
-						Object result, long time) {
-				}
-
-				@Override
-				public void evaluatorReceivedResult(GoalEvaluator evaluator,
-						IGoal finishedGoal, IGoal[] newSubgoals, long time) {
-				}
-
-				@Override
-				public void goalEvaluatorAssigned(IGoal goal,
-						GoalEvaluator evaluator) {
-				}
-
-				@Override
-				public void goalStateChanged(IGoal goal, GoalState state,
-						GoalState oldState) {
-				}
-			};
+			statisticsRequestor = NO_STATISTICS;
 		}
 		this.statisticsRequestor = statisticsRequestor;
 		reset();
@@ -207,6 +240,17 @@ public class GoalEngine {
 			if (state != null && pair.creator != null) {
 				notifyEvaluator(pair.creator, pair.goal);
 			} else {
+				if (resultCaching) {
+					final Object cached = GoalResultCache.get(pair.goal);
+					if (cached != GoalResultCache.NOT_FOUND) {
+						storeGoal(pair.goal, GoalState.DONE, cached,
+								pair.creator);
+						if (pair.creator != null) {
+							notifyEvaluator(pair.creator, pair.goal);
+						}
+						continue;
+					}
+				}
 				boolean prune = false;
 				if (pruner != null && pair.creator != null) {
 					prune = pruner.prune(pair.goal,
@@ -254,6 +298,9 @@ public class GoalEngine {
 								result, System.currentTimeMillis() - time);
 						storeGoal(pair.goal, GoalState.DONE, result,
 								pair.creator);
+						if (resultCaching) {
+							GoalResultCache.put(pair.goal, result);
+						}
 						if (pair.creator != null) {
 							notifyEvaluator(pair.creator, pair.goal);
 						}
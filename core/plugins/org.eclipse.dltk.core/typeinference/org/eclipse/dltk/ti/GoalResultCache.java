@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.ti;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IBuildpathEntry;
+import org.eclipse.dltk.core.IElementChangedListener;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IModelElementDelta;
+import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.ModelException;
+import org.eclipse.dltk.ti.goals.IGoal;
+
+/**
+ * Results of the goals evaluated by the {@link GoalEngine}, kept between the
+ * evaluations, one bounded cache per project.
+ * <p>
+ * The goals are looked up by their equality, as within the single evaluation.
+ * Only the goals with the {@link ISourceModuleContext} are cached, grouped by
+ * the source module, and the results are returned only while the context has
+ * the same module declaration as at the time of the evaluation: a new
+ * declaration is built whenever the source module changes, and the results of
+ * the previous one are then dropped. As the goals reference the nodes of the
+ * declaration, the results of a module are only softly reachable and the
+ * number of the modules is bounded.
+ * <p>
+ * As the result of a goal may depend on the other modules, e.g. found by the
+ * search, the cache of the project is cleared when one of its modules is
+ * reconciled or the project or one of the projects it depends on is changed.
+ * The caching is disabled by default, see
+ * {@link GoalEngine#setResultCaching(boolean)}.
+ */
+public final class GoalResultCache {
+
+	/**
+	 * Returned by {@link #get(IGoal)} if there is no cached result.
+	 */
+	public static final Object NOT_FOUND = new Object();
+
+	private static final int MAX_MODULES = 32;
+
+	private static final int MAX_ENTRIES = 500;
+
+	private static final Map<IScriptProject, GoalResultCache> caches = new HashMap<>();
+
+	private static final IElementChangedListener listener = new IElementChangedListener() {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			final IModelElementDelta delta = event.getDelta();
+			if (delta == null) {
+				return;
+			}
+			if (event.getType() == ElementChangedEvent.POST_RECONCILE) {
+				modulesReconciled(delta);
+			} else {
+				projectsChanged(delta);
+			}
+		}
+	};
+
+	/**
+	 * Results of the goals evaluated against the single module declaration.
+	 */
+	private static class ModuleResults {
+		final ModuleDeclaration rootNode;
+		final Map<IGoal, Object> results = new LinkedHashMap<IGoal, Object>(16,
+				0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<IGoal, Object> eldest) {
+				return size() > MAX_ENTRIES;
+			}
+		};
+
+		ModuleResults(ModuleDeclaration rootNode) {
+			this.rootNode = rootNode;
+		}
+	}
+
+	private final IScriptProject project;
+	private final Map<ISourceModule, SoftReference<ModuleResults>> modules = new LinkedHashMap<ISourceModule, SoftReference<ModuleResults>>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<ISourceModule, SoftReference<ModuleResults>> eldest) {
+			return size() > MAX_MODULES;
+		}
+	};
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	private GoalResultCache(IScriptProject project) {
+		this.project = project;
+	}
+
+	/**
+	 * Returns the cache of the specified project, creating it if needed.
+	 */
+	public static GoalResultCache getCache(IScriptProject project) {
+		synchronized (caches) {
+			if (caches.isEmpty()) {
+				DLTKCore.addElementChangedListener(listener,
+						ElementChangedEvent.POST_CHANGE
+								| ElementChangedEvent.POST_RECONCILE);
+			}
+			GoalResultCache cache = caches.get(project);
+			if (cache == null) {
+				cache = new GoalResultCache(project);
+				caches.put(project, cache);
+			}
+			return cache;
+		}
+	}
+
+	private static ISourceModuleContext getContext(IGoal goal) {
+		final IContext context = goal.getContext();
+		if (context instanceof ISourceModuleContext) {
+			final ISourceModuleContext moduleContext = (ISourceModuleContext) context;
+			if (moduleContext.getSourceModule() != null
+					&& moduleContext.getRootNode() != null) {
+				return moduleContext;
+			}
+		}
+		return null;
+	}
+
+	private static GoalResultCache getCache(ISourceModuleContext context) {
+		final IScriptProject project = context.getSourceModule()
+				.getScriptProject();
+		return project != null ? getCache(project) : null;
+	}
+
+	/**
+	 * Returns the cached result of the goal, possibly <code>null</code>, or
+	 * {@link #NOT_FOUND}.
+	 */
+	public static Object get(IGoal goal) {
+		final ISourceModuleContext context = getContext(goal);
+		if (context == null) {
+			return NOT_FOUND;
+		}
+		final GoalResultCache cache = getCache(context);
+		return cache != null ? cache.lookup(goal, context.getSourceModule(),
+				context.getRootNode()) : NOT_FOUND;
+	}
+
+	/**
+	 * Remembers the result of the goal. Should be called only for the results
+	 * not affected by pruning or recursion.
+	 */
+	public static void put(IGoal goal, Object result) {
+		final ISourceModuleContext context = getContext(goal);
+		if (context != null) {
+			final GoalResultCache cache = getCache(context);
+			if (cache != null) {
+				cache.store(goal, context.getSourceModule(),
+						context.getRootNode(), result);
+			}
+		}
+	}
+
+	private ModuleResults getResults(ISourceModule module) {
+		final SoftReference<ModuleResults> reference = modules.get(module);
+		return reference != null ? reference.get() : null;
+	}
+
+	private Object lookup(IGoal goal, ISourceModule module,
+			ModuleDeclaration rootNode) {
+		synchronized (modules) {
+			final ModuleResults results = getResults(module);
+			if (results != null && results.rootNode == rootNode
+					&& results.results.containsKey(goal)) {
+				hits.incrementAndGet();
+				return results.results.get(goal);
+			}
+		}
+		misses.incrementAndGet();
+		return NOT_FOUND;
+	}
+
+	private void store(IGoal goal, ISourceModule module,
+			ModuleDeclaration rootNode, Object result) {
+		synchronized (modules) {
+			ModuleResults results = getResults(module);
+			if (results == null || results.rootNode != rootNode) {
+				// the results of the previous declaration are not needed
+				results = new ModuleResults(rootNode);
+				modules.put(module, new SoftReference<>(results));
+			}
+			results.results.put(goal, result);
+		}
+	}
+
+	public IScriptProject getProject() {
+		return project;
+	}
+
+	public int size() {
+		int size = 0;
+		synchronized (modules) {
+			for (SoftReference<ModuleResults> reference : modules.values()) {
+				final ModuleResults results = reference.get();
+				if (results != null) {
+					size += results.results.size();
+				}
+			}
+		}
+		return size;
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	public void clear() {
+		synchronized (modules) {
+			modules.clear();
+		}
+	}
+
+	/**
+	 * Forgets the results of the goals evaluated in the specified source
+	 * module or in its working copies.
+	 */
+	public void clear(ISourceModule module) {
+		final ISourceModule primary = module.getPrimary();
+		synchronized (modules) {
+			for (Iterator<ISourceModule> i = modules.keySet().iterator(); i
+					.hasNext();) {
+				if (primary.equals(i.next().getPrimary())) {
+					i.remove();
+				}
+			}
+		}
+	}
+
+	private static void modulesReconciled(IModelElementDelta delta) {
+		final IModelElement element = delta.getElement();
+		if (element.getElementType() == IModelElement.SOURCE_MODULE) {
+			// the results computed from the module may be cached for the
+			// other modules of the project and of the dependent projects
+			final IScriptProject project = element.getScriptProject();
+			if (project != null) {
+				projectChanged(project, false);
+			}
+		} else if (element.getElementType() < IModelElement.SOURCE_MODULE) {
+			for (IModelElementDelta child : delta.getAffectedChildren()) {
+				modulesReconciled(child);
+			}
+		}
+	}
+
+	private static void projectsChanged(IModelElementDelta delta) {
+		final IModelElement element = delta.getElement();
+		if (element.getElementType() == IModelElement.SCRIPT_MODEL) {
+			for (IModelElementDelta child : delta.getAffectedChildren()) {
+				projectsChanged(child);
+			}
+		} else {
+			final IScriptProject project = element.getScriptProject();
+			if (project != null) {
+				projectChanged(project,
+						delta.getKind() == IModelElementDelta.REMOVED
+								&& element == project);
+			}
+		}
+	}
+
+	private static void projectChanged(IScriptProject project,
+			boolean removed) {
+		final List<GoalResultCache> candidates;
+		synchronized (caches) {
+			if (removed) {
+				caches.remove(project);
+			}
+			candidates = new ArrayList<>(caches.values());
+		}
+		// the project itself and the projects depending on it
+		final List<IPath> changed = new ArrayList<>();
+		changed.add(project.getPath());
+		for (int i = 0; i < changed.size(); ++i) {
+			for (int j = candidates.size(); --j >= 0;) {
+				final GoalResultCache cache = candidates.get(j);
+				if (cache.project.getPath().equals(changed.get(i))
+						|| dependsOn(cache.project, changed.get(i))) {
+					candidates.remove(j);
+					changed.add(cache.project.getPath());
+					cache.clear();
+				}
+			}
+		}
+	}
+
+	private static boolean dependsOn(IScriptProject project, IPath path) {
+		try {
+			for (IBuildpathEntry entry : project.getRawBuildpath()) {
+				if (entry.getEntryKind() == IBuildpathEntry.BPE_PROJECT
+						&& path.equals(entry.getPath())) {
+					return true;
+				}
+			}
+		} catch (ModelException e) {
+			// the project is closed or removed
+		}
+		return false;
+	}
+}
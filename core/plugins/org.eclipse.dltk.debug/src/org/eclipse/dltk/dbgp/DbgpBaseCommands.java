@@ -12,6 +12,7 @@ package org.eclipse.dltk.dbgp;
 
 import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.internal.DbgpTransactionManager;
+import org.eclipse.dltk.dbgp.internal.IDbgpRawCommunicator;
 import org.w3c.dom.Element;
 
 public class DbgpBaseCommands {
@@ -44,6 +45,18 @@ public class DbgpBaseCommands {
 		return communicator.communicate(request);
 	}
 
+	/**
+	 * Returns the raw XML of the response, or <code>null</code> without sending
+	 * the request if the communicator does not provide the raw responses.
+	 */
+	protected byte[] communicateRaw(DbgpRequest request) throws DbgpException {
+		if (communicator instanceof IDbgpRawCommunicator) {
+			return ((IDbgpRawCommunicator) communicator)
+					.communicateRaw(request);
+		}
+		return null;
+	}
+
 	protected void send(DbgpRequest request) throws DbgpException {
 		communicator.send(request);
 	}
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.dbgp.internal;
+
+import org.eclipse.dltk.dbgp.DbgpRequest;
+import org.eclipse.dltk.dbgp.IDbgpCommunicator;
+import org.eclipse.dltk.dbgp.exceptions.DbgpException;
+
+/**
+ * Communicator able to return the responses without parsing them, so they
+ * could be decoded by the streaming parser.
+ */
+public interface IDbgpRawCommunicator extends IDbgpCommunicator {
+
+	/**
+	 * Sends the request and returns the raw XML of the response. The response
+	 * is not checked for errors.
+	 */
+	byte[] communicateRaw(DbgpRequest request) throws DbgpException;
+}
@@ -21,6 +21,7 @@ import org.eclipse.dltk.dbgp.IDbgpProperty;
 import org.eclipse.dltk.dbgp.commands.IDbgpContextCommands;
 import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlEntityParser;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlStreamParser;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -75,6 +76,15 @@ public class DbgpContextCommands extends DbgpBaseCommands
 		return list.toArray(new IDbgpProperty[list.size()]);
 	}
 
+	private IDbgpProperty[] getContextProperties(DbgpRequest request)
+			throws DbgpException {
+		final byte[] xml = communicateRaw(request);
+		if (xml != null) {
+			return DbgpXmlStreamParser.parseContextProperties(xml);
+		}
+		return parseContextPropertiesResponse(communicate(request));
+	}
+
 	@Override
 	public Map<Integer, String> getContextNames(int stackDepth)
 			throws DbgpException {
@@ -88,7 +98,7 @@ public class DbgpContextCommands extends DbgpBaseCommands
 			throws DbgpException {
 		DbgpRequest request = createRequest(CONTEXT_GET);
 		request.addOption("-d", stackDepth); //$NON-NLS-1$
-		return parseContextPropertiesResponse(communicate(request));
+		return getContextProperties(request);
 	}
 
 	@Override
@@ -97,6 +107,6 @@ public class DbgpContextCommands extends DbgpBaseCommands
 		DbgpRequest request = createRequest(CONTEXT_GET);
 		request.addOption("-d", stackDepth); //$NON-NLS-1$
 		request.addOption("-c", contextId); //$NON-NLS-1$
-		return parseContextPropertiesResponse(communicate(request));
+		return getContextProperties(request);
 	}
 }
@@ -15,12 +15,13 @@ import java.util.Map;
 
 import org.eclipse.dltk.dbgp.DbgpBaseCommands;
 import org.eclipse.dltk.dbgp.DbgpRequest;
-import org.eclipse.dltk.dbgp.IDbgpCommunicator;
 import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.exceptions.DbgpIOException;
 import org.eclipse.dltk.dbgp.exceptions.DbgpOpertionCanceledException;
+import org.eclipse.dltk.dbgp.exceptions.DbgpProtocolException;
 import org.eclipse.dltk.dbgp.exceptions.DbgpTimeoutException;
 import org.eclipse.dltk.dbgp.internal.IDbgpDebugingEngine;
+import org.eclipse.dltk.dbgp.internal.IDbgpRawCommunicator;
 import org.eclipse.dltk.dbgp.internal.packets.DbgpResponsePacket;
 import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlParser;
 import org.eclipse.dltk.debug.core.DLTKDebugPlugin;
@@ -29,7 +30,7 @@ import org.eclipse.dltk.debug.core.DebugOption;
 import org.eclipse.dltk.debug.core.IDebugOptions;
 import org.w3c.dom.Element;
 
-public class DbgpDebuggingEngineCommunicator implements IDbgpCommunicator {
+public class DbgpDebuggingEngineCommunicator implements IDbgpRawCommunicator {
 	private final int timeout;
 
 	private final IDbgpDebugingEngine engine;
@@ -61,6 +62,28 @@ public class DbgpDebuggingEngineCommunicator implements IDbgpCommunicator {
 
 	@Override
 	public Element communicate(DbgpRequest request) throws DbgpException {
+		Element response = receive(request).parseContent();
+
+		DbgpException e = DbgpXmlParser.checkError(response);
+		if (e != null) {
+			throw e;
+		}
+
+		return response;
+	}
+
+	@Override
+	public byte[] communicateRaw(DbgpRequest request) throws DbgpException {
+		final byte[] xml = receive(request).getXml();
+		if (xml == null) {
+			throw new DbgpProtocolException(
+					"Unexpected response to " + request.getCommand()); //$NON-NLS-1$
+		}
+		return xml;
+	}
+
+	private DbgpResponsePacket receive(DbgpRequest request)
+			throws DbgpException {
 		try {
 			final DbgpResponsePacket packet;
 			final int requestId = Integer
@@ -89,14 +112,7 @@ public class DbgpDebuggingEngineCommunicator implements IDbgpCommunicator {
 				throw new DbgpTimeoutException();
 			}
 
-			Element response = packet.getContent();
-
-			DbgpException e = DbgpXmlParser.checkError(response);
-			if (e != null) {
-				throw e;
-			}
-
-			return response;
+			return packet;
 		} catch (InterruptedException e) {
 			throw new DbgpOpertionCanceledException(e);
 		} catch (IOException e) {
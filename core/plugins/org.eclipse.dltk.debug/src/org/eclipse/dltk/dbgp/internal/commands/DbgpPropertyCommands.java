@@ -17,6 +17,7 @@ import org.eclipse.dltk.dbgp.commands.IDbgpPropertyCommands;
 import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlEntityParser;
 import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlParser;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlStreamParser;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
@@ -34,6 +35,15 @@ public class DbgpPropertyCommands extends DbgpBaseCommands
 		return DbgpXmlEntityParser.parseProperty((Element) properties.item(0));
 	}
 
+	private IDbgpProperty getProperty(DbgpRequest request)
+			throws DbgpException {
+		final byte[] xml = communicateRaw(request);
+		if (xml != null) {
+			return DbgpXmlStreamParser.parsePropertyResponse(xml);
+		}
+		return parsePropertyResponse(communicate(request));
+	}
+
 	public DbgpPropertyCommands(IDbgpCommunicator communicator) {
 		super(communicator);
 	}
@@ -59,7 +69,7 @@ public class DbgpPropertyCommands extends DbgpBaseCommands
 		if (page != null) {
 			request.addOption("-p", page); //$NON-NLS-1$
 		}
-		return parsePropertyResponse(communicate(request));
+		return getProperty(request);
 	}
 
 	@Override
@@ -68,7 +78,7 @@ public class DbgpPropertyCommands extends DbgpBaseCommands
 		DbgpRequest request = createRequest(PROPERTY_GET_COMMAND);
 		request.addOption("-n", name); //$NON-NLS-1$
 		request.addOption("-k", key); //$NON-NLS-1$
-		return parsePropertyResponse(communicate(request));
+		return getProperty(request);
 	}
 
 	@Override
@@ -20,6 +20,7 @@ import org.eclipse.dltk.dbgp.commands.IDbgpStackCommands;
 import org.eclipse.dltk.dbgp.exceptions.DbgpDebuggingEngineException;
 import org.eclipse.dltk.dbgp.exceptions.DbgpException;
 import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlEntityParser;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlStreamParser;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
@@ -50,6 +51,18 @@ public class DbgpStackCommands extends DbgpBaseCommands
 		return list;
 	}
 
+	private IDbgpStackLevel[] getStackLevels(DbgpRequest request)
+			throws DbgpException {
+		final byte[] xml = communicateRaw(request);
+		if (xml != null) {
+			final IDbgpStackLevel[] list = DbgpXmlStreamParser
+					.parseStackLevels(xml);
+			Arrays.sort(list, STACK_LEVEL_COMPARATOR);
+			return list;
+		}
+		return parseStackLevels(communicate(request));
+	}
+
 	private static final Comparator<IDbgpStackLevel> STACK_LEVEL_COMPARATOR = (
 			o1, o2) -> o1.getLevel() - o2.getLevel();
 
@@ -67,12 +80,12 @@ public class DbgpStackCommands extends DbgpBaseCommands
 	public IDbgpStackLevel getStackLevel(int stackDepth) throws DbgpException {
 		DbgpRequest request = createRequest(STACK_GET_COMMAND);
 		request.addOption("-d", stackDepth); //$NON-NLS-1$
-		IDbgpStackLevel[] levels = parseStackLevels(communicate(request));
+		IDbgpStackLevel[] levels = getStackLevels(request);
 		return levels.length == 1 ? levels[0] : null;
 	}
 
 	@Override
 	public IDbgpStackLevel[] getStackLevels() throws DbgpException {
-		return parseStackLevels(communicate(createRequest(STACK_GET_COMMAND)));
+		return getStackLevels(createRequest(STACK_GET_COMMAND));
 	}
 }
@@ -1,6 +1,9 @@
 package org.eclipse.dltk.dbgp.internal.packets;
 
+import org.eclipse.dltk.dbgp.exceptions.DbgpException;
+import org.eclipse.dltk.dbgp.internal.DbgpRawPacket;
 import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlPacketParser;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlStreamParser;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -10,6 +13,24 @@ public class DbgpPackageProcessor {
 	private static final String STREAM_TAG = "stream"; //$NON-NLS-1$
 	private static final String NOTIFY_TAG = "notify"; //$NON-NLS-1$
 
+	/**
+	 * Processes the raw packet. The responses are queued without building the
+	 * DOM tree, which is created only if the content is requested.
+	 */
+	public void processPacket(DbgpRawPacket packet,
+			DbgpPacketWaiter notifyWaiter,
+			DbgpResponcePacketWaiter responseWaiter,
+			DbgpPacketWaiter streamWaiter) throws DbgpException {
+		final DbgpResponsePacket response = DbgpXmlStreamParser
+				.parseResponsePacket(packet.getXml());
+		if (response != null) {
+			responseWaiter.put(response);
+		} else {
+			processPacket(packet.getParsedXml(), notifyWaiter, responseWaiter,
+					streamWaiter);
+		}
+	}
+
 	public void processPacket(Document doc, DbgpPacketWaiter notifyWaiter,
 			DbgpResponcePacketWaiter responseWaiter,
 			DbgpPacketWaiter streamWaiter) {
@@ -13,7 +13,13 @@ package org.eclipse.dltk.dbgp.internal.packets;
 import org.w3c.dom.Element;
 
 public class DbgpPacket {
-	private final Element content;
+	private Element content;
+
+	/**
+	 * Constructor for the packets which parse their content on demand.
+	 */
+	protected DbgpPacket() {
+	}
 
 	protected DbgpPacket(Element content) {
 		if (content == null) {
@@ -26,4 +32,8 @@ public class DbgpPacket {
 	public Element getContent() {
 		return this.content;
 	}
+
+	protected void setContent(Element content) {
+		this.content = content;
+	}
 }
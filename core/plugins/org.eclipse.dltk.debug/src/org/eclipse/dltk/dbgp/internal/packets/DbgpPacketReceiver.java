@@ -34,7 +34,8 @@ public class DbgpPacketReceiver extends DbgpWorkingThread {
 					logger.log(packet);
 				}
 
-				addDocument(packet.getParsedXml());
+				packatProcessor.processPacket(packet, notifyWaiter,
+						responseWaiter, streamWaiter);
 			}
 		} finally {
 			responseWaiter.terminate();
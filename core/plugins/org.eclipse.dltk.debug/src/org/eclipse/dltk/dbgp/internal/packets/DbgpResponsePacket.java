@@ -10,15 +10,62 @@
  *******************************************************************************/
 package org.eclipse.dltk.dbgp.internal.packets;
 
+import org.eclipse.dltk.dbgp.exceptions.DbgpProtocolException;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlParser;
 import org.w3c.dom.Element;
 
 public class DbgpResponsePacket extends DbgpPacket {
 	private final int transactionId;
 
+	private final byte[] xml;
+
 	public DbgpResponsePacket(Element element, int transactionId) {
 		super(element);
 
 		this.transactionId = transactionId;
+		this.xml = null;
+	}
+
+	/**
+	 * Creates the packet from the raw response, the DOM tree is built only if
+	 * the content is requested.
+	 */
+	public DbgpResponsePacket(byte[] xml, int transactionId) {
+		if (xml == null) {
+			throw new IllegalArgumentException();
+		}
+
+		this.transactionId = transactionId;
+		this.xml = xml;
+	}
+
+	/**
+	 * Returns the raw response or <code>null</code> if the packet was created
+	 * from the DOM element.
+	 */
+	public byte[] getXml() {
+		return xml;
+	}
+
+	/**
+	 * Returns the content of the packet, parsing it if needed.
+	 */
+	public synchronized Element parseContent() throws DbgpProtocolException {
+		Element content = super.getContent();
+		if (content == null) {
+			content = DbgpXmlParser.parseXml(xml).getDocumentElement();
+			setContent(content);
+		}
+		return content;
+	}
+
+	@Override
+	public Element getContent() {
+		try {
+			return parseContent();
+		} catch (DbgpProtocolException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	public int getTransactionId() {
@@ -64,7 +64,8 @@ public class DbgpSimplePacketReceiver {
 		}
 
 		try {
-			addDocument(packet.getParsedXml());
+			processor.processPacket(packet, notifyWaiter, responseWaiter,
+					streamWaiter);
 		} catch (DbgpException e) {
 			DLTKDebugPlugin.logError(e.getMessage(), e);
 		}
@@ -13,6 +13,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import org.eclipse.dltk.compiler.util.Util;
 import org.eclipse.dltk.core.DLTKCore;
@@ -76,10 +77,18 @@ public class DbgpXmlEntityParser extends DbgpXmlParser {
 
 	public static DbgpStackLevel parseStackLevel(Element element)
 			throws DbgpException {
-		int level = Integer.parseInt(element.getAttribute(ATTR_LEVEL));
+		return parseStackLevel(element::getAttribute);
+	}
+
+	/**
+	 * Creates the stack level from the attributes of its element, the function
+	 * returns an empty string for the missing attributes.
+	 */
+	static DbgpStackLevel parseStackLevel(Function<String, String> element) {
+		int level = Integer.parseInt(element.apply(ATTR_LEVEL));
 
-		String cmdBegin = element.getAttribute(ATTR_CMDBEGIN);
-		String cmdEnd = element.getAttribute(ATTR_CMDEND);
+		String cmdBegin = element.apply(ATTR_CMDBEGIN);
+		String cmdEnd = element.apply(ATTR_CMDEND);
 
 		int beginLine = -1;
 		int beginColumn = -1;
@@ -92,8 +101,8 @@ public class DbgpXmlEntityParser extends DbgpXmlParser {
 			endColumn = parseColumn(cmdEnd);
 		}
 
-		int lineNumber = Integer.parseInt(element.getAttribute(ATTR_LINENO));
-		String methodName = element.getAttribute(ATTR_METHOD);
+		int lineNumber = Integer.parseInt(element.apply(ATTR_LINENO));
+		String methodName = element.apply(ATTR_METHOD);
 
 		/**
 		 * TODO Check ATTR_TYPE who knows when.
@@ -102,9 +111,9 @@ public class DbgpXmlEntityParser extends DbgpXmlParser {
 		 * <code>Valid values are "file" or "eval"</code>, but Tcl debugger also
 		 * sends "source" and "console".
 		 */
-		final URI fileUri = parseURI(element.getAttribute(ATTR_FILENAME));
+		final URI fileUri = parseURI(element.apply(ATTR_FILENAME));
 
-		final String where = element.getAttribute(ATTR_WHERE);
+		final String where = element.apply(ATTR_WHERE);
 
 		return new DbgpStackLevel(fileUri, where, level, lineNumber, lineNumber,
 				methodName, beginLine, beginColumn, endLine, endColumn);
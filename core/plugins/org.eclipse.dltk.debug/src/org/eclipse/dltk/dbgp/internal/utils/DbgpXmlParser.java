@@ -53,27 +53,31 @@ public class DbgpXmlParser {
 		return Integer.parseInt(s) == 0 ? false : true;
 	}
 
+	private static final DocumentBuilderFactory FACTORY = DocumentBuilderFactory
+			.newInstance();
+
+	/*
+	 * Document builders are not thread safe, but can be reused once reset.
+	 */
+	private static final ThreadLocal<DocumentBuilder> BUILDER = new ThreadLocal<>();
+
+	private static DocumentBuilder getBuilder()
+			throws ParserConfigurationException {
+		DocumentBuilder builder = BUILDER.get();
+		if (builder == null) {
+			synchronized (FACTORY) {
+				builder = FACTORY.newDocumentBuilder();
+			}
+			BUILDER.set(builder);
+		} else {
+			builder.reset();
+		}
+		return builder;
+	}
+
 	public static Document parseXml(byte[] xml) throws DbgpProtocolException {
 		try {
-			DocumentBuilderFactory factory = DocumentBuilderFactory
-					.newInstance();
-
-			DocumentBuilder builder = factory.newDocumentBuilder();
-
-			// builder.setErrorHandler(new ErrorHandler() {
-			// public void error(SAXParseException exception)
-			// throws SAXException {
-			// }
-			//
-			// public void fatalError(SAXParseException exception)
-			// throws SAXException {
-			// }
-			//
-			// public void warning(SAXParseException exception)
-			// throws SAXException {
-			// }
-			// });
-
+			DocumentBuilder builder = getBuilder();
 			InputSource source = new InputSource(new ByteArrayInputStream(xml));
 			return builder.parse(source);
 		} catch (ParserConfigurationException e) {
@@ -0,0 +1,390 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.dbgp.internal.utils;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.dltk.compiler.util.Util;
+import org.eclipse.dltk.dbgp.IDbgpProperty;
+import org.eclipse.dltk.dbgp.IDbgpStackLevel;
+import org.eclipse.dltk.dbgp.exceptions.DbgpDebuggingEngineException;
+import org.eclipse.dltk.dbgp.exceptions.DbgpException;
+import org.eclipse.dltk.dbgp.exceptions.DbgpProtocolException;
+import org.eclipse.dltk.dbgp.internal.DbgpProperty;
+import org.eclipse.dltk.dbgp.internal.packets.DbgpResponsePacket;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Decodes DBGP packets straight from their bytes with a StAX reader, without
+ * building the DOM tree. The results are the same as the ones of the
+ * {@link DbgpXmlPacketParser} and {@link DbgpXmlEntityParser} methods
+ * working on the DOM elements.
+ */
+public class DbgpXmlStreamParser extends DbgpXmlEntityParser {
+
+	private static final String REPORT_CDATA = "http://java.sun.com/xml/stream/properties/report-cdata-event"; //$NON-NLS-1$
+
+	private static final XMLInputFactory FACTORY = createFactory();
+
+	private static final IDbgpProperty[] NO_CHILDREN = new IDbgpProperty[0];
+
+	private static final String TAG_RESPONSE = "response"; //$NON-NLS-1$
+	private static final String TAG_STACK = "stack"; //$NON-NLS-1$
+	private static final String TAG_VALUE = "value"; //$NON-NLS-1$
+	private static final String TAG_ERROR = "error"; //$NON-NLS-1$
+	private static final String TAG_MESSAGE = "message"; //$NON-NLS-1$
+
+	private static final String ATTR_TRANSACTION_ID = "transaction_id"; //$NON-NLS-1$
+	private static final String ATTR_CODE = "code"; //$NON-NLS-1$
+	private static final String ATTR_NAME = "name"; //$NON-NLS-1$
+	private static final String ATTR_FULLNAME = "fullname"; //$NON-NLS-1$
+	private static final String ATTR_TYPE = "type"; //$NON-NLS-1$
+	private static final String ATTR_CHILDREN = "children"; //$NON-NLS-1$
+	private static final String ATTR_NUMCHILDREN = "numchildren"; //$NON-NLS-1$
+	private static final String ATTR_CONSTANT = "constant"; //$NON-NLS-1$
+	private static final String ATTR_KEY = "key"; //$NON-NLS-1$
+	private static final String ATTR_PAGE = "page"; //$NON-NLS-1$
+	private static final String ATTR_PAGE_SIZE = "pagesize"; //$NON-NLS-1$
+	private static final String ATTR_ADDRESS = "address"; //$NON-NLS-1$
+	private static final String ATTR_ENCODING = "encoding"; //$NON-NLS-1$
+
+	private static final String ENCODING_NONE = "none"; //$NON-NLS-1$
+	private static final String ENCODING_BASE64 = "base64"; //$NON-NLS-1$
+
+	private interface ElementParser<T> {
+		/**
+		 * Parses the element the reader is positioned at, returns with the
+		 * reader positioned at the end of the element.
+		 */
+		T parse(XMLStreamReader reader) throws XMLStreamException;
+	}
+
+	/**
+	 * Collects the content of the first text node of an element, which the
+	 * reader may report as several events.
+	 */
+	private static class TextCollector {
+		private StringBuilder text;
+		private int type;
+		private boolean complete;
+
+		void accept(XMLStreamReader reader, int event) {
+			if (event == XMLStreamConstants.SPACE) {
+				event = XMLStreamConstants.CHARACTERS;
+			}
+			if (isText(event)) {
+				if (complete) {
+					return;
+				}
+				if (type != 0 && type != event) {
+					complete = true;
+					return;
+				}
+				if (text == null) {
+					text = new StringBuilder();
+				}
+				type = event;
+				text.append(reader.getTextCharacters(), reader.getTextStart(),
+						reader.getTextLength());
+			} else if (type != 0) {
+				complete = true;
+			}
+		}
+
+		String getText() {
+			return text != null ? text.toString() : Util.EMPTY_STRING;
+		}
+	}
+
+	protected DbgpXmlStreamParser() {
+	}
+
+	private static XMLInputFactory createFactory() {
+		final XMLInputFactory factory = XMLInputFactory.newInstance();
+		// tag names as the DOM parser reports them
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+				Boolean.FALSE);
+		// text and CDATA are separate nodes in the DOM tree
+		if (factory.isPropertySupported(REPORT_CDATA)) {
+			factory.setProperty(REPORT_CDATA, Boolean.TRUE);
+		}
+		return factory;
+	}
+
+	private static XMLStreamReader createReader(byte[] xml)
+			throws XMLStreamException {
+		// the factory is thread safe once configured
+		return FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml));
+	}
+
+	/**
+	 * Returns the response packet or <code>null</code> if the packet is not a
+	 * response. Only the root element is read.
+	 */
+	public static DbgpResponsePacket parseResponsePacket(byte[] xml)
+			throws DbgpProtocolException {
+		try {
+			final XMLStreamReader reader = createReader(xml);
+			try {
+				reader.nextTag();
+				if (!TAG_RESPONSE.equals(reader.getLocalName())) {
+					return null;
+				}
+				final int id = Integer.parseInt(
+						getAttribute(reader, ATTR_TRANSACTION_ID));
+				return new DbgpResponsePacket(xml, id);
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new DbgpProtocolException(e);
+		}
+	}
+
+	/**
+	 * Returns the properties of the <code>context_get</code> response.
+	 */
+	public static IDbgpProperty[] parseContextProperties(byte[] xml)
+			throws DbgpException {
+		final List<IDbgpProperty> properties = parseElements(xml, TAG_PROPERTY,
+				true, Integer.MAX_VALUE, DbgpXmlStreamParser::parseProperty);
+		return properties.toArray(new IDbgpProperty[properties.size()]);
+	}
+
+	/**
+	 * Returns the first property of the <code>property_get</code> or
+	 * <code>property_value</code> response.
+	 */
+	public static IDbgpProperty parsePropertyResponse(byte[] xml)
+			throws DbgpException {
+		final List<IDbgpProperty> properties = parseElements(xml, TAG_PROPERTY,
+				false, 1, DbgpXmlStreamParser::parseProperty);
+		if (properties.isEmpty()) {
+			throw new DbgpProtocolException(
+					"No property in the response"); //$NON-NLS-1$
+		}
+		return properties.get(0);
+	}
+
+	/**
+	 * Returns the stack levels of the <code>stack_get</code> response, in the
+	 * order they are reported.
+	 */
+	public static IDbgpStackLevel[] parseStackLevels(byte[] xml)
+			throws DbgpException {
+		final List<IDbgpStackLevel> levels = parseElements(xml, TAG_STACK,
+				false, Integer.MAX_VALUE, reader -> {
+					final IDbgpStackLevel level = parseStackLevel(
+							name -> getAttribute(reader, name));
+					skipElement(reader);
+					return level;
+				});
+		return levels.toArray(new IDbgpStackLevel[levels.size()]);
+	}
+
+	/**
+	 * Parses the elements with the specified tag (only the children of the
+	 * root element if <code>topLevel</code> is set), throws the error reported
+	 * by the response if any.
+	 */
+	private static <T> List<T> parseElements(byte[] xml, String tag,
+			boolean topLevel, int limit, ElementParser<T> parser)
+			throws DbgpException {
+		final List<T> result = new ArrayList<>();
+		DbgpDebuggingEngineException error = null;
+		try {
+			final XMLStreamReader reader = createReader(xml);
+			try {
+				int depth = 0;
+				while (reader.hasNext()) {
+					final int event = reader.next();
+					if (event == XMLStreamConstants.END_ELEMENT) {
+						--depth;
+					} else if (event == XMLStreamConstants.START_ELEMENT) {
+						final String name = reader.getLocalName();
+						if (TAG_ERROR.equals(name)) {
+							if (error == null) {
+								error = parseError(reader);
+							} else {
+								skipElement(reader);
+							}
+						} else if (tag.equals(name) && result.size() < limit
+								&& (!topLevel || depth == 1)) {
+							result.add(parser.parse(reader));
+						} else {
+							++depth;
+						}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new DbgpProtocolException(e);
+		} catch (NumberFormatException e) {
+			throw new DbgpProtocolException(e);
+		}
+		if (error != null) {
+			throw error;
+		}
+		return result;
+	}
+
+	private static DbgpDebuggingEngineException parseError(
+			XMLStreamReader reader) throws XMLStreamException {
+		final int code = Integer.parseInt(getAttribute(reader, ATTR_CODE));
+		String message = null;
+		int depth = 1;
+		while (depth > 0) {
+			final int event = reader.next();
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				--depth;
+			} else if (event == XMLStreamConstants.START_ELEMENT) {
+				if (message == null
+						&& TAG_MESSAGE.equals(reader.getLocalName())) {
+					message = readText(reader);
+				} else {
+					++depth;
+				}
+			}
+		}
+		return new DbgpDebuggingEngineException(code,
+				message != null ? message : "No message"); //$NON-NLS-1$
+	}
+
+	private static IDbgpProperty parseProperty(XMLStreamReader reader)
+			throws XMLStreamException {
+		final String type = getAttribute(reader, ATTR_TYPE);
+		final String encoding = reader.getAttributeValue(null, ATTR_ENCODING);
+		String name = null;
+		String fullName = null;
+		String value = null;
+
+		final String children = reader.getAttributeValue(null, ATTR_CHILDREN);
+		final boolean hasChildren = children != null && makeBoolean(children);
+
+		final String numChildren = reader.getAttributeValue(null,
+				ATTR_NUMCHILDREN);
+		int childrenCount = numChildren != null ? Integer.parseInt(numChildren)
+				: -1;
+
+		final String page = reader.getAttributeValue(null, ATTR_PAGE);
+		final String pageSize = reader.getAttributeValue(null, ATTR_PAGE_SIZE);
+		final String constant = reader.getAttributeValue(null, ATTR_CONSTANT);
+		final String key = reader.getAttributeValue(null, ATTR_KEY);
+		final String address = reader.getAttributeValue(null, ATTR_ADDRESS);
+		final String nameAttribute = getAttribute(reader, ATTR_NAME);
+		final String fullNameAttribute = getAttribute(reader, ATTR_FULLNAME);
+
+		final List<IDbgpProperty> availableChildren = new ArrayList<>();
+		final TextCollector text = new TextCollector();
+		int event;
+		while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+			text.accept(reader, event);
+			if (event != XMLStreamConstants.START_ELEMENT) {
+				continue;
+			}
+			final String tag = reader.getLocalName();
+			if (TAG_PROPERTY.equals(tag) && hasChildren) {
+				availableChildren.add(parseProperty(reader));
+			} else if (ATTR_NAME.equals(tag) && name == null) {
+				name = readEncodedValue(reader);
+			} else if (ATTR_FULLNAME.equals(tag) && fullName == null) {
+				fullName = readEncodedValue(reader);
+			} else if (TAG_VALUE.equals(tag) && value == null) {
+				value = readEncodedValue(reader);
+			} else {
+				skipElement(reader);
+			}
+		}
+		if (value == null) {
+			value = decode(text.getText(), encoding);
+		}
+		if (childrenCount < 0) {
+			childrenCount = availableChildren.size();
+		}
+		return new DbgpProperty(name != null ? name : nameAttribute,
+				fullName != null ? fullName : fullNameAttribute, type, value,
+				childrenCount, hasChildren,
+				constant != null && makeBoolean(constant), key, address,
+				availableChildren.isEmpty() ? NO_CHILDREN
+						: availableChildren.toArray(
+								new IDbgpProperty[availableChildren.size()]),
+				page != null ? Integer.parseInt(page) : 0,
+				pageSize != null ? Integer.parseInt(pageSize) : -1);
+	}
+
+	private static String readEncodedValue(XMLStreamReader reader)
+			throws XMLStreamException {
+		final String encoding = reader.getAttributeValue(null, ATTR_ENCODING);
+		return decode(readText(reader), encoding);
+	}
+
+	private static String decode(String text, String encoding) {
+		if (encoding == null || ENCODING_NONE.equals(encoding)) {
+			return text;
+		}
+		if (ENCODING_BASE64.equals(encoding)) {
+			return Base64Helper.decodeString(text);
+		}
+		throw new AssertionError(NLS
+				.bind(Messages.DbgpXmlEntityParser_invalidEncoding, encoding));
+	}
+
+	/**
+	 * Returns the first text node of the current element and moves to its
+	 * end.
+	 */
+	private static String readText(XMLStreamReader reader)
+			throws XMLStreamException {
+		final TextCollector text = new TextCollector();
+		int event;
+		while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+			text.accept(reader, event);
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				skipElement(reader);
+			}
+		}
+		return text.getText();
+	}
+
+	private static void skipElement(XMLStreamReader reader)
+			throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			final int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				++depth;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				--depth;
+			}
+		}
+	}
+
+	private static String getAttribute(XMLStreamReader reader, String name) {
+		final String value = reader.getAttributeValue(null, name);
+		return value != null ? value : Util.EMPTY_STRING;
+	}
+
+	private static boolean isText(int event) {
+		return event == XMLStreamConstants.CHARACTERS
+				|| event == XMLStreamConstants.CDATA
+				|| event == XMLStreamConstants.SPACE;
+	}
+}
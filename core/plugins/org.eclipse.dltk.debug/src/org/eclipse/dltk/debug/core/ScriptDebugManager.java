@@ -135,7 +135,8 @@ public class ScriptDebugManager {
 	}
 
 	public IScriptTypeFactory getTypeFactoryByNature(String natureId) {
-		return getInfo(natureId).typeFactory;
+		final Info info = getInfo(natureId);
+		return info != null ? info.typeFactory : null;
 	}
 
 	public IScriptTypeFactory getTypeFactoryByDebugModel(String debugModelId) {
@@ -143,7 +144,8 @@ public class ScriptDebugManager {
 	}
 
 	public Comparator getVariableNameComparatorByNature(String natureId) {
-		return getInfo(natureId).comparator;
+		final Info info = getInfo(natureId);
+		return info != null ? info.comparator : new VariableNameComparator();
 	}
 
 	public Comparator getVariableNameComparatorByDebugModel(
@@ -9,9 +9,12 @@
  *******************************************************************************/
 package org.eclipse.dltk.internal.debug.core.model;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-import org.eclipse.core.runtime.Assert;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.debug.core.model.IIndexedValue;
@@ -37,10 +40,30 @@ public class ScriptValue extends ScriptDebugElement
 
 	static final IVariable[] NO_VARIABLES = new IVariable[0];
 
+	/**
+	 * Maximum number of the pages of children kept by the value, the evicted
+	 * pages are fetched again when needed.
+	 */
+	private static final int MAX_CACHED_PAGES = 16;
+
 	private final IScriptType type;
-	final IVariable[] variables;
+	private final int size;
+	private final Map<Integer, IVariable[]> pages = new LinkedHashMap<Integer, IVariable[]>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<Integer, IVariable[]> eldest) {
+			return size() > MAX_CACHED_PAGES;
+		}
+	};
 	private IScriptStackFrame frame;
-	private int pageSize;
+	/**
+	 * Number of the children in a page as reported by the engine, 0 if the
+	 * engine returned all the children at once.
+	 */
+	private final int pageSize;
 	private String name;
 	private String fullname;
 	private String value;
@@ -87,62 +110,91 @@ public class ScriptValue extends ScriptDebugElement
 
 		final int childrenCount = property.getChildrenCount();
 		if (childrenCount > 0) {
-			this.variables = new IVariable[childrenCount];
-			fillVariables(property.getPage(), property);
+			this.size = childrenCount;
+			fillPage(property.getPage(), property);
 		} else {
-			this.variables = NO_VARIABLES;
+			this.size = 0;
 		}
 	}
 
-	private void loadPage(int page) throws DbgpException {
+	/**
+	 * Returns the page of children, fetching it if it is not cached. The
+	 * children are not fetched once the thread is resumed, the placeholders
+	 * are returned instead.
+	 */
+	private synchronized IVariable[] getPage(int page) throws DbgpException {
+		IVariable[] variables = pages.get(Integer.valueOf(page));
+		if (variables == null) {
+			if (frame.getScriptThread().isSuspended()) {
+				variables = loadPage(page);
+			} else {
+				variables = createUnknownVariables(page, 0);
+			}
+		}
+		return variables;
+	}
+
+	private IVariable[] loadPage(int page) throws DbgpException {
 		IDbgpPropertyCommands commands = frame.getScriptThread()
 				.getDbgpSession().getCoreCommands();
 		IDbgpProperty pageProperty = commands.getProperty(page, fullname,
 				frame.getLevel());
-		fillVariables(page, pageProperty);
-		final int endIndex = Math.min((page + 1) * pageSize, variables.length);
-		for (int i = page * pageSize; i < endIndex; ++i) {
-			if (variables[i] == null) {
-				variables[i] = new UnknownVariable(frame, this, i);
-			}
-		}
+		return fillPage(page, pageProperty);
 	}
 
-	private void fillVariables(int page, IDbgpProperty pageProperty) {
-		int offset = getPageOffset(page);
+	private synchronized IVariable[] fillPage(int page,
+			IDbgpProperty pageProperty) {
 		IDbgpProperty[] properties = pageProperty.getAvailableChildren();
-		final int size = Math.min(properties.length, variables.length - offset);
-		if (size != properties.length) {
+		final IVariable[] variables = createUnknownVariables(page,
+				properties.length);
+		final int count = Math.min(properties.length, variables.length);
+		if (count != properties.length) {
 			DLTKDebugPlugin.logWarning(
 					NLS.bind(Messages.AvailableChildrenExceedsVariableLength,
 							name),
 					null);
 		}
-		if (size > 0) {
-			for (int i = 0; i < size; ++i) {
+		if (count > 0) {
+			for (int i = 0; i < count; ++i) {
 				IDbgpProperty p = properties[i];
-				variables[offset + i] = new ScriptVariable(frame, p.getName(),
-						p);
+				variables[i] = new ScriptVariable(frame, p.getName(), p);
 			}
-			Arrays.sort(this.variables, offset, offset + size,
+			Arrays.sort(variables, 0, count,
 					ScriptDebugManager.getInstance()
 							.getVariableNameComparatorByDebugModel(
 									getDebugTarget().getModelIdentifier()));
 		}
-		Assert.isLegal(pageSize > 0 || properties.length == variables.length);
+		pages.put(Integer.valueOf(page), variables);
+		return variables;
 	}
 
-	private int getPageOffset(int page) {
-		if (pageSize <= 0)
-			pageSize = frame.getScriptThread().getPropertyPageSize();
+	/**
+	 * Creates the array for the page, filled with placeholders starting from
+	 * the specified index.
+	 */
+	private IVariable[] createUnknownVariables(int page, int start) {
+		final int offset = getPageOffset(page);
+		final int length = pageSize > 0 ? Math.min(pageSize, size - offset)
+				: size;
+		if (length <= 0) {
+			return NO_VARIABLES;
+		}
+		final IVariable[] variables = new IVariable[length];
+		for (int i = start; i < length; ++i) {
+			variables[i] = new UnknownVariable(frame, this, offset + i);
+		}
+		return variables;
+	}
 
+	private int getPageOffset(int page) {
 		if (pageSize <= 0)
 			return 0;
 		return page * pageSize;
 	}
 
 	private int getPageForOffset(int offset) {
-		Assert.isLegal(pageSize > 0);
+		if (pageSize <= 0)
+			return 0;
 		return offset / pageSize;
 	}
 
@@ -243,16 +295,17 @@ public class ScriptValue extends ScriptDebugElement
 
 	@Override
 	public int getSize() {
-		return variables.length;
+		return size;
 	}
 
 	@Override
 	public IVariable getVariable(int offset) throws DebugException {
+		if (offset < 0 || offset >= size) {
+			throw new IndexOutOfBoundsException(String.valueOf(offset));
+		}
 		try {
-			if (variables[offset] == null) {
-				loadPage(getPageForOffset(offset));
-			}
-			return variables[offset];
+			final int page = getPageForOffset(offset);
+			return getPage(page)[offset - getPageOffset(page)];
 		} catch (DbgpException e) {
 			throw wrapDbgpException(
 					NLS.bind(Messages.ScriptValue_unableToLoadChildrenOf, name),
@@ -298,12 +351,40 @@ public class ScriptValue extends ScriptDebugElement
 	 *
 	 * @return
 	 */
-	protected boolean hasChildrenValuesLoaded() {
-		for (int i = 0; i < variables.length; ++i) {
-			if (variables[i] != null) {
-				return true;
+	protected synchronized boolean hasChildrenValuesLoaded() {
+		return !pages.isEmpty();
+	}
+
+	/**
+	 * Refreshes the children of this value against the children loaded by
+	 * the previous value of the same variable. Only the pages loaded before
+	 * are fetched, the other ones are fetched when requested.
+	 *
+	 * @param previous
+	 * @throws DebugException
+	 */
+	void refreshVariables(ScriptValue previous) throws DebugException {
+		final List<Integer> loadedPages = new ArrayList<>();
+		final List<IVariable> oldVariables = new ArrayList<>();
+		synchronized (previous) {
+			for (Map.Entry<Integer, IVariable[]> entry : previous.pages
+					.entrySet()) {
+				loadedPages.add(entry.getKey());
+				oldVariables.addAll(Arrays.asList(entry.getValue()));
+			}
+		}
+		// a hash key may move to other page, so match against all of them
+		final IVariable[] oldVars = oldVariables
+				.toArray(new IVariable[oldVariables.size()]);
+		try {
+			for (Integer page : loadedPages) {
+				ScriptStackFrame.refreshVariables(getPage(page.intValue()),
+						oldVars);
 			}
+		} catch (DbgpException e) {
+			throw wrapDbgpException(
+					NLS.bind(Messages.ScriptValue_unableToLoadChildrenOf, name),
+					e);
 		}
-		return false;
 	}
 }
@@ -159,13 +159,11 @@ public class ScriptVariable extends ScriptDebugElement
 				if (value != null
 						&& ((ScriptValue) value).hasChildrenValuesLoaded()) {
 					/*
-					 * Refresh children if some of them are loaded. Since it
-					 * could be a hash - it is safer to get all of the new
-					 * children.
+					 * Refresh children if some of them are loaded, only the
+					 * pages loaded before are fetched again.
 					 */
-					ScriptStackFrame.refreshVariables(
-							v.getValue().getVariables(),
-							((ScriptValue) value).variables);
+					((ScriptValue) v.getValue())
+							.refreshVariables((ScriptValue) value);
 				}
 			}
 			isValueChanged = !equals(property, v.property);
@@ -36,6 +36,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
 import org.eclipse.dltk.core.environment.IDeployment;
@@ -749,6 +750,50 @@ public abstract class AbstractInterpreterInstallType
 			return fCachedLocations.get(cacheKey);
 		}
 
+		final LibraryLocationCache savedLocations = getLibraryLocationCache();
+		final String savedKey = getId() + '|' + cacheKey;
+		final String fingerprint = LibraryLocationCache
+				.fingerprintOf(installLocation);
+		if (fingerprint != null) {
+			final LibraryLocation[] libs = savedLocations.get(savedKey,
+					fingerprint);
+			if (libs != null) {
+				fCachedLocations.put(cacheKey, libs);
+				if (savedLocations.markRefreshed(savedKey)) {
+					scheduleRefresh(installLocation, variables, cacheKey,
+							savedKey, fingerprint);
+				}
+				if (monitor != null) {
+					monitor.done();
+				}
+				return libs;
+			}
+		}
+
+		LibraryLocation[] libs = lookupLibraryLocations(installLocation,
+				variables, monitor);
+		if (libs.length != 0) {
+			fCachedLocations.put(cacheKey, libs);
+			if (fingerprint != null) {
+				savedLocations.put(savedKey, fingerprint, libs);
+			}
+		}
+		if (monitor != null) {
+			monitor.done();
+		}
+		return libs;
+	}
+
+	/**
+	 * Returns the library locations saved between the sessions.
+	 */
+	protected LibraryLocationCache getLibraryLocationCache() {
+		return LibraryLocationCache.getInstance();
+	}
+
+	private LibraryLocation[] lookupLibraryLocations(
+			final IFileHandle installLocation, EnvironmentVariable[] variables,
+			IProgressMonitor monitor) {
 		final ArrayList<LibraryLocation> locations = new ArrayList<>();
 
 		final ILookupRunnable runnable = createLookupRunnable(installLocation,
@@ -768,15 +813,37 @@ public abstract class AbstractInterpreterInstallType
 					e));
 		}
 
-		LibraryLocation[] libs = correctLocations(locations,
+		return correctLocations(locations,
 				monitor != null ? new SubProgressMonitor(monitor, 5) : null);
-		if (libs.length != 0) {
-			fCachedLocations.put(cacheKey, libs);
-		}
-		if (monitor != null) {
-			monitor.done();
-		}
-		return libs;
+	}
+
+	/**
+	 * Looks up the library locations again in the background after the saved
+	 * ones were returned, so the changes not affecting the interpreter file
+	 * (e.g. the installed packages) are picked up by the next request.
+	 */
+	private void scheduleRefresh(final IFileHandle installLocation,
+			final EnvironmentVariable[] variables, final Object cacheKey,
+			final String savedKey, final String fingerprint) {
+		final Job job = new Job(NLS.bind(
+				LaunchingMessages.AbstractInterpreterInstallType_resolvingLibraryPaths,
+				getName())) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				final LibraryLocation[] libs = lookupLibraryLocations(
+						installLocation, variables, null);
+				if (libs.length != 0) {
+					synchronized (AbstractInterpreterInstallType.this) {
+						fCachedLocations.put(cacheKey, libs);
+					}
+					getLibraryLocationCache().put(savedKey, fingerprint, libs);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule();
 	}
 
 	public static Object makeKey(IFileHandle installLocation,
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.launching;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.environment.IFileHandle;
+import org.eclipse.dltk.launching.LibraryLocation;
+
+/**
+ * The default library locations of the interpreters, saved in the state
+ * location of the plugin so they are not looked up again on each start. The
+ * entries are valid while the size and the modification time of the
+ * interpreter file are the same as when the locations were found.
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public class LibraryLocationCache {
+
+	private static final int FILE_MAGIC = 0x444C4C4C;
+	private static final int FILE_VERSION = 1;
+
+	private static class Entry {
+		final String fingerprint;
+		final LibraryLocation[] locations;
+
+		Entry(String fingerprint, LibraryLocation[] locations) {
+			this.fingerprint = fingerprint;
+			this.locations = locations;
+		}
+	}
+
+	private static LibraryLocationCache instance;
+
+	static synchronized LibraryLocationCache getInstance() {
+		if (instance == null) {
+			instance = new LibraryLocationCache(DLTKLaunchingPlugin.getDefault()
+					.getStateLocation().append("libraryLocations.dat") //$NON-NLS-1$
+					.toFile());
+			instance.load();
+		}
+		return instance;
+	}
+
+	private final File file;
+	private final Map<String, Entry> entries = new HashMap<>();
+	/** keys of the entries refreshed in this session */
+	private final Set<String> refreshed = new HashSet<>();
+
+	public LibraryLocationCache(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Returns the fingerprint of the interpreter file or <code>null</code> if
+	 * it is not available, e.g. the remote environment is not connected.
+	 */
+	public static String fingerprintOf(IFileHandle installLocation) {
+		final long lastModified = installLocation.lastModified();
+		if (lastModified == 0) {
+			return null;
+		}
+		return installLocation.length() + ":" + lastModified; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the saved locations if the fingerprint is the same, otherwise
+	 * <code>null</code>.
+	 */
+	public synchronized LibraryLocation[] get(String key, String fingerprint) {
+		final Entry entry = entries.get(key);
+		if (entry != null && entry.fingerprint.equals(fingerprint)) {
+			return entry.locations;
+		}
+		return null;
+	}
+
+	public synchronized void put(String key, String fingerprint,
+			LibraryLocation[] locations) {
+		refreshed.add(key);
+		final Entry entry = entries.get(key);
+		if (entry != null && entry.fingerprint.equals(fingerprint)
+				&& Arrays.equals(entry.locations, locations)) {
+			return;
+		}
+		entries.put(key, new Entry(fingerprint, locations));
+		save();
+	}
+
+	/**
+	 * Returns <code>true</code> the first time it is called for the key in
+	 * this session, i.e. if the saved entry should be refreshed.
+	 */
+	public synchronized boolean markRefreshed(String key) {
+		return refreshed.add(key);
+	}
+
+	public synchronized void load() {
+		if (!file.exists()) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+				return;
+			}
+			for (int count = in.readInt(); count > 0; --count) {
+				final String key = in.readUTF();
+				final String fingerprint = in.readUTF();
+				final LibraryLocation[] locations = new LibraryLocation[in
+						.readInt()];
+				for (int i = 0; i < locations.length; ++i) {
+					locations[i] = new LibraryLocation(
+							Path.fromPortableString(in.readUTF()));
+				}
+				entries.put(key, new Entry(fingerprint, locations));
+			}
+		} catch (IOException | RuntimeException e) {
+			if (DLTKCore.DEBUG) {
+				e.printStackTrace();
+			}
+			entries.clear();
+			file.delete();
+		}
+	}
+
+	private void save() {
+		file.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(FILE_VERSION);
+			out.writeInt(entries.size());
+			for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue().fingerprint);
+				out.writeInt(entry.getValue().locations.length);
+				for (LibraryLocation location : entry.getValue().locations) {
+					out.writeUTF(location.getLibraryPath().toPortableString());
+				}
+			}
+		} catch (IOException e) {
+			DLTKLaunchingPlugin.log("Could not save library locations", e); //$NON-NLS-1$
+			file.delete();
+		}
+	}
+}
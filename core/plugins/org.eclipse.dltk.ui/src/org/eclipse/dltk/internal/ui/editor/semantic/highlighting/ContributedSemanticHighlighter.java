@@ -26,7 +26,9 @@ import org.eclipse.dltk.ui.editor.highlighting.AbortSemanticHighlightingExceptio
 import org.eclipse.dltk.ui.editor.highlighting.AbstractSemanticHighlighter;
 import org.eclipse.dltk.ui.editor.highlighting.ISemanticHighlighter;
 import org.eclipse.dltk.ui.editor.highlighting.ISemanticHighlighterExtension;
+import org.eclipse.dltk.ui.editor.highlighting.ISemanticHighlighterExtension2;
 import org.eclipse.dltk.ui.editor.highlighting.SemanticHighlighting;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.swt.graphics.RGB;
 
 public class ContributedSemanticHighlighter
@@ -53,6 +55,24 @@ public class ContributedSemanticHighlighter
 		return true;
 	}
 
+	@Override
+	protected boolean doHighlighting(IModuleSource code, IRegion region)
+			throws Exception {
+		for (ISemanticHighlighter highlighter : highlighters) {
+			try {
+				if (highlighter instanceof ISemanticHighlighterExtension2) {
+					((ISemanticHighlighterExtension2) highlighter)
+							.process(code, region, this);
+				} else {
+					highlighter.process(code, this);
+				}
+			} catch (AbortSemanticHighlightingException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private boolean initialized = false;
 	private final Map<String, SemanticHighlighting> highlightings = new HashMap<>();
 
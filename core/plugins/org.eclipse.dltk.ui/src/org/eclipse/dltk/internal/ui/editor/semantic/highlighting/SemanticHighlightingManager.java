@@ -201,6 +201,8 @@ public class SemanticHighlightingManager implements IPropertyChangeListener {
 			fReconciler = new SemanticHighlightingReconciler();
 			fReconciler.install(fEditor, fSourceViewer, fHighlightingUpdater,
 					fPresenter, fSemanticHighlightings, fHighlightings);
+			fReconciler.setIncremental(fPreferenceStore.getBoolean(
+					PreferenceConstants.EDITOR_SEMANTIC_HIGHLIGHTING_INCREMENTAL));
 		} else {
 			fHighlightingUpdater.initialize(fPresenter, fHighlightings);
 			final ModuleSource code = new ModuleSource(
@@ -370,6 +372,13 @@ public class SemanticHighlightingManager implements IPropertyChangeListener {
 		if (!isEnabled())
 			return;
 
+		if (fReconciler != null
+				&& PreferenceConstants.EDITOR_SEMANTIC_HIGHLIGHTING_INCREMENTAL
+						.equals(event.getProperty())) {
+			fReconciler.setIncremental(fPreferenceStore.getBoolean(
+					PreferenceConstants.EDITOR_SEMANTIC_HIGHLIGHTING_INCREMENTAL));
+		}
+
 		boolean refreshNeeded = false;
 
 		for (int i = 0, n = fSemanticHighlightings.length; i < n; i++) {
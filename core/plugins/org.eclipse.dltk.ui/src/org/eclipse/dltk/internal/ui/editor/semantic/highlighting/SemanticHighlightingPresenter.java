@@ -284,6 +284,43 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	/** <code>true</code> iff the current reconcile is canceled. */
 	private boolean fIsCanceled = false;
 
+	/**
+	 * The region of the document changed since the positions were last
+	 * updated, protected by the position lock.
+	 */
+	private int fDamageStart = -1;
+	private int fDamageEnd;
+	/** <code>true</code> if all the positions should be recomputed */
+	private boolean fFullDamage = true;
+	/** Incremented when the damage changes */
+	private int fDamageStamp;
+
+	/**
+	 * The part of the document changed since the positions were last updated.
+	 */
+	public static class Damage {
+		/**
+		 * The changed region, <code>null</code> if the positions of the whole
+		 * document should be recomputed.
+		 */
+		public final IRegion region;
+		final int stamp;
+		final boolean empty;
+
+		Damage(IRegion region, int stamp, boolean empty) {
+			this.region = region;
+			this.stamp = stamp;
+			this.empty = empty;
+		}
+
+		/**
+		 * Returns <code>true</code> if the document was not changed.
+		 */
+		public boolean isEmpty() {
+			return empty;
+		}
+	}
+
 	/**
 	 * Creates and returns a new highlighted position with the given offset,
 	 * length and highlighting.
@@ -322,6 +359,79 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		}
 	}
 
+	/**
+	 * Adds the current positions starting in the given region to the given
+	 * list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list
+	 *            The list
+	 * @param region
+	 *            The region
+	 */
+	public void addPositions(List<HighlightedPosition> list, IRegion region) {
+		synchronized (fPositionLock) {
+			list.addAll(subList(fPositions, region));
+		}
+	}
+
+	private List<HighlightedPosition> subList(
+			List<HighlightedPosition> positions, IRegion region) {
+		return positions.subList(
+				computeIndexAtOffset(positions, region.getOffset()),
+				computeIndexAtOffset(positions,
+						region.getOffset() + region.getLength()));
+	}
+
+	/**
+	 * Returns the part of the document changed since the positions were last
+	 * updated.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 */
+	public Damage getDamage() {
+		synchronized (fPositionLock) {
+			if (fFullDamage) {
+				return new Damage(null, fDamageStamp, false);
+			}
+			if (fDamageStart < 0) {
+				return new Damage(new Region(0, 0), fDamageStamp, true);
+			}
+			return new Damage(
+					new Region(fDamageStart, fDamageEnd - fDamageStart),
+					fDamageStamp, false);
+		}
+	}
+
+	/**
+	 * Forgets the damage if the document was not changed since it was
+	 * returned by {@link #getDamage()}.
+	 *
+	 * @param damage
+	 *            the damage the positions were updated for
+	 */
+	public void damageRepaired(Damage damage) {
+		synchronized (fPositionLock) {
+			if (damage.stamp == fDamageStamp) {
+				fDamageStart = -1;
+				fFullDamage = false;
+			}
+		}
+	}
+
+	/**
+	 * Requests the positions of the whole document to be recomputed.
+	 */
+	public void markDamaged() {
+		synchronized (fPositionLock) {
+			++fDamageStamp;
+			fFullDamage = true;
+		}
+	}
+
 	/**
 	 * Returns all current positions.
 	 * <p>
@@ -410,6 +520,36 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 			final TextPresentation textPresentation,
 			final HighlightedPosition[] added,
 			final HighlightedPosition[] removed) {
+		return createUpdateRunnable(textPresentation, added, removed, null,
+				null);
+	}
+
+	/**
+	 * Create a runnable for updating the presentation of the positions
+	 * starting in the given region.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param textPresentation
+	 *            the text presentation
+	 * @param added
+	 *            the added positions
+	 * @param removed
+	 *            the removed positions
+	 * @param region
+	 *            the region of the added and removed positions,
+	 *            <code>null</code> for the whole document
+	 * @param damage
+	 *            the damage repaired by the update, can be <code>null</code>
+	 * @return the runnable or <code>null</code>, if reconciliation should be
+	 *         canceled
+	 */
+	public Runnable createUpdateRunnable(
+			final TextPresentation textPresentation,
+			final HighlightedPosition[] added,
+			final HighlightedPosition[] removed, final IRegion region,
+			final Damage damage) {
 		if (fSourceViewer == null || textPresentation == null)
 			return null;
 
@@ -418,8 +558,12 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		if (isCanceled())
 			return null;
 
-		Runnable runnable = () -> updatePresentation(textPresentation, added,
-				removed);
+		Runnable runnable = () -> {
+			updatePresentation(textPresentation, added, removed, region);
+			if (damage != null) {
+				damageRepaired(damage);
+			}
+		};
 		return runnable;
 	}
 
@@ -443,6 +587,32 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	public void updatePresentation(TextPresentation textPresentation,
 			HighlightedPosition[] addedPositions,
 			HighlightedPosition[] removedPositions) {
+		updatePresentation(textPresentation, addedPositions, removedPositions,
+				null);
+	}
+
+	/**
+	 * Invalidate the presentation of the positions based on the given added
+	 * positions and the existing deleted positions, patching only the
+	 * positions of this presenter starting in the given region.
+	 * <p>
+	 * NOTE: Indirectly called from background thread by UI runnable.
+	 * </p>
+	 *
+	 * @param textPresentation
+	 *            the text presentation or <code>null</code>, if the
+	 *            presentation should computed in the UI thread
+	 * @param addedPositions
+	 *            the added positions
+	 * @param removedPositions
+	 *            the removed positions
+	 * @param region
+	 *            the region of the added and removed positions,
+	 *            <code>null</code> for the whole document
+	 */
+	public void updatePresentation(TextPresentation textPresentation,
+			HighlightedPosition[] addedPositions,
+			HighlightedPosition[] removedPositions, IRegion region) {
 		if (fSourceViewer == null)
 			return;
 
@@ -468,69 +638,19 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 
 		try {
 			synchronized (fPositionLock) {
-				List<HighlightedPosition> oldPositions = fPositions;
-				int newSize = Math.max(fPositions.size() + addedPositions.length
-						- removedPositions.length, 10);
-
-				/*
-				 * The following loop is a kind of merge sort: it merges two
-				 * List<Position>, each sorted by position.offset, into one new
-				 * list. The first of the two is the previous list of positions
-				 * (oldPositions), from which any deleted positions get removed
-				 * on the fly. The second of two is the list of added positions.
-				 * The result is stored in newPositions.
-				 */
-				List<HighlightedPosition> newPositions = new ArrayList<>(
-						newSize);
-				HighlightedPosition position = null;
-				HighlightedPosition addedPosition = null;
-				for (int i = 0, j = 0, n = oldPositions
-						.size(), m = addedPositions.length; i < n
-								|| position != null || j < m
-								|| addedPosition != null;) {
-					// loop variant: i + j < old(i + j)
-
-					// a) find the next non-deleted Position from the old list
-					while (position == null && i < n) {
-						position = oldPositions.get(i++);
-						if (position.isDeleted()
-								|| contain(removedPositionsList, position)) {
-							document.removePosition(positionCategory, position);
-							position = null;
-						}
-					}
-
-					// b) find the next Position from the added list
-					if (addedPosition == null && j < m) {
-						addedPosition = addedPositions[j++];
-						document.addPosition(positionCategory, addedPosition);
-					}
-
-					// c) merge: add the next of position/addedPosition with the
-					// lower offset
-					if (position != null) {
-						if (addedPosition != null)
-							if (position.getOffset() <= addedPosition
-									.getOffset()) {
-								newPositions.add(position);
-								position = null;
-							} else {
-								newPositions.add(addedPosition);
-								addedPosition = null;
-							}
-						else {
-							newPositions.add(position);
-							position = null;
-						}
-					} else if (addedPosition != null) {
-						newPositions.add(addedPosition);
-						addedPosition = null;
-					}
+				if (region == null) {
+					fPositions = mergePositions(fPositions, addedPositions,
+							removedPositionsList, document, positionCategory);
+				} else {
+					// patch the positions of the region in place
+					final List<HighlightedPosition> regionPositions = subList(
+							fPositions, region);
+					final List<HighlightedPosition> newPositions = mergePositions(
+							regionPositions, addedPositions,
+							removedPositionsList, document, positionCategory);
+					regionPositions.clear();
+					regionPositions.addAll(newPositions);
 				}
-				// if (newPositions.size()>2){
-				// System.out.println("A");
-				// }
-				fPositions = newPositions;
 			}
 		} catch (BadPositionCategoryException e) {
 			// Should not happen
@@ -547,6 +667,77 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 			fSourceViewer.invalidateTextPresentation();
 	}
 
+	/**
+	 * Merges the old positions without the removed and deleted ones with the
+	 * added positions, registering the changes in the document.
+	 */
+	private List<HighlightedPosition> mergePositions(
+			List<HighlightedPosition> oldPositions,
+			HighlightedPosition[] addedPositions,
+			List<HighlightedPosition> removedPositionsList, IDocument document,
+			String positionCategory)
+			throws BadPositionCategoryException, BadLocationException {
+		int newSize = Math.max(oldPositions.size() + addedPositions.length
+				- removedPositionsList.size(), 10);
+
+		/*
+		 * The following loop is a kind of merge sort: it merges two
+		 * List<Position>, each sorted by position.offset, into one new
+		 * list. The first of the two is the previous list of positions
+		 * (oldPositions), from which any deleted positions get removed
+		 * on the fly. The second of two is the list of added positions.
+		 * The result is stored in newPositions.
+		 */
+		List<HighlightedPosition> newPositions = new ArrayList<>(
+				newSize);
+		HighlightedPosition position = null;
+		HighlightedPosition addedPosition = null;
+		for (int i = 0, j = 0, n = oldPositions
+				.size(), m = addedPositions.length; i < n
+						|| position != null || j < m
+						|| addedPosition != null;) {
+			// loop variant: i + j < old(i + j)
+
+			// a) find the next non-deleted Position from the old list
+			while (position == null && i < n) {
+				position = oldPositions.get(i++);
+				if (position.isDeleted()
+						|| contain(removedPositionsList, position)) {
+					document.removePosition(positionCategory, position);
+					position = null;
+				}
+			}
+
+			// b) find the next Position from the added list
+			if (addedPosition == null && j < m) {
+				addedPosition = addedPositions[j++];
+				document.addPosition(positionCategory, addedPosition);
+			}
+
+			// c) merge: add the next of position/addedPosition with the
+			// lower offset
+			if (position != null) {
+				if (addedPosition != null)
+					if (position.getOffset() <= addedPosition
+							.getOffset()) {
+						newPositions.add(position);
+						position = null;
+					} else {
+						newPositions.add(addedPosition);
+						addedPosition = null;
+					}
+				else {
+					newPositions.add(position);
+					position = null;
+				}
+			} else if (addedPosition != null) {
+				newPositions.add(addedPosition);
+				addedPosition = null;
+			}
+		}
+		return newPositions;
+	}
+
 	// private void checkOrdering(String s, List positions) {
 	// Position previous= null;
 	// for (int i= 0, n= positions.size(); i < n; i++) {
@@ -680,6 +871,21 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	 */
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		final int offset = event.getOffset();
+		final int oldEnd = offset + event.getLength();
+		final String text = event.getText();
+		final int delta = (text != null ? text.length() : 0)
+				- event.getLength();
+		synchronized (fPositionLock) {
+			++fDamageStamp;
+			if (fDamageStart < 0) {
+				fDamageStart = offset;
+				fDamageEnd = oldEnd + delta;
+			} else {
+				fDamageStart = Math.min(fDamageStart, offset);
+				fDamageEnd = Math.max(fDamageEnd, oldEnd) + delta;
+			}
+		}
 	}
 
 	/**
@@ -815,6 +1021,7 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	 */
 	private void manageDocument(IDocument document) {
 		if (document != null) {
+			markDamaged();
 			document.addPositionCategory(getPositionCategory());
 			document.addPositionUpdater(fPositionUpdater);
 			document.addDocumentListener(this);
@@ -21,19 +21,27 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
 import org.eclipse.dltk.compiler.env.IModuleSource;
+import org.eclipse.dltk.core.IMember;
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.ISourceRange;
+import org.eclipse.dltk.core.ModelException;
 import org.eclipse.dltk.internal.ui.editor.DLTKEditorMessages;
 import org.eclipse.dltk.internal.ui.editor.ScriptEditor;
+import org.eclipse.dltk.internal.ui.editor.semantic.highlighting.SemanticHighlightingPresenter.Damage;
 import org.eclipse.dltk.internal.ui.text.IScriptReconcilingListener;
 import org.eclipse.dltk.ui.DLTKUIPlugin;
 import org.eclipse.dltk.ui.editor.highlighting.HighlightedPosition;
 import org.eclipse.dltk.ui.editor.highlighting.HighlightingStyle;
 import org.eclipse.dltk.ui.editor.highlighting.ISemanticHighlightingUpdater;
 import org.eclipse.dltk.ui.editor.highlighting.ISemanticHighlightingUpdater.UpdateResult;
+import org.eclipse.dltk.ui.editor.highlighting.ISemanticHighlightingUpdaterExtension;
 import org.eclipse.dltk.ui.editor.highlighting.SemanticHighlighting;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextInputListener;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.source.ISourceViewer;
 import org.eclipse.swt.widgets.Display;
@@ -96,6 +104,11 @@ public class SemanticHighlightingReconciler
 	 */
 	private HighlightingStyle[] fJobHighlightings;
 	private ISemanticHighlightingUpdater positionUpdater;
+	/**
+	 * <code>true</code> if only the declarations changed since the previous
+	 * reconcile are highlighted again
+	 */
+	private boolean fIncremental;
 
 	@Override
 	public void aboutToBeReconciled() {
@@ -129,13 +142,31 @@ public class SemanticHighlightingReconciler
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
+			final Damage damage = fJobPresenter.getDamage();
+			IRegion region = null;
+			// without a document change the AST or the dependencies may
+			// have changed, everything is highlighted again
+			if (fIncremental && !forced && damage.region != null
+					&& !damage.isEmpty()
+					&& positionUpdater instanceof ISemanticHighlightingUpdaterExtension) {
+				region = widen(ast, damage.region);
+			}
+
 			HighlightedPosition[] added = HighlightedPosition.NO_POSITIONS;
 			HighlightedPosition[] removed = HighlightedPosition.NO_POSITIONS;
 			if (!fJobPresenter.isCanceled()) {
 				final List<HighlightedPosition> currentPositions = new ArrayList<>();
-				fJobPresenter.addAllPositions(currentPositions);
-				final UpdateResult result = positionUpdater
-						.reconcile((IModuleSource) ast, currentPositions);
+				final UpdateResult result;
+				if (region != null) {
+					fJobPresenter.addPositions(currentPositions, region);
+					result = ((ISemanticHighlightingUpdaterExtension) positionUpdater)
+							.reconcile((IModuleSource) ast, region,
+									currentPositions);
+				} else {
+					fJobPresenter.addAllPositions(currentPositions);
+					result = positionUpdater.reconcile((IModuleSource) ast,
+							currentPositions);
+				}
 				added = result.addedPositions;
 				removed = result.removedPositions;
 			}
@@ -145,8 +176,11 @@ public class SemanticHighlightingReconciler
 					final TextPresentation textPresentation = fJobPresenter
 							.createPresentation(added, removed);
 					if (!fJobPresenter.isCanceled())
-						updatePresentation(textPresentation, added, removed);
+						updatePresentation(textPresentation, added, removed,
+								region, damage);
 				}
+			} else if (!fJobPresenter.isCanceled()) {
+				fJobPresenter.damageRepaired(damage);
 			}
 
 			// long t1 = System.currentTimeMillis();
@@ -162,6 +196,51 @@ public class SemanticHighlightingReconciler
 		}
 	}
 
+	/**
+	 * Returns the region to highlight again for the changed region: the
+	 * innermost declaration enclosing it, or its lines if it is not in a
+	 * declaration. Returns <code>null</code> if the whole module should be
+	 * highlighted.
+	 *
+	 * @param module
+	 *                   the reconciled source module
+	 * @param damage
+	 *                   the region changed since the previous reconcile
+	 */
+	private IRegion widen(ISourceModule module, IRegion damage) {
+		final int start = damage.getOffset();
+		final int end = start + damage.getLength();
+		try {
+			IModelElement element = module.getElementAt(start);
+			while (element instanceof IMember) {
+				final ISourceRange range = ((IMember) element)
+						.getSourceRange();
+				if (range != null && range.getOffset() <= start
+						&& range.getOffset() + range.getLength() >= end) {
+					return new Region(range.getOffset(), range.getLength());
+				}
+				element = element.getParent();
+			}
+			final ISourceViewer sourceViewer = fSourceViewer;
+			final IDocument document = sourceViewer != null
+					? sourceViewer.getDocument()
+					: null;
+			if (document != null) {
+				final int lineStart = document
+						.getLineOffset(document.getLineOfOffset(start));
+				final IRegion lastLine = document.getLineInformationOfOffset(
+						Math.min(end, document.getLength()));
+				return new Region(lineStart, lastLine.getOffset()
+						+ lastLine.getLength() - lineStart);
+			}
+		} catch (ModelException e) {
+			// highlight the whole module
+		} catch (BadLocationException e) {
+			// concurrent modification, highlight the whole module
+		}
+		return null;
+	}
+
 	/**
 	 * Update the presentation.
 	 *
@@ -171,12 +250,18 @@ public class SemanticHighlightingReconciler
 	 *                             the added positions
 	 * @param removedPositions
 	 *                             the removed positions
+	 * @param region
+	 *                             the region of the positions,
+	 *                             <code>null</code> for the whole module
+	 * @param damage
+	 *                             the damage repaired by the update
 	 */
 	private void updatePresentation(TextPresentation textPresentation,
 			HighlightedPosition[] addedPositions,
-			HighlightedPosition[] removedPositions) {
+			HighlightedPosition[] removedPositions, IRegion region,
+			Damage damage) {
 		Runnable runnable = fJobPresenter.createUpdateRunnable(textPresentation,
-				addedPositions, removedPositions);
+				addedPositions, removedPositions, region, damage);
 		if (runnable == null)
 			return;
 
@@ -221,6 +306,16 @@ public class SemanticHighlightingReconciler
 		}
 	}
 
+	/**
+	 * Sets whether only the declarations changed since the previous reconcile
+	 * are highlighted again.
+	 *
+	 * @param incremental
+	 */
+	public void setIncremental(boolean incremental) {
+		fIncremental = incremental;
+	}
+
 	/**
 	 * Uninstall this reconciler from the editor
 	 */
@@ -311,6 +406,9 @@ public class SemanticHighlightingReconciler
 	 * @since 3.2
 	 */
 	public void refresh() {
+		final SemanticHighlightingPresenter presenter = fPresenter;
+		if (presenter != null)
+			presenter.markDamaged();
 		scheduleJob();
 	}
 }
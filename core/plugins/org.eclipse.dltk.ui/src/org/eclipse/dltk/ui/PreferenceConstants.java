@@ -54,6 +54,16 @@ public class PreferenceConstants {
 	 */
 	public static final String EDITOR_SEMANTIC_HIGHLIGHTING_ENABLED_SUFFIX = "_enabled"; //$NON-NLS-1$
 
+	/**
+	 * A named preference that controls whether the semantic highlighting is
+	 * recomputed only for the declarations changed since the previous
+	 * reconcile instead of the whole module.
+	 * <p>
+	 * Value is of type <code>Boolean</code>.
+	 * </p>
+	 */
+	public static final String EDITOR_SEMANTIC_HIGHLIGHTING_INCREMENTAL = "semanticHighlighting.incremental"; //$NON-NLS-1$
+
 	/**
 	 * A named preference that controls whether the 'close strings' feature is
 	 * enabled.
@@ -491,6 +501,7 @@ public class PreferenceConstants {
 			store.setDefault(RESOURCE_SHOW_ERROR_INVALID_RESOURCE_NAME, false);
 		}
 		store.setDefault(PreferenceConstants.EDITOR_CORRECTION_INDICATION, true);
+		store.setDefault(PreferenceConstants.EDITOR_SEMANTIC_HIGHLIGHTING_INCREMENTAL, false);
 
 		initializeEditorHoverBackgroundColor(store);
 
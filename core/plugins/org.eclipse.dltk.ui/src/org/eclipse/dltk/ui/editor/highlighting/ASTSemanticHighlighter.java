@@ -12,17 +12,30 @@
  *******************************************************************************/
 package org.eclipse.dltk.ui.editor.highlighting;
 
+import java.util.List;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.ast.ASTVisitor;
+import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
 import org.eclipse.dltk.ast.parser.IModuleDeclaration;
 import org.eclipse.dltk.compiler.env.IModuleSource;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.ModelException;
 import org.eclipse.dltk.core.SourceParserUtil;
+import org.eclipse.dltk.ui.DLTKUIPlugin;
+import org.eclipse.jface.text.IRegion;
 
 /**
  * Abstract base class for the semantic highlighters operating on the AST tree.
+ * <p>
+ * The subclasses providing the visitor with
+ * {@link #createHighlightingVisitor(IModuleSource, ISemanticHighlightingRequestor)}
+ * are able to highlight a region of the code, only the top level nodes
+ * intersecting the region are then traversed.
+ * </p>
  */
-public abstract class ASTSemanticHighlighter
-		extends AbstractSemanticHighlighter {
+public abstract class ASTSemanticHighlighter extends
+		AbstractSemanticHighlighter implements ISemanticHighlighterExtension2 {
 
 	/**
 	 * @param code
@@ -48,6 +61,74 @@ public abstract class ASTSemanticHighlighter
 
 	protected abstract String getNature();
 
+	/**
+	 * Creates the visitor reporting the positions of the traversed nodes to
+	 * the specified requestor. The default implementation returns
+	 * <code>null</code>, the whole code is then highlighted by
+	 * {@link #doHighlighting(IModuleSource)}.
+	 *
+	 * @param code
+	 * @param requestor
+	 * @return the visitor or <code>null</code>
+	 */
+	protected ASTVisitor createHighlightingVisitor(IModuleSource code,
+			ISemanticHighlightingRequestor requestor) {
+		return null;
+	}
+
+	@Override
+	protected boolean doHighlighting(IModuleSource code, IRegion region)
+			throws Exception {
+		final ASTVisitor visitor = createHighlightingVisitor(code, this);
+		if (visitor != null && traverse(code, region, visitor)) {
+			return true;
+		}
+		return doHighlighting(code);
+	}
+
+	@Override
+	public void process(IModuleSource code, IRegion region,
+			ISemanticHighlightingRequestor requestor) {
+		final ASTVisitor visitor = createHighlightingVisitor(code, requestor);
+		if (visitor == null) {
+			throw new AbortSemanticHighlightingException();
+		}
+		try {
+			if (!traverse(code, region, visitor)) {
+				throw new AbortSemanticHighlightingException();
+			}
+		} catch (AbortSemanticHighlightingException e) {
+			throw e;
+		} catch (Exception e) {
+			DLTKUIPlugin.log(e);
+			throw new AbortSemanticHighlightingException();
+		}
+	}
+
+	/**
+	 * Traverses the top level nodes intersecting the region, returns
+	 * <code>false</code> if the code could not be parsed.
+	 */
+	private boolean traverse(IModuleSource code, IRegion region,
+			ASTVisitor visitor) throws Exception {
+		final IModuleDeclaration declaration = parseCode(code);
+		if (!(declaration instanceof ModuleDeclaration)) {
+			return false;
+		}
+		final int start = region.getOffset();
+		final int end = start + region.getLength();
+		final List<ASTNode> statements = ((ModuleDeclaration) declaration)
+				.getStatements();
+		for (ASTNode node : statements.toArray(new ASTNode[statements
+				.size()])) {
+			if (node.sourceStart() < 0 || node.sourceEnd() > start
+					&& node.sourceStart() <= end) {
+				node.traverse(visitor);
+			}
+		}
+		return true;
+	}
+
 	@Deprecated
 	protected final void createVisitor(
 			org.eclipse.dltk.compiler.env.ISourceModule sourceCode) {
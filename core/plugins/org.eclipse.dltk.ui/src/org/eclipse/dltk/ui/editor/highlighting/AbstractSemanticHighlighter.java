@@ -22,6 +22,7 @@ import java.util.Map;
 
 import org.eclipse.dltk.compiler.env.IModuleSource;
 import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
 
 /**
@@ -36,8 +37,9 @@ import org.eclipse.jface.text.Position;
  * {@link #reconcile(org.eclipse.dltk.compiler.env.ISourceModule, HighlightedPosition[])}
  * method.
  */
-public abstract class AbstractSemanticHighlighter implements
-		ISemanticHighlightingUpdater, ISemanticHighlightingRequestor {
+public abstract class AbstractSemanticHighlighter
+		implements ISemanticHighlightingUpdater,
+		ISemanticHighlightingUpdaterExtension, ISemanticHighlightingRequestor {
 
 	private IHighlightedPositionFactory positionFactory;
 	private Map<String, HighlightingStyle> highlightingStyles = new HashMap<>();
@@ -58,16 +60,34 @@ public abstract class AbstractSemanticHighlighter implements
 	private final List<HighlightedPosition> newPositions = new ArrayList<>();
 	private int oldPositionCount = 0;
 	private final List<HighlightedPosition> oldPositions = new ArrayList<>();
+	/** the offsets of the old positions, to find them by binary search */
+	private int[] oldOffsets = new int[0];
+	/** the region being highlighted, <code>null</code> for the whole code */
+	private IRegion region;
 
 	@Override
 	public UpdateResult reconcile(IModuleSource code,
 			List<HighlightedPosition> currentPositions) {
+		return reconcile(code, null, currentPositions);
+	}
+
+	@Override
+	public UpdateResult reconcile(IModuleSource code, IRegion region,
+			List<HighlightedPosition> currentPositions) {
 		try {
 			newPositions.clear();
+			this.region = region;
 			this.oldPositionCount = currentPositions.size();
 			this.oldPositions.clear();
 			this.oldPositions.addAll(currentPositions);
-			if (doHighlighting(code)) {
+			if (oldOffsets.length < oldPositionCount) {
+				oldOffsets = new int[oldPositionCount];
+			}
+			for (int i = 0; i < oldPositionCount; ++i) {
+				oldOffsets[i] = oldPositions.get(i).getOffset();
+			}
+			if (region != null ? doHighlighting(code, region)
+					: doHighlighting(code)) {
 				checkNewPositionOrdering();
 				final HighlightedPosition[] removed = getRemovedPositions();
 				if (DEBUG) {
@@ -80,6 +100,8 @@ public abstract class AbstractSemanticHighlighter implements
 			}
 		} catch (Exception e) {
 			DLTKCore.error("Error in SemanticPositionUpdater", e); //$NON-NLS-1$
+		} finally {
+			this.region = null;
 		}
 		return new UpdateResult(HighlightedPosition.NO_POSITIONS,
 				HighlightedPosition.NO_POSITIONS);
@@ -96,17 +118,38 @@ public abstract class AbstractSemanticHighlighter implements
 	protected abstract boolean doHighlighting(IModuleSource code)
 			throws Exception;
 
+	/**
+	 * Highlights the specified region of the code, the positions reported
+	 * outside of the region are ignored. The default implementation highlights
+	 * the whole code.
+	 *
+	 * @param code
+	 * @param region
+	 * @return
+	 * @throws Exception
+	 */
+	protected boolean doHighlighting(IModuleSource code, IRegion region)
+			throws Exception {
+		return doHighlighting(code);
+	}
+
 	@Override
 	public void addPosition(int start, int end, String highlightingKey) {
 		final int len = end - start;
 		if (len <= 0) {
 			return;
 		}
+		if (region != null && (start < region.getOffset()
+				|| start >= region.getOffset() + region.getLength())) {
+			return;
+		}
 		final HighlightingStyle hl = highlightingStyles.get(highlightingKey);
 		if (hl == null) {
 			return;
 		}
-		for (int i = 0, size = oldPositions.size(); i < size; ++i) {
+		final int size = oldPositions.size();
+		for (int i = indexOfOffset(start, size); i < size
+				&& oldOffsets[i] == start; ++i) {
 			final HighlightedPosition p = oldPositions.get(i);
 			if (p != null && p.isEqual(start, len, hl)) {
 				oldPositions.set(i, null);
@@ -135,6 +178,24 @@ public abstract class AbstractSemanticHighlighter implements
 		}
 	}
 
+	/**
+	 * Returns the index of the first old position with the offset equal or
+	 * greater than the specified one.
+	 */
+	private int indexOfOffset(int offset, int size) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (oldOffsets[mid] < offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 	/**
 	 * @return
 	 */
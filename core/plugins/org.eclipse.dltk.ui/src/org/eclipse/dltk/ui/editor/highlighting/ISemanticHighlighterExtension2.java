@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.ui.editor.highlighting;
+
+import org.eclipse.dltk.compiler.env.IModuleSource;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * Extension of the {@link ISemanticHighlighter} able to highlight a part of
+ * the source, used when the semantic highlighting is recomputed incrementally.
+ */
+public interface ISemanticHighlighterExtension2 {
+
+	/**
+	 * Performs the highlighting of the specified <code>region</code> of the
+	 * <code>code</code>, the positions starting outside of the region may be
+	 * reported too, they are ignored.
+	 *
+	 * @param code
+	 * @param region
+	 *            the region to highlight, enclosing whole declarations
+	 * @param requestor
+	 * @throws AbortSemanticHighlightingException
+	 */
+	void process(IModuleSource code, IRegion region,
+			ISemanticHighlightingRequestor requestor);
+
+}
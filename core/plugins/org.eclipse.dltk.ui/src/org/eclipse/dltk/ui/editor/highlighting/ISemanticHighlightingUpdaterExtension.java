@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.ui.editor.highlighting;
+
+import java.util.List;
+
+import org.eclipse.dltk.compiler.env.IModuleSource;
+import org.eclipse.dltk.ui.editor.highlighting.ISemanticHighlightingUpdater.UpdateResult;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * Extension of the {@link ISemanticHighlightingUpdater} recomputing the
+ * semantic highlighting of a part of the source module.
+ */
+public interface ISemanticHighlightingUpdaterExtension {
+
+	/**
+	 * @param code
+	 *            source module
+	 * @param region
+	 *            the changed region of the source module
+	 * @param currentPositions
+	 *            current semantic {@link HighlightedPosition}s starting in the
+	 *            region, sorted by starting offset.
+	 * @return the changes of the positions starting in the region
+	 */
+	UpdateResult reconcile(IModuleSource code, IRegion region,
+			List<HighlightedPosition> currentPositions);
+
+}
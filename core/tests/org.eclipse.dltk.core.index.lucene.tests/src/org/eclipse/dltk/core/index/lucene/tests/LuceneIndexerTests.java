@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.index.lucene.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.SearcherManager;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.index2.IIndexingRequestor;
+import org.eclipse.dltk.core.index2.IIndexingRequestor.DeclarationInfo;
+import org.eclipse.dltk.core.tests.model.ModelTestsPlugin;
+import org.eclipse.dltk.internal.core.index.lucene.IndexType;
+import org.eclipse.dltk.internal.core.index.lucene.LuceneIndexer;
+import org.eclipse.dltk.internal.core.index.lucene.LuceneManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LuceneIndexerTests extends Assert {
+
+	private static final String PROJECT = "LuceneIndexerTests"; //$NON-NLS-1$
+	private static final int MODULES = 40;
+
+	/**
+	 * Indexer reporting a single declaration for each source module instead of
+	 * parsing it.
+	 */
+	private static class TestIndexer extends LuceneIndexer {
+
+		final Set<Thread> threads = Collections
+				.synchronizedSet(Collections.newSetFromMap(
+						new IdentityHashMap<Thread, Boolean>()));
+
+		@Override
+		protected void indexDocument(ISourceModule sourceModule,
+				IIndexingRequestor requestor) {
+			threads.add(Thread.currentThread());
+			requestor.addDeclaration(new DeclarationInfo(IModelElement.METHOD,
+					0, 0, 0, 0, 0, sourceModule.getElementName(), null, null,
+					null, null));
+		}
+	}
+
+	private IProject project;
+	private final List<ISourceModule> modules = new ArrayList<>();
+
+	@Before
+	public void createProject() throws CoreException {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT);
+		project.create(null);
+		project.open(null);
+		final IProjectDescription description = project.getDescription();
+		description.setNatureIds(
+				new String[] { ModelTestsPlugin.TEST_NATURE });
+		project.setDescription(description, null);
+		for (int i = 0; i < MODULES; ++i) {
+			final IFile file = project.getFile("module" + i + ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+			file.create(new ByteArrayInputStream(
+					("module" + i).getBytes(StandardCharsets.UTF_8)), true, //$NON-NLS-1$
+					null);
+			modules.add(DLTKCore.createSourceModuleFrom(file));
+		}
+	}
+
+	@After
+	public void deleteProject() throws CoreException {
+		LuceneManager.INSTANCE.delete(project.getFullPath().toString());
+		project.delete(true, null);
+	}
+
+	private int countDeclarations() throws IOException {
+		final SearcherManager searcherManager = LuceneManager.INSTANCE
+				.findIndexSearcher(project.getFullPath().toString(),
+						IndexType.DECLARATIONS, IModelElement.METHOD);
+		final IndexSearcher searcher = searcherManager.acquire();
+		try {
+			return searcher.count(new MatchAllDocsQuery());
+		} finally {
+			searcherManager.release(searcher);
+		}
+	}
+
+	@Test
+	public void batch() throws IOException {
+		final TestIndexer indexer = new TestIndexer();
+		indexer.indexDocuments(project.getFullPath(), modules,
+				new NullProgressMonitor());
+		// visible once the batch is done
+		assertEquals(MODULES, countDeclarations());
+		assertEquals(MODULES,
+				indexer.getDocuments(project.getFullPath()).size());
+		// indexed again, the previous documents are replaced
+		indexer.indexDocuments(project.getFullPath(), modules,
+				new NullProgressMonitor());
+		assertEquals(MODULES, countDeclarations());
+	}
+
+	@Test
+	public void threadsShared() {
+		final TestIndexer indexer = new TestIndexer();
+		for (int i = 0; i < 3; ++i) {
+			indexer.indexDocuments(project.getFullPath(), modules,
+					new NullProgressMonitor());
+		}
+		assertFalse(indexer.threads.isEmpty());
+		assertTrue(indexer.threads.size() <= LuceneManager.BATCH_THREADS);
+	}
+
+	@Test
+	public void canceled() throws IOException {
+		final NullProgressMonitor monitor = new NullProgressMonitor();
+		final TestIndexer indexer = new TestIndexer() {
+			@Override
+			protected void indexDocument(ISourceModule sourceModule,
+					IIndexingRequestor requestor) {
+				monitor.setCanceled(true);
+				super.indexDocument(sourceModule, requestor);
+			}
+		};
+		indexer.indexDocuments(project.getFullPath(), modules, monitor);
+		final int count = countDeclarations();
+		assertTrue(count > 0);
+		assertTrue(count < MODULES);
+	}
+
+	@Test
+	public void interruptWaitsForWorkers() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicBoolean blocked = new AtomicBoolean();
+		final AtomicBoolean workerDone = new AtomicBoolean();
+		final TestIndexer indexer = new TestIndexer() {
+			@Override
+			protected void indexDocument(ISourceModule sourceModule,
+					IIndexingRequestor requestor) {
+				if (blocked.compareAndSet(false, true)) {
+					started.countDown();
+					boolean done = false;
+					while (!done) {
+						try {
+							done = release.await(1, TimeUnit.MINUTES);
+						} catch (InterruptedException e) {
+							// wait for the release only
+						}
+					}
+					super.indexDocument(sourceModule, requestor);
+					workerDone.set(true);
+				} else {
+					super.indexDocument(sourceModule, requestor);
+				}
+			}
+		};
+		final AtomicBoolean doneOnReturn = new AtomicBoolean();
+		final AtomicBoolean interruptedOnReturn = new AtomicBoolean();
+		final Thread thread = new Thread(() -> {
+			indexer.indexDocuments(project.getFullPath(), modules,
+					new NullProgressMonitor());
+			doneOnReturn.set(workerDone.get());
+			interruptedOnReturn.set(Thread.currentThread().isInterrupted());
+		});
+		thread.start();
+		assertTrue(started.await(1, TimeUnit.MINUTES));
+		thread.interrupt();
+		thread.join(500);
+		// the batch is not ended while a worker still writes
+		assertTrue(thread.isAlive());
+		release.countDown();
+		thread.join(60000);
+		assertFalse(thread.isAlive());
+		assertTrue(doneOnReturn.get());
+		if (LuceneManager.BATCH_THREADS > 1) {
+			// the workers ran on the pool, the interrupt is kept
+			assertTrue(interruptedOnReturn.get());
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.index.lucene.tests;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.internal.core.index.lucene.IndexFields;
+import org.eclipse.dltk.internal.core.index.lucene.IndexType;
+import org.eclipse.dltk.internal.core.index.lucene.LuceneManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LuceneManagerTests extends Assert {
+
+	private final String container = "/LuceneManagerTests-" //$NON-NLS-1$
+			+ UUID.randomUUID();
+
+	@After
+	public void deleteContainer() {
+		LuceneManager.INSTANCE.delete(container);
+	}
+
+	private int count(String path) throws IOException {
+		final SearcherManager searcherManager = LuceneManager.INSTANCE
+				.findIndexSearcher(container, IndexType.DECLARATIONS,
+						IModelElement.METHOD);
+		final IndexSearcher searcher = searcherManager.acquire();
+		try {
+			return searcher
+					.count(new TermQuery(new Term(IndexFields.F_PATH, path)));
+		} finally {
+			searcherManager.release(searcher);
+		}
+	}
+
+	private void write(String path) throws IOException {
+		final Document document = new Document();
+		document.add(new StringField(IndexFields.F_PATH, path, Field.Store.NO));
+		LuceneManager.INSTANCE
+				.findIndexWriter(container, IndexType.DECLARATIONS,
+						IModelElement.METHOD)
+				.addDocument(document);
+	}
+
+	@Test
+	public void searchSeesOwnWrite() throws IOException {
+		assertEquals(0, count("a.txt"));
+		write("a.txt");
+		final long generation = LuceneManager.INSTANCE.markChanged(container);
+		// what a search given the generation does before it acquires the
+		// searchers
+		LuceneManager.INSTANCE.waitForGeneration(container, generation);
+		assertEquals(1, count("a.txt"));
+
+		LuceneManager.INSTANCE.delete(container, "a.txt");
+		LuceneManager.INSTANCE.waitForGeneration(container,
+				LuceneManager.INSTANCE.getGeneration(container));
+		assertEquals(0, count("a.txt"));
+	}
+
+	@Test
+	public void changesBecomeVisible() throws Exception {
+		assertEquals(0, count("b.txt"));
+		write("b.txt");
+		final long generation = LuceneManager.INSTANCE.markChanged(container);
+		assertEquals(generation,
+				LuceneManager.INSTANCE.getGeneration(container));
+		// refreshed by the background thread, without a search waiting
+		final long timeout = System.currentTimeMillis() + 30000;
+		while (count("b.txt") == 0
+				&& System.currentTimeMillis() < timeout) {
+			Thread.sleep(50);
+		}
+		assertEquals(1, count("b.txt"));
+	}
+}
@@ -12,24 +12,40 @@ package org.eclipse.dltk.core.tests;
 import org.eclipse.dltk.core.tests.builder.BuildParticipantManagerTests;
 import org.eclipse.dltk.core.tests.buildpath.BuildpathTests;
 import org.eclipse.dltk.core.tests.buildpath.SetContainerEventsTest;
+import org.eclipse.dltk.core.tests.cache.ArchivePoolTests;
+import org.eclipse.dltk.core.tests.cache.CacheMemoryManagerTests;
 import org.eclipse.dltk.core.tests.cache.CacheTests;
+import org.eclipse.dltk.core.tests.cache.FileAttributeCacheTests;
+import org.eclipse.dltk.core.tests.cache.GoalResultCacheTests;
+import org.eclipse.dltk.core.tests.cache.ModelCacheTests;
 import org.eclipse.dltk.core.tests.cache.SourceModuleInfoCacheTest;
 import org.eclipse.dltk.core.tests.compiler.CompilerCharOperationTests;
 import org.eclipse.dltk.core.tests.compiler.CompilerUtilTests;
 import org.eclipse.dltk.core.tests.ddp.CoreDDPTests;
 import org.eclipse.dltk.core.tests.launching.EnvironmentResolverTests;
 import org.eclipse.dltk.core.tests.launching.InterpreterConfigTests;
+import org.eclipse.dltk.core.tests.launching.LibraryLocationCacheTests;
 import org.eclipse.dltk.core.tests.mixin.MixinIndexTests;
 import org.eclipse.dltk.core.tests.mixin.MixinModelTests;
 import org.eclipse.dltk.core.tests.model.BufferTests;
+import org.eclipse.dltk.core.tests.model.ExternalFolderWatcherTests;
 import org.eclipse.dltk.core.tests.model.ExternalFragmentTests;
 import org.eclipse.dltk.core.tests.model.ModelMembersTests;
 import org.eclipse.dltk.core.tests.model.NamespaceTests;
 import org.eclipse.dltk.core.tests.model.WorkingCopyTests;
+import org.eclipse.dltk.core.tests.parser.ModuleDeclarationSerializerTests;
 import org.eclipse.dltk.core.tests.parser.SourceParserTests;
 import org.eclipse.dltk.core.tests.search.Bug387751Test;
+import org.eclipse.dltk.core.tests.search.CategoryTableTests;
+import org.eclipse.dltk.core.tests.search.DiskIndexTests;
+import org.eclipse.dltk.core.tests.search.JobManagerTests;
+import org.eclipse.dltk.core.tests.search.MatchLocatorTests;
+import org.eclipse.dltk.core.tests.search.PatternSearchJobTests;
+import org.eclipse.dltk.core.tests.search.SuperTypeGraphTests;
+import org.eclipse.dltk.core.tests.ti.ConcurrentGoalEngineTests;
 import org.eclipse.dltk.core.tests.util.CharacterStackTests;
 import org.eclipse.dltk.core.tests.utils.CharOperationTests;
+import org.eclipse.dltk.core.tests.utils.FileTreeTimestampsTests;
 import org.eclipse.dltk.core.tests.utils.IntListTests;
 import org.eclipse.dltk.core.tests.utils.InternalCoreUtilTest;
 import org.eclipse.dltk.core.tests.utils.TextUtilsTest;
@@ -41,12 +57,19 @@ import org.junit.runners.Suite;
 		UserLibraryTests.class, CacheTests.class, CompilerUtilTests.class,
 		CompilerCharOperationTests.class, IntListTests.class,
 		CoreDDPTests.class, EnvironmentResolverTests.class,
-		InterpreterConfigTests.class, MixinIndexTests.class,
-		MixinModelTests.class, BufferTests.class, ModelMembersTests.class,
-		NamespaceTests.class, WorkingCopyTests.class,
+		InterpreterConfigTests.class, LibraryLocationCacheTests.class,
+		MixinIndexTests.class, MixinModelTests.class, BufferTests.class,
+		ModelMembersTests.class, NamespaceTests.class, WorkingCopyTests.class,
 		ExternalFragmentTests.class, SourceParserTests.class,
 		CharacterStackTests.class, CharOperationTests.class,
 		InternalCoreUtilTest.class, TextUtilsTest.class, Bug387751Test.class,
-		SourceModuleInfoCacheTest.class, SetContainerEventsTest.class })
+		SourceModuleInfoCacheTest.class, SetContainerEventsTest.class,
+		DiskIndexTests.class, CategoryTableTests.class, JobManagerTests.class,
+		PatternSearchJobTests.class, MatchLocatorTests.class,
+		ModuleDeclarationSerializerTests.class, ModelCacheTests.class,
+		FileAttributeCacheTests.class, FileTreeTimestampsTests.class,
+		ArchivePoolTests.class, GoalResultCacheTests.class,
+		ConcurrentGoalEngineTests.class, CacheMemoryManagerTests.class,
+		SuperTypeGraphTests.class, ExternalFolderWatcherTests.class })
 public class AllTests {
 }
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.cache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.dltk.core.IArchive;
+import org.eclipse.dltk.core.IArchiveEntry;
+import org.eclipse.dltk.internal.core.ArchivePool;
+import org.eclipse.dltk.internal.core.ZipArchiveFile;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchivePoolTests extends Assert {
+
+	private static final int ENTRY_COUNT = 50000;
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final ArchivePool pool = new ArchivePool();
+	private final AtomicInteger opened = new AtomicInteger();
+
+	@After
+	public void closePool() {
+		pool.closeAll();
+	}
+
+	private File createArchive(String name, int count) throws IOException {
+		final File file = temp.newFile(name);
+		try (ZipOutputStream out = new ZipOutputStream(
+				new FileOutputStream(file))) {
+			for (int i = count; --i >= 0;) {
+				out.putNextEntry(new ZipEntry("folder" + (i % 100) + "/module"
+						+ i + ".txt"));
+				out.write(String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+				out.closeEntry();
+			}
+		}
+		return file;
+	}
+
+	private IArchive acquire(File file) throws IOException {
+		return pool.acquire(file, f -> {
+			opened.incrementAndGet();
+			return new ZipArchiveFile(f);
+		});
+	}
+
+	private static String read(IArchive archive, IArchiveEntry entry)
+			throws IOException {
+		try (InputStream in = archive.getInputStream(entry)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test
+	public void largeArchive() throws IOException {
+		final File file = createArchive("large.zip", ENTRY_COUNT);
+		final IArchive archive = acquire(file);
+		try {
+			int count = 0;
+			String previous = null;
+			for (Enumeration<? extends IArchiveEntry> e = archive
+					.getArchiveEntries(); e.hasMoreElements();) {
+				final String name = e.nextElement().getName();
+				if (previous != null) {
+					assertTrue(previous.compareTo(name) < 0);
+				}
+				previous = name;
+				++count;
+			}
+			assertEquals(ENTRY_COUNT, count);
+			final IArchiveEntry entry = archive
+					.getArchiveEntry("folder42/module12342.txt");
+			assertNotNull(entry);
+			assertEquals("12342", read(archive, entry));
+			assertNull(archive.getArchiveEntry("folder42/missing.txt"));
+		} finally {
+			archive.close();
+		}
+	}
+
+	@Test
+	public void sharedUntilIdle() throws IOException {
+		final File file = createArchive("shared.zip", 10);
+		final IArchive first = acquire(file);
+		final IArchive second = acquire(file);
+		assertEquals(1, opened.get());
+		first.close();
+		first.close();
+		assertEquals("5",
+				read(second, second.getArchiveEntry("folder5/module5.txt")));
+		second.close();
+		assertEquals(1, pool.size());
+		assertFalse(pool.evictIdle(System.currentTimeMillis()
+				+ ArchivePool.IDLE_TIMEOUT));
+		assertEquals(0, pool.size());
+		acquire(file).close();
+		assertEquals(2, opened.get());
+	}
+
+	@Test
+	public void reopenedWhenChanged() throws IOException {
+		final File file = createArchive("changed.zip", 10);
+		final IArchive archive = acquire(file);
+		assertTrue(file.delete());
+		assertEquals(file, createArchive("changed.zip", 20));
+		assertTrue(file.setLastModified(file.lastModified() + 10000));
+		final IArchive changed = acquire(file);
+		try {
+			assertEquals(2, opened.get());
+			assertNotNull(changed.getArchiveEntry("folder15/module15.txt"));
+			assertNotNull(archive.getArchiveEntry("folder5/module5.txt"));
+		} finally {
+			archive.close();
+			changed.close();
+		}
+		assertEquals(1, pool.size());
+	}
+
+	@Test
+	public void openedOutsideOfLock() throws Exception {
+		final File slow = createArchive("slow.zip", 10);
+		final File other = createArchive("other.zip", 10);
+		final CountDownLatch opening = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<IArchive> first = executor.submit(() -> pool
+					.acquire(slow, f -> {
+						opened.incrementAndGet();
+						opening.countDown();
+						try {
+							assertTrue(release.await(1, TimeUnit.MINUTES));
+						} catch (InterruptedException e) {
+							throw new InterruptedIOException();
+						}
+						return new ZipArchiveFile(f);
+					}));
+			assertTrue(opening.await(1, TimeUnit.MINUTES));
+			final Future<IArchive> second = executor
+					.submit(() -> acquire(slow));
+			// another archive is opened meanwhile
+			acquire(other).close();
+			assertFalse(second.isDone());
+			release.countDown();
+			final IArchive a = first.get(1, TimeUnit.MINUTES);
+			final IArchive b = second.get(1, TimeUnit.MINUTES);
+			assertEquals(2, opened.get());
+			assertEquals("5",
+					read(b, b.getArchiveEntry("folder5/module5.txt")));
+			a.close();
+			b.close();
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void closeAllKeepsUsedArchives() throws IOException {
+		final IArchive used = acquire(createArchive("used.zip", 10));
+		acquire(createArchive("idle.zip", 10)).close();
+		assertEquals(2, pool.size());
+		pool.closeAll();
+		assertEquals(0, pool.size());
+		assertEquals("5",
+				read(used, used.getArchiveEntry("folder5/module5.txt")));
+		used.close();
+	}
+}
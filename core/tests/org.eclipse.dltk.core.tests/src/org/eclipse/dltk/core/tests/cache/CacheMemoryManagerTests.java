@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.cache;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+
+import org.eclipse.dltk.internal.core.CacheMemoryManager;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class CacheMemoryManagerTests extends Assert {
+
+	/**
+	 * Returns the collection usage thresholds of the heap pools, by the pool
+	 * name.
+	 */
+	private static Map<String, Long> getThresholds() {
+		final Map<String, Long> thresholds = new HashMap<>();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP
+					&& pool.isCollectionUsageThresholdSupported()) {
+				thresholds.put(pool.getName(),
+						pool.getCollectionUsageThreshold());
+			}
+		}
+		return thresholds;
+	}
+
+	private static void setThresholds(Map<String, Long> thresholds) {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			final Long threshold = thresholds.get(pool.getName());
+			if (threshold != null) {
+				pool.setCollectionUsageThreshold(threshold.longValue());
+			}
+		}
+	}
+
+	@Test
+	public void stopResetsThresholds() {
+		final Map<String, Long> initial = getThresholds();
+		Assume.assumeFalse(initial.isEmpty());
+		final Map<String, Long> unset = new HashMap<>();
+		for (String name : initial.keySet()) {
+			unset.put(name, 0L);
+		}
+		// the thresholds of the running manager are set again at the end
+		setThresholds(unset);
+		try {
+			final CacheMemoryManager manager = new CacheMemoryManager();
+			manager.start();
+			assertNotEquals(unset, getThresholds());
+			manager.stop();
+			assertEquals(unset, getThresholds());
+			try {
+				((NotificationEmitter) ManagementFactory.getMemoryMXBean())
+						.removeNotificationListener(manager);
+				fail("ListenerNotFoundException expected");
+			} catch (ListenerNotFoundException e) {
+				// expected, removed by stop()
+			}
+		} finally {
+			setThresholds(initial);
+		}
+	}
+
+	@Test
+	public void stopKeepsOtherThresholds() {
+		final Map<String, Long> initial = getThresholds();
+		final CacheMemoryManager manager = new CacheMemoryManager();
+		manager.start();
+		manager.stop();
+		// the thresholds set before are not changed
+		assertEquals(initial, getThresholds());
+	}
+}
@@ -6,6 +6,7 @@ import java.io.FileOutputStream;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.dltk.core.caching.ArchiveCacheIndexBuilder;
 import org.eclipse.dltk.core.caching.IContentCache;
@@ -56,6 +57,33 @@ public class CacheTests extends AbstractModelTests {
 		TestCase.assertEquals("value2", value2);
 	}
 
+	public void testCacheItemsReopen() {
+		IEnvironment env = EnvironmentManager.getLocalEnvironment();
+		IFileHandle handle = env.getFile(FILE.getLocation());
+		IPath location = ModelTestsPlugin.getDefault().getStateLocation()
+				.append("cache2");
+		MetadataContentCache cache = new MetadataContentCache(location);
+		cache.clear();
+		cache.setCacheEntryAttribute(handle, "attr1", "value1");
+		cache.setCacheEntryAttribute(handle, "attr2", "value2");
+		cache.setCacheEntryAttribute(handle, "attr3", 3L);
+		cache.removeCacheEntryAttributes(handle, "attr2");
+		cache.save(false);
+
+		cache = new MetadataContentCache(location);
+		TestCase.assertEquals("value1",
+				cache.getCacheEntryAttributeString(handle, "attr1"));
+		TestCase.assertNull(cache.getCacheEntryAttributeString(handle, "attr2"));
+		TestCase.assertEquals(3L,
+				cache.getCacheEntryAttributeLong(handle, "attr3"));
+		cache.clearCacheEntryAttributes(handle);
+		cache.save(false);
+
+		cache = new MetadataContentCache(location);
+		TestCase.assertNull(cache.getCacheEntryAttributeString(handle, "attr1"));
+		cache.save(false);
+	}
+
 	public void testCacheItems002() {
 		IEnvironment env = EnvironmentManager.getLocalEnvironment();
 		IFileHandle handle = env.getFile(FILE.getLocation());
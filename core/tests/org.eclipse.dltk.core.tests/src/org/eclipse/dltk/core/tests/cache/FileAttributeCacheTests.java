@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.dltk.core.environment.FileAttributeCache;
+import org.junit.Test;
+
+public class FileAttributeCacheTests {
+
+	@Test
+	public void loadOnce() {
+		final FileAttributeCache<String, String> cache = new FileAttributeCache<>(
+				10, 60000);
+		final AtomicInteger loads = new AtomicInteger();
+		assertEquals("A", cache.get("a", key -> {
+			loads.incrementAndGet();
+			return "A";
+		}));
+		assertEquals("A", cache.get("a", key -> {
+			loads.incrementAndGet();
+			return "B";
+		}));
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void missingFile() {
+		final FileAttributeCache<String, String> cache = new FileAttributeCache<>(
+				10, 60000);
+		assertNull(cache.get("a", key -> null));
+		assertNull(cache.get("a", key -> "A"));
+		cache.invalidate("a");
+		assertEquals("A", cache.get("a", key -> "A"));
+	}
+
+	@Test
+	public void limit() {
+		final FileAttributeCache<Integer, Integer> cache = new FileAttributeCache<>(
+				3, 60000);
+		for (int i = 0; i < 5; ++i) {
+			cache.put(i, i);
+		}
+		assertEquals(3, cache.size());
+		assertEquals(Integer.valueOf(-1), cache.get(0, key -> -1));
+		assertEquals(Integer.valueOf(4), cache.get(4, key -> -1));
+	}
+
+	@Test
+	public void expire() throws InterruptedException {
+		final FileAttributeCache<String, String> cache = new FileAttributeCache<>(
+				10, 1);
+		cache.put("a", "A");
+		Thread.sleep(10);
+		assertEquals("B", cache.get("a", key -> "B"));
+	}
+
+	@Test
+	public void invalidateDescendants() {
+		final FileAttributeCache<String, String> cache = new FileAttributeCache<>(
+				10, 60000);
+		cache.put("/lib", "lib");
+		cache.put("/lib/a", "a");
+		cache.put("/src", "src");
+		cache.invalidate(key -> key.startsWith("/lib"));
+		assertEquals(1, cache.size());
+		assertEquals("src", cache.get("/src", key -> null));
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.cache;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.ModelException;
+import org.eclipse.dltk.core.tests.ProjectSetup;
+import org.eclipse.dltk.core.tests.model.ModelTestsPlugin;
+import org.eclipse.dltk.ti.BasicContext;
+import org.eclipse.dltk.ti.GoalResultCache;
+import org.eclipse.dltk.ti.goals.AbstractGoal;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class GoalResultCacheTests extends Assert {
+
+	@Rule
+	public final ProjectSetup project = new ProjectSetup(
+			ModelTestsPlugin.WORKSPACE, "cache");
+
+	private static class TestGoal extends AbstractGoal {
+		final String name;
+
+		TestGoal(ISourceModule module, ModuleDeclaration rootNode,
+				String name) {
+			super(new BasicContext(module, rootNode));
+			this.name = name;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * super.hashCode() + name.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return super.equals(obj) && name.equals(((TestGoal) obj).name);
+		}
+	}
+
+	private ISourceModule a;
+	private ISourceModule b;
+	private GoalResultCache cache;
+
+	@Before
+	public void setUp() throws ModelException {
+		a = project.getSourceModule("src", "folder1/a.txt");
+		b = project.getSourceModule("src", "folder1/b.txt");
+		cache = GoalResultCache.getCache(a.getScriptProject());
+		cache.clear();
+	}
+
+	@Test
+	public void hit() {
+		final ModuleDeclaration rootNode = new ModuleDeclaration(0);
+		assertSame(GoalResultCache.NOT_FOUND,
+				GoalResultCache.get(new TestGoal(a, rootNode, "x")));
+		GoalResultCache.put(new TestGoal(a, rootNode, "x"), "X");
+		GoalResultCache.put(new TestGoal(a, rootNode, "y"), null);
+		final long hits = cache.getHitCount();
+		assertEquals("X", GoalResultCache.get(new TestGoal(a, rootNode, "x")));
+		assertNull(GoalResultCache.get(new TestGoal(a, rootNode, "y")));
+		assertEquals(hits + 2, cache.getHitCount());
+		assertSame(GoalResultCache.NOT_FOUND,
+				GoalResultCache.get(new TestGoal(a, rootNode, "z")));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void newDeclaration() {
+		final ModuleDeclaration rootNode = new ModuleDeclaration(0);
+		GoalResultCache.put(new TestGoal(a, rootNode, "x"), "X");
+		final ModuleDeclaration changed = new ModuleDeclaration(0);
+		assertSame(GoalResultCache.NOT_FOUND,
+				GoalResultCache.get(new TestGoal(a, changed, "x")));
+		GoalResultCache.put(new TestGoal(a, changed, "x"), "X2");
+		// the results of the previous declaration are dropped
+		assertEquals(1, cache.size());
+		assertSame(GoalResultCache.NOT_FOUND,
+				GoalResultCache.get(new TestGoal(a, rootNode, "x")));
+		assertEquals("X2", GoalResultCache.get(new TestGoal(a, changed, "x")));
+	}
+
+	@Test
+	public void reconcileClearsProject() throws Exception {
+		final ModuleDeclaration rootNodeA = new ModuleDeclaration(0);
+		final ModuleDeclaration rootNodeB = new ModuleDeclaration(0);
+		final ISourceModule copy = a.getWorkingCopy(null);
+		try {
+			GoalResultCache.put(new TestGoal(copy, rootNodeA, "x"), "X");
+			GoalResultCache.put(new TestGoal(b, rootNodeB, "x"), "Y");
+			copy.getBuffer().setContents("//changed\n");
+			copy.reconcile(false, null, null);
+			assertSame(GoalResultCache.NOT_FOUND,
+					GoalResultCache.get(new TestGoal(copy, rootNodeA, "x")));
+			// the result may have been computed from the reconciled module
+			assertSame(GoalResultCache.NOT_FOUND,
+					GoalResultCache.get(new TestGoal(b, rootNodeB, "x")));
+		} finally {
+			copy.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void changeClearsProject() throws Exception {
+		final ModuleDeclaration rootNodeA = new ModuleDeclaration(0);
+		final ModuleDeclaration rootNodeB = new ModuleDeclaration(0);
+		GoalResultCache.put(new TestGoal(a, rootNodeA, "x"), "X");
+		GoalResultCache.put(new TestGoal(b, rootNodeB, "x"), "Y");
+		assertEquals(2, cache.size());
+		((IFile) b.getResource()).setContents(
+				new ByteArrayInputStream(
+						"//changed\n".getBytes(StandardCharsets.UTF_8)),
+				true, false, null);
+		assertEquals(0, cache.size());
+	}
+}
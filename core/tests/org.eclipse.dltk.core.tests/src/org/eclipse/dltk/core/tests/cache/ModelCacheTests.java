@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dltk.core.IScriptFolder;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.tests.ProjectSetup;
+import org.eclipse.dltk.core.tests.model.ModelTestsPlugin;
+import org.eclipse.dltk.internal.core.ModelElement;
+import org.eclipse.dltk.internal.core.ModelManager;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ModelCacheTests extends Assert {
+
+	private static final int MODULES = 40;
+	private static final int THREADS = 8;
+	private static final int ITERATIONS = 200;
+
+	@Rule
+	public final ProjectSetup project = new ProjectSetup(
+			ModelTestsPlugin.WORKSPACE, "cache");
+
+	@Test
+	public void concurrentOpenAndClose() throws Exception {
+		final ISourceModule existing = project.getSourceModule("src",
+				"folder1/a.txt");
+		final IScriptFolder folder = (IScriptFolder) existing.getParent();
+		final List<ISourceModule> modules = new ArrayList<>();
+		for (int i = 0; i < MODULES; ++i) {
+			modules.add(folder.createSourceModule("m" + i + ".txt",
+					"//module " + i + "\n", true, null));
+		}
+		final ExecutorService executor = Executors
+				.newFixedThreadPool(THREADS + 1);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; ++t) {
+				final int offset = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < ITERATIONS; ++i) {
+						final ISourceModule module = modules
+								.get((offset + i) % MODULES);
+						assertTrue(module.exists());
+						assertNotNull(((ModelElement) module).getElementInfo());
+					}
+					return null;
+				}));
+			}
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < ITERATIONS; ++i) {
+					modules.get(i % MODULES).close();
+				}
+				return null;
+			}));
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		final ModelManager manager = ModelManager.getModelManager();
+		for (ISourceModule module : modules) {
+			final Object info = ((ModelElement) module).getElementInfo();
+			assertSame(info, manager.getInfo(module));
+			module.close();
+			assertNull(manager.getInfo(module));
+		}
+	}
+}
@@ -18,10 +18,17 @@ import static org.hamcrest.CoreMatchers.not;
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.dltk.compiler.problem.DefaultProblem;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.ProblemCollector;
+import org.eclipse.dltk.compiler.problem.ProblemSeverity;
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.IScriptFolder;
 import org.eclipse.dltk.core.ISourceModule;
@@ -29,6 +36,8 @@ import org.eclipse.dltk.core.ModelException;
 import org.eclipse.dltk.core.SourceParserUtil;
 import org.eclipse.dltk.core.tests.ProjectSetup;
 import org.eclipse.dltk.core.tests.model.ModelTestsPlugin;
+import org.eclipse.dltk.core.tests.model.TestSourceParser;
+import org.eclipse.dltk.internal.core.IMemoryAwareCache;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -198,4 +207,72 @@ public class SourceModuleInfoCacheTest extends Assert {
 		assertThat(modules.get(0), not(IS_CACHED));
 	}
 
+	@Test
+	public void resize() throws CoreException {
+		final IMemoryAwareCache cache = (IMemoryAwareCache) getCache();
+		final IScriptFolder folder = project.getScriptFolder("src", "folder1");
+		assertNotNull(folder);
+		final List<ISourceModule> modules = new ArrayList<>();
+		project.getWorkspace().run(monitor -> {
+			for (int i = 0; i < 10; ++i) {
+				modules.add(folder.createSourceModule("r" + i + ".txt", "",
+						false, null));
+			}
+		}, null);
+		for (ISourceModule module : modules) {
+			assertNotNull(SourceParserUtil.parse(module, null));
+		}
+		assertTrue(cache.getWeight() > 0);
+		try {
+			cache.resize(1.0 / getCache().capacity());
+			assertEquals(1, getCache().size());
+			assertThat(modules.get(modules.size() - 1), IS_CACHED);
+			assertThat(modules.get(0), not(IS_CACHED));
+		} finally {
+			cache.resize(1);
+		}
+	}
+
+
+	@Test
+	public void concurrentParse() throws Exception {
+		final ISourceModule module = project.getSourceModule("src",
+				"folder1/a.txt");
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger parses = new AtomicInteger();
+		TestSourceParser.setListener((input, reporter) -> {
+			parses.incrementAndGet();
+			reporter.reportProblem(new DefaultProblem("problem",
+					IProblem.Unclassified, null, ProblemSeverity.ERROR, 0, 1,
+					0));
+			started.countDown();
+			try {
+				release.await(1, TimeUnit.MINUTES);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		try {
+			final ProblemCollector first = new ProblemCollector();
+			final ProblemCollector second = new ProblemCollector();
+			final Thread parser = new Thread(
+					() -> SourceParserUtil.parse(module, first));
+			parser.start();
+			assertTrue(started.await(1, TimeUnit.MINUTES));
+			final Thread waiter = new Thread(
+					() -> SourceParserUtil.parse(module, second));
+			waiter.start();
+			Thread.sleep(200);
+			release.countDown();
+			parser.join(60000);
+			waiter.join(60000);
+			// parsed once, the problems are reported to both
+			assertEquals(1, parses.get());
+			assertEquals(1, first.getErrors().size());
+			assertEquals(1, second.getErrors().size());
+		} finally {
+			TestSourceParser.setListener(null);
+		}
+	}
 }
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.launching;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.core.environment.IDeployment;
+import org.eclipse.dltk.core.environment.IFileHandle;
+import org.eclipse.dltk.core.internal.environment.LocalEnvironment;
+import org.eclipse.dltk.core.tests.model.ModelTestsPlugin;
+import org.eclipse.dltk.internal.launching.AbstractInterpreterInstallType;
+import org.eclipse.dltk.internal.launching.LibraryLocationCache;
+import org.eclipse.dltk.launching.EnvironmentVariable;
+import org.eclipse.dltk.launching.IInterpreterInstall;
+import org.eclipse.dltk.launching.LibraryLocation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LibraryLocationCacheTests extends Assert {
+
+	private static final int FILE_MAGIC = 0x444C4C4C;
+	private static final String KEY = "test|/usr/bin/interpreter";
+	private static final long TIMEOUT = 30000;
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private File file;
+
+	/**
+	 * Looks up the specified locations, saving them to the cache of the test.
+	 */
+	private static class TestInstallType
+			extends AbstractInterpreterInstallType {
+		private final LibraryLocationCache cache;
+		volatile LibraryLocation[] locations;
+
+		TestInstallType(LibraryLocationCache cache) {
+			this.cache = cache;
+		}
+
+		@Override
+		public String getId() {
+			return "test.libraryLocationCache";
+		}
+
+		@Override
+		public String getName() {
+			return "Test";
+		}
+
+		@Override
+		public String getNatureId() {
+			return "test.nature";
+		}
+
+		@Override
+		protected LibraryLocationCache getLibraryLocationCache() {
+			return cache;
+		}
+
+		@Override
+		protected ILookupRunnable createLookupRunnable(
+				IFileHandle installLocation, List<LibraryLocation> locations,
+				EnvironmentVariable[] variables) {
+			return monitor -> Collections.addAll(locations, this.locations);
+		}
+
+		@Override
+		protected IInterpreterInstall doCreateInterpreterInstall(String id) {
+			return null;
+		}
+
+		@Override
+		protected String[] getPossibleInterpreterNames() {
+			return new String[] { "interpreter" };
+		}
+
+		@Override
+		protected String getPluginId() {
+			return ModelTestsPlugin.PLUGIN_NAME;
+		}
+
+		@Override
+		protected ILog getLog() {
+			return ModelTestsPlugin.getDefault().getLog();
+		}
+
+		@Override
+		protected IPath createPathFile(IDeployment deployment) {
+			return null;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		file = new File(temp.getRoot(), "libraryLocations.dat");
+	}
+
+	private LibraryLocationCache load() {
+		final LibraryLocationCache cache = new LibraryLocationCache(file);
+		cache.load();
+		return cache;
+	}
+
+	private static LibraryLocation[] locations(String... paths) {
+		final LibraryLocation[] result = new LibraryLocation[paths.length];
+		for (int i = 0; i < paths.length; ++i) {
+			result[i] = new LibraryLocation(new Path(paths[i]));
+		}
+		return result;
+	}
+
+	private IFileHandle createInterpreter() throws IOException {
+		final File interpreter = temp.newFile("interpreter");
+		Files.write(interpreter.toPath(),
+				"#!/bin/sh".getBytes(StandardCharsets.UTF_8));
+		return LocalEnvironment.getInstance()
+				.getFile(new Path(interpreter.getAbsolutePath()));
+	}
+
+	@Test
+	public void roundTrip() {
+		final LibraryLocation[] locations = locations("/usr/lib/a",
+				"/usr/lib/b");
+		load().put(KEY, "10:1000", locations);
+		assertTrue(file.exists());
+		final LibraryLocationCache cache = load();
+		assertArrayEquals(locations, cache.get(KEY, "10:1000"));
+		assertNull(cache.get("other", "10:1000"));
+		// loaded entries are refreshed once in the session
+		assertTrue(cache.markRefreshed(KEY));
+		assertFalse(cache.markRefreshed(KEY));
+	}
+
+	@Test
+	public void fingerprintChanged() throws IOException {
+		final IFileHandle interpreter = createInterpreter();
+		final String fingerprint = LibraryLocationCache
+				.fingerprintOf(interpreter);
+		assertNotNull(fingerprint);
+		load().put(KEY, fingerprint, locations("/usr/lib/a"));
+		assertTrue(new File(interpreter.getPath().toOSString())
+				.setLastModified(interpreter.lastModified() + 10000));
+		final String newFingerprint = LibraryLocationCache
+				.fingerprintOf(interpreter);
+		assertNotEquals(fingerprint, newFingerprint);
+		final LibraryLocationCache cache = load();
+		assertNull(cache.get(KEY, newFingerprint));
+		// replaced by the locations found for the new fingerprint
+		cache.put(KEY, newFingerprint, locations("/usr/lib/b"));
+		assertNull(load().get(KEY, fingerprint));
+		assertArrayEquals(locations("/usr/lib/b"),
+				load().get(KEY, newFingerprint));
+	}
+
+	@Test
+	public void missingInterpreter() {
+		assertNull(LibraryLocationCache.fingerprintOf(LocalEnvironment
+				.getInstance()
+				.getFile(new Path(temp.getRoot().getAbsolutePath())
+						.append("missing"))));
+	}
+
+	@Test
+	public void corruptFile() throws IOException {
+		load().put(KEY, "10:1000", locations("/usr/lib/a"));
+		// truncated after the number of entries
+		try (DataOutputStream out = new DataOutputStream(
+				new FileOutputStream(file))) {
+			out.writeInt(FILE_MAGIC);
+			out.writeInt(1);
+			out.writeInt(1);
+			out.writeUTF(KEY);
+		}
+		final LibraryLocationCache cache = load();
+		assertNull(cache.get(KEY, "10:1000"));
+		assertFalse(file.exists());
+		// still saved when the locations are found again
+		cache.put(KEY, "10:1000", locations("/usr/lib/b"));
+		assertArrayEquals(locations("/usr/lib/b"),
+				load().get(KEY, "10:1000"));
+	}
+
+	@Test
+	public void otherFile() throws IOException {
+		Files.write(file.toPath(), "other".getBytes(StandardCharsets.UTF_8));
+		assertNull(load().get(KEY, "10:1000"));
+		load().put(KEY, "10:1000", locations("/usr/lib/a"));
+		assertArrayEquals(locations("/usr/lib/a"), load().get(KEY, "10:1000"));
+	}
+
+	@Test
+	public void backgroundRefresh() throws Exception {
+		final IFileHandle interpreter = createInterpreter();
+		final String fingerprint = LibraryLocationCache
+				.fingerprintOf(interpreter);
+		final String key = "test.libraryLocationCache|"
+				+ AbstractInterpreterInstallType.makeKey(interpreter, null);
+		// saved in the previous session
+		load().put(key, fingerprint, locations("/usr/lib/old"));
+		final LibraryLocationCache cache = load();
+		final TestInstallType type = new TestInstallType(cache);
+		type.locations = locations("/usr/lib/new");
+		// the saved locations are returned without the lookup
+		assertArrayEquals(locations("/usr/lib/old"),
+				type.getDefaultLibraryLocations(interpreter));
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (!Arrays.equals(locations("/usr/lib/new"),
+				cache.get(key, fingerprint))) {
+			assertTrue("refreshed in the background",
+					System.currentTimeMillis() < deadline);
+			Thread.sleep(50);
+		}
+		// replaced for the next requests and the next session
+		assertArrayEquals(locations("/usr/lib/new"),
+				type.getDefaultLibraryLocations(interpreter));
+		assertArrayEquals(locations("/usr/lib/new"),
+				load().get(key, fingerprint));
+		// not refreshed again in the same session
+		assertFalse(cache.markRefreshed(key));
+	}
+}
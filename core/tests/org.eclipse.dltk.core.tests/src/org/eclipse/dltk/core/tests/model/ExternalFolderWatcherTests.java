@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IBuildpathEntry;
+import org.eclipse.dltk.core.IElementChangedListener;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IModelElementDelta;
+import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.ModelException;
+import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
+import org.eclipse.dltk.core.internal.environment.LocalEnvironment;
+import org.eclipse.dltk.core.tests.ProjectSetup;
+import org.eclipse.dltk.internal.core.ExternalFolderWatcher;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ExternalFolderWatcherTests extends Assert {
+
+	private static final int FILE_MAGIC = 0x444C5746;
+	private static final long TIMEOUT = 30000;
+
+	@Rule
+	public final ProjectSetup project = new ProjectSetup(
+			ModelTestsPlugin.WORKSPACE, "cache");
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private File folder;
+	private IPath folderPath;
+	private File file;
+	private ExternalFolderWatcher watcher;
+	private final Set<String> deltas = Collections
+			.synchronizedSet(new TreeSet<>());
+	private final IElementChangedListener listener = event -> {
+		if (event.getDelta() != null) {
+			collect(event.getDelta());
+		}
+	};
+
+	@Before
+	public void setUp() throws IOException, CoreException {
+		folder = temp.newFolder("lib");
+		folderPath = EnvironmentPathUtils.getFullPath(
+				LocalEnvironment.getInstance(),
+				new Path(folder.getAbsolutePath()));
+		writeModule("m1");
+		// not a source module of the test language
+		write("notes.dat", "notes");
+		addBuildpathEntry(DLTKCore.newExtLibraryEntry(folderPath));
+		file = new File(temp.getRoot(), "externalFolders.dat");
+		DLTKCore.addElementChangedListener(listener,
+				ElementChangedEvent.POST_CHANGE);
+	}
+
+	@After
+	public void tearDown() {
+		DLTKCore.removeElementChangedListener(listener);
+		if (watcher != null) {
+			watcher.stop();
+		}
+	}
+
+	private void collect(IModelElementDelta delta) {
+		if (delta.getElement()
+				.getElementType() == IModelElement.SOURCE_MODULE) {
+			final String kind;
+			switch (delta.getKind()) {
+			case IModelElementDelta.ADDED:
+				kind = "ADDED ";
+				break;
+			case IModelElementDelta.REMOVED:
+				kind = "REMOVED ";
+				break;
+			default:
+				kind = "CHANGED ";
+				break;
+			}
+			deltas.add(kind + delta.getElement().getElementName());
+			return;
+		}
+		for (IModelElementDelta child : delta.getAffectedChildren()) {
+			collect(child);
+		}
+	}
+
+	private void write(String name, String contents) throws IOException {
+		Files.write(new File(folder, name).toPath(),
+				contents.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void writeModule(String name) throws IOException {
+		write(name + ".txt", "# parseme!\nenterType " + name.toUpperCase()
+				+ "\nexitType\n");
+	}
+
+	/**
+	 * Changes the module, its modification time is changed explicitly as the
+	 * file system could keep it within the same second.
+	 */
+	private void changeModule(String name) throws IOException {
+		final File module = new File(folder, name + ".txt");
+		final long lastModified = module.lastModified();
+		write(module.getName(), "# parseme!\nenterType Changed\nexitType\n");
+		assertTrue(module.setLastModified(lastModified + 10000));
+	}
+
+	private void delete(String name) {
+		assertTrue(new File(folder, name).delete());
+	}
+
+	private void addBuildpathEntry(IBuildpathEntry entry)
+			throws ModelException {
+		final IScriptProject scriptProject = project.getScriptProject();
+		final List<IBuildpathEntry> buildpath = new ArrayList<>();
+		buildpath.add(entry);
+		Collections.addAll(buildpath, scriptProject.getRawBuildpath());
+		scriptProject.setRawBuildpath(
+				buildpath.toArray(new IBuildpathEntry[buildpath.size()]), null);
+	}
+
+	private void removeBuildpathEntry(IPath path) throws ModelException {
+		final IScriptProject scriptProject = project.getScriptProject();
+		final List<IBuildpathEntry> buildpath = new ArrayList<>();
+		for (IBuildpathEntry entry : scriptProject.getRawBuildpath()) {
+			if (!entry.getPath().equals(path)) {
+				buildpath.add(entry);
+			}
+		}
+		scriptProject.setRawBuildpath(
+				buildpath.toArray(new IBuildpathEntry[buildpath.size()]), null);
+	}
+
+	/**
+	 * Starts the watcher and takes the initial snapshot of the folder.
+	 */
+	private void startWatcher() {
+		watcher = new ExternalFolderWatcher(file);
+		watcher.start();
+		watcher.update();
+	}
+
+	private void stopWatcher() {
+		watcher.stop();
+		watcher = null;
+	}
+
+	/**
+	 * Checks the folder until the expected deltas are reported, the file
+	 * system events could be delivered later.
+	 */
+	private void awaitDeltas(String... expected) throws InterruptedException {
+		final Set<String> expectedDeltas = new TreeSet<>(
+				Arrays.asList(expected));
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (!deltas.containsAll(expectedDeltas)) {
+			if (System.currentTimeMillis() > deadline) {
+				assertEquals(expectedDeltas, new TreeSet<>(deltas));
+			}
+			watcher.update();
+			Thread.sleep(100);
+		}
+		assertEquals(expectedDeltas, new TreeSet<>(deltas));
+		deltas.clear();
+	}
+
+	private static Set<String> names(String... names) {
+		return new TreeSet<>(Arrays.asList(names));
+	}
+
+	@Test
+	public void changes() throws Exception {
+		startWatcher();
+		deltas.clear();
+		writeModule("m2");
+		awaitDeltas("ADDED m2.txt");
+		changeModule("m1");
+		awaitDeltas("CHANGED m1.txt");
+		delete("m2.txt");
+		awaitDeltas("REMOVED m2.txt");
+		// the other files are not reported
+		write("readme.dat", "readme");
+		writeModule("m3");
+		awaitDeltas("ADDED m3.txt");
+	}
+
+	@Test
+	public void restart() throws Exception {
+		startWatcher();
+		stopWatcher();
+		assertEquals(names("m1.txt"), readSnapshots().get(folderPath));
+		// changed while stopped
+		writeModule("m2");
+		changeModule("m1");
+		deltas.clear();
+		startWatcher();
+		awaitDeltas("ADDED m2.txt", "CHANGED m1.txt");
+		stopWatcher();
+		delete("m1.txt");
+		deltas.clear();
+		startWatcher();
+		awaitDeltas("REMOVED m1.txt");
+		stopWatcher();
+		assertEquals(names("m2.txt"), readSnapshots().get(folderPath));
+	}
+
+	@Test
+	public void removedFolder() throws Exception {
+		startWatcher();
+		stopWatcher();
+		assertEquals(Collections.singleton(folderPath),
+				readSnapshots().keySet());
+		removeBuildpathEntry(folderPath);
+		startWatcher();
+		stopWatcher();
+		// not kept once the folder is no longer on the buildpath
+		assertEquals(Collections.emptySet(), readSnapshots().keySet());
+		// listed again when added back, without the changes in between
+		writeModule("m2");
+		addBuildpathEntry(DLTKCore.newExtLibraryEntry(folderPath));
+		deltas.clear();
+		startWatcher();
+		stopWatcher();
+		assertEquals(Collections.emptySet(), deltas);
+		assertEquals(names("m1.txt", "m2.txt"),
+				readSnapshots().get(folderPath));
+	}
+
+	/**
+	 * Reads the saved snapshots, returns the files of each folder.
+	 */
+	private Map<IPath, Set<String>> readSnapshots() throws IOException {
+		final Map<IPath, Set<String>> result = new TreeMap<>(
+				(a, b) -> a.toString().compareTo(b.toString()));
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)))) {
+			assertEquals(FILE_MAGIC, in.readInt());
+			in.readInt(); // version
+			for (int count = in.readInt(); count > 0; --count) {
+				final Set<String> files = new TreeSet<>();
+				result.put(Path.fromPortableString(in.readUTF()), files);
+				for (int dirs = in.readInt(); dirs > 0; --dirs) {
+					final String dir = in.readUTF();
+					for (int n = in.readInt(); n > 0; --n) {
+						final String name = in.readUTF();
+						files.add(dir.isEmpty() ? name : dir + "/" + name);
+						in.readLong(); // modification time
+					}
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.dltk.core.tests.model;
 
+import java.util.Arrays;
+
 import org.eclipse.dltk.compiler.ISourceElementRequestor;
 import org.eclipse.dltk.compiler.env.IModuleSource;
 import org.eclipse.dltk.compiler.problem.IProblemReporter;
@@ -66,6 +68,11 @@ public class TestSourceElementParser implements ISourceElementParser {
 					ti.declarationStart = currentLineOffset;
 					ti.nameSourceStart = currentLineOffset;
 					ti.nameSourceEnd = currentLineOffset + line.length();
+					if (split.length > 2) {
+						// enterType Name Super1 Super2
+						ti.superclasses = Arrays.copyOfRange(split, 2,
+								split.length);
+					}
 					requestor.enterType(ti);
 				} else if (cmd.equals("enterMethod")) {
 					ISourceElementRequestor.MethodInfo mi = new ISourceElementRequestor.MethodInfo();
@@ -1,5 +1,7 @@
 package org.eclipse.dltk.core.tests.model;
 
+import java.util.function.BiConsumer;
+
 import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
 import org.eclipse.dltk.ast.parser.AbstractSourceParser;
 import org.eclipse.dltk.compiler.env.IModuleSource;
@@ -7,9 +9,23 @@ import org.eclipse.dltk.compiler.problem.IProblemReporter;
 
 public class TestSourceParser extends AbstractSourceParser {
 
+	private static volatile BiConsumer<IModuleSource, IProblemReporter> listener;
+
+	/**
+	 * Sets the listener called on each parse, <code>null</code> to remove it.
+	 */
+	public static void setListener(
+			BiConsumer<IModuleSource, IProblemReporter> listener) {
+		TestSourceParser.listener = listener;
+	}
+
 	@Override
 	public ModuleDeclaration parse(IModuleSource input,
 			IProblemReporter reporter) {
+		final BiConsumer<IModuleSource, IProblemReporter> l = listener;
+		if (l != null) {
+			l.accept(input, reporter);
+		}
 		return new ModuleDeclaration(input.getSourceContents().length());
 	}
 
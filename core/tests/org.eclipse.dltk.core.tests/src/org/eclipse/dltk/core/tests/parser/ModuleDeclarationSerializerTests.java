@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.ast.ASTVisitor;
+import org.eclipse.dltk.ast.declarations.Argument;
+import org.eclipse.dltk.ast.declarations.FieldDeclaration;
+import org.eclipse.dltk.ast.declarations.MethodDeclaration;
+import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
+import org.eclipse.dltk.ast.declarations.ModuleDeclarationSerializer;
+import org.eclipse.dltk.ast.declarations.TypeDeclaration;
+import org.eclipse.dltk.ast.expressions.CallArgumentsList;
+import org.eclipse.dltk.ast.expressions.CallExpression;
+import org.eclipse.dltk.ast.expressions.NumericLiteral;
+import org.eclipse.dltk.ast.expressions.StringLiteral;
+import org.eclipse.dltk.ast.references.SimpleReference;
+import org.eclipse.dltk.ast.references.VariableKind;
+import org.eclipse.dltk.ast.references.VariableReference;
+import org.eclipse.dltk.ast.statements.Block;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ModuleDeclarationSerializerTests extends Assert {
+
+	private static ModuleDeclaration createModule() {
+		final ModuleDeclaration module = new ModuleDeclaration(200);
+		final TypeDeclaration type = new TypeDeclaration("Foo", 6, 9, 0, 120);
+		type.setBody(new Block(10, 120));
+		final MethodDeclaration method = new MethodDeclaration("bar", 20, 23,
+				16, 100);
+		method.addArgument(new Argument(new SimpleReference(24, 25, "x"), 24,
+				25, null, 0));
+		final CallArgumentsList args = new CallArgumentsList(40, 60);
+		args.addNode(new StringLiteral(41, 46, "text"));
+		args.addNode(new NumericLiteral(48, 50, 42));
+		args.addNode(new VariableReference(52, 53, "x", VariableKind.ARGUMENT));
+		method.getBody().addStatement(new CallExpression(30, 60, null,
+				"print", args));
+		type.getBody().addStatement(method);
+		module.addStatement(type);
+		module.addStatement(new FieldDeclaration("CONSTANT", 130, 138, 130,
+				150));
+		module.getTypeList().add(type);
+		return module;
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		final ModuleDeclaration module = createModule();
+		final byte[] data = ModuleDeclarationSerializer.serialize(module);
+		assertNotNull(data);
+		final ModuleDeclaration restored = ModuleDeclarationSerializer
+				.deserialize(data);
+		// before the accessors, which initialize the lazy lists
+		assertArrayEquals(data, ModuleDeclarationSerializer.serialize(restored));
+		assertEquals(module.toString(), restored.toString());
+		assertEquals(module.sourceStart(), restored.sourceStart());
+		assertEquals(module.sourceEnd(), restored.sourceEnd());
+		final TypeDeclaration[] types = restored.getTypes();
+		assertEquals(1, types.length);
+		assertEquals("Foo", types[0].getName());
+		// the same node is referenced from the body and from the type list
+		assertSame(types[0], restored.getStatements().get(0));
+		assertSame(types[0], restored.getTypeList().get(0));
+		final MethodDeclaration[] methods = types[0].getMethods();
+		assertEquals(1, methods.length);
+		assertEquals("bar", methods[0].getName());
+		assertEquals(1, methods[0].getArguments().size());
+	}
+
+	@Test
+	public void testUnsupportedNode() {
+		final ModuleDeclaration module = new ModuleDeclaration(10);
+		module.addStatement(new ASTNode(0, 10) {
+			@Override
+			public void traverse(ASTVisitor visitor) {
+			}
+		});
+		assertNull(ModuleDeclarationSerializer.serialize(module));
+	}
+
+	@Test
+	public void testMalformedData() {
+		final byte[] data = ModuleDeclarationSerializer
+				.serialize(createModule());
+		try {
+			ModuleDeclarationSerializer
+					.deserialize(Arrays.copyOf(data, data.length / 2));
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+}
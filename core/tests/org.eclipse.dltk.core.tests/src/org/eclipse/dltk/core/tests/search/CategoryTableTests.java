@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.search;
+
+import org.eclipse.dltk.compiler.util.HashtableOfObject;
+import org.eclipse.dltk.core.search.index.CategoryTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CategoryTableTests extends Assert {
+
+	private static CategoryTable build() {
+		final CategoryTable.Builder builder = new CategoryTable.Builder(2);
+		builder.add("method".toCharArray(), new int[] { 3 });
+		builder.add("Type2".toCharArray(), new int[] { 7, 2, 9 });
+		builder.add("Type1".toCharArray(), new int[] { 0, 1 });
+		builder.add("Common".toCharArray(), new int[0]);
+		builder.add("methodA".toCharArray(), new int[] { 5 });
+		return builder.build();
+	}
+
+	@Test
+	public void sortedLookup() {
+		final CategoryTable table = build();
+		assertEquals(5, table.size());
+		assertEquals("Common", new String(table.getWord(0)));
+		assertEquals("Type1", new String(table.getWord(1)));
+		assertEquals("Type2", new String(table.getWord(2)));
+		assertEquals("method", new String(table.getWord(3)));
+		assertEquals("methodA", new String(table.getWord(4)));
+		assertEquals(2, table.indexOf("Type2".toCharArray()));
+		assertEquals(-1, table.indexOf("Type".toCharArray()));
+		assertEquals(-1, table.indexOf("Type3".toCharArray()));
+		assertEquals(-1, table.indexOf("z".toCharArray()));
+		int index = table.indexOfPrefix("Type".toCharArray());
+		assertEquals(1, index);
+		assertTrue(table.startsWith(index, "Type".toCharArray()));
+		assertTrue(table.startsWith(index + 1, "Type".toCharArray()));
+		assertFalse(table.startsWith(index + 2, "Type".toCharArray()));
+		assertEquals(3, table.indexOfPrefix("method".toCharArray()));
+		assertEquals(5, table.indexOfPrefix("x".toCharArray()));
+	}
+
+	@Test
+	public void documentNumbers() {
+		final CategoryTable table = build();
+		assertTrue(table.isResolved());
+		assertArrayEquals(new int[0], table.getDocumentNumbers(0));
+		assertArrayEquals(new int[] { 0, 1 }, table.getDocumentNumbers(1));
+		// not sorted, the deltas are negative
+		assertArrayEquals(new int[] { 7, 2, 9 }, table.getDocumentNumbers(2));
+		final int[] large = new int[1000];
+		for (int i = 0; i < large.length; i++) {
+			large[i] = i % 2 == 0 ? Integer.MAX_VALUE - i : i * 7919;
+		}
+		final CategoryTable.Builder builder = new CategoryTable.Builder(1);
+		builder.add("large".toCharArray(), large);
+		assertArrayEquals(large, builder.build().getDocumentNumbers(0));
+	}
+
+	@Test
+	public void resolve() {
+		final CategoryTable.Builder builder = new CategoryTable.Builder(4);
+		builder.addOffset("c".toCharArray(), 100);
+		builder.add("b".toCharArray(), new int[] { 4, 5 });
+		builder.addOffset("a".toCharArray(), 300);
+		builder.addOffset("d".toCharArray(), 200);
+		final CategoryTable table = builder.build();
+		assertFalse(table.isResolved());
+		assertNull(table.getDocumentNumbers(0));
+		assertEquals(300, table.getArrayOffset(0));
+		// in the order of the arrays in the file
+		final int[] unresolved = table.getUnresolved();
+		assertArrayEquals(new int[] { 2, 3, 0 }, unresolved);
+
+		final CategoryTable partial = table.resolve(new int[] { 2 },
+				new int[][] { { 1, 2, 3 } });
+		assertFalse(partial.isResolved());
+		assertArrayEquals(new int[] { 3, 0 }, partial.getUnresolved());
+		assertArrayEquals(new int[] { 1, 2, 3 },
+				partial.getDocumentNumbers(2));
+
+		final CategoryTable resolved = table.resolve(unresolved,
+				new int[][] { { 1, 2, 3 }, { 8 }, { 6, 7 } });
+		assertTrue(resolved.isResolved());
+		assertEquals(0, resolved.getUnresolved().length);
+		assertArrayEquals(new int[] { 6, 7 }, resolved.getDocumentNumbers(0));
+		assertArrayEquals(new int[] { 4, 5 }, resolved.getDocumentNumbers(1));
+		assertArrayEquals(new int[] { 1, 2, 3 },
+				resolved.getDocumentNumbers(2));
+		assertArrayEquals(new int[] { 8 }, resolved.getDocumentNumbers(3));
+		assertEquals("d", new String(resolved.getWord(3)));
+		// the table itself is not changed
+		assertNull(table.getDocumentNumbers(0));
+	}
+
+	@Test
+	public void createFromHashtable() {
+		final HashtableOfObject words = new HashtableOfObject(3);
+		words.put("b".toCharArray(), new int[] { 1 });
+		words.put("a".toCharArray(), new int[] { 2, 3 });
+		words.put("c".toCharArray(), new int[] { 4 });
+		final CategoryTable table = CategoryTable.create(words);
+		assertEquals(3, table.size());
+		assertEquals("a", new String(table.getWord(0)));
+		assertArrayEquals(new int[] { 2, 3 }, table.getDocumentNumbers(0));
+
+		final CategoryTable single = CategoryTable
+				.create("c".toCharArray(), words);
+		assertEquals(1, single.size());
+		assertEquals(0, single.indexOf("c".toCharArray()));
+		assertArrayEquals(new int[] { 4 }, single.getDocumentNumbers(0));
+		assertNull(CategoryTable.create("x".toCharArray(), words));
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.dltk.core.search.SearchPattern;
+import org.eclipse.dltk.core.search.index.DiskIndex;
+import org.eclipse.dltk.core.search.index.EntryResult;
+import org.eclipse.dltk.core.search.index.Index;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DiskIndexTests extends Assert {
+
+	private static final char[] TYPE = "typeDecl".toCharArray();
+	private static final char[] METHOD = "methodDecl".toCharArray();
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private File indexFile;
+
+	@Before
+	public void createIndex() throws IOException {
+		indexFile = new File(temp.getRoot(), "test.index");
+		final Index index = new Index(indexFile.getPath(), "/container",
+				false);
+		// enough documents for several name chunks and large doc arrays
+		for (int i = 0; i < 350; ++i) {
+			final String document = "folder" + (i % 7) + "/module" + i
+					+ ".txt";
+			index.addIndexEntry(TYPE, ("Type" + i).toCharArray(), document);
+			index.addIndexEntry(TYPE, "Common".toCharArray(), document);
+			index.addIndexEntry(METHOD, ("method" + (i % 10)).toCharArray(),
+					document);
+		}
+		index.save();
+	}
+
+	@After
+	public void restoreMode() {
+		DiskIndex.setMappedReads(DiskIndex.MAPPED_READS);
+	}
+
+	@Test
+	public void mappedReadsMatchStreamReads() throws IOException {
+		final char[][] categories = { TYPE, METHOD };
+		final Object[][] queries = {
+				{ null, SearchPattern.R_EXACT_MATCH },
+				{ "Common", SearchPattern.R_EXACT_MATCH
+						| SearchPattern.R_CASE_SENSITIVE },
+				{ "Type1", SearchPattern.R_PREFIX_MATCH
+						| SearchPattern.R_CASE_SENSITIVE },
+				{ "method", SearchPattern.R_PREFIX_MATCH },
+				{ "*3*", SearchPattern.R_PATTERN_MATCH } };
+		for (Object[] query : queries) {
+			final char[] key = query[0] != null
+					? ((String) query[0]).toCharArray() : null;
+			final int rule = (Integer) query[1];
+			DiskIndex.setMappedReads(false);
+			final Map<String, String> expected = query(categories, key, rule);
+			DiskIndex.setMappedReads(true);
+			final Map<String, String> actual = query(categories, key, rule);
+			assertFalse(expected.isEmpty());
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void mappedDocumentNames() throws IOException {
+		DiskIndex.setMappedReads(false);
+		final String[] expected = open().queryDocumentNames(null);
+		DiskIndex.setMappedReads(true);
+		final String[] actual = open().queryDocumentNames(null);
+		assertEquals(350, expected.length);
+		Arrays.sort(expected);
+		Arrays.sort(actual);
+		assertArrayEquals(expected, actual);
+	}
+
+	@Test
+	public void mergeAfterMappedReads() throws IOException {
+		DiskIndex.setMappedReads(true);
+		final Index index = open();
+		assertEquals(350, index.queryDocumentNames(null).length);
+		index.addIndexEntry(TYPE, "Added".toCharArray(), "added.txt");
+		index.remove("folder0/module0.txt");
+		// the mapped file is replaced by the merged one
+		index.save();
+		final String[] names = index.queryDocumentNames(null);
+		assertEquals(350, names.length);
+		assertTrue(Arrays.asList(names).contains("added.txt"));
+		assertFalse(Arrays.asList(names).contains("folder0/module0.txt"));
+		assertEquals(350, open().queryDocumentNames(null).length);
+	}
+
+	private Index open() throws IOException {
+		return new Index(indexFile.getPath(), "/container", true);
+	}
+
+	private Map<String, String> query(char[][] categories, char[] key,
+			int rule) throws IOException {
+		final Index index = open();
+		final Map<String, String> result = new TreeMap<String, String>();
+		index.startQuery();
+		try {
+			final EntryResult[] entries = index.query(categories, key, rule);
+			if (entries != null) {
+				for (EntryResult entry : entries) {
+					final String[] names = entry.getDocumentNames(index);
+					Arrays.sort(names);
+					result.put(new String(entry.getWord()),
+							Arrays.toString(names));
+				}
+			}
+		} finally {
+			index.stopQuery();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.dltk.internal.core.search.processing.IContainerJob;
+import org.eclipse.dltk.internal.core.search.processing.IJob;
+import org.eclipse.dltk.internal.core.search.processing.JobManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JobManagerTests extends Assert {
+
+	private static class TestJobManager extends JobManager {
+		private final int limit;
+
+		TestJobManager(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		public String processName() {
+			return "Test Job Manager";
+		}
+
+		@Override
+		protected int getConcurrentJobsLimit() {
+			return limit;
+		}
+	}
+
+	private final List<String> log = Collections
+			.synchronizedList(new ArrayList<String>());
+
+	private final AtomicInteger running = new AtomicInteger();
+
+	private final AtomicInteger maxRunning = new AtomicInteger();
+
+	private class TestJob implements IContainerJob {
+		final String container;
+		final String name;
+		final CountDownLatch latch;
+
+		TestJob(String container, String name, CountDownLatch latch) {
+			this.container = container;
+			this.name = name;
+			this.latch = latch;
+		}
+
+		@Override
+		public boolean belongsTo(String jobFamily) {
+			return jobFamily.equals(container);
+		}
+
+		@Override
+		public void cancel() {
+		}
+
+		@Override
+		public void ensureReadyToRun() {
+		}
+
+		@Override
+		public boolean execute(IProgressMonitor progress) {
+			final int value = running.incrementAndGet();
+			maxRunning.accumulateAndGet(value, Math::max);
+			try {
+				if (latch != null) {
+					latch.countDown();
+					latch.await(5, TimeUnit.SECONDS);
+				}
+				log.add(name);
+			} catch (InterruptedException e) {
+				// ignore
+			} finally {
+				running.decrementAndGet();
+			}
+			return COMPLETE;
+		}
+
+		@Override
+		public Object getContainerKey() {
+			return container;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private TestJobManager manager;
+
+	@After
+	public void shutdown() {
+		if (manager != null) {
+			manager.shutdown();
+		}
+	}
+
+	@Test
+	public void differentContainersRunConcurrently() {
+		manager = new TestJobManager(4);
+		manager.reset();
+		// both jobs complete only if they are executed at the same time
+		final CountDownLatch latch = new CountDownLatch(2);
+		manager.request(new TestJob("a", "a1", latch));
+		manager.request(new TestJob("b", "b1", latch));
+		manager.waitUntilReady();
+		assertEquals(2, maxRunning.get());
+		assertEquals(2, log.size());
+	}
+
+	@Test
+	public void sameContainerKeepsOrder() {
+		manager = new TestJobManager(4);
+		manager.reset();
+		for (int i = 0; i < 20; ++i) {
+			manager.request(new TestJob("a", "a" + i, null));
+		}
+		manager.waitUntilReady();
+		final List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < 20; ++i) {
+			expected.add("a" + i);
+		}
+		assertEquals(expected, log);
+		assertEquals(1, maxRunning.get());
+	}
+
+	@Test
+	public void otherJobsRunAlone() {
+		manager = new TestJobManager(4);
+		manager.reset();
+		manager.request(new TestJob("a", "a1", null));
+		manager.request(new IJob() {
+			@Override
+			public boolean belongsTo(String jobFamily) {
+				return false;
+			}
+
+			@Override
+			public void cancel() {
+			}
+
+			@Override
+			public void ensureReadyToRun() {
+			}
+
+			@Override
+			public boolean execute(IProgressMonitor progress) {
+				log.add("barrier:" + running.get());
+				return COMPLETE;
+			}
+		});
+		manager.request(new TestJob("b", "b1", null));
+		manager.waitUntilReady();
+		assertEquals(3, log.size());
+		assertEquals("a1", log.get(0));
+		assertEquals("barrier:0", log.get(1));
+		assertEquals("b1", log.get(2));
+	}
+}
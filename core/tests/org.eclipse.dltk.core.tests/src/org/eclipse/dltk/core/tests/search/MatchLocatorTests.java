@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.search;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.search.DLTKSearchParticipant;
+import org.eclipse.dltk.core.search.IDLTKSearchConstants;
+import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.dltk.core.search.SearchDocument;
+import org.eclipse.dltk.core.search.SearchEngine;
+import org.eclipse.dltk.core.search.SearchMatch;
+import org.eclipse.dltk.core.search.SearchPattern;
+import org.eclipse.dltk.core.search.SearchRequestor;
+import org.eclipse.dltk.core.search.matching.MatchLocator;
+import org.eclipse.dltk.core.search.matching.PossibleMatch;
+import org.eclipse.dltk.core.tests.ProjectSetup;
+import org.eclipse.dltk.core.tests.model.ModelTestsPlugin;
+import org.eclipse.dltk.core.tests.model.TestSourceParser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class MatchLocatorTests extends Assert {
+
+	private static final int MODULES = 20;
+
+	@Rule
+	public final ProjectSetup project = new ProjectSetup(
+			ModelTestsPlugin.WORKSPACE, "cache");
+
+	/**
+	 * Records the processed possible matches with the length of their parsed
+	 * units, and remembers the possible matches to check they were cleaned up.
+	 */
+	private static class TestMatchLocator extends MatchLocator {
+		final List<String> processed = new ArrayList<>();
+		final List<PossibleMatch> possibleMatches = new ArrayList<>();
+
+		@Override
+		protected void locateMatches(IScriptProject scriptProject,
+				PossibleMatch[] possibleMatches, int start, int length)
+				throws CoreException {
+			for (int i = start; i < start + length; ++i) {
+				this.possibleMatches.add(possibleMatches[i]);
+			}
+			super.locateMatches(scriptProject, possibleMatches, start, length);
+		}
+
+		@Override
+		protected void process(PossibleMatch possibleMatch)
+				throws CoreException {
+			processed.add(possibleMatch.openable.getPath() + ":"
+					+ (possibleMatch.parsedUnit != null
+							? possibleMatch.parsedUnit.sourceEnd()
+							: -1));
+			super.process(possibleMatch);
+		}
+	}
+
+	private Hashtable<String, String> options;
+
+	@Before
+	public void setUp() throws CoreException {
+		options = DLTKCore.getOptions();
+		final StringBuilder contents = new StringBuilder();
+		for (int i = 0; i < MODULES; ++i) {
+			contents.append('x');
+			project.writeFile("src/folder2/m" + i + ".txt",
+					contents.toString());
+		}
+	}
+
+	@After
+	public void tearDown() {
+		TestSourceParser.setListener(null);
+		DLTKCore.setOptions(options);
+	}
+
+	private void locateMatches(MatchLocator locator, int threads,
+			IProgressMonitor monitor) throws CoreException {
+		final Hashtable<String, String> newOptions = DLTKCore.getOptions();
+		newOptions.put(DLTKCore.SEARCH_THREADS, String.valueOf(threads));
+		newOptions.put(DLTKCore.SEARCH_PARSED_MODULES, "3");
+		DLTKCore.setOptions(newOptions);
+		final IDLTKSearchScope scope = SearchEngine
+				.createSearchScope(project.getScriptProject());
+		locator.initialize(SearchPattern.createPattern("Class1",
+				IDLTKSearchConstants.TYPE, IDLTKSearchConstants.DECLARATIONS,
+				SearchPattern.R_EXACT_MATCH, scope.getLanguageToolkit()),
+				scope);
+		locator.setRequestor(new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) {
+			}
+		});
+		locator.setProgressMonitor(monitor);
+		final DLTKSearchParticipant participant = new DLTKSearchParticipant();
+		final List<SearchDocument> documents = new ArrayList<>();
+		project.getScriptProject().accept(element -> {
+			if (element instanceof ISourceModule) {
+				documents.add(participant.getDocument(
+						element.getPath().toString(), project.get()));
+			}
+			return element.getElementType() < IModelElement.SOURCE_MODULE;
+		});
+		locator.locateMatches(
+				documents.toArray(new SearchDocument[documents.size()]));
+	}
+
+	@Test
+	public void concurrentParsing() throws CoreException {
+		final TestMatchLocator sequential = new TestMatchLocator();
+		locateMatches(sequential, 1, null);
+		assertEquals(MODULES + 2, sequential.processed.size());
+		final TestMatchLocator concurrent = new TestMatchLocator();
+		locateMatches(concurrent, 4, null);
+		// reported in the same order, each with its own parsed unit
+		assertEquals(sequential.processed, concurrent.processed);
+	}
+
+	@Test
+	public void cancellation() throws CoreException {
+		final AtomicInteger parsing = new AtomicInteger();
+		TestSourceParser.setListener((input, reporter) -> {
+			parsing.incrementAndGet();
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				parsing.decrementAndGet();
+			}
+		});
+		final NullProgressMonitor monitor = new NullProgressMonitor();
+		final TestMatchLocator locator = new TestMatchLocator() {
+			@Override
+			protected void process(PossibleMatch possibleMatch)
+					throws CoreException {
+				super.process(possibleMatch);
+				if (processed.size() == 3) {
+					monitor.setCanceled(true);
+				}
+			}
+		};
+		try {
+			locateMatches(locator, 4, monitor);
+			fail("OperationCanceledException expected");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		assertEquals(3, locator.processed.size());
+		// no module is parsed after the search was cancelled
+		assertEquals(0, parsing.get());
+		for (PossibleMatch possibleMatch : locator.possibleMatches) {
+			assertNull(possibleMatch.parsedUnit);
+			assertNull(possibleMatch.nodeSet);
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.dltk.core.search.SearchParticipant;
+import org.eclipse.dltk.core.search.SearchPattern;
+import org.eclipse.dltk.core.search.index.Index;
+import org.eclipse.dltk.internal.compiler.env.AccessRuleSet;
+import org.eclipse.dltk.internal.core.search.IndexQueryRequestor;
+import org.eclipse.dltk.internal.core.search.PatternSearchJob;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PatternSearchJobTests extends Assert {
+
+	private static final int INDEXES = 8;
+	private static final int DOCUMENTS = 50;
+
+	/**
+	 * Collects the matches, checking they are delivered one at a time.
+	 */
+	private static class TestRequestor extends IndexQueryRequestor {
+		final List<String> documents = new ArrayList<>();
+		final AtomicInteger inside = new AtomicInteger();
+		final int limit;
+		volatile boolean overlapped;
+
+		TestRequestor(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		public boolean acceptIndexMatch(String documentPath,
+				SearchPattern indexRecord, SearchParticipant participant,
+				AccessRuleSet access) {
+			if (inside.incrementAndGet() != 1) {
+				overlapped = true;
+			}
+			try {
+				documents.add(documentPath);
+				Thread.yield();
+				return documents.size() < limit;
+			} finally {
+				inside.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Searches the in-memory "indexes", each of them matching the same number
+	 * of documents.
+	 */
+	private static class TestJob extends PatternSearchJob {
+		private final Index[] indexes;
+		volatile boolean requestorReplaced;
+
+		TestJob(IndexQueryRequestor requestor) {
+			super(null, null, null, requestor);
+			indexes = new Index[INDEXES];
+			for (int i = 0; i < INDEXES; ++i) {
+				indexes[i] = new Index(null, "/container" + i) {
+				};
+			}
+		}
+
+		@Override
+		public Index[] getIndexes(IProgressMonitor progressMonitor) {
+			return indexes;
+		}
+
+		@Override
+		protected boolean isConcurrent() {
+			// even on a single processor
+			return true;
+		}
+
+		@Override
+		protected boolean search(Index index, IndexQueryRequestor requestor,
+				IProgressMonitor progressMonitor) {
+			for (int i = 0; i < DOCUMENTS; ++i) {
+				if (!(this.requestor instanceof TestRequestor)) {
+					requestorReplaced = true;
+				}
+				if (progressMonitor != null && progressMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				if (!requestor.acceptIndexMatch(
+						index.containerPath + "/module" + i, null, null,
+						null)) {
+					break;
+				}
+			}
+			return COMPLETE;
+		}
+
+		@Override
+		public String toString() {
+			return "searching test indexes";
+		}
+	}
+
+	@Test
+	public void mergedResults() {
+		final TestRequestor requestor = new TestRequestor(Integer.MAX_VALUE);
+		final TestJob job = new TestJob(requestor);
+		assertTrue(job.execute(new NullProgressMonitor()));
+		assertFalse(requestor.overlapped);
+		assertFalse(job.requestorReplaced);
+		final Set<String> expected = new HashSet<>();
+		for (int i = 0; i < INDEXES; ++i) {
+			for (int j = 0; j < DOCUMENTS; ++j) {
+				expected.add("/container" + i + "/module" + j);
+			}
+		}
+		assertEquals(expected.size(), requestor.documents.size());
+		assertEquals(expected, new HashSet<>(requestor.documents));
+	}
+
+	@Test
+	public void earlyStop() {
+		final TestRequestor requestor = new TestRequestor(10);
+		final TestJob job = new TestJob(requestor);
+		assertTrue(job.execute(new NullProgressMonitor()));
+		// no matches are delivered once the requestor asked to stop
+		assertEquals(10, requestor.documents.size());
+		assertFalse(requestor.overlapped);
+		assertFalse(job.requestorReplaced);
+	}
+
+	@Test
+	public void cancellation() throws InterruptedException {
+		final NullProgressMonitor monitor = new NullProgressMonitor();
+		final TestRequestor requestor = new TestRequestor(Integer.MAX_VALUE) {
+			@Override
+			public boolean acceptIndexMatch(String documentPath,
+					SearchPattern indexRecord, SearchParticipant participant,
+					AccessRuleSet access) {
+				monitor.setCanceled(true);
+				return super.acceptIndexMatch(documentPath, indexRecord,
+						participant, access);
+			}
+		};
+		final TestJob job = new TestJob(requestor);
+		try {
+			job.execute(monitor);
+			fail("OperationCanceledException expected");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		final int delivered = requestor.documents.size();
+		assertTrue(delivered < INDEXES * DOCUMENTS);
+		// the running searches do not deliver the matches any more
+		Thread.sleep(200);
+		assertEquals(delivered, requestor.documents.size());
+		assertFalse(job.requestorReplaced);
+	}
+}
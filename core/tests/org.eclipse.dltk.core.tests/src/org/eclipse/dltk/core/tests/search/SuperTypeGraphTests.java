@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.search;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.DLTKLanguageManager;
+import org.eclipse.dltk.core.ElementChangedEvent;
+import org.eclipse.dltk.core.IElementChangedListener;
+import org.eclipse.dltk.core.IType;
+import org.eclipse.dltk.core.ITypeHierarchy;
+import org.eclipse.dltk.core.search.IDLTKSearchConstants;
+import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.dltk.core.search.SearchEngine;
+import org.eclipse.dltk.core.tests.ProjectSetup;
+import org.eclipse.dltk.core.tests.model.ModelTestsPlugin;
+import org.eclipse.dltk.internal.core.IPathRequestor;
+import org.eclipse.dltk.internal.core.ModelManager;
+import org.eclipse.dltk.internal.core.hierarchy.IndexBasedHierarchyBuilder;
+import org.eclipse.dltk.internal.core.hierarchy.SuperTypeGraph;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SuperTypeGraphTests extends Assert {
+
+	private static final int FILE_MAGIC = 0x44535447;
+
+	@Rule
+	public final ProjectSetup project = new ProjectSetup(
+			ModelTestsPlugin.WORKSPACE, "cache");
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private Hashtable<String, String> options;
+	private IElementChangedListener listener;
+
+	@Before
+	public void setUp() throws CoreException {
+		options = DLTKCore.getOptions();
+		writeType("base", "Base");
+		writeType("a", "A Base");
+		writeType("b", "B A");
+		writeType("c", "C Base");
+		writeType("other", "Other Unrelated");
+	}
+
+	@After
+	public void tearDown() {
+		if (listener != null) {
+			DLTKCore.removeElementChangedListener(listener);
+		}
+		DLTKCore.setOptions(options);
+	}
+
+	private void writeType(String module, String declaration)
+			throws CoreException {
+		project.writeFile("src/h/" + module + ".txt", "# parseme!\nenterType "
+				+ declaration + "\nexitType\n");
+	}
+
+	private IType getBase() {
+		return project.getSourceModule("src", "h/base.txt").getType("Base");
+	}
+
+	private IDLTKSearchScope createScope() {
+		return SearchEngine.createSearchScope(project.getScriptProject());
+	}
+
+	private static void setGraphOption(String value) {
+		final Hashtable<String, String> newOptions = DLTKCore.getOptions();
+		newOptions.put(DLTKCore.TYPE_HIERARCHY_GRAPH, value);
+		DLTKCore.setOptions(newOptions);
+	}
+
+	private static void waitUntilIndexesReady() {
+		ModelManager.getModelManager().getIndexManager().waitUntilReady();
+	}
+
+	/**
+	 * Returns the names of the modules with the possible subtypes of Base,
+	 * found as configured by the option.
+	 */
+	private Set<String> possibleSubTypes() {
+		waitUntilIndexesReady();
+		final Set<String> modules = new TreeSet<>();
+		IndexBasedHierarchyBuilder.searchAllPossibleSubTypes(getBase(),
+				createScope(), new HashMap<>(), collector(modules),
+				IDLTKSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null);
+		return modules;
+	}
+
+	/**
+	 * Returns the names of the modules with the possible subtypes of Base,
+	 * found with the specified graph.
+	 */
+	private Set<String> possibleSubTypes(SuperTypeGraph graph) {
+		// the slices read while indexing are read again the next time
+		waitUntilIndexesReady();
+		final Set<String> modules = new TreeSet<>();
+		graph.searchAllPossibleSubTypes(getBase(), createScope(),
+				collector(modules),
+				IDLTKSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null);
+		return modules;
+	}
+
+	/**
+	 * Saves the graph, the slices are saved only for the indexes saved to
+	 * disk.
+	 */
+	private static void save(SuperTypeGraph graph) {
+		ModelManager.getModelManager().getIndexManager().saveIndexes();
+		graph.save();
+	}
+
+	private static IPathRequestor collector(Set<String> modules) {
+		return (path, containsLocalTypes) -> modules
+				.add(new Path(path).lastSegment());
+	}
+
+	private static Set<String> names(String... names) {
+		return new TreeSet<>(Arrays.asList(names));
+	}
+
+	private Set<String> subtypeNames() throws CoreException {
+		final IType base = getBase();
+		final ITypeHierarchy hierarchy = base.newTypeHierarchy(null);
+		final Set<String> result = new TreeSet<>();
+		for (IType type : hierarchy.getAllSubtypes(base)) {
+			result.add(type.getElementName());
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a graph saved to the temporary folder, notified of the model
+	 * changes by the test.
+	 */
+	private SuperTypeGraph createGraph(File file) {
+		final SuperTypeGraph graph = new SuperTypeGraph(
+				DLTKLanguageManager.getLanguageToolkit(
+						project.getScriptProject()),
+				file);
+		listener = event -> {
+			if (event.getDelta() != null) {
+				graph.changed(event.getDelta());
+			}
+		};
+		DLTKCore.addElementChangedListener(listener,
+				ElementChangedEvent.POST_CHANGE);
+		return graph;
+	}
+
+	@Test
+	public void sameHierarchy() throws CoreException {
+		setGraphOption(DLTKCore.DISABLED);
+		final Set<String> expected = possibleSubTypes();
+		assertEquals(names("a.txt", "b.txt", "c.txt"), expected);
+		final Set<String> subtypes = subtypeNames();
+		setGraphOption(DLTKCore.ENABLED);
+		assertEquals(expected, possibleSubTypes());
+		assertEquals(subtypes, subtypeNames());
+	}
+
+	@Test
+	public void changedContainer() throws Exception {
+		final SuperTypeGraph graph = createGraph(temp.newFile("test.graph"));
+		assertEquals(names("a.txt", "b.txt", "c.txt"),
+				possibleSubTypes(graph));
+		writeType("c", "C Other");
+		writeType("d", "D B");
+		assertEquals(names("a.txt", "b.txt", "d.txt"),
+				possibleSubTypes(graph));
+		project.getFile("src/h/a.txt").delete(true, null);
+		assertEquals(names(), possibleSubTypes(graph));
+	}
+
+	@Test
+	public void saveAndLoad() throws Exception {
+		final File file = temp.newFile("test.graph");
+		final SuperTypeGraph graph = createGraph(file);
+		final Set<String> expected = possibleSubTypes(graph);
+		save(graph);
+		final Set<String> edges = readEdges(file);
+		assertTrue(edges.containsAll(Arrays.asList("Base>A", "A>B",
+				"Base>C", "Unrelated>Other")));
+		final File copy = temp.newFile("copy.graph");
+		Files.copy(file.toPath(), copy.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		final SuperTypeGraph loaded = new SuperTypeGraph(
+				DLTKLanguageManager.getLanguageToolkit(
+						project.getScriptProject()),
+				copy);
+		loaded.load();
+		// not deleted as invalid
+		assertTrue(copy.exists());
+		loaded.save();
+		assertEquals(edges, readEdges(copy));
+		assertEquals(expected, possibleSubTypes(loaded));
+	}
+
+	@Test
+	public void compaction() throws Exception {
+		final File file = temp.newFile("test.graph");
+		final SuperTypeGraph graph = createGraph(file);
+		possibleSubTypes(graph);
+		writeType("other", "Other2 Unrelated2");
+		assertEquals(names("a.txt", "b.txt", "c.txt"),
+				possibleSubTypes(graph));
+		// drops the names no longer used
+		save(graph);
+		final List<String> names = new ArrayList<>();
+		final Set<String> edges = readEdges(file, names);
+		assertFalse(names.contains("Other"));
+		assertFalse(names.contains("Unrelated"));
+		assertTrue(edges.containsAll(Arrays.asList("Base>A", "A>B",
+				"Base>C", "Unrelated2>Other2")));
+		assertFalse(edges.contains("Unrelated>Other"));
+		// the compacted names are still found
+		assertEquals(names("a.txt", "b.txt", "c.txt"),
+				possibleSubTypes(graph));
+		final SuperTypeGraph loaded = new SuperTypeGraph(
+				DLTKLanguageManager.getLanguageToolkit(
+						project.getScriptProject()),
+				file);
+		loaded.load();
+		assertTrue(file.exists());
+		assertEquals(names("a.txt", "b.txt", "c.txt"),
+				possibleSubTypes(loaded));
+	}
+
+	private static Set<String> readEdges(File file) throws IOException {
+		return readEdges(file, new ArrayList<>());
+	}
+
+	/**
+	 * Reads the saved graph, checking the supertype names of each slice are
+	 * sorted, and returns its edges as "supertype>subtype" strings.
+	 */
+	private static Set<String> readEdges(File file, List<String> names)
+			throws IOException {
+		final Set<String> edges = new TreeSet<>();
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)))) {
+			assertEquals(FILE_MAGIC, in.readInt());
+			in.readInt(); // version
+			for (int count = in.readInt(); count > 0; --count) {
+				names.add(in.readUTF());
+			}
+			for (int count = in.readInt(); count > 0; --count) {
+				in.readUTF(); // container path
+				in.readChar(); // separator
+				in.readLong(); // stamp
+				for (int documents = in.readInt(); documents > 0; --documents) {
+					in.readUTF();
+				}
+				final int[] superNames = readInts(in);
+				final int[] offsets = readInts(in);
+				final int[] slicesEdges = readInts(in);
+				for (int i = 0; i < superNames.length; ++i) {
+					if (i > 0) {
+						assertTrue(superNames[i - 1] < superNames[i]);
+					}
+					for (int e = offsets[i]; e < offsets[i + 1]; e += 2) {
+						edges.add(names.get(superNames[i]) + ">"
+								+ names.get(slicesEdges[e + 1] >> 1));
+					}
+				}
+			}
+		}
+		return edges;
+	}
+
+	private static int[] readInts(DataInputStream in) throws IOException {
+		final int[] result = new int[in.readInt()];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = in.readInt();
+		}
+		return result;
+	}
+}
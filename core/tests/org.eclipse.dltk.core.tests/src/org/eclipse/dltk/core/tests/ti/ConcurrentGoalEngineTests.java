@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.ti;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.dltk.ti.ConcurrentGoalEngine;
+import org.eclipse.dltk.ti.EvaluatorStatistics;
+import org.eclipse.dltk.ti.GoalEngine;
+import org.eclipse.dltk.ti.GoalState;
+import org.eclipse.dltk.ti.IGoalEvaluatorFactory;
+import org.eclipse.dltk.ti.IPruner;
+import org.eclipse.dltk.ti.goals.AbstractGoal;
+import org.eclipse.dltk.ti.goals.GoalEvaluator;
+import org.eclipse.dltk.ti.goals.IGoal;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentGoalEngineTests extends Assert {
+
+	/**
+	 * Goal identified by the number of the node in the graph.
+	 */
+	private static class NodeGoal extends AbstractGoal {
+		final int node;
+
+		NodeGoal(int node) {
+			super(null);
+			this.node = node;
+		}
+
+		@Override
+		public int hashCode() {
+			return node;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof NodeGoal && ((NodeGoal) obj).node == node;
+		}
+
+		@Override
+		public String toString() {
+			return "NodeGoal(" + node + ")";
+		}
+	}
+
+	/**
+	 * Evaluates to the nodes reachable from the goal, requesting the last edge
+	 * only once the first result is received.
+	 */
+	private static class Factory implements IGoalEvaluatorFactory {
+		final Map<Integer, int[]> edges;
+		final AtomicInteger created = new AtomicInteger();
+
+		Factory(Map<Integer, int[]> edges) {
+			this.edges = edges;
+		}
+
+		IGoal[] goals(int[] nodes) {
+			final IGoal[] goals = new IGoal[nodes.length];
+			for (int i = 0; i < nodes.length; ++i) {
+				goals[i] = new NodeGoal(nodes[i]);
+			}
+			return goals;
+		}
+
+		void evaluating(int node) {
+		}
+
+		@Override
+		public GoalEvaluator createEvaluator(IGoal goal) {
+			created.incrementAndGet();
+			final int node = ((NodeGoal) goal).node;
+			final int[] next = edges.getOrDefault(node, new int[0]);
+			return new GoalEvaluator(goal) {
+				final Set<Integer> result = new TreeSet<>(
+						Arrays.asList(node));
+				boolean requestedLast = next.length <= 1;
+
+				@Override
+				public IGoal[] init() {
+					evaluating(node);
+					return goals(next.length <= 1 ? next
+							: Arrays.copyOf(next, next.length - 1));
+				}
+
+				@SuppressWarnings("unchecked")
+				@Override
+				public IGoal[] subGoalDone(IGoal subgoal, Object subresult,
+						GoalState state) {
+					if (state == GoalState.DONE && subresult != null) {
+						result.addAll((Set<Integer>) subresult);
+					}
+					if (!requestedLast) {
+						requestedLast = true;
+						return goals(new int[] { next[next.length - 1] });
+					}
+					return IGoal.NO_GOALS;
+				}
+
+				@Override
+				public Object produceResult() {
+					return result;
+				}
+			};
+		}
+	}
+
+	private static Map<Integer, int[]> graph(int[]... edges) {
+		final Map<Integer, int[]> graph = new HashMap<>();
+		for (int i = 0; i < edges.length; ++i) {
+			graph.put(i, edges[i]);
+		}
+		return graph;
+	}
+
+	private static Set<Integer> reachable(Map<Integer, int[]> graph,
+			int root) {
+		final Set<Integer> result = new TreeSet<>();
+		final List<Integer> queue = new ArrayList<>();
+		queue.add(root);
+		result.add(root);
+		for (int i = 0; i < queue.size(); ++i) {
+			for (int next : graph.getOrDefault(queue.get(i), new int[0])) {
+				if (result.add(next)) {
+					queue.add(next);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void assertSameResults(Map<Integer, int[]> graph) {
+		final Object expected = new GoalEngine(new Factory(graph))
+				.evaluateGoal(new NodeGoal(0), null);
+		assertEquals(reachable(graph, 0), expected);
+		for (int i = 0; i < 20; ++i) {
+			assertEquals(expected, new ConcurrentGoalEngine(new Factory(graph))
+					.evaluateGoal(new NodeGoal(0), null));
+		}
+	}
+
+	@Test
+	public void shared() {
+		assertSameResults(graph(new int[] { 1, 2 }, new int[] { 3 },
+				new int[] { 3 }, new int[] { 4 }, new int[0]));
+	}
+
+	@Test
+	public void recursive() {
+		assertSameResults(graph(new int[] { 0, 1 }, new int[] { 1, 2 },
+				new int[] { 2 }));
+	}
+
+	@Test
+	public void cyclic() {
+		assertSameResults(graph(new int[] { 1, 2 }, new int[] { 2, 3 },
+				new int[] { 1, 3 }, new int[] { 0 }));
+	}
+
+	@Test
+	public void randomGraphs() {
+		final Random random = new Random(42);
+		for (int g = 0; g < 20; ++g) {
+			final int size = 50;
+			final int[][] edges = new int[size][];
+			for (int i = 0; i < size; ++i) {
+				edges[i] = new int[random.nextInt(4)];
+				for (int j = 0; j < edges[i].length; ++j) {
+					edges[i][j] = random.nextInt(size);
+				}
+			}
+			assertSameResults(graph(edges));
+		}
+	}
+
+	@Test
+	public void pruned() {
+		final int size = 200;
+		final int[][] edges = new int[size][];
+		for (int i = 0; i < size; ++i) {
+			edges[i] = i + 2 < size ? new int[] { i + 1, i + 2 }
+					: new int[0];
+		}
+		final Factory factory = new Factory(graph(edges));
+		final IPruner pruner = new IPruner() {
+			@Override
+			public void init() {
+			}
+
+			@Override
+			public boolean prune(IGoal goal, EvaluatorStatistics stat) {
+				return factory.created.get() >= 20;
+			}
+		};
+		@SuppressWarnings("unchecked")
+		final Set<Integer> result = (Set<Integer>) new ConcurrentGoalEngine(
+				factory).evaluateGoal(new NodeGoal(0), pruner);
+		assertTrue(result.contains(0));
+		assertTrue(result.size() < size);
+		assertTrue(factory.created.get() < size);
+	}
+
+	@Test
+	public void canceled() throws InterruptedException {
+		final int size = 2000;
+		final int[][] edges = new int[size][];
+		for (int i = 0; i < size; ++i) {
+			edges[i] = i + 2 < size ? new int[] { i + 1, i + 2 }
+					: new int[0];
+		}
+		final AtomicBoolean canceled = new AtomicBoolean();
+		final Factory factory = new Factory(graph(edges)) {
+			@Override
+			void evaluating(int node) {
+				if (node == 100) {
+					canceled.set(true);
+				}
+				if (canceled.get()) {
+					throw new OperationCanceledException();
+				}
+			}
+		};
+		try {
+			new ConcurrentGoalEngine(factory).evaluateGoal(new NodeGoal(0),
+					null);
+			fail("OperationCanceledException expected");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		// the evaluations forked before the cancellation are skipped
+		Thread.sleep(200);
+		final int created = factory.created.get();
+		Thread.sleep(200);
+		assertEquals(created, factory.created.get());
+		assertTrue(created < size);
+	}
+}
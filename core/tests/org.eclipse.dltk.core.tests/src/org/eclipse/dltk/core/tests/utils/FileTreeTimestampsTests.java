@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.core.tests.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.core.environment.IEnvironment;
+import org.eclipse.dltk.core.internal.environment.FileTreeTimestamps;
+import org.eclipse.dltk.core.internal.environment.LocalEnvironment;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileTreeTimestampsTests extends Assert {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private File createFile(String path, long lastModified)
+			throws IOException {
+		final File file = new File(temp.getRoot(), path);
+		file.getParentFile().mkdirs();
+		assertTrue(file.createNewFile());
+		assertTrue(file.setLastModified(lastModified));
+		return file;
+	}
+
+	@Test
+	public void localTree() throws IOException {
+		createFile("a.txt", 1000000L);
+		createFile("folder1/b.txt", 2000000L);
+		createFile("folder1/folder2/c.txt", 3000000L);
+		new File(temp.getRoot(), "empty").mkdirs();
+		final IEnvironment environment = LocalEnvironment.getInstance();
+		final Map<String, Long> timestamps = environment
+				.getLastModifiedTimes(new Path(temp.getRoot().getPath()));
+		assertEquals(3, timestamps.size());
+		assertEquals(Long.valueOf(1000000L), timestamps.get("a.txt"));
+		assertEquals(Long.valueOf(2000000L), timestamps.get("folder1/b.txt"));
+		assertEquals(Long.valueOf(3000000L),
+				timestamps.get("folder1/folder2/c.txt"));
+		assertEquals(timestamps, FileTreeTimestamps.collect(environment
+				.getFile(new Path(temp.getRoot().getPath()))));
+		assertEquals(timestamps, FileTreeTimestamps.collect(environment,
+				new Path(temp.getRoot().getPath())));
+	}
+
+	@Test
+	public void missingFolder() {
+		final IEnvironment environment = LocalEnvironment.getInstance();
+		final Path path = new Path(
+				new File(temp.getRoot(), "missing").getPath());
+		assertTrue(environment.getLastModifiedTimes(path).isEmpty());
+		assertTrue(FileTreeTimestamps.collect(environment.getFile(path))
+				.isEmpty());
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.debug.dbgp.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.dltk.dbgp.IDbgpProperty;
+import org.eclipse.dltk.dbgp.IDbgpStackLevel;
+import org.eclipse.dltk.dbgp.exceptions.DbgpDebuggingEngineException;
+import org.eclipse.dltk.dbgp.internal.packets.DbgpResponsePacket;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlEntityParser;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlParser;
+import org.eclipse.dltk.dbgp.internal.utils.DbgpXmlStreamParser;
+import org.eclipse.osgi.util.NLS;
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+public class DbgpXmlStreamParserTests extends DbgpProtocolTests {
+
+	private static final String CONTEXT_GET = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+			+ "<response xmlns=\"urn:debugger_protocol\" command=\"context_get\" transaction_id=\"7\">\n"
+			+ "  <property name=\"a\" fullname=\"$a\" type=\"array\" children=\"1\" numchildren=\"5\" page=\"1\" pagesize=\"2\">\n"
+			+ "    <property name=\"0\" fullname=\"$a[0]\" type=\"int\" encoding=\"none\">1</property>\n"
+			+ "    <property type=\"string\" encoding=\"base64\"><name encoding=\"base64\">a2V5</name>"
+			+ "<fullname>$a[key]</fullname><value encoding=\"base64\"><![CDATA[dmFsdWU=]]></value></property>\n"
+			+ "  </property>\n"
+			+ "  <property name=\"b\" fullname=\"$b\" type=\"object\" children=\"0\" constant=\"1\" key=\"k\" address=\"0x1\"/>\n"
+			+ "  <property name=\"c\" type=\"string\">x &amp; y<![CDATA[ ignored]]></property>\n"
+			+ "  <property name=\"d\" type=\"string\" children=\"0\">\n"
+			+ "    <property name=\"hidden\" type=\"int\">2</property>\n"
+			+ "  </property>\n"
+			+ "</response>";
+
+	private static final String ERROR = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+			+ "<response xmlns=\"urn:debugger_protocol\" command=\"property_get\" transaction_id=\"3\">\n"
+			+ "  <error code=\"300\"><message>can not get property</message></error>\n"
+			+ "</response>";
+
+	private static byte[] bytes(String xml) {
+		return xml.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void assertPropertyEquals(IDbgpProperty expected, IDbgpProperty actual) {
+		assertEquals(expected.getName(), actual.getName());
+		assertEquals(expected.getEvalName(), actual.getEvalName());
+		assertEquals(expected.getType(), actual.getType());
+		assertEquals(expected.getValue(), actual.getValue());
+		assertEquals(expected.getKey(), actual.getKey());
+		assertEquals(expected.getAddress(), actual.getAddress());
+		assertEquals(expected.isConstant(), actual.isConstant());
+		assertEquals(expected.hasChildren(), actual.hasChildren());
+		assertEquals(expected.getChildrenCount(), actual.getChildrenCount());
+		assertEquals(expected.getPage(), actual.getPage());
+		assertEquals(expected.getPageSize(), actual.getPageSize());
+		final IDbgpProperty[] expectedChildren = expected.getAvailableChildren();
+		final IDbgpProperty[] actualChildren = actual.getAvailableChildren();
+		assertEquals(expectedChildren.length, actualChildren.length);
+		for (int i = 0; i < expectedChildren.length; ++i) {
+			assertPropertyEquals(expectedChildren[i], actualChildren[i]);
+		}
+	}
+
+	@Test
+	public void testResponsePacket() throws Exception {
+		final DbgpResponsePacket packet = DbgpXmlStreamParser.parseResponsePacket(bytes(CONTEXT_GET));
+		assertNotNull(packet);
+		assertEquals(7, packet.getTransactionId());
+		assertEquals("response", packet.getContent().getTagName());
+		assertNull(DbgpXmlStreamParser.parseResponsePacket(bytes("<init appid=\"1\"/>")));
+	}
+
+	@Test
+	public void testContextProperties() throws Exception {
+		final Element response = parseResponse(CONTEXT_GET);
+		final NodeList nodes = response.getChildNodes();
+		int count = 0;
+		final IDbgpProperty[] properties = DbgpXmlStreamParser.parseContextProperties(bytes(CONTEXT_GET));
+		for (int i = 0; i < nodes.getLength(); ++i) {
+			final Node node = nodes.item(i);
+			if (node instanceof Element && node.getNodeName().equals(DbgpXmlEntityParser.TAG_PROPERTY)) {
+				assertPropertyEquals(DbgpXmlEntityParser.parseProperty((Element) node), properties[count++]);
+			}
+		}
+		assertEquals(count, properties.length);
+		assertEquals("value", properties[0].getAvailableChildren()[1].getValue());
+		assertEquals("key", properties[0].getAvailableChildren()[1].getName());
+		assertEquals(0, properties[3].getAvailableChildren().length);
+	}
+
+	@Test
+	public void testContextResource() throws Exception {
+		final String xml = getResourceAsString("context_get.xml");
+		final IDbgpProperty[] properties = DbgpXmlStreamParser.parseContextProperties(bytes(xml));
+		assertEquals(1, properties.length);
+		assertEquals("43", properties[0].getValue());
+		final Element expected = (Element) parseResponse(xml)
+				.getElementsByTagName(DbgpXmlEntityParser.TAG_PROPERTY).item(0);
+		assertPropertyEquals(DbgpXmlEntityParser.parseProperty(expected), properties[0]);
+	}
+
+	@Test
+	public void testPropertyResponse() throws Exception {
+		final String xml = NLS.bind(getResourceAsString("property_get.xml"),
+				new Object[] { "name", "fullName", "type" });
+		final Element expected = (Element) parseResponse(xml)
+				.getElementsByTagName(DbgpXmlEntityParser.TAG_PROPERTY).item(0);
+		assertPropertyEquals(DbgpXmlEntityParser.parseProperty(expected),
+				DbgpXmlStreamParser.parsePropertyResponse(bytes(xml)));
+	}
+
+	@Test
+	public void testStackLevels() throws Exception {
+		final String xml = NLS.bind(getResourceAsString("stack_get.xml"), new Object[] { "0" });
+		final NodeList nodes = parseResponse(xml).getElementsByTagName("stack");
+		final IDbgpStackLevel[] expected = new IDbgpStackLevel[nodes.getLength()];
+		for (int i = 0; i < expected.length; ++i) {
+			expected[i] = DbgpXmlEntityParser.parseStackLevel((Element) nodes.item(i));
+		}
+		assertArrayEquals(expected, DbgpXmlStreamParser.parseStackLevels(bytes(xml)));
+	}
+
+	@Test
+	public void testError() throws Exception {
+		final DbgpDebuggingEngineException expected = DbgpXmlParser.checkError(parseResponse(ERROR));
+		try {
+			DbgpXmlStreamParser.parsePropertyResponse(bytes(ERROR));
+			fail();
+		} catch (DbgpDebuggingEngineException e) {
+			assertEquals(expected.getCode(), e.getCode());
+			assertEquals(expected.getMessage(), e.getMessage());
+		}
+	}
+}
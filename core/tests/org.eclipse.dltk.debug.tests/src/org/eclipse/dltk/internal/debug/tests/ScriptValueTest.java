@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.internal.debug.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.debug.core.model.IIndexedValue;
+import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.dltk.dbgp.IDbgpProperty;
+import org.eclipse.dltk.dbgp.IDbgpSession;
+import org.eclipse.dltk.dbgp.commands.IDbgpCoreCommands;
+import org.eclipse.dltk.debug.core.model.IScriptDebugTarget;
+import org.eclipse.dltk.debug.core.model.IScriptStackFrame;
+import org.eclipse.dltk.debug.core.model.IScriptThread;
+import org.eclipse.dltk.internal.debug.core.model.ScriptValue;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ScriptValueTest {
+
+	private static final int PAGE_SIZE = 4;
+
+	private final IScriptDebugTarget target = Mockito
+			.mock(IScriptDebugTarget.class);
+	private final IScriptStackFrame frame = Mockito
+			.mock(IScriptStackFrame.class);
+	private final IScriptThread thread = Mockito.mock(IScriptThread.class);
+	private final IDbgpSession session = Mockito.mock(IDbgpSession.class);
+	private final IDbgpCoreCommands coreCommands = Mockito
+			.mock(IDbgpCoreCommands.class);
+
+	{
+		when(target.getModelIdentifier()).thenReturn("modelId");
+		when(frame.getDebugTarget()).thenReturn(target);
+		when(frame.getScriptThread()).thenReturn(thread);
+		when(frame.getLevel()).thenReturn(0);
+		when(thread.isSuspended()).thenReturn(true);
+		when(thread.getDbgpSession()).thenReturn(session);
+		when(thread.getPropertyPageSize()).thenReturn(PAGE_SIZE);
+		when(session.getCoreCommands()).thenReturn(coreCommands);
+	}
+
+	private static IDbgpProperty createChild(int index) {
+		final IDbgpProperty child = Mockito.mock(IDbgpProperty.class);
+		when(child.getName()).thenReturn("[" + index + "]");
+		when(child.getEvalName()).thenReturn("list[" + index + "]");
+		when(child.getType()).thenReturn("int");
+		when(child.getValue()).thenReturn(String.valueOf(index));
+		return child;
+	}
+
+	private static IDbgpProperty createList(int childrenCount, int page,
+			int pageSize, int from, int to) {
+		final IDbgpProperty property = Mockito.mock(IDbgpProperty.class);
+		when(property.getName()).thenReturn("list");
+		when(property.getEvalName()).thenReturn("list");
+		when(property.getType()).thenReturn("list");
+		when(property.hasChildren()).thenReturn(true);
+		when(property.getChildrenCount()).thenReturn(childrenCount);
+		when(property.getPage()).thenReturn(page);
+		when(property.getPageSize()).thenReturn(pageSize);
+		final IDbgpProperty[] children = new IDbgpProperty[to - from];
+		for (int i = from; i < to; ++i) {
+			children[i - from] = createChild(i);
+		}
+		when(property.getAvailableChildren()).thenReturn(children);
+		return property;
+	}
+
+	@Test
+	public void paged() throws Exception {
+		when(coreCommands.getProperty(1, "list", 0))
+				.thenReturn(createList(10, 1, PAGE_SIZE, 4, 8));
+		final IIndexedValue value = (IIndexedValue) ScriptValue
+				.createValue(frame, createList(10, 0, PAGE_SIZE, 0, 4));
+		assertEquals(10, value.getSize());
+		assertEquals("[2]", value.getVariable(2).getName());
+		verify(coreCommands, never()).getProperty(anyInt(), anyString(),
+				anyInt());
+		assertEquals("[6]", value.getVariable(6).getName());
+		assertEquals("[5]", value.getVariable(5).getName());
+		verify(coreCommands).getProperty(1, "list", 0);
+	}
+
+	@Test
+	public void unpaged() throws Exception {
+		final IIndexedValue value = (IIndexedValue) ScriptValue
+				.createValue(frame, createList(10, 0, 0, 0, 10));
+		assertEquals(10, value.getSize());
+		final IVariable[] variables = value.getVariables();
+		assertEquals(10, variables.length);
+		for (int i = 0; i < variables.length; ++i) {
+			assertEquals("[" + i + "]", variables[i].getName());
+		}
+		verify(coreCommands, never()).getProperty(anyInt(), anyString(),
+				anyInt());
+	}
+}
@@ -15,6 +15,7 @@ import org.eclipse.dltk.ui.tests.navigator.scriptexplorer.PackageExplorerTests;
 import org.eclipse.dltk.ui.tests.refactoring.ModelElementUtilTests;
 import org.eclipse.dltk.ui.tests.templates.ScriptTemplateContextTest;
 import org.eclipse.dltk.ui.tests.text.FloatNumberRuleTest;
+import org.eclipse.dltk.ui.tests.text.SemanticHighlightingPresenterTest;
 import org.eclipse.dltk.ui.tests.text.TodoHighlightingTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -24,6 +25,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({ ScriptElementLabelsTest.class,
 		DLTKUILanguageManagerTests.class, ModelElementUtilTests.class,
 		PackageExplorerTests.class, ScriptTemplateContextTest.class,
-		TodoHighlightingTest.class, FloatNumberRuleTest.class })
+		TodoHighlightingTest.class, FloatNumberRuleTest.class,
+		SemanticHighlightingPresenterTest.class })
 public class AllTests {
 }
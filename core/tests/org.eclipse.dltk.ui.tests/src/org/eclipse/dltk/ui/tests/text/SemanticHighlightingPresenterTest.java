@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.dltk.ui.tests.text;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dltk.internal.ui.editor.ScriptSourceViewer;
+import org.eclipse.dltk.internal.ui.editor.semantic.highlighting.SemanticHighlightingPresenter;
+import org.eclipse.dltk.internal.ui.editor.semantic.highlighting.SemanticHighlightingPresenter.Damage;
+import org.eclipse.dltk.ui.editor.highlighting.HighlightedPosition;
+import org.eclipse.dltk.ui.editor.highlighting.HighlightingStyle;
+import org.eclipse.jface.preference.PreferenceStore;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextAttribute;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SemanticHighlightingPresenterTest {
+
+	private Shell shell;
+	private IDocument document;
+	private SemanticHighlightingPresenter presenter;
+	private HighlightingStyle style;
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+		final ScriptSourceViewer viewer = new ScriptSourceViewer(shell, null,
+				null, false, SWT.NONE, new PreferenceStore());
+		document = new Document("aaa bbb ccc\nddd eee fff\n");
+		viewer.setDocument(document);
+		presenter = new SemanticHighlightingPresenter();
+		presenter.install(viewer, null);
+		style = new HighlightingStyle(new TextAttribute(null), true, null);
+	}
+
+	@After
+	public void tearDown() {
+		presenter.uninstall();
+		shell.dispose();
+	}
+
+	private HighlightedPosition position(int offset, int length) {
+		return presenter.createHighlightedPosition(offset, length, style);
+	}
+
+	private HighlightedPosition[] highlightAll() {
+		final HighlightedPosition[] positions = { position(0, 3),
+				position(4, 3), position(12, 3), position(16, 3) };
+		final Damage damage = presenter.getDamage();
+		presenter.updatePresentation(null, positions,
+				HighlightedPosition.NO_POSITIONS);
+		presenter.damageRepaired(damage);
+		return positions;
+	}
+
+	@Test
+	public void damage() throws BadLocationException {
+		// everything is highlighted initially
+		assertNull(presenter.getDamage().region);
+		highlightAll();
+		assertTrue(presenter.getDamage().isEmpty());
+
+		document.replace(5, 1, "XX");
+		Damage damage = presenter.getDamage();
+		assertFalse(damage.isEmpty());
+		assertEquals(new Region(5, 2), damage.region);
+		document.replace(0, 0, "Z");
+		damage = presenter.getDamage();
+		assertEquals(new Region(0, 8), damage.region);
+
+		// changed after the damage was taken, not repaired
+		document.replace(20, 1, "");
+		presenter.damageRepaired(damage);
+		damage = presenter.getDamage();
+		assertEquals(new Region(0, 20), damage.region);
+		presenter.damageRepaired(damage);
+		assertTrue(presenter.getDamage().isEmpty());
+
+		presenter.markDamaged();
+		assertNull(presenter.getDamage().region);
+	}
+
+	@Test
+	public void patchRegion() {
+		final HighlightedPosition[] old = highlightAll();
+		final Region secondLine = new Region(12, 12);
+		final List<HighlightedPosition> inRegion = new ArrayList<>();
+		presenter.addPositions(inRegion, secondLine);
+		assertEquals(2, inRegion.size());
+		assertSame(old[2], inRegion.get(0));
+		assertSame(old[3], inRegion.get(1));
+
+		final HighlightedPosition added = position(20, 3);
+		presenter.updatePresentation(null, new HighlightedPosition[] { added },
+				new HighlightedPosition[] { old[3] }, secondLine);
+		// the positions outside of the region are kept as they are
+		assertArrayEquals(
+				new HighlightedPosition[] { old[0], old[1], old[2], added },
+				presenter.getPositions());
+
+		final HighlightedPosition first = position(0, 1);
+		presenter.updatePresentation(null, new HighlightedPosition[] { first },
+				new HighlightedPosition[] { old[0] }, new Region(0, 4));
+		assertArrayEquals(
+				new HighlightedPosition[] { first, old[1], old[2], added },
+				presenter.getPositions());
+	}
+}
@@ -11,6 +11,8 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.dltk.core.environment.EnvironmentManager;
 import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.core.environment.IFileHandle;
+import org.eclipse.dltk.core.internal.rse.ssh.RSESshManager;
+import org.eclipse.dltk.ssh.core.ISshConnection;
 import org.eclipse.rse.core.model.IHost;
 import org.eclipse.rse.core.subsystems.ISubSystem;
 import org.eclipse.rse.internal.efs.RSEFileSystem;
@@ -142,6 +144,15 @@ public class RSEEnvironment implements IEnvironment {
 		return convertPathToString(path);
 	}
 
+	@Override
+	public void invalidateFileAttributes(IPath path) {
+		RSEFileHandle.invalidate(host, path);
+		final ISshConnection connection = RSESshManager.getConnection(host);
+		if (connection != null) {
+			connection.invalidateAttributes(path);
+		}
+	}
+
 	public static URI getURIFor(IHost host, String path) {
 		return RSEFileSystem.getURIFor(host.getHostName(), path);
 	}
@@ -19,8 +19,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
@@ -34,6 +32,7 @@ import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.RuntimePerformanceMonitor;
 import org.eclipse.dltk.core.RuntimePerformanceMonitor.PerformanceNode;
 import org.eclipse.dltk.core.environment.EnvironmentPathUtils;
+import org.eclipse.dltk.core.environment.FileAttributeCache;
 import org.eclipse.dltk.core.environment.FileHandles;
 import org.eclipse.dltk.core.environment.IEnvironment;
 import org.eclipse.dltk.core.environment.IFileHandle;
@@ -46,21 +45,14 @@ import org.eclipse.rse.core.model.IHost;
 
 public class RSEFileHandle implements IFileHandle, IFileStoreProvider {
 	private static final int SYMLINK_CONNECTION_TIMEOUT = 30 * 1000;
-	private static final int CACHE_LIMIT = 1000;
+	private static final int CACHE_LIMIT = 10000;
 	private static final long CACHE_ENTRY_LIFETIME = 10 * 1000;
 
-	private static class CacheEntry {
-		final IFileInfo fileInfo;
-		final long timestamp;
-
-		public CacheEntry(IFileInfo fileInfo, long timestamp) {
-			this.fileInfo = fileInfo;
-			this.timestamp = timestamp;
-		}
-
-	}
-
-	private static final Map<IFileStore, CacheEntry> cache = new HashMap<>();
+	/**
+	 * Infos of the remote files, pre-populated from the folder listings.
+	 */
+	static final FileAttributeCache<IFileStore, IFileInfo> cache = new FileAttributeCache<>(
+			CACHE_LIMIT, CACHE_ENTRY_LIFETIME);
 
 	private final IFileStore file;
 	private final IEnvironment environment;
@@ -125,37 +117,26 @@ public class RSEFileHandle implements IFileHandle, IFileStoreProvider {
 	}
 
 	private IFileInfo fetchInfo(boolean force) {
-		final boolean isRemote = !environment.isLocal();
-		long now = 0;
-		if (isRemote && !force) {
-			CacheEntry entry;
-			synchronized (cache) {
-				entry = cache.get(getCacheKey());
-			}
-			if (entry != null) {
-				now = System.currentTimeMillis();
-				if (now - entry.timestamp < CACHE_ENTRY_LIFETIME) {
-					return entry.fileInfo;
-				}
-			}
+		if (environment.isLocal()) {
+			return file.fetchInfo();
 		}
-		final IFileInfo info = file.fetchInfo();
-		if (isRemote) {
-			if (now == 0) {
-				now = System.currentTimeMillis();
-			}
-			synchronized (cache) {
-				checkCacheLimit();
-				cache.put(getCacheKey(), new CacheEntry(info, now));
-			}
+		if (force) {
+			cache.invalidate(getCacheKey());
 		}
-		return info;
+		return cache.get(getCacheKey(), IFileStore::fetchInfo);
 	}
 
-	private static void checkCacheLimit() {
-		if (cache.size() > CACHE_LIMIT) {
-			cache.clear();
-		}
+	/**
+	 * Discards the cached infos of the file at the specified path of the host
+	 * and of its descendants.
+	 */
+	static void invalidate(IHost host, IPath path) {
+		cache.invalidate(store -> {
+			final URI uri = store.toURI();
+			return (host.getHostName().equalsIgnoreCase(uri.getHost())
+					|| host.getAliasName().equalsIgnoreCase(uri.getHost()))
+					&& path.isPrefixOf(new Path(uri.getPath()));
+		});
 	}
 
 	/**
@@ -221,22 +202,13 @@ public class RSEFileHandle implements IFileHandle, IFileStoreProvider {
 		try {
 			final IFileInfo[] infos = file.childInfos(EFS.NONE,
 					new NullProgressMonitor());
-			if (infos.length != 0) {
-				synchronized (cache) {
-					checkCacheLimit();
-				}
-			}
 			final IFileHandle[] children = new IFileHandle[infos.length];
-			final long now = System.currentTimeMillis();
 			for (int i = 0; i < infos.length; i++) {
 				final IFileInfo childInfo = infos[i];
 				children[i] = new RSEFileHandle(environment, file
 						.getChild(childInfo.getName()));
-				final IFileStore childCacheKey = ((RSEFileHandle) children[i])
-						.getCacheKey();
-				synchronized (cache) {
-					cache.put(childCacheKey, new CacheEntry(childInfo, now));
-				}
+				cache.put(((RSEFileHandle) children[i]).getCacheKey(),
+						childInfo);
 			}
 			return children;
 		} catch (CoreException e) {
@@ -370,8 +342,10 @@ public class RSEFileHandle implements IFileHandle, IFileStoreProvider {
 		if (!environment.connect()) {
 			return null;
 		}
-		synchronized (cache) {
-			cache.clear();
+		clearLastModifiedCache();
+		final IFileStore parent = file.getParent();
+		if (parent != null) {
+			cache.invalidate(parent);
 		}
 		fetchSshFile();
 		if (sshFile != null) {
@@ -508,9 +482,7 @@ public class RSEFileHandle implements IFileHandle, IFileStoreProvider {
 	 * @since 2.0
 	 */
 	public void clearLastModifiedCache() {
-		synchronized (cache) {
-			cache.remove(getCacheKey());
-		}
+		cache.invalidate(getCacheKey());
 	}
 
 	/**
@@ -1,5 +1,8 @@
 package org.eclipse.dltk.ssh.core;
 
+import java.io.File;
+import java.util.Map;
+
 import org.eclipse.core.runtime.IPath;
 
 public interface ISshConnection {
@@ -16,4 +19,40 @@ public interface ISshConnection {
 
 	public void setDisabled(int timeout);
 	public boolean isDisabled();
+
+	/**
+	 * Discards the cached attributes of the file at the specified path and of
+	 * its descendants.
+	 */
+	public void invalidateAttributes(IPath path);
+
+	/**
+	 * Uploads the local files to the remote paths over the specified number of
+	 * channels at the same time, the existing remote files are overwritten.
+	 * Returns immediately.
+	 *
+	 * @param files
+	 *            the local files mapped to the remote paths
+	 * @param channels
+	 *            the maximum number of the channels used
+	 * @param window
+	 *            the maximum number of the outstanding requests per channel
+	 */
+	public ISshTransfer upload(Map<File, IPath> files, int channels,
+			int window);
+
+	/**
+	 * Downloads the remote files to the local files over the specified number
+	 * of channels at the same time, the existing local files are overwritten.
+	 * Returns immediately.
+	 *
+	 * @param files
+	 *            the remote paths mapped to the local files
+	 * @param channels
+	 *            the maximum number of the channels used
+	 * @param window
+	 *            the maximum number of the outstanding requests per channel
+	 */
+	public ISshTransfer download(Map<IPath, File> files, int channels,
+			int window);
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package org.eclipse.dltk.ssh.core;
+
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Transfer of several files between the local and the remote host, started
+ * with {@link ISshConnection#upload(Map, int, int)} or
+ * {@link ISshConnection#download(Map, int, int)}.
+ */
+public interface ISshTransfer {
+
+	/**
+	 * Returns the results of the transferred files by their remote paths, in
+	 * the order they were requested. The value of a future is the number of
+	 * bytes transferred, the failed transfers complete with an
+	 * {@link java.io.IOException}.
+	 */
+	public Map<IPath, Future<Long>> getFiles();
+
+	/**
+	 * Tests if all the files are transferred, failed or canceled.
+	 */
+	public boolean isDone();
+
+	/**
+	 * Stops the transfer, the files not transferred yet are canceled.
+	 */
+	public void cancel();
+
+	/**
+	 * Returns the number of bytes transferred so far.
+	 */
+	public long getTransferredBytes();
+
+	/**
+	 * Returns the time in milliseconds from the start to the end of the
+	 * transfer, or to now if it is not done.
+	 */
+	public long getElapsedTime();
+
+	/**
+	 * Returns the average throughput of the transfer in bytes per second.
+	 */
+	public double getThroughput();
+}
@@ -2,10 +2,12 @@ package org.eclipse.dltk.ssh.internal.core;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Date;
+import java.util.Map;
 import java.util.Vector;
 
 import org.eclipse.core.runtime.CoreException;
@@ -15,6 +17,7 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.dltk.ssh.core.ISshConnection;
 import org.eclipse.dltk.ssh.core.ISshFileHandle;
+import org.eclipse.dltk.ssh.core.ISshTransfer;
 
 import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.JSchException;
@@ -463,7 +466,7 @@ public class SshConnection extends ChannelPool implements ISshConnection {
 	}
 
 	private static final int DEFAULT_RETRY_COUNT = 2;
-	private static final long DEFAULT_ACQUIRE_TIMEOUT = 30 * 1000;
+	static final long DEFAULT_ACQUIRE_TIMEOUT = 30 * 1000;
 	private static final long DEFAULT_INACTIVITY_TIMEOUT = 60 * 1000;
 
 	public SshConnection(String userName, String hostName, int port) {
@@ -567,6 +570,33 @@ public class SshConnection extends ChannelPool implements ISshConnection {
 		disabledTime = System.currentTimeMillis() + timeout;
 	}
 
+	@Override
+	public void invalidateAttributes(IPath path) {
+		SshFileHandle.invalidate(this, path);
+	}
+
+	@Override
+	public ISshTransfer upload(Map<File, IPath> files, int channels,
+			int window) {
+		final SshTransfer transfer = new SshTransfer(this, true, window);
+		for (Map.Entry<File, IPath> entry : files.entrySet()) {
+			transfer.add(entry.getKey(), entry.getValue());
+		}
+		transfer.start(channels);
+		return transfer;
+	}
+
+	@Override
+	public ISshTransfer download(Map<IPath, File> files, int channels,
+			int window) {
+		final SshTransfer transfer = new SshTransfer(this, false, window);
+		for (Map.Entry<IPath, File> entry : files.entrySet()) {
+			transfer.add(entry.getValue(), entry.getKey());
+		}
+		transfer.start(channels);
+		return transfer;
+	}
+
 	SftpATTRS getAttrs(IPath path) {
 		GetStatOperation op = new GetStatOperation(path);
 		performOperation(op);
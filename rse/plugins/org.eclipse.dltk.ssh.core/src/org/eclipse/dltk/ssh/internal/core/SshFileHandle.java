@@ -10,6 +10,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.core.environment.FileAttributeCache;
 import org.eclipse.dltk.ssh.core.ISshFileHandle;
 
 import com.jcraft.jsch.SftpATTRS;
@@ -17,20 +18,14 @@ import com.jcraft.jsch.ChannelSftp.LsEntry;
 
 public class SshFileHandle implements ISshFileHandle,
 		IOutputStreamCloseListener {
-	private static final int CACHE_LIMIT = 1000;
+	private static final int CACHE_LIMIT = 10000;
+	private static final long CACHE_ENTRY_LIFETIME = 10 * 1000;
 
-	private static class CacheEntry {
-		final SftpATTRS attrs;
-		final long lastAccess;
-
-		public CacheEntry(SftpATTRS attrs, long lastAccess) {
-			this.attrs = attrs;
-			this.lastAccess = lastAccess;
-		}
-
-	}
-
-	private static final Map<SshFileHandle, CacheEntry> attrCache = new HashMap<>();
+	/**
+	 * Attributes of the remote files, pre-populated from the folder listings.
+	 */
+	static final FileAttributeCache<SshFileHandle, SftpATTRS> attrCache = new FileAttributeCache<>(
+			CACHE_LIMIT, CACHE_ENTRY_LIFETIME);
 
 	private SshConnection connection = null;
 	private IPath path;
@@ -67,7 +62,8 @@ public class SshFileHandle implements ISshFileHandle,
 		fetchAttrs();
 		if (attrs != null) {
 			connection.delete(path, attrs.isDir());
-			cleanAttrs();
+			attrs = null;
+			invalidate(connection, path);
 		}
 	}
 
@@ -83,44 +79,32 @@ public class SshFileHandle implements ISshFileHandle,
 
 	private void cleanAttrs() {
 		attrs = null;
-		synchronized (attrCache) {
-			attrCache.remove(this);
-		}
+		attrCache.invalidate(this);
 	}
 
 	private void fetchAttrs(boolean clean) {
-		if (attrs == null || clean) {
-			attrs = fetchCacheAttrs(clean);
+		if (clean) {
+			attrCache.invalidate(this);
 		}
+		attrs = fetchCacheAttrs();
 		if (attrs != null && attrs.isLink()) {
-			attrs = fetchCacheAttrs(true);
+			// the listing returns the attributes of the link itself
+			attrCache.invalidate(this);
+			attrs = fetchCacheAttrs();
 			// this.linkTarget = connection.getResolvedPath(path);
 		}
 	}
 
-	private SftpATTRS fetchCacheAttrs(boolean clean) {
-		long c = 0;
-		synchronized (attrCache) {
-			if (attrCache.size() > CACHE_LIMIT) {
-				attrCache.clear();
-			} else if (!clean) {
-				final CacheEntry entry = attrCache.get(this);
-				if (entry != null) {
-					c = System.currentTimeMillis();
-					if ((c - entry.lastAccess) < 1000 * 10) {
-						return entry.attrs;
-					}
-				}
-			}
-		}
-		SftpATTRS attrs = connection.getAttrs(path);
-		if (c == 0) {
-			c = System.currentTimeMillis();
-		}
-		synchronized (attrCache) {
-			attrCache.put(this, new CacheEntry(attrs, c));
-		}
-		return attrs;
+	private SftpATTRS fetchCacheAttrs() {
+		return attrCache.get(this, handle -> connection.getAttrs(path));
+	}
+
+	/**
+	 * Discards the cached attributes of the file and of its descendants.
+	 */
+	static void invalidate(SshConnection connection, IPath path) {
+		attrCache.invalidate(handle -> handle.connection == connection
+				&& path.isPrefixOf(handle.path));
 	}
 
 	@Override
@@ -147,7 +131,6 @@ public class SshFileHandle implements ISshFileHandle,
 		Vector<LsEntry> list = connection.list(path);
 		if (list != null) {
 			children.clear();
-			long c = System.currentTimeMillis();
 			for (LsEntry entry : list) {
 				String filename = entry.getFilename();
 				if (filename.equals(".") || filename.equals("..")) { //$NON-NLS-1$ //$NON-NLS-2$
@@ -163,9 +146,7 @@ public class SshFileHandle implements ISshFileHandle,
 				}
 				SshFileHandle childHandle = new SshFileHandle(connection,
 						childPath, childAttrs);
-				synchronized (attrCache) {
-					attrCache.put(childHandle, new CacheEntry(childAttrs, c));
-				}
+				attrCache.put(childHandle, childAttrs);
 				children.put(filename, childHandle);
 			}
 			childrenFetched = true;
@@ -303,5 +284,7 @@ public class SshFileHandle implements ISshFileHandle,
 	@Override
 	public void move(IPath destination) throws CoreException {
 		connection.move(path, destination);
+		invalidate(connection, path);
+		invalidate(connection, destination);
 	}
 }
@@ -0,0 +1,210 @@
+package org.eclipse.dltk.ssh.internal.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.ssh.core.ISshTransfer;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.SftpException;
+import com.jcraft.jsch.SftpProgressMonitor;
+
+/**
+ * Transfers the queued files on several channels of the connection, each
+ * channel in its own thread. The channels request the data ahead, up to the
+ * configured window, instead of waiting for each block.
+ */
+class SshTransfer implements ISshTransfer {
+
+	private static class Item {
+		final File local;
+		final IPath remote;
+		final CompletableFuture<Long> future = new CompletableFuture<>();
+
+		Item(File local, IPath remote) {
+			this.local = local;
+			this.remote = remote;
+		}
+	}
+
+	private final SshConnection connection;
+	private final boolean upload;
+	private final int window;
+	private final Queue<Item> queue = new ConcurrentLinkedQueue<>();
+	private final Map<IPath, Future<Long>> files = new LinkedHashMap<>();
+	private final AtomicLong transferredBytes = new AtomicLong();
+	private final AtomicInteger activeWorkers = new AtomicInteger();
+	private final long startTime = System.currentTimeMillis();
+	private volatile long endTime;
+	private volatile boolean canceled;
+
+	SshTransfer(SshConnection connection, boolean upload, int window) {
+		this.connection = connection;
+		this.upload = upload;
+		this.window = window;
+	}
+
+	void add(File local, IPath remote) {
+		final Item item = new Item(local, remote);
+		queue.add(item);
+		files.put(remote, item.future);
+	}
+
+	void start(int channels) {
+		if (queue.isEmpty()) {
+			endTime = System.currentTimeMillis();
+			return;
+		}
+		final int count = Math.max(1, Math.min(channels, queue.size()));
+		activeWorkers.set(count);
+		for (int i = 0; i < count; ++i) {
+			final Thread thread = new Thread(this::work,
+					"SFTP transfer #" + (i + 1)); //$NON-NLS-1$
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	private void work() {
+		try {
+			final ChannelSftp channel = connection.acquireChannel(this,
+					SshConnection.DEFAULT_ACQUIRE_TIMEOUT);
+			if (channel == null) {
+				return;
+			}
+			boolean broken = false;
+			try {
+				try {
+					channel.setBulkRequests(window);
+				} catch (JSchException e) {
+					// keep the default window
+				}
+				Item item;
+				while (!canceled && (item = queue.poll()) != null) {
+					if (!transfer(channel, item)) {
+						broken = true;
+						break;
+					}
+				}
+			} finally {
+				if (broken) {
+					connection.destroyChannel(channel);
+				} else {
+					connection.releaseChannel(channel);
+				}
+			}
+		} finally {
+			if (activeWorkers.decrementAndGet() == 0) {
+				// no channels left for the remaining files
+				for (Item item; (item = queue.poll()) != null;) {
+					if (canceled) {
+						item.future.cancel(false);
+					} else {
+						item.future.completeExceptionally(new IOException(
+								"No channel to transfer " + item.remote)); //$NON-NLS-1$
+					}
+				}
+				endTime = System.currentTimeMillis();
+			}
+		}
+	}
+
+	/**
+	 * Transfers the file, returns <code>false</code> if the channel is broken.
+	 */
+	private boolean transfer(ChannelSftp channel, Item item) {
+		if (item.future.isDone()) {
+			return true; // canceled by the client
+		}
+		final AtomicLong count = new AtomicLong();
+		final SftpProgressMonitor monitor = new SftpProgressMonitor() {
+			@Override
+			public void init(int op, String src, String dest, long max) {
+			}
+
+			@Override
+			public boolean count(long n) {
+				count.addAndGet(n);
+				transferredBytes.addAndGet(n);
+				return !canceled && !item.future.isDone();
+			}
+
+			@Override
+			public void end() {
+			}
+		};
+		try {
+			if (upload) {
+				channel.put(item.local.getPath(), item.remote.toString(),
+						monitor, ChannelSftp.OVERWRITE);
+				SshFileHandle.invalidate(connection, item.remote);
+			} else {
+				channel.get(item.remote.toString(), item.local.getPath(),
+						monitor, ChannelSftp.OVERWRITE);
+			}
+			if (canceled) {
+				item.future.cancel(false);
+			} else {
+				item.future.complete(Long.valueOf(count.get()));
+			}
+			return true;
+		} catch (SftpException e) {
+			item.future.completeExceptionally(new IOException(
+					"Failed to transfer " + item.remote + ": " + e.getMessage(), //$NON-NLS-1$ //$NON-NLS-2$
+					e));
+			return !(e.id == ChannelSftp.SSH_FX_FAILURE
+					&& e.getCause() instanceof JSchException);
+		}
+	}
+
+	@Override
+	public Map<IPath, Future<Long>> getFiles() {
+		return Collections.unmodifiableMap(files);
+	}
+
+	@Override
+	public boolean isDone() {
+		return endTime != 0;
+	}
+
+	@Override
+	public void cancel() {
+		canceled = true;
+		for (Item item; (item = queue.poll()) != null;) {
+			item.future.cancel(false);
+		}
+	}
+
+	@Override
+	public long getTransferredBytes() {
+		return transferredBytes.get();
+	}
+
+	@Override
+	public long getElapsedTime() {
+		final long end = endTime;
+		return (end != 0 ? end : System.currentTimeMillis()) - startTime;
+	}
+
+	@Override
+	public double getThroughput() {
+		final long elapsed = getElapsedTime();
+		return elapsed > 0 ? getTransferredBytes() * 1000.0 / elapsed : 0;
+	}
+
+	@Override
+	public String toString() {
+		return (upload ? "Upload " : "Download ") + files.size() + " files"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}